@@ -8,6 +8,7 @@ plugins {
     java // Java support
     alias(libs.plugins.gradleIntelliJPlugin) // Gradle IntelliJ Plugin
     alias(libs.plugins.kotlinJvm)
+    alias(libs.plugins.jmh) // benchmarks
     id("idea")
 }
 
@@ -92,6 +93,7 @@ dependencies {
     testImplementation(libs.mockito)
     testImplementation(libs.mockito.kotlin)
     testImplementation(libs.kotlin.test.junit)
+    testImplementation(libs.kubernetes.server.mock)
 
     components {
         withModule("com.redhat.devtools.intellij:intellij-common") {
@@ -156,6 +158,15 @@ tasks {
 
     test {
         systemProperty("com.redhat.devtools.intellij.telemetry.mode", "disabled")
+        if (project.hasProperty("benchmark")) {
+            systemProperty("com.redhat.devtools.intellij.kubernetes.benchmark", "true")
+        }
+        // shape of the cluster in the scale tests: ./gradlew test -Pbenchmark -Pscale.pods=100000 --tests '*ScaleTest'
+        listOf("nodes", "namespaces", "pods", "crds").forEach { name ->
+            providers.gradleProperty("scale.$name").orNull?.let { value ->
+                systemProperty("com.redhat.devtools.intellij.kubernetes.scale.$name", value)
+            }
+        }
     }
 
     printProductsReleases {
@@ -173,6 +184,61 @@ sourceSets {
         compileClasspath += sourceSets.main.get().compileClasspath + sourceSets.test.get().compileClasspath
         runtimeClasspath += output + compileClasspath + sourceSets.test.get().runtimeClasspath
     }
+    named("jmh") {
+        // benchmarks use the IntelliJ platform and the fakes and mocks of the unit tests
+        compileClasspath += sourceSets.test.get().output + sourceSets.test.get().compileClasspath
+        runtimeClasspath += sourceSets.test.get().output + sourceSets.test.get().runtimeClasspath
+    }
+}
+
+// run the benchmarks: ./gradlew jmh
+// run a single benchmark: ./gradlew jmh -Pjmh.includes=CreateDescriptorBenchmark
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+// compare the benchmark results to the baseline: ./gradlew jmh jmhCompareBaseline [-Pjmh.tolerance=0.2]
+// update the baseline: copy build/results/jmh/results.json to src/jmh/baseline.json
+val jmhCompareBaseline by tasks.registering {
+    description = "Fails if benchmarks are slower than in the baseline by more than the tolerance."
+    group = "verification"
+    val results = layout.buildDirectory.file("results/jmh/results.json")
+    val baseline = layout.projectDirectory.file("src/jmh/baseline.json")
+    val tolerance = providers.gradleProperty("jmh.tolerance").map { it.toDouble() }.orElse(0.2)
+    doLast {
+        if (!baseline.asFile.exists()) {
+            logger.lifecycle("No benchmark baseline at ${baseline.asFile}, nothing to compare.")
+            return@doLast
+        }
+        fun scores(file: File): Map<String, Pair<String, Double>> {
+            @Suppress("UNCHECKED_CAST")
+            val benchmarks = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return benchmarks.associate { benchmark ->
+                val params = (benchmark["params"] as? Map<*, *>)?.entries
+                    ?.sortedBy { it.key.toString() }
+                    ?.joinToString(",", "(", ")")
+                    ?: ""
+                val metric = benchmark["primaryMetric"] as Map<*, *>
+                "${benchmark["benchmark"]}$params" to
+                        Pair(benchmark["mode"].toString(), (metric["score"] as Number).toDouble())
+            }
+        }
+        val current = scores(results.get().asFile)
+        val regressions = scores(baseline.asFile).mapNotNull { (name, base) ->
+            val (mode, baseScore) = base
+            val score = current[name]?.second ?: return@mapNotNull null
+            // throughput: higher is better, all other modes measure time: lower is better
+            val change = if (mode == "thrpt") (baseScore - score) / baseScore else (score - baseScore) / baseScore
+            if (change > tolerance.get()) "$name: ${"%.3f".format(baseScore)} -> ${"%.3f".format(score)} (${"%.0f".format(change * 100)}% worse)" else null
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("Benchmarks regressed by more than ${"%.0f".format(tolerance.get() * 100)}%:\n${regressions.joinToString("\n")}")
+        }
+        logger.lifecycle("${current.size} benchmarks within ${"%.0f".format(tolerance.get() * 100)}% of the baseline.")
+    }
 }
 
 val integrationTest by intellijPlatformTesting.testIde.registering {
@@ -225,5 +291,6 @@ val runIdeForUiTests by intellijPlatformTesting.runIde.registering {
 idea {
     module {
         testSources.from(sourceSets["it"].java.srcDirs)
+        testSources.from(file("src/jmh/kotlin"))
     }
 }
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.completion
+
+import com.redhat.devtools.intellij.kubernetes.validation.KubernetesSchema
+import org.json.JSONObject
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Looks up the completions for the container of a deployment, as when completing in a resource editor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class SchemaCompletionsBenchmark {
+
+    private val path = listOf("spec", "template", "spec", "containers")
+    private lateinit var schemaString: String
+    private lateinit var schema: JSONObject
+
+    @Setup
+    fun setup() {
+        schemaString = KubernetesSchema.get("Deployment", "apps/v1")
+            ?: throw IllegalStateException("No schema for apps/v1 Deployment.")
+        schema = JSONObject(schemaString)
+    }
+
+    @Benchmark
+    fun getCompletions(blackhole: Blackhole) {
+        blackhole.consume(KubernetesSchemaCompletions.getCompletions(path, JSONObject(schemaString)))
+    }
+
+    @Benchmark
+    fun getCompletionsParsedSchema(blackhole: Blackhole) {
+        blackhole.consume(KubernetesSchemaCompletions.getCompletions(path, schema))
+    }
+}
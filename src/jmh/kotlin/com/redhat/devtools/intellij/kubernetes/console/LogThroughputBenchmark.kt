@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.execution.ui.ConsoleView
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.lang.reflect.Proxy
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Pushes 100 MB of log output through the stream and the batching printer that [LogTab] is using.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+open class LogThroughputBenchmark {
+
+    companion object {
+        private const val TOTAL_BYTES = 100L * 1024 * 1024
+        private const val CHUNK_SIZE = 8 * 1024 /* bytes that a log watch reads at once */
+    }
+
+    private lateinit var executor: ScheduledExecutorService
+    private lateinit var chunk: ByteArray
+    private var printed = 0L
+
+    @Setup
+    fun setup() {
+        executor = Executors.newSingleThreadScheduledExecutor()
+        val line = "2025-05-04T12:00:00.000Z INFO  [death-star] reactor core temperature nominal, énergie 100%\n"
+            .toByteArray(Charsets.UTF_8)
+        chunk = ByteArray(CHUNK_SIZE) { i -> line[i % line.size] }
+    }
+
+    @TearDown
+    fun tearDown() {
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    @Benchmark
+    fun push100MB(blackhole: Blackhole) {
+        printed = 0
+        val console = console { text -> printed += text.length }
+        val printer = BatchingConsolePrinter(console, executor, maxPending = Int.MAX_VALUE)
+        val out = FailureCallbackOutputStream({}, console, printer::print, 16 * 1024)
+        var written = 0L
+        while (written < TOTAL_BYTES) {
+            out.write(chunk)
+            written += chunk.size
+        }
+        out.close()
+        executor.submit(printer::flush).get()
+        blackhole.consume(printed)
+    }
+
+    private fun console(onPrint: (String) -> Unit): ConsoleView {
+        return Proxy.newProxyInstance(
+            javaClass.classLoader,
+            arrayOf(ConsoleView::class.java)
+        ) { _, method, args ->
+            if (method.name == "print") {
+                onPrint.invoke(args[0] as String)
+            }
+            null
+        } as ConsoleView
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.editor
+
+import org.jetbrains.yaml.YAMLFileType
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Deserializes an editor with 50 resources, as on each change of a multi-resource yaml document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class EditorResourceSerializationBenchmark {
+
+    companion object {
+        private const val RESOURCES = 50
+    }
+
+    private lateinit var yaml: String
+
+    @Setup
+    fun setup() {
+        yaml = (0 until RESOURCES).joinToString(EditorResourceSerialization.RESOURCE_SEPARATOR_YAML + "\n") { index ->
+            """
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              name: deployment-$index
+              labels:
+                app: app-$index
+            spec:
+              replicas: 3
+              selector:
+                matchLabels:
+                  app: app-$index
+              template:
+                metadata:
+                  labels:
+                    app: app-$index
+                spec:
+                  containers:
+                    - name: container-$index
+                      image: quay.io/example/app:$index
+                      ports:
+                        - containerPort: 8080
+            """.trimIndent()
+        }
+    }
+
+    @Benchmark
+    fun deserialize(blackhole: Blackhole) {
+        blackhole.consume(EditorResourceSerialization.deserialize(yaml, YAMLFileType.YML, "default"))
+    }
+}
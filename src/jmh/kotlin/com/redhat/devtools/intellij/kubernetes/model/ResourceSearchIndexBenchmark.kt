@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Searches and updates an index of 100'000 pods, as when searching resources or when a watch event is received.
+ * Each operation should stay below 10 ms.
+ * The heap that the index retains in addition to the pods is printed when the index is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class ResourceSearchIndexBenchmark {
+
+    companion object {
+        private const val PODS = 100_000
+        private const val NAMESPACES = 100
+        private const val MB = 1024 * 1024
+    }
+
+    private lateinit var index: ResourceSearchIndex
+    private lateinit var changed: Pod
+
+    @Setup
+    fun setup() {
+        val pods = (0 until PODS).map { pod(it) }
+        val before = usedHeap()
+        index = ResourceSearchIndex()
+        pods.forEach { index.add(it) }
+        val retained = usedHeap() - before
+        println("Retained heap: ${retained / MB} MB for ${index.size()} pods")
+        changed = pod(PODS / 2)
+    }
+
+    private fun usedHeap(): Long {
+        repeat(3) {
+            System.gc()
+            Thread.sleep(100)
+        }
+        val runtime = Runtime.getRuntime()
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    private fun pod(index: Int): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName("pod-$index")
+                .withNamespace("namespace-${index % NAMESPACES}")
+                .withLabels<String, String>(mapOf("app" to "app-${index % 1_000}"))
+            .endMetadata()
+            .build()
+    }
+
+    @Benchmark
+    fun searchByName(blackhole: Blackhole) {
+        blackhole.consume(index.search("pod-4242", 100))
+    }
+
+    @Benchmark
+    fun searchByNamespaceAndLabel(blackhole: Blackhole) {
+        blackhole.consume(index.search("namespace-42 app=app-42", 100))
+    }
+
+    @Benchmark
+    fun searchPrefix(blackhole: Blackhole) {
+        blackhole.consume(index.search("po", 100))
+    }
+
+    @Benchmark
+    fun add() {
+        index.add(changed)
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource
+
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.util.areEqual
+import com.redhat.devtools.intellij.kubernetes.model.util.isSameResource
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Applies watch events to a cache of 10'000 pods, as when pods are added, modified and deleted in a large namespace.
+ * Compares these pods with versions of them that only differ in their resource version, as when an editor checks
+ * whether a resource was changed in the cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class ResourceOperatorBenchmark {
+
+    companion object {
+        private const val PODS = 10_000
+    }
+
+    private lateinit var operator: NamespacedPodsOperator
+    private lateinit var pods: List<Pod>
+    private lateinit var updated: List<Pod>
+    private lateinit var added: Pod
+    private lateinit var modified: Pod
+
+    @Setup
+    fun setup() {
+        val client: ClientAdapter<KubernetesClient> = mock {
+            on { get() } doReturn mock()
+        }
+        operator = NamespacedPodsOperator(client)
+        pods = (0 until PODS).map { index -> pod("pod-$index", "1") }
+        pods.forEach { pod -> operator.added(pod) }
+        updated = (0 until PODS).map { index -> pod("pod-$index", "2") }
+        added = pod("pod-$PODS", "1")
+        modified = pod("pod-${PODS / 2}", "2")
+    }
+
+    @Benchmark
+    fun addedAndRemoved(blackhole: Blackhole) {
+        blackhole.consume(operator.added(added))
+        blackhole.consume(operator.removed(added))
+    }
+
+    @Benchmark
+    fun replaced(blackhole: Blackhole) {
+        blackhole.consume(operator.replaced(modified))
+    }
+
+    @Benchmark
+    fun isSameResource(blackhole: Blackhole) {
+        pods.forEach { pod ->
+            blackhole.consume(pod.isSameResource(modified))
+        }
+    }
+
+    @Benchmark
+    fun areEqual(blackhole: Blackhole) {
+        pods.forEachIndexed { index, pod ->
+            blackhole.consume(areEqual(pod, updated[index]))
+        }
+    }
+
+    private fun pod(name: String, resourceVersion: String): Pod {
+        return PodBuilder()
+            .withApiVersion("v1")
+            .withKind("Pod")
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace("default")
+                .withResourceVersion(resourceVersion)
+            .endMetadata()
+            .build()
+    }
+}
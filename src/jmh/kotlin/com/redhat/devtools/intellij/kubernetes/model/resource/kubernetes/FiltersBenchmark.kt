@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes
+
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.apps.Deployment
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Filters the pods of a deployment among 10'000 pods and the deployment of a pod among 1'000 deployments,
+ * as when the children of a deployment or the owner of a pod are shown in the resource tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class FiltersBenchmark {
+
+    companion object {
+        private const val PODS = 10_000
+        private const val DEPLOYMENTS = 1_000
+    }
+
+    private lateinit var pods: List<Pod>
+    private lateinit var deployments: List<Deployment>
+
+    @Setup
+    fun setup() {
+        pods = (0 until PODS).map { index ->
+            PodBuilder()
+                .withNewMetadata()
+                    .withName("pod-$index")
+                    .withNamespace("default")
+                    .withLabels<String, String>(mapOf(
+                        "app" to "app-${index % DEPLOYMENTS}",
+                        "pod-template-hash" to "$index"))
+                .endMetadata()
+                .build()
+        }
+        deployments = (0 until DEPLOYMENTS).map { index ->
+            DeploymentBuilder()
+                .withNewMetadata()
+                    .withName("deployment-$index")
+                    .withNamespace("default")
+                .endMetadata()
+                .withNewSpec()
+                    .withNewSelector()
+                        .withMatchLabels<String, String>(mapOf("app" to "app-$index"))
+                    .endSelector()
+                .endSpec()
+                .build()
+        }
+    }
+
+    @Benchmark
+    fun podForDeployment(blackhole: Blackhole) {
+        val filter = PodForDeployment(deployments[DEPLOYMENTS / 2])
+        blackhole.consume(pods.filter { pod -> filter.test(pod) })
+    }
+
+    @Benchmark
+    fun deploymentForPod(blackhole: Blackhole) {
+        val filter = DeploymentForPod(pods[PODS / 2])
+        blackhole.consume(deployments.filter { deployment -> filter.test(deployment) })
+    }
+}
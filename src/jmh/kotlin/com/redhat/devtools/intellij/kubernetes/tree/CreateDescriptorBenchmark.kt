@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.intellij.openapi.extensions.ExtensionPointName
+import com.intellij.openapi.project.Project
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Creates the descriptors for 10'000 pods, as when a large pods folder is loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class CreateDescriptorBenchmark {
+
+    companion object {
+        private const val PODS = 10_000
+    }
+
+    private lateinit var structure: TreeStructure
+    private lateinit var pods: List<Pod>
+
+    @Setup
+    fun setup() {
+        val model: IResourceModel = mock()
+        val project: Project = mock()
+        val extensionPoint: ExtensionPointName<ITreeStructureContributionFactory> = mock {
+            on { extensionList } doReturn emptyList()
+        }
+        structure = TreeStructure(project, model, extensionPoint)
+        pods = (0 until PODS).map { index ->
+            PodBuilder()
+                .withNewMetadata()
+                    .withName("pod-$index")
+                    .withNamespace("default")
+                .endMetadata()
+                .build()
+        }
+    }
+
+    @Benchmark
+    fun createDescriptor(blackhole: Blackhole) {
+        pods.forEach { pod ->
+            blackhole.consume(structure.createDescriptor(pod, null))
+        }
+    }
+
+    @Benchmark
+    fun getChildrenKind(blackhole: Blackhole) {
+        pods.forEach { pod ->
+            blackhole.consume(structure.getChildrenKind(pod))
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.validation
+
+import org.everit.json.schema.Schema
+import org.everit.json.schema.loader.SchemaLoader
+import org.json.JSONObject
+import org.json.JSONTokener
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Validates a deployment against its schema, as when [ResourcesValidation] inspects a resource in an editor.
+ * [validate] loads the schema like the inspection does on each run, [validateLoadedSchema] only validates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class SchemaValidationBenchmark {
+
+    private lateinit var deployment: JSONObject
+    private lateinit var schema: Schema
+
+    @Setup
+    fun setup() {
+        deployment = JSONObject("""
+            {
+              "apiVersion": "apps/v1",
+              "kind": "Deployment",
+              "metadata": { "name": "deployment", "labels": { "app": "app" } },
+              "spec": {
+                "replicas": 3,
+                "selector": { "matchLabels": { "app": "app" } },
+                "template": {
+                  "metadata": { "labels": { "app": "app" } },
+                  "spec": {
+                    "containers": [
+                      { "name": "container", "image": "quay.io/example/app:1", "ports": [ { "containerPort": 8080 } ] }
+                    ]
+                  }
+                }
+              }
+            }
+            """.trimIndent())
+        schema = loadSchema()
+    }
+
+    @Benchmark
+    fun validate(blackhole: Blackhole) {
+        val schema = loadSchema()
+        schema.validate(deployment)
+        blackhole.consume(schema)
+    }
+
+    @Benchmark
+    fun validateLoadedSchema(blackhole: Blackhole) {
+        schema.validate(deployment)
+        blackhole.consume(schema)
+    }
+
+    private fun loadSchema(): Schema {
+        val schemaString = KubernetesSchema.get("Deployment", "apps/v1")
+            ?: throw IllegalStateException("No schema for apps/v1 Deployment.")
+        return SchemaLoader.load(JSONObject(JSONTokener(schemaString)))
+    }
+}
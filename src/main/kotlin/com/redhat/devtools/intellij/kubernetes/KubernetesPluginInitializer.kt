@@ -15,9 +15,11 @@ import com.intellij.openapi.fileEditor.FileEditorManagerListener
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.startup.StartupActivity
 import com.intellij.psi.impl.PsiDocumentTransactionListener
+import com.redhat.devtools.intellij.kubernetes.diagnostics.DiagnosticsBean
 import com.redhat.devtools.intellij.kubernetes.editor.EditorFocusListener
 import com.redhat.devtools.intellij.kubernetes.editor.EditorTransactionListener
 import com.redhat.devtools.intellij.kubernetes.editor.ResourceEditorFactory
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 
 class KubernetesPluginInitializer : StartupActivity {
 
@@ -33,6 +35,7 @@ class KubernetesPluginInitializer : StartupActivity {
         project.messageBus.connect().subscribe(PsiDocumentTransactionListener.TOPIC,
             EditorTransactionListener()
         )
+        DiagnosticsBean.register(IResourceModel.getInstance())
     }
 
     private fun showResourceEditorNotifications(project: Project) {
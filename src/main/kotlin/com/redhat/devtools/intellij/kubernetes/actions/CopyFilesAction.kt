@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.actions
+
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.progress.ProgressIndicator
+import com.intellij.openapi.progress.Progressive
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.openapi.vfs.LocalFileSystem
+import com.redhat.devtools.intellij.common.actions.StructureTreeAction
+import com.redhat.devtools.intellij.kubernetes.dialogs.CopyFilesDialog
+import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.files.ContainerFiles
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.PROP_RESOURCE_KIND
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.getKinds
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import java.util.concurrent.CancellationException
+import javax.swing.tree.TreePath
+
+/**
+ * Copies files between the local file system and a container of the selected pod.
+ *
+ * @param upload `true` if files are uploaded to the container, `false` if they're downloaded
+ */
+abstract class CopyFilesAction(private val upload: Boolean): StructureTreeAction() {
+
+    override fun actionPerformed(event: AnActionEvent?, path: TreePath?, selected: Any?) {
+        val project = event?.project ?: return
+        val model = getResourceModel() ?: return
+        val pod = selected?.getElement<Pod>() ?: return
+        val dialog = CopyFilesDialog(project, pod, upload)
+        if (!dialog.showAndGet()) {
+            return
+        }
+        val container = dialog.container ?: return
+        val local = dialog.local ?: return
+        val remote = dialog.remote
+        val operation = if (upload) "upload to" else "download from"
+        run("${StringUtil.capitalize(operation)} container \"${container.name}\"...", project, true,
+            Progressive { indicator ->
+                val telemetry = TelemetryService.instance.action(if (upload) "upload files" else "download files")
+                    .property(PROP_RESOURCE_KIND, getKinds(listOf(pod)))
+                try {
+                    val files = ContainerFiles(model)
+                    val progress = IndicatorProgress(indicator)
+                    val transfer = if (upload) {
+                        files.upload(local, container, pod, remote, progress)
+                    } else {
+                        files.download(remote, container, pod, local, progress).also {
+                            LocalFileSystem.getInstance().refreshNioFiles(listOf(local))
+                        }
+                    }
+                    Notification().info(
+                        "${StringUtil.capitalize(operation)} container \"${container.name}\" completed",
+                        "${transfer.files} file(s), ${StringUtil.formatFileSize(transfer.bytes)}"
+                                + " (${StringUtil.formatFileSize(transfer.bytesPerSecond)}/s)"
+                    )
+                    telemetry.success().send()
+                } catch (e: CancellationException) {
+                    logger<CopyFilesAction>().debug("Canceled $operation container \"${container.name}\".")
+                } catch (e: ResourceException) {
+                    Notification().error("Could not $operation container \"${container.name}\"", toMessage(e))
+                    logger<CopyFilesAction>().warn(
+                        "Could not $operation container \"${container.name}\" in ${toMessage(pod, -1)}", e
+                    )
+                    telemetry.error(e).send()
+                }
+            })
+    }
+
+    override fun actionPerformed(event: AnActionEvent?, path: Array<out TreePath>?, selected: Array<out Any>?) {
+        actionPerformed(event, path?.firstOrNull(), selected?.firstOrNull())
+    }
+
+    override fun isVisible(selected: Array<out Any>?): Boolean {
+        return selected?.size == 1
+                && isVisible(selected.first())
+    }
+
+    override fun isVisible(selected: Any?): Boolean {
+        val resource = selected?.getElement<HasMetadata>()
+        return resource is Pod
+                && true == getResourceModel()?.canExec(resource)
+    }
+
+    /**
+     * Reports the progress and throughput of a transfer to a progress indicator.
+     */
+    private class IndicatorProgress(private val indicator: ProgressIndicator) : ContainerFiles.Progress {
+
+        private val started = System.currentTimeMillis()
+
+        override fun onProgress(transferred: Long, total: Long) {
+            val millis = System.currentTimeMillis() - started
+            val perSecond = if (millis <= 0) 0L else transferred * 1000 / millis
+            if (total > 0) {
+                indicator.isIndeterminate = false
+                indicator.fraction = transferred.toDouble() / total
+                indicator.text2 = "${StringUtil.formatFileSize(transferred)} of ${StringUtil.formatFileSize(total)}" +
+                        " (${StringUtil.formatFileSize(perSecond)}/s)"
+            } else {
+                indicator.isIndeterminate = true
+                indicator.text2 = "${StringUtil.formatFileSize(transferred)} (${StringUtil.formatFileSize(perSecond)}/s)"
+            }
+        }
+
+        override fun isCanceled(): Boolean {
+            return indicator.isCanceled
+        }
+    }
+}
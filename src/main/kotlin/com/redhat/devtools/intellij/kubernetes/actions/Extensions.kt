@@ -17,6 +17,7 @@ import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.progress.Progressive
 import com.intellij.openapi.progress.Task
 import com.intellij.openapi.project.Project
+import com.redhat.devtools.intellij.kubernetes.model.AsyncResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Descriptor
 import javax.swing.tree.DefaultMutableTreeNode
@@ -26,6 +27,10 @@ fun AnAction.getResourceModel(): IResourceModel? {
     return ApplicationManager.getApplication().getService(IResourceModel::class.java)
 }
 
+fun AnAction.getAsyncResourceModel(): AsyncResourceModel? {
+    return ApplicationManager.getApplication().getService(AsyncResourceModel::class.java)
+}
+
 fun Any.getDescriptor(): Descriptor<*>? {
     return if (this is DefaultMutableTreeNode
         && this.userObject is Descriptor<*>) {
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.actions
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereManager
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.project.DumbAware
+import com.redhat.devtools.intellij.kubernetes.search.ResourceSearchContributor
+
+/**
+ * Finds resources in the resource tree without expanding its folders.
+ * Opens "Search Everywhere" in the tab for kubernetes resources.
+ */
+class FindResourceAction : AnAction(), DumbAware {
+
+    companion object {
+        const val ID = "com.redhat.devtools.intellij.kubernetes.actions.FindResourceAction"
+    }
+
+    override fun actionPerformed(event: AnActionEvent) {
+        val project = event.project ?: return
+        SearchEverywhereManager.getInstance(project).show(ResourceSearchContributor.ID, null, event)
+    }
+
+    override fun update(event: AnActionEvent) {
+        event.presentation.isEnabledAndVisible = event.project != null
+    }
+}
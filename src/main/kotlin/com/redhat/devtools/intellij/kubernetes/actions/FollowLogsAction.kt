@@ -19,6 +19,7 @@ import com.redhat.devtools.intellij.kubernetes.console.ConsolesToolWindow
 import com.redhat.devtools.intellij.kubernetes.console.LogTab
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.util.MultiResourceException
 import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
 import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
@@ -31,7 +32,7 @@ import io.fabric8.kubernetes.api.model.Pod
 import java.lang.Exception
 import javax.swing.tree.TreePath
 
-class FollowLogsAction: StructureTreeAction() {
+open class FollowLogsAction: StructureTreeAction() {
 
     override fun actionPerformed(event: AnActionEvent?, path: TreePath?, selected: Any?) {
         // not called
@@ -41,12 +42,13 @@ class FollowLogsAction: StructureTreeAction() {
         val project = event?.project ?: return
         val model = getResourceModel() ?: return
         val toFollow = selected?.map { it.getDescriptor()?.element as Pod } ?: return
+        val options = getOptions(project) ?: return
         run("Following logs of ${toMessage(toFollow, 30)}...", true,
             Progressive {
                 val telemetry = TelemetryService.instance.action("follow logs")
                     .property(PROP_RESOURCE_KIND, getKinds(toFollow))
                 try {
-                    createLogTabs(toFollow, model, project)
+                    createLogTabs(toFollow, model, project, options)
                     telemetry.success().send()
                 } catch (e: MultiResourceException) {
                     notify(e.causes.flatMap { it.resources }, e, telemetry)
@@ -57,9 +59,17 @@ class FollowLogsAction: StructureTreeAction() {
             })
     }
 
-    private fun createLogTabs(pods: List<Pod>, model: IResourceModel, project: Project) {
+    /**
+     * Returns the options for the logs that are followed. Returns `null` if the logs should not be followed.
+     * Follows the last [LogOptions.DEFAULT_TAIL_LINES] lines by default.
+     */
+    protected open fun getOptions(project: Project): LogOptions? {
+        return LogOptions.DEFAULT
+    }
+
+    private fun createLogTabs(pods: List<Pod>, model: IResourceModel, project: Project, options: LogOptions) {
         pods.forEach { pod ->
-            val tab = LogTab(pod, model, project)
+            val tab = LogTab(pod, model, project, options)
             ConsolesToolWindow.add(tab, project)
         }
     }
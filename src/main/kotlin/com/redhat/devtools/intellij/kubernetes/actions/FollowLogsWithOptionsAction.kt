@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.actions
+
+import com.intellij.openapi.project.Project
+import com.redhat.devtools.intellij.kubernetes.dialogs.LogOptionsDialog
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
+
+/**
+ * Follows the logs of the selected pods with options (tail window, since, previous container) that the user picks.
+ */
+class FollowLogsWithOptionsAction: FollowLogsAction() {
+
+    override fun getOptions(project: Project): LogOptions? {
+        val dialog = LogOptionsDialog(project)
+        return if (dialog.showAndGet()) {
+            dialog.options
+        } else {
+            null
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.actions
+
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.redhat.devtools.intellij.common.actions.StructureTreeAction
+import com.redhat.devtools.intellij.kubernetes.console.ConsolesToolWindow
+import com.redhat.devtools.intellij.kubernetes.console.WorkloadLogTab
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.getPodFilter
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.PROP_RESOURCE_KIND
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.getKinds
+import io.fabric8.kubernetes.api.model.HasMetadata
+import javax.swing.tree.TreePath
+
+/**
+ * Follows the logs of all the pods of the selected workloads (ex. deployments, services) in a single tab per workload.
+ */
+class FollowWorkloadLogsAction: StructureTreeAction() {
+
+    override fun actionPerformed(event: AnActionEvent?, path: TreePath?, selected: Any?) {
+        // not called
+    }
+
+    override fun actionPerformed(event: AnActionEvent?, path: Array<out TreePath>?, selected: Array<out Any>?) {
+        val project = event?.project ?: return
+        val model = getResourceModel() ?: return
+        val toFollow = selected?.mapNotNull { it.getElement<HasMetadata>() } ?: return
+        TelemetryService.instance.action("follow workload logs")
+            .property(PROP_RESOURCE_KIND, getKinds(toFollow))
+            .send()
+        toFollow.forEach { workload ->
+            ConsolesToolWindow.add(WorkloadLogTab(workload, model, project), project)
+        }
+    }
+
+    override fun isVisible(selected: Array<out Any>?): Boolean {
+        return selected?.any { isVisible(it) }
+            ?: false
+    }
+
+    override fun isVisible(selected: Any?): Boolean {
+        val resource = selected?.getElement<HasMetadata>() ?: return false
+        return getPodFilter(resource) != null
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.actions
+
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.progress.Progressive
+import com.redhat.devtools.intellij.common.actions.StructureTreeAction
+import com.redhat.devtools.intellij.kubernetes.console.ConsolesToolWindow
+import com.redhat.devtools.intellij.kubernetes.console.PortForwardTab
+import com.redhat.devtools.intellij.kubernetes.dialogs.PortForwardDialog
+import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.portforward.PortForwarding
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.PROP_RESOURCE_KIND
+import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService.getKinds
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.Service
+import javax.swing.tree.TreePath
+
+/**
+ * Forwards a local port to a port of the selected pod or service.
+ */
+class PortForwardAction: StructureTreeAction() {
+
+    override fun actionPerformed(event: AnActionEvent?, path: TreePath?, selected: Any?) {
+        val project = event?.project ?: return
+        val model = getResourceModel() ?: return
+        val resource = selected?.getElement<HasMetadata>() ?: return
+        val dialog = PortForwardDialog(project, resource)
+        if (!dialog.showAndGet()) {
+            return
+        }
+        val port = dialog.port ?: return
+        val localPort = dialog.localPort
+        run("Forwarding port $port of ${toMessage(resource, 30)}...", true,
+            Progressive {
+                val telemetry = TelemetryService.instance.action("port forward")
+                    .property(PROP_RESOURCE_KIND, getKinds(listOf(resource)))
+                try {
+                    val forwarding = PortForwarding(resource, port, localPort, model)
+                    forwarding.start()
+                    ConsolesToolWindow.add(PortForwardTab(forwarding), project)
+                    telemetry.success().send()
+                } catch (e: ResourceException) {
+                    Notification().error("Could not forward port $port of ${toMessage(resource, 30)}", toMessage(e))
+                    logger<PortForwardAction>().warn("Could not forward port $port of ${toMessage(resource, -1)}", e)
+                    telemetry.error(e).send()
+                }
+            })
+    }
+
+    override fun actionPerformed(event: AnActionEvent?, path: Array<out TreePath>?, selected: Array<out Any>?) {
+        actionPerformed(event, path?.firstOrNull(), selected?.firstOrNull())
+    }
+
+    override fun isVisible(selected: Array<out Any>?): Boolean {
+        return selected?.size == 1
+                && isVisible(selected.first())
+    }
+
+    override fun isVisible(selected: Any?): Boolean {
+        val resource = selected?.getElement<HasMetadata>()
+        return resource is Pod
+                || (resource is Service
+                    && resource.spec?.selector?.isNotEmpty() == true)
+    }
+}
@@ -12,8 +12,9 @@ package com.redhat.devtools.intellij.kubernetes.actions
 
 import com.intellij.openapi.actionSystem.AnActionEvent
 import com.redhat.devtools.intellij.common.actions.StructureTreeAction
+import com.redhat.devtools.intellij.kubernetes.CompletableFutureUtils.UI_EXECUTOR
 import com.redhat.devtools.intellij.kubernetes.dialogs.ScaleReplicaDialog
-import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.AsyncResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.Notification
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.KubernetesReplicas
 import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
@@ -39,42 +40,46 @@ class ScaleReplicaAction: StructureTreeAction() {
         val telemetry = TelemetryService.instance.action("scale")
         val project = getEventProject(event) ?: return aborting("no project", telemetry)
         val toScale = selected?.firstOrNull()?.getElement<HasMetadata>() ?: return aborting("no resource selected", telemetry)
-        val model = getResourceModel() ?: return aborting("resource model not found", telemetry)
-        try {
-            val replicator = model.getReplicas(toScale)
+        val model = getAsyncResourceModel() ?: return aborting("resource model not found", telemetry)
+        val location = (event?.inputEvent as? MouseEvent)?.locationOnScreen
+        // looking up replicas may hit the cluster, dont block the event dispatch thread
+        model.getReplicas(toScale, project).whenCompleteAsync({ replicator, e ->
             val replicas = replicator?.replicas
-            if (replicator == null
-                || replicas == null) {
-                error("replicator not found/unsupported kind", toScale, telemetry)
-                return
+            when {
+                e != null ->
+                    error(toMessage(e.cause ?: e), toScale, telemetry)
+                replicator == null
+                        || replicas == null ->
+                    error("replicator not found/unsupported kind", toScale, telemetry)
+                else -> {
+                    val resourceLabel = "${replicator.resource.kind} ${replicator.resource.metadata.name}"
+                    ScaleReplicaDialog(
+                        project,
+                        resourceLabel,
+                        replicas,
+                        setReplicas(replicator, model, telemetry),
+                        location
+                    ).show()
+                }
             }
-            val resourceLabel = "${replicator.resource.kind} ${replicator.resource.metadata.name}"
-            ScaleReplicaDialog(
-                project,
-                resourceLabel,
-                replicas,
-                setReplicas(replicator, model, telemetry),
-                (event?.inputEvent as? MouseEvent)?.locationOnScreen
-            ).show()
-        } catch (e: RuntimeException) {
-            error(toMessage(e), toScale, telemetry)
-        }
+        }, UI_EXECUTOR)
     }
 
     private fun setReplicas(
         replicator: KubernetesReplicas.Replicator,
-        model: IResourceModel,
+        model: AsyncResourceModel,
         telemetry: TelemetryMessageBuilder.ActionMessage
     ): (Int) -> Unit {
         return { replicas: Int ->
-            try {
-                model.setReplicas(replicas, replicator)
-                telemetry
-                    .property(TelemetryService.PROP_RESOURCE_KIND, replicator.resource.kind)
-                    .success()
-                    .send()
-            } catch (e: RuntimeException) {
-                error(toMessage(e), replicator.resource, telemetry)
+            model.setReplicas(replicas, replicator).whenComplete { _, e ->
+                if (e == null) {
+                    telemetry
+                        .property(TelemetryService.PROP_RESOURCE_KIND, replicator.resource.kind)
+                        .success()
+                        .send()
+                } else {
+                    error(toMessage(e.cause ?: e), replicator.resource, telemetry)
+                }
             }
         }
     }
@@ -124,7 +124,7 @@ object KubernetesSchemaCompletions {
      * @param schema The Kubernetes schema as a JSONObject.
      * @return A list of [CompletionSuggestion] objects.
      */
-    private fun getCompletions(path: List<String>, schema: JSONObject): List<CompletionSuggestion> {
+    fun getCompletions(path: List<String>, schema: JSONObject): List<CompletionSuggestion> {
         val schemaAtPath = findSchema(path, schema)
         val schemaToUse = if (schemaAtPath != null) {
             schemaAtPath
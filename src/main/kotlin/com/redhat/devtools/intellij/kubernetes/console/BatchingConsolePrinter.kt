@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.execution.ui.ConsoleView
+import com.intellij.execution.ui.ConsoleViewContentType
+import com.intellij.util.concurrency.AppExecutorUtil
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Prints text to a console in batches. Text is collected and printed every [interval] ms or as soon as there's
+ * [maxBatch] chars of it. Printing happens on the given executor so that the thread that produces the text never waits
+ * for the console. If the console can't keep up and more than [maxPending] chars are waiting to be printed,
+ * further text is dropped until the pending text was printed. The console is then told how many lines were dropped.
+ *
+ * @param terminal the console to print to
+ * @param executor the executor to print on
+ * @param interval the interval in ms at which collected text is printed
+ * @param maxBatch the number of chars that are printed right away, without waiting for the interval
+ * @param maxPending the number of chars that may be waiting to be printed before further text is dropped
+ */
+open class BatchingConsolePrinter(
+    private val terminal: ConsoleView,
+    private val executor: ScheduledExecutorService = EXECUTOR,
+    private val interval: Long = FLUSH_INTERVAL,
+    private val maxBatch: Int = MAX_BATCH,
+    private val maxPending: Int = MAX_PENDING
+) {
+
+    companion object {
+        const val FLUSH_INTERVAL = 50L /* ms */
+        const val MAX_BATCH = 64 * 1024
+        const val MAX_PENDING = 4 * 1024 * 1024
+
+        private val EXECUTOR: ScheduledExecutorService by lazy {
+            AppExecutorUtil.createBoundedScheduledExecutorService("Kubernetes Console Printer", 1)
+        }
+    }
+
+    private val lock = Any()
+    /* guarded by lock */
+    private var pending = StringBuilder()
+    private var scheduled = false
+    private var droppedLines = 0L
+    private var dropping = false
+
+    /* ensures that batches are printed in the order they were collected */
+    private val printLock = Any()
+
+    /**
+     * Collects the given text to be printed with the next batch.
+     * Drops it if the console can't keep up.
+     *
+     * @param text the text to print
+     */
+    fun print(text: String) {
+        synchronized(lock) {
+            if (dropping
+                || pending.length + text.length > maxPending) {
+                dropping = true
+                droppedLines += text.count { it == '\n' }
+                return
+            }
+            pending.append(text)
+            if (pending.length >= maxBatch) {
+                scheduled = true
+                executor.execute(::flush)
+            } else if (!scheduled) {
+                scheduled = true
+                executor.schedule(::flush, interval, TimeUnit.MILLISECONDS)
+            }
+        }
+    }
+
+    /**
+     * Prints all the text that was collected.
+     */
+    fun flush() {
+        synchronized(printLock) {
+            val text: String
+            val dropped: Long
+            val wasDropping: Boolean
+            synchronized(lock) {
+                scheduled = false
+                text = pending.toString()
+                pending = StringBuilder()
+                dropped = droppedLines
+                droppedLines = 0
+                wasDropping = dropping
+                dropping = false
+            }
+            if (text.isNotEmpty()) {
+                terminal.print(text, ConsoleViewContentType.SYSTEM_OUTPUT)
+            }
+            if (wasDropping) {
+                terminal.print(
+                    "\n[... skipped $dropped lines, the console could not keep up with the output ...]\n",
+                    ConsoleViewContentType.SYSTEM_OUTPUT
+                )
+            }
+        }
+    }
+}
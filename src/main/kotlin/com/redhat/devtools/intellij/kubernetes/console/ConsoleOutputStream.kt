@@ -12,58 +12,126 @@ package com.redhat.devtools.intellij.kubernetes.console
 
 import com.intellij.execution.ui.ConsoleView
 import com.intellij.execution.ui.ConsoleViewContentType
-import com.intellij.openapi.diagnostic.logger
 import java.io.OutputStream
-import java.util.Queue
-import java.util.concurrent.LinkedBlockingQueue
+import java.nio.ByteBuffer
+import java.nio.CharBuffer
+import java.nio.charset.CodingErrorAction
 
-open class ConsoleOutputStream(private val terminal: ConsoleView) : OutputStream() {
+/**
+ * An output stream that prints the (utf-8) bytes that it is given to a console.
+ * Bytes are buffered and printed once a line is complete or the buffer is full.
+ * Multi-byte characters that are split across several writes are decoded correctly.
+ * Bulk writes are printed with a single call for all the complete lines that they contain.
+ *
+ * @param terminal the console to print to
+ * @param print prints the given text, prints to the given console by default
+ * @param bufferSize the number of bytes that are buffered before they are printed
+ */
+open class ConsoleOutputStream(
+    terminal: ConsoleView,
+    private val print: (text: String) -> Unit = printTo(terminal),
+    bufferSize: Int = BUFFER_SIZE
+) : OutputStream() {
 
     companion object {
         const val BUFFER_SIZE: Int = 256
+        private const val NEWLINE: Byte = 10 /* \n */
+
+        fun printTo(terminal: ConsoleView): (text: String) -> Unit {
+            return { text -> terminal.print(text, ConsoleViewContentType.SYSTEM_OUTPUT) }
+        }
     }
 
-    private val buffer = LinkedBlockingQueue<Int>(BUFFER_SIZE)
+    private val bytes = ByteBuffer.allocate(bufferSize)
+    /* utf-8 never decodes to more chars than there are bytes */
+    private val chars = CharBuffer.allocate(bufferSize)
+    private val decoder = Charsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE)
 
+    @Synchronized
     override fun write(char: Int) {
-        if (!Character.isValidCodePoint(char)) {
-            return
-        } else if ('\n' == char.toChar()
-            && buffer.remainingCapacity() > 0
-        ) {
-            // newline
-            buffer.offer(char)
-            flushToTerminal(buffer)
-        } else if (!buffer.offer(char)) {
+        if (!bytes.hasRemaining()) {
             // buffer full
-            flushToTerminal(buffer)
-            buffer.offer(char)
-        } else {
-            //
+            flushToTerminal(false)
+        }
+        val byte = char.toByte()
+        bytes.put(byte)
+        if (NEWLINE == byte) {
+            flushToTerminal(false)
         }
     }
 
-    private fun flushToTerminal(buffer: Queue<Int>) {
-        val builder = buffer.stream()
-            .collect(::StringBuilder, this::appendCodePoint, StringBuilder::append)
-        buffer.clear()
-        flushToTerminal(processOutput(builder.toString()))
+    @Synchronized
+    override fun write(buffer: ByteArray, offset: Int, length: Int) {
+        var position = offset
+        val end = offset + length
+        var hasNewline = false
+        while (position < end) {
+            val chunk = minOf(bytes.remaining(), end - position)
+            hasNewline = hasNewline || containsNewline(buffer, position, chunk)
+            bytes.put(buffer, position, chunk)
+            position += chunk
+            if (!bytes.hasRemaining()) {
+                // buffer full: print complete lines if there are any, all of it otherwise
+                flushToTerminal(hasNewline)
+                hasNewline = false
+            }
+        }
+        if (hasNewline) {
+            flushToTerminal(true)
+        }
+    }
+
+    @Synchronized
+    override fun close() {
+        flushToTerminal(false)
+        super.close()
+    }
+
+    /**
+     * Decodes the buffered bytes and prints them.
+     * Bytes of an incomplete multi-byte character stay in the buffer.
+     *
+     * @param toLastNewline prints up to and including the last newline if `true`, all buffered bytes otherwise
+     */
+    private fun flushToTerminal(toLastNewline: Boolean) {
+        bytes.flip()
+        val limit = bytes.limit()
+        if (toLastNewline) {
+            // newlines are never part of a multi-byte character in utf-8
+            bytes.limit(lastIndexOfNewline(bytes) + 1)
+        }
+        decoder.decode(bytes, chars, false)
+        bytes.limit(limit)
+        bytes.compact()
+        chars.flip()
+        val output = chars.toString()
+        chars.clear()
+        if (output.isNotEmpty()) {
+            print.invoke(processOutput(output))
+        }
     }
 
     protected open fun processOutput(output: String): String {
         return output
     }
 
-    private fun flushToTerminal(output: String) {
-        terminal.print(output, ConsoleViewContentType.SYSTEM_OUTPUT)
+    private fun containsNewline(buffer: ByteArray, offset: Int, length: Int): Boolean {
+        for (i in offset until offset + length) {
+            if (NEWLINE == buffer[i]) {
+                return true
+            }
+        }
+        return false
     }
 
-    private fun appendCodePoint(builder: java.lang.StringBuilder, codePoint: Int): java.lang.StringBuilder {
-        try {
-            builder.appendCodePoint(codePoint)
-        } catch (e: Throwable) {
-            logger<ConsoleOutputStream>().warn("Error appending code point $codePoint to buffer.", e)
+    private fun lastIndexOfNewline(buffer: ByteBuffer): Int {
+        for (i in buffer.limit() - 1 downTo buffer.position()) {
+            if (NEWLINE == buffer.get(i)) {
+                return i
+            }
         }
-        return builder
+        return -1
     }
-}
\ No newline at end of file
+}
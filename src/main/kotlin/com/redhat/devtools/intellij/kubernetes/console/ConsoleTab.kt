@@ -12,6 +12,9 @@ package com.redhat.devtools.intellij.kubernetes.console
 
 import com.intellij.execution.ui.ConsoleView
 import com.intellij.icons.AllIcons
+import com.intellij.openapi.actionSystem.ActionManager
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.DefaultActionGroup
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
@@ -44,13 +47,13 @@ abstract class ConsoleTab<T : ConsoleView, W : Any?>(
     protected val pod: Pod,
     protected val model: IResourceModel,
     protected val project: Project
-) : Disposable {
+) : IConsoleTab {
 
     protected val watches = emptyList<AtomicReference<W>>()
     protected val watch: AtomicReference<W?> = AtomicReference()
     private var consoles: CardLayoutPanel<Container, Container, ConsoleOrErrorPanel>? = null
 
-    fun createComponent(): JComponent {
+    override fun createComponent(): JComponent {
         val containers = createContainersList(::onContainerSelected)
         val scrollPane = JBScrollPane(containers)
         val consoles = ConsolesPanel()
@@ -113,10 +116,18 @@ abstract class ConsoleTab<T : ConsoleView, W : Any?>(
 
     abstract fun createConsoleView(project: Project): T?
 
-    abstract fun getDisplayName(): String
+    abstract override fun getDisplayName(): String
 
     protected abstract fun startWatch(container: Container?, consoleView: T?): W?
 
+    /**
+     * Returns the actions that are displayed in a toolbar next to the console for the given container.
+     * There's no toolbar if there are no actions.
+     */
+    protected open fun createActions(container: Container): List<AnAction> {
+        return emptyList()
+    }
+
 
     protected fun showError(container: Container, message: String, e: Throwable? = null) {
         val consoleOrErrorPanel = consoles?.getValue(container, false) ?: return
@@ -182,12 +193,26 @@ abstract class ConsoleTab<T : ConsoleView, W : Any?>(
         init {
             val consoleView = consoleView
             if (consoleView != null) {
-                add(consoleView.component, NAME_VIEW_CONSOLE)
+                add(createConsolePanel(consoleView), NAME_VIEW_CONSOLE)
             }
             add(errorView.component, NAME_VIEW_ERROR)
             showConsole()
         }
 
+        private fun createConsolePanel(consoleView: T): JComponent {
+            val actions = createActions(container)
+            if (actions.isEmpty()) {
+                return consoleView.component
+            }
+            val toolbar = ActionManager.getInstance()
+                .createActionToolbar("KubernetesConsole", DefaultActionGroup(actions), false)
+            toolbar.targetComponent = consoleView.component
+            return SimpleToolWindowPanel(false, true).apply {
+                setToolbar(toolbar.component)
+                setContent(consoleView.component)
+            }
+        }
+
         fun showConsole() {
             show(NAME_VIEW_CONSOLE)
         }
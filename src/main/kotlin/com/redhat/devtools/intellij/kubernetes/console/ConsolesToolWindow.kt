@@ -24,7 +24,7 @@ object ConsolesToolWindow {
 
     const val ID = "Kubernetes Consoles"
 
-    fun add(tab: ConsoleTab<*, *>, project: Project) {
+    fun add(tab: IConsoleTab, project: Project) {
         invokeLater {
             val toolWindow = ToolWindowManager.getInstance(project).getToolWindow(ID)
             if (toolWindow != null) {
@@ -39,7 +39,7 @@ object ConsolesToolWindow {
         }
     }
 
-    private fun createContent(tab: ConsoleTab<*, *>): Content {
+    private fun createContent(tab: IConsoleTab): Content {
         val content = IDEAContentFactory.getInstance().createContent(
             tab.createComponent(),
             tab.getDisplayName(),
@@ -12,7 +12,12 @@ package com.redhat.devtools.intellij.kubernetes.console
 
 import com.intellij.execution.ui.ConsoleView
 
-class FailureCallbackOutputStream(private val onFailure: (message: String) -> Unit, terminal: ConsoleView): ConsoleOutputStream(terminal) {
+class FailureCallbackOutputStream(
+    private val onFailure: (message: String) -> Unit,
+    terminal: ConsoleView,
+    print: (text: String) -> Unit = ConsoleOutputStream.printTo(terminal),
+    bufferSize: Int = ConsoleOutputStream.BUFFER_SIZE
+): ConsoleOutputStream(terminal, print, bufferSize) {
 
     companion object {
         private val failureExpression = Regex("\"kind\":\"Status\".+\"status\":\"Failure\".+\"message\":(\"[^,]+)")
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import java.time.Instant
+import java.time.OffsetDateTime
+import java.time.format.DateTimeParseException
+import java.util.PriorityQueue
+
+/**
+ * Merges the lines of several logs into a single output that is ordered by the time that the lines were logged at.
+ * Lines are expected to be prefixed with their RFC 3339 timestamp (ex. `2025-05-04T12:00:00.123456789Z message`).
+ * The timestamp is removed and the line is prefixed with its source instead (ex. `[pod-1] message`).
+ * Lines are held for [window] ms so that they can be ordered with lines of other logs that arrive later.
+ * All logs share a buffer of [maxBuffered] chars. The oldest lines are printed right away if it's full.
+ * Lines that are longer than [MAX_LINE_LENGTH] are split.
+ *
+ * @param print prints the merged lines, is called while lines are held and should therefore not block
+ * @param window the time in ms that lines are held to be ordered with lines of other sources
+ * @param maxBuffered the number of chars that may be held for all sources
+ */
+open class LogLineMerger(
+    private val print: (text: String) -> Unit,
+    private val window: Long = MERGE_WINDOW,
+    private val maxBuffered: Int = MAX_BUFFERED,
+    private val now: () -> Long = System::currentTimeMillis /* for testing purposes */
+) {
+
+    companion object {
+        const val MERGE_WINDOW = 500L /* ms */
+        const val MAX_BUFFERED = 1024 * 1024
+        const val MAX_LINE_LENGTH = 64 * 1024
+    }
+
+    /* guarded by this */
+    private val lines = PriorityQueue(compareBy<Line>({ it.timestamp }, { it.sequence }))
+    private val sources = mutableMapOf<String, Source>()
+    private var buffered = 0
+    private var sequence = 0L
+
+    /**
+     * Appends the given text of the given source. Text after the last newline is kept until the line is complete.
+     *
+     * @param source the name of the log that the text is from
+     * @param text the text to append
+     */
+    @Synchronized
+    fun append(source: String, text: String) {
+        val state = sources.getOrPut(source) { Source(source) }
+        var start = 0
+        var newline = text.indexOf('\n', start)
+        while (newline >= 0) {
+            state.partial.append(text, start, newline)
+            add(state, state.partial.toString())
+            state.partial.setLength(0)
+            start = newline + 1
+            newline = text.indexOf('\n', start)
+        }
+        state.partial.append(text, start, text.length)
+        if (state.partial.length > MAX_LINE_LENGTH) {
+            // don't hold endless lines
+            add(state, state.partial.toString())
+            state.partial.setLength(0)
+        }
+        printOverflow()
+    }
+
+    /**
+     * Prints the lines that were held for longer than the merge window, ordered by their timestamp.
+     */
+    @Synchronized
+    fun flush() {
+        val until = now.invoke() - window
+        val due = mutableListOf<Line>()
+        while (lines.peek()?.let { it.arrival <= until } == true) {
+            due.add(remove())
+        }
+        printLines(due)
+    }
+
+    /**
+     * Prints all lines that are held and the incomplete line of the given source.
+     *
+     * @param source the source whose incomplete line should be printed, `null` for none
+     */
+    @Synchronized
+    fun flushAll(source: String? = null) {
+        if (source != null) {
+            val state = sources.remove(source)
+            if (state != null
+                && state.partial.isNotEmpty()) {
+                add(state, state.partial.toString())
+            }
+        }
+        val all = mutableListOf<Line>()
+        while (lines.isNotEmpty()) {
+            all.add(remove())
+        }
+        printLines(all)
+    }
+
+    /**
+     * Returns the number of chars that are held.
+     */
+    val size: Int
+        @Synchronized
+        get() = buffered
+
+    private fun add(source: Source, text: String) {
+        val parsed = parseTimestamp(text)
+        val timestamp = parsed?.first
+            ?: source.lastTimestamp // keep lines without timestamp next to the ones before them
+            ?: Instant.ofEpochMilli(now.invoke())
+        source.lastTimestamp = timestamp
+        val line = Line(timestamp, sequence++, now.invoke(), "[${source.name}] ${parsed?.second ?: text}\n")
+        lines.add(line)
+        buffered += line.text.length
+    }
+
+    private fun remove(): Line {
+        val line = lines.remove()
+        buffered -= line.text.length
+        return line
+    }
+
+    private fun printOverflow() {
+        if (buffered <= maxBuffered) {
+            return
+        }
+        val overflow = mutableListOf<Line>()
+        while (buffered > maxBuffered) {
+            overflow.add(remove())
+        }
+        printLines(overflow)
+    }
+
+    private fun printLines(toPrint: List<Line>) {
+        if (toPrint.isEmpty()) {
+            return
+        }
+        val text = StringBuilder(toPrint.sumOf { it.text.length })
+        toPrint.forEach { text.append(it.text) }
+        print.invoke(text.toString())
+    }
+
+    private fun parseTimestamp(line: String): Pair<Instant, String>? {
+        val end = line.indexOf(' ')
+        if (end <= 0) {
+            return null
+        }
+        return try {
+            Pair(OffsetDateTime.parse(line.substring(0, end)).toInstant(), line.substring(end + 1))
+        } catch (e: DateTimeParseException) {
+            null
+        }
+    }
+
+    private class Source(val name: String) {
+        val partial = StringBuilder()
+        var lastTimestamp: Instant? = null
+    }
+
+    private class Line(val timestamp: Instant, val sequence: Long, val arrival: Long, val text: String)
+}
@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.openapi.diagnostic.logger
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * A store for the lines of a log that holds its full history without keeping it all in memory.
+ * The most recent lines are kept in memory. Older lines are spilled to temporary files (segments) in batches.
+ * Segments index the offsets of their lines so that any line can be read without reading the ones before it.
+ * The history is bounded: the oldest segment is deleted once there are more than [maxSegments].
+ * Lines are numbered in the order that they were appended, starting at 0.
+ *
+ * @param directory the directory to create the segments in, the system temp directory if `null`
+ * @param maxLines the number of lines that are kept in memory
+ * @param segmentSize the number of bytes that a segment may hold before a new one is started
+ * @param maxSegments the number of segments that are kept
+ */
+open class LogStore(
+    private val directory: Path? = null,
+    private val maxLines: Int = MAX_LINES,
+    private val segmentSize: Long = SEGMENT_SIZE,
+    private val maxSegments: Int = MAX_SEGMENTS
+) : Closeable {
+
+    companion object {
+        const val MAX_LINES = 10_000
+        const val SEGMENT_SIZE = 32L * 1024 * 1024
+        const val MAX_SEGMENTS = 16
+        const val MAX_MATCHES = 1000
+    }
+
+    /* lines are spilled in batches so that there's a single write for many lines */
+    private val spillBatch = maxOf(1, maxLines / 4)
+
+    /* guarded by this */
+    private val recent = ArrayDeque<String>()
+    private val partial = StringBuilder()
+    private val segments = mutableListOf<Segment>()
+    private var lineCount = 0L
+    private var closed = false
+
+    /**
+     * Appends the given text. Text after the last newline is kept until the line is complete.
+     *
+     * @param text the text to append
+     */
+    @Synchronized
+    fun append(text: String) {
+        if (closed) {
+            return
+        }
+        var start = 0
+        var newline = text.indexOf('\n', start)
+        while (newline >= 0) {
+            partial.append(text, start, newline)
+            addLine(partial.toString())
+            partial.setLength(0)
+            start = newline + 1
+            newline = text.indexOf('\n', start)
+        }
+        partial.append(text, start, text.length)
+    }
+
+    /**
+     * Returns the number of complete lines that were appended, including the ones that were dropped.
+     */
+    val size: Long
+        @Synchronized
+        get() = lineCount
+
+    /**
+     * Returns the number of the oldest line that is still available.
+     */
+    val firstLine: Long
+        @Synchronized
+        get() = segments.firstOrNull()?.firstLine ?: (lineCount - recent.size)
+
+    /**
+     * Returns the given number of lines starting at the given line.
+     * Lines that are not available anymore are skipped.
+     *
+     * @param from the number of the first line to return
+     * @param count the number of lines to return
+     * @return the lines
+     */
+    fun getLines(from: Long, count: Int): List<String> {
+        val snapshot = snapshot()
+        val lines = mutableListOf<String>()
+        var line = maxOf(from, snapshot.firstLine)
+        val end = minOf(from + count, snapshot.size)
+        while (line < end) {
+            lines.add(snapshot.getLine(line) ?: break)
+            line++
+        }
+        return lines
+    }
+
+    /**
+     * Searches the whole history for lines that match the given query. Matching doesn't block appending lines.
+     *
+     * @param query the text or regular expression to search for
+     * @param regex `true` if the query is a regular expression, `false` if it's plain text
+     * @param ignoreCase `true` if the case should be ignored
+     * @param limit the maximum number of matches to return
+     * @return the lines that match, in ascending order
+     * @throws java.util.regex.PatternSyntaxException if the query is not a valid regular expression
+     */
+    fun search(query: String, regex: Boolean = false, ignoreCase: Boolean = true, limit: Int = MAX_MATCHES): List<Match> {
+        if (query.isEmpty()) {
+            return emptyList()
+        }
+        val matches: (String) -> Boolean =
+            if (regex) {
+                val options = if (ignoreCase) setOf(RegexOption.IGNORE_CASE) else emptySet()
+                Regex(query, options)::containsMatchIn
+            } else {
+                { line: String -> line.contains(query, ignoreCase) }
+            }
+        val snapshot = snapshot()
+        val found = mutableListOf<Match>()
+        var line = snapshot.firstLine
+        while (line < snapshot.size
+            && found.size < limit) {
+            val text = snapshot.getLine(line)
+            if (text != null
+                && matches.invoke(text)) {
+                found.add(Match(line, text))
+            }
+            line++
+        }
+        return found
+    }
+
+    /**
+     * Returns a new store with the lines of this store that precede the given line.
+     * Used when a log is streamed again (ex. with a larger tail window) so that the history that the new stream
+     * doesn't cover is kept.
+     *
+     * @param until the number of the first line that is not copied
+     * @return a new store with the lines before the given one
+     */
+    fun copyUntil(until: Long): LogStore {
+        val copy = LogStore(directory, maxLines, segmentSize, maxSegments)
+        var line = firstLine
+        while (line < until) {
+            val lines = getLines(line, minOf(maxLines.toLong(), until - line).toInt())
+            if (lines.isEmpty()) {
+                break
+            }
+            copy.append(lines.joinToString("\n", postfix = "\n"))
+            line += lines.size
+        }
+        return copy
+    }
+
+    /**
+     * Deletes all segments. Nothing can be appended anymore.
+     */
+    @Synchronized
+    override fun close() {
+        closed = true
+        recent.clear()
+        segments.forEach { it.close() }
+        segments.clear()
+    }
+
+    private fun addLine(line: String) {
+        recent.addLast(line)
+        lineCount++
+        if (recent.size >= maxLines + spillBatch) {
+            spill(spillBatch)
+        }
+    }
+
+    private fun spill(count: Int) {
+        val lines = List(count) { recent.removeFirst() }
+        try {
+            getWritableSegment(lineCount - recent.size - count).append(lines)
+        } catch (e: IOException) {
+            // line numbers in segments would not be contiguous anymore
+            logger<LogStore>().warn("Could not spill ${lines.size} log lines to disk, dropping the history.", e)
+            segments.forEach { it.close() }
+            segments.clear()
+        }
+        while (segments.size > maxSegments) {
+            segments.removeAt(0).close()
+        }
+    }
+
+    private fun getWritableSegment(firstLine: Long): Segment {
+        val last = segments.lastOrNull()
+        if (last != null
+            && last.size < segmentSize) {
+            return last
+        }
+        val file = if (directory != null) {
+            Files.createTempFile(directory, "kubernetes-log", ".segment")
+        } else {
+            Files.createTempFile("kubernetes-log", ".segment")
+        }
+        val segment = Segment(file, firstLine)
+        segments.add(segment)
+        return segment
+    }
+
+    @Synchronized
+    private fun snapshot(): Snapshot {
+        return Snapshot(
+            segments.map { it.snapshot() },
+            recent.toList(),
+            lineCount
+        )
+    }
+
+    /**
+     * A line that matched a search.
+     *
+     * @param line the number of the line
+     * @param text the text of the line
+     */
+    data class Match(val line: Long, val text: String)
+
+    private class Snapshot(
+        private val segments: List<SegmentSnapshot>,
+        private val recent: List<String>,
+        val size: Long
+    ) {
+        val firstLine: Long = segments.firstOrNull()?.firstLine ?: (size - recent.size)
+
+        fun getLine(line: Long): String? {
+            val recentFirst = size - recent.size
+            if (line >= recentFirst) {
+                return recent.getOrNull((line - recentFirst).toInt())
+            }
+            val segment = segments.lastOrNull { it.firstLine <= line } ?: return null
+            return segment.getLine((line - segment.firstLine).toInt())
+        }
+    }
+
+    /**
+     * A file that holds a contiguous range of lines. Lines are only ever appended.
+     * The offset of each line is kept in memory so that lines can be read without scanning the file.
+     */
+    private class Segment(private val file: Path, val firstLine: Long) : Closeable {
+
+        private val channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        private var offsets = LongArray(1024)
+        private var lines = 0
+        var size = 0L
+            private set
+
+        fun append(toAppend: List<String>) {
+            val bytes = ByteArrayOutputStream()
+            val appended = LongArray(toAppend.size)
+            toAppend.forEachIndexed { index, line ->
+                appended[index] = size + bytes.size()
+                bytes.write(line.toByteArray(Charsets.UTF_8))
+            }
+            val buffer = ByteBuffer.wrap(bytes.toByteArray())
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, size + buffer.position())
+            }
+            // only index lines once they were written
+            if (lines + appended.size > offsets.size) {
+                offsets = offsets.copyOf(maxOf(offsets.size * 2, lines + appended.size))
+            }
+            appended.copyInto(offsets, lines)
+            lines += appended.size
+            size += bytes.size()
+        }
+
+        fun snapshot(): SegmentSnapshot {
+            /* offsets is replaced, never modified below [lines], when it grows */
+            return SegmentSnapshot(channel, firstLine, offsets, lines, size)
+        }
+
+        override fun close() {
+            try {
+                channel.close()
+                Files.deleteIfExists(file)
+            } catch (e: IOException) {
+                // file may still be opened by another process (ex. a virus scanner on windows)
+                file.toFile().deleteOnExit()
+            }
+        }
+    }
+
+    private class SegmentSnapshot(
+        private val channel: FileChannel,
+        val firstLine: Long,
+        private val offsets: LongArray,
+        private val lines: Int,
+        private val size: Long
+    ) {
+        fun getLine(index: Int): String? {
+            if (index < 0
+                || index >= lines) {
+                return null
+            }
+            val start = offsets[index]
+            val end = if (index + 1 < lines) {
+                offsets[index + 1]
+            } else {
+                size
+            }
+            val buffer = ByteBuffer.allocate((end - start).toInt())
+            return try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        return null
+                    }
+                }
+                buffer.flip()
+                Charsets.UTF_8.decode(buffer).toString()
+            } catch (e: IOException) {
+                // segment was closed in the meantime
+                null
+            }
+        }
+    }
+}
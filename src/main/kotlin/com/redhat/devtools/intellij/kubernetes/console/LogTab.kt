@@ -12,30 +12,73 @@ package com.redhat.devtools.intellij.kubernetes.console
 
 import com.intellij.execution.filters.TextConsoleBuilderFactory
 import com.intellij.execution.ui.ConsoleView
+import com.intellij.icons.AllIcons
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.project.DumbAwareAction
 import com.intellij.openapi.application.runInEdt
 import com.intellij.openapi.project.Project
+import com.redhat.devtools.intellij.kubernetes.dialogs.LogHistoryDialog
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
 import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.Pod
 import io.fabric8.kubernetes.client.dsl.LogWatch
+import java.util.concurrent.ConcurrentHashMap
+import org.jetbrains.concurrency.runAsync
 
-open class LogTab(pod: Pod, model: IResourceModel, project: Project) :
-    ConsoleTab<ConsoleView, LogWatch>(pod, model, project) {
+open class LogTab(
+    pod: Pod,
+    model: IResourceModel,
+    project: Project,
+    private val options: LogOptions = LogOptions.DEFAULT
+) : ConsoleTab<ConsoleView, LogWatch>(pod, model, project) {
+
+    companion object {
+        private const val LOG_BUFFER_SIZE = 16 * 1024
+        /* lines that "load earlier" adds to the tail window */
+        private const val EARLIER_LINES = 1000
+        private const val MAX_TAIL_LINES = 100_000
+    }
+
+    private val stores = ConcurrentHashMap<Container, LogStore>()
+    private val consoles = ConcurrentHashMap<Container, ConsoleView>()
+    private val logWatches = ConcurrentHashMap<Container, LogWatch>()
+    private val containerOptions = ConcurrentHashMap<Container, LogOptions>()
 
     override fun startWatch(container: Container?, consoleView: ConsoleView?): LogWatch? {
+        return startWatch(container, consoleView, LogStore())
+    }
+
+    private fun startWatch(container: Container?, consoleView: ConsoleView?, store: LogStore): LogWatch? {
         if (container == null
             || consoleView == null) {
+            store.close()
             return null
         }
+        consoles[container] = consoleView
+        stores.put(container, store)?.close()
+        val printer = BatchingConsolePrinter(consoleView)
         val watch = model.watchLog(
             container,
             pod, FailureCallbackOutputStream(
                 onFailureDetected(container),
-                consoleView
-            )
+                consoleView,
+                { text ->
+                    // the console only keeps the recent output, the store holds the full history
+                    store.append(text)
+                    printer.print(text)
+                },
+                LOG_BUFFER_SIZE
+            ),
+            containerOptions.getOrPut(container) { options }
         )
         this.watch.set(watch)
+        if (watch != null) {
+            logWatches.put(container, watch)
+                ?.let { previous -> model.stopWatch(previous) }
+        }
         return watch
     }
 
@@ -48,6 +91,10 @@ open class LogTab(pod: Pod, model: IResourceModel, project: Project) :
         }
     }
 
+    override fun createActions(container: Container): List<AnAction> {
+        return listOf(LoadEarlierAction(container), SearchHistoryAction(container))
+    }
+
     override fun createConsoleView(project: Project): ConsoleView {
         val builder = TextConsoleBuilderFactory.getInstance().createBuilder(project)
         builder.setViewer(true)
@@ -60,11 +107,70 @@ open class LogTab(pod: Pod, model: IResourceModel, project: Project) :
 
     override fun dispose() {
         super.dispose()
-        closeWatch()
+        logWatches.values.forEach { model.stopWatch(it) }
+        logWatches.clear()
+        stores.values.forEach { it.close() }
+        stores.clear()
+    }
+
+    /**
+     * Restarts the log with a tail window that starts [EARLIER_LINES] lines earlier.
+     * The log is streamed again so that earlier lines are displayed in order with the ones that were displayed already.
+     * The history that precedes the new tail window is kept so that it can still be searched.
+     */
+    private inner class LoadEarlierAction(private val container: Container) :
+        DumbAwareAction("Load Earlier Lines", "Load $EARLIER_LINES earlier lines of the log", AllIcons.Actions.PreviousOccurence) {
+
+        override fun actionPerformed(e: AnActionEvent) {
+            val consoleView = consoles[container] ?: return
+            val current = containerOptions[container] ?: options
+            val earlier = current.earlier(EARLIER_LINES, MAX_TAIL_LINES)
+            containerOptions[container] = earlier
+            runAsync {
+                logWatches.remove(container)?.let { model.stopWatch(it) }
+                consoleView.clear()
+                try {
+                    startWatch(container, consoleView, keepHistory(container, earlier))
+                } catch (e: ResourceException) {
+                    runInEdt {
+                        showError(container, "Could not load earlier lines of container \"${container.name}\".", e)
+                    }
+                }
+            }
+        }
+
+        override fun update(e: AnActionEvent) {
+            val tailLines = (containerOptions[container] ?: options).tailLines
+            e.presentation.isEnabled = consoles.containsKey(container)
+                    && tailLines != null
+                    && tailLines < MAX_TAIL_LINES
+        }
     }
 
-    private fun closeWatch() {
-        val watch = watch.get() ?: return
-        model.stopWatch(watch)
+    /**
+     * Returns a new store with the lines of the current store that precede the given tail window.
+     * The lines in the tail window are streamed again.
+     */
+    private fun keepHistory(container: Container, options: LogOptions): LogStore {
+        val previous = stores[container]
+        val tailLines = options.tailLines
+        if (previous == null
+            || tailLines == null) {
+            return LogStore()
+        }
+        return previous.copyUntil(previous.size - tailLines)
+    }
+
+    private inner class SearchHistoryAction(private val container: Container) :
+        DumbAwareAction("Search Log History", "Search the full history of the log", AllIcons.Actions.Find) {
+
+        override fun actionPerformed(e: AnActionEvent) {
+            val store = stores[container] ?: return
+            LogHistoryDialog(project, "${getDisplayName()} [${container.name}]", store).show()
+        }
+
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = stores.containsKey(container)
+        }
     }
 }
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.ui.components.JBLabel
+import com.intellij.util.ui.FormBuilder
+import com.intellij.util.ui.JBUI
+import com.redhat.devtools.intellij.kubernetes.model.portforward.PortForwarding
+import java.awt.BorderLayout
+import javax.swing.JComponent
+import javax.swing.JPanel
+import javax.swing.Timer
+import org.jetbrains.concurrency.runAsync
+
+/**
+ * A tab that displays the target, connections and throughput of a port forward.
+ * The port forward is stopped when the tab is closed.
+ */
+open class PortForwardTab(private val forwarding: PortForwarding) : IConsoleTab {
+
+    companion object {
+        private const val REFRESH_INTERVAL = 1000 /* ms */
+    }
+
+    private val localLabel = JBLabel()
+    private val targetLabel = JBLabel()
+    private val connectionsLabel = JBLabel()
+    private val sentLabel = JBLabel()
+    private val receivedLabel = JBLabel()
+    private var previous: PortForwarding.Stats? = null
+    private val timer = Timer(REFRESH_INTERVAL) { refresh() }
+
+    override fun createComponent(): JComponent {
+        val form = FormBuilder.createFormBuilder()
+            .addLabeledComponent("Local address:", localLabel)
+            .addLabeledComponent("Forwarding to pod:", targetLabel)
+            .addLabeledComponent("Connections:", connectionsLabel)
+            .addLabeledComponent("Sent:", sentLabel)
+            .addLabeledComponent("Received:", receivedLabel)
+            .panel
+        refresh()
+        timer.start()
+        return JPanel(BorderLayout()).apply {
+            border = JBUI.Borders.empty(10)
+            add(form, BorderLayout.NORTH)
+        }
+    }
+
+    private fun refresh() {
+        val stats = forwarding.stats
+        val address = forwarding.localAddress
+        localLabel.text = if (address != null) {
+            "${address.hostString}:${address.port}"
+        } else {
+            "-"
+        }
+        targetLabel.text = stats.target ?: "no ready pod"
+        connectionsLabel.text = "${stats.activeConnections} active, ${stats.totalConnections} total"
+        sentLabel.text = toThroughput(stats.bytesSent, previous?.bytesSent)
+        receivedLabel.text = toThroughput(stats.bytesReceived, previous?.bytesReceived)
+        previous = stats
+    }
+
+    private fun toThroughput(bytes: Long, previousBytes: Long?): String {
+        val perSecond = (bytes - (previousBytes ?: bytes)) * 1000 / REFRESH_INTERVAL
+        return "${StringUtil.formatFileSize(bytes)} (${StringUtil.formatFileSize(perSecond)}/s)"
+    }
+
+    override fun getDisplayName(): String {
+        // kubectl notation: local port:remote port
+        val localPort = forwarding.localAddress?.port ?: 0
+        return "Port Forward: ${forwarding.resource.kind} ${forwarding.resource.metadata.name} $localPort:${forwarding.port}"
+    }
+
+    override fun dispose() {
+        timer.stop()
+        runAsync {
+            forwarding.close()
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModelListener
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.getPodFilter
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import com.redhat.devtools.intellij.kubernetes.model.util.getStatus
+import com.redhat.devtools.intellij.kubernetes.model.util.isRunning
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.Container
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.client.dsl.LogWatch
+import java.io.IOException
+import java.io.OutputStream
+
+/**
+ * The log streams of all the pods of a workload (ex. deployment, stateful set, job, service).
+ * The pods are resolved with the selector filter of the workload and kept up to date with the pod events of the model:
+ * streams are started for containers that are running and stopped for pods that are removed.
+ * All streams are opened through the model and therefore share the pooled client (and its connections) of
+ * the current context. At most [maxStreams] logs are followed at once, further containers wait for a free slot.
+ *
+ * @param workload the resource whose pods' logs should be followed
+ * @param model the model to resolve the pods and open the streams with
+ * @param createOutput creates the stream that the log of the given source (ex. `pod-1/container-1`) is written to
+ * @param notify displays the given message about the streams (ex. a pod was added)
+ * @param maxStreams the maximum number of logs that are followed at once
+ * @param options the options to stream the logs with
+ */
+open class WorkloadLogStreams(
+    private val workload: HasMetadata,
+    private val model: IResourceModel,
+    private val createOutput: (source: String) -> OutputStream,
+    private val notify: (message: String) -> Unit,
+    private val maxStreams: Int = MAX_STREAMS,
+    private val options: LogOptions = OPTIONS,
+    private val executor: (runnable: Runnable) -> Unit = { runnable ->
+        AppExecutorUtil.getAppExecutorService().execute(runnable)
+    } /* for testing purposes */
+) : IResourceModelListener {
+
+    companion object {
+        const val MAX_STREAMS = 50
+        /* timestamps are required to merge the lines of all pods */
+        val OPTIONS = LogOptions(tailLines = 100, timestamps = true)
+    }
+
+    private val filter = getPodFilter(workload)
+
+    /* guarded by this */
+    private val members = mutableMapOf<String, Pod>()
+    private val streams = mutableMapOf<Key, Stream>()
+    private val waiting = LinkedHashSet<Key>()
+    private var stopped = false
+    private var limitNotified = false
+    /* true if [start] watched the pods, the watch is then released in [stop] */
+    private var watching = false
+
+    /**
+     * Returns the number of logs that are followed.
+     */
+    val streaming: Int
+        @Synchronized
+        get() = streams.size
+
+    /**
+     * Returns the number of containers that are waiting for their log to be followed.
+     */
+    val waitingCount: Int
+        @Synchronized
+        get() = waiting.size
+
+    /**
+     * Starts to follow the logs of the pods that currently exist and watches pods to follow the ones that are added.
+     * Only pods that are added afterwards are notified.
+     */
+    fun start() {
+        if (filter == null) {
+            return
+        }
+        model.addListener(this)
+        model.watch(NamespacedPodsOperator.KIND)
+        synchronized(this) {
+            watching = true
+        }
+        model.resources(NamespacedPodsOperator.KIND)
+            .inCurrentNamespace()
+            .filtered(filter)
+            .list()
+            .forEach { update(it, false) }
+    }
+
+    /**
+     * Stops following all logs and releases the watch of the pods.
+     */
+    fun stop() {
+        model.removeListener(this)
+        val release: Boolean
+        val toClose = synchronized(this) {
+            stopped = true
+            release = watching
+            watching = false
+            val all = streams.values.toList()
+            streams.clear()
+            waiting.clear()
+            members.clear()
+            all
+        }
+        toClose.forEach { close(it) }
+        if (release) {
+            model.releaseWatch(NamespacedPodsOperator.KIND)
+        }
+    }
+
+    override fun added(added: Any) {
+        (added as? Pod)?.let { update(it, true) }
+    }
+
+    override fun modified(modified: Any) {
+        (modified as? Pod)?.let { update(it) }
+    }
+
+    override fun removed(removed: Any) {
+        (removed as? Pod)?.let { remove(it) }
+    }
+
+    private fun update(pod: Pod, notifyAdded: Boolean = true) {
+        val name = pod.metadata?.name ?: return
+        if (!isMember(pod)) {
+            remove(pod)
+            return
+        }
+        val added: Boolean
+        val toClose: List<Stream>
+        val toOpen: List<Stream>
+        synchronized(this) {
+            if (stopped) {
+                return
+            }
+            added = members.put(name, pod) == null
+            val running = getRunningContainers(pod)
+                .map { container -> Key(name, container.name) }
+                .toSet()
+            // containers that are not running anymore
+            val notRunning = (streams.keys + waiting)
+                .filter { key -> key.pod == name
+                        && !running.contains(key) }
+            waiting.removeAll(notRunning.toSet())
+            toClose = notRunning.mapNotNull { key -> streams.remove(key) }
+            waiting.addAll(running.filter { key -> !streams.containsKey(key) })
+            toOpen = promote()
+        }
+        if (added
+            && notifyAdded) {
+            notify.invoke("Pod ${pod.metadata.name} was added.")
+        }
+        toClose.forEach { close(it) }
+        toOpen.forEach { open(it) }
+        notifyLimit()
+    }
+
+    private fun remove(pod: Pod) {
+        val name = pod.metadata?.name ?: return
+        val toClose: List<Stream>
+        val toOpen: List<Stream>
+        synchronized(this) {
+            if (members.remove(name) == null) {
+                return
+            }
+            waiting.removeAll { key -> key.pod == name }
+            val keys = streams.keys.filter { key -> key.pod == name }
+            toClose = keys.mapNotNull { key -> streams.remove(key) }
+            toOpen = promote()
+        }
+        notify.invoke("Pod $name was removed.")
+        toClose.forEach { close(it) }
+        toOpen.forEach { open(it) }
+    }
+
+    /**
+     * Moves waiting containers to the streams while there are free slots.
+     * Has to be called while holding the lock.
+     */
+    private fun promote(): List<Stream> {
+        val promoted = mutableListOf<Stream>()
+        val iterator = waiting.iterator()
+        while (streams.size < maxStreams
+            && iterator.hasNext()) {
+            val key = iterator.next()
+            iterator.remove()
+            val stream = Stream(key)
+            streams[key] = stream
+            promoted.add(stream)
+        }
+        return promoted
+    }
+
+    private fun notifyLimit() {
+        val waitingCount = synchronized(this) {
+            if (waiting.isEmpty()
+                || limitNotified) {
+                return
+            }
+            limitNotified = true
+            waiting.size
+        }
+        notify.invoke("$waitingCount container(s) are waiting, at most $maxStreams logs are followed at once.")
+    }
+
+    private fun open(stream: Stream) {
+        executor.invoke { connect(stream) }
+    }
+
+    private fun connect(stream: Stream) {
+        val target = synchronized(this) {
+            val pod = members[stream.key.pod]
+            val container = pod?.spec?.containers?.find { it.name == stream.key.container }
+            if (streams[stream.key] === stream
+                && pod != null
+                && container != null) {
+                Pair(pod, container)
+            } else {
+                null
+            }
+        } ?: return
+        val (pod, container) = target
+        val out = createOutput.invoke(getSource(pod, container))
+        val watch = try {
+            model.watchLog(container, pod, out, options)
+        } catch (e: ResourceException) {
+            logger<WorkloadLogStreams>().warn("Could not follow log of container ${container.name} in pod ${pod.metadata.name}.", e)
+            notify.invoke("Could not follow log of container ${container.name} in pod ${pod.metadata.name}: ${toMessage(e)}")
+            null
+        }
+        val toOpen = synchronized(this) {
+            if (streams[stream.key] === stream) {
+                if (watch != null) {
+                    stream.watch = watch
+                    stream.out = out
+                    return
+                }
+                // failed, retried once the pod is modified
+                streams.remove(stream.key)
+            }
+            promote()
+        }
+        // stopped or failed in the meantime
+        stopWatch(watch, out)
+        toOpen.forEach { open(it) }
+    }
+
+    private fun close(stream: Stream) {
+        val watch: LogWatch?
+        val out: OutputStream?
+        synchronized(this) {
+            watch = stream.watch
+            out = stream.out
+            stream.watch = null
+            stream.out = null
+        }
+        if (watch == null
+            && out == null) {
+            // still connecting, is closed once connected
+            return
+        }
+        executor.invoke { stopWatch(watch, out) }
+    }
+
+    private fun stopWatch(watch: LogWatch?, out: OutputStream?) {
+        try {
+            watch?.let { model.stopWatch(it) }
+            out?.close()
+        } catch (e: IOException) {
+            logger<WorkloadLogStreams>().warn("Could not close log stream.", e)
+        }
+    }
+
+    private fun isMember(pod: Pod): Boolean {
+        val namespace = workload.metadata?.namespace
+        return true == filter?.test(pod)
+                && (namespace == null
+                    || namespace == pod.metadata?.namespace)
+    }
+
+    private fun getRunningContainers(pod: Pod): List<Container> {
+        return pod.spec?.containers
+            ?.filter { container -> isRunning(container.getStatus(pod.status)) }
+            ?: emptyList()
+    }
+
+    private fun getSource(pod: Pod, container: Container): String {
+        return if ((pod.spec?.containers?.size ?: 0) > 1) {
+            "${pod.metadata.name}/${container.name}"
+        } else {
+            pod.metadata.name
+        }
+    }
+
+    private data class Key(val pod: String, val container: String)
+
+    private class Stream(val key: Key) {
+        /* guarded by the streams */
+        var watch: LogWatch? = null
+        var out: OutputStream? = null
+    }
+}
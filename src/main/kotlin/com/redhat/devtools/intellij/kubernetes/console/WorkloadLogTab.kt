@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.execution.filters.TextConsoleBuilderFactory
+import com.intellij.execution.ui.ConsoleView
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.SimpleToolWindowPanel
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import javax.swing.JComponent
+import org.jetbrains.concurrency.runAsync
+
+/**
+ * A tab that displays the logs of all the pods of a workload (ex. deployment, service) in a single console.
+ * Lines are merged by the time they were logged at and prefixed with the pod (and container) they're from.
+ */
+open class WorkloadLogTab(
+    private val workload: HasMetadata,
+    private val model: IResourceModel,
+    private val project: Project
+) : IConsoleTab {
+
+    companion object {
+        private const val LOG_BUFFER_SIZE = 16 * 1024
+        private const val FLUSH_INTERVAL = 100L /* ms */
+    }
+
+    private var consoleView: ConsoleView? = null
+    private var streams: WorkloadLogStreams? = null
+    private var flushing: ScheduledFuture<*>? = null
+
+    override fun createComponent(): JComponent {
+        val consoleView = createConsoleView(project)
+        this.consoleView = consoleView
+        val printer = BatchingConsolePrinter(consoleView)
+        // all pods share the buffer of the merger
+        val merger = LogLineMerger(printer::print)
+        val streams = WorkloadLogStreams(
+            workload,
+            model,
+            { source -> createOutput(source, consoleView, merger) },
+            { message -> printer.print("--- $message ---\n") }
+        )
+        this.streams = streams
+        this.flushing = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+            merger::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS
+        )
+        runAsync {
+            try {
+                streams.start()
+            } catch (e: Exception) {
+                logger<WorkloadLogTab>().warn("Could not follow logs of ${toMessage(workload, -1)}.", e)
+                printer.print("Could not follow logs of ${toMessage(workload, 30)}: ${toMessage(e)}\n")
+            }
+        }
+        return SimpleToolWindowPanel(false, true).apply {
+            setContent(consoleView.component)
+        }
+    }
+
+    private fun createOutput(source: String, consoleView: ConsoleView, merger: LogLineMerger): ConsoleOutputStream {
+        return object : ConsoleOutputStream(consoleView, { text -> merger.append(source, text) }, LOG_BUFFER_SIZE) {
+            override fun close() {
+                super.close()
+                merger.flushAll(source)
+            }
+        }
+    }
+
+    private fun createConsoleView(project: Project): ConsoleView {
+        val builder = TextConsoleBuilderFactory.getInstance().createBuilder(project)
+        builder.setViewer(true)
+        return builder.console
+    }
+
+    override fun getDisplayName(): String {
+        return "Log: ${workload.kind} ${workload.metadata.name}"
+    }
+
+    override fun dispose() {
+        flushing?.cancel(false)
+        streams?.stop()
+        consoleView?.dispose()
+    }
+}
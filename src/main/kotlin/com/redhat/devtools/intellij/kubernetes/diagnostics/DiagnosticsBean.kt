@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.diagnostics
+
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot
+import java.lang.management.ManagementFactory
+import javax.management.InstanceAlreadyExistsException
+import javax.management.JMException
+import javax.management.ObjectName
+
+/**
+ * The diagnostics of the resource model, exposed via JMX (ex. in jconsole or VisualVM).
+ *
+ * @see DiagnosticsSnapshot
+ */
+interface DiagnosticsMXBean {
+
+    fun getContext(): String?
+
+    /** the number of cached resources of each kind */
+    fun getCachedResources(): Map<String, Int>
+
+    /** the estimated heap that all cached resources take, in bytes */
+    fun getCachedResourcesBytes(): Long
+
+    /** the mean latency of listing the resources of each kind, in ms */
+    fun getListLatencyMean(): Map<String, Long>
+
+    /** the 95th percentile of the latency of listing the resources of each kind, in ms */
+    fun getListLatency95thPercentile(): Map<String, Long>
+
+    /** the watch events per second for each kind, averaged over the last minute */
+    fun getEventsPerSecond(): Map<String, Double>
+
+    /** the number of times the watch for each kind was re-established */
+    fun getWatchReconnects(): Map<String, Int>
+
+    fun getPendingWatchOperations(): Int
+
+    /** the number of open log, exec and port forward watches */
+    fun getProcessWatches(): Int
+
+    /** the time that the invoker of the tree model spent updating the resource tree, in ms */
+    fun getTreeUpdatesTime(): Long
+
+    fun getEditorUpdates(): Long
+
+    /** returns a snapshot of all diagnostics as json */
+    fun exportSnapshot(): String
+
+    /** discards the recorded latencies, events and updates */
+    fun reset()
+}
+
+/**
+ * The [DiagnosticsMXBean] that is registered in the platform MBean server.
+ * Snapshots are reused for a second so that reading all attributes in a row doesn't take a snapshot for each of them.
+ *
+ * @param model the model whose diagnostics are exposed
+ */
+class DiagnosticsBean(
+    private val model: IResourceModel,
+    /* for testing purposes */
+    private val diagnostics: Diagnostics = Diagnostics.instance,
+    /* for testing purposes */
+    private val clock: () -> Long = System::currentTimeMillis
+) : DiagnosticsMXBean {
+
+    companion object {
+        val NAME = ObjectName("com.redhat.devtools.intellij.kubernetes:type=Diagnostics")
+        private const val MAX_SNAPSHOT_AGE = 1000L /* ms */
+
+        /**
+         * Registers the diagnostics of the given model in the platform MBean server.
+         * Does nothing if they are registered already.
+         */
+        fun register(model: IResourceModel) {
+            try {
+                val server = ManagementFactory.getPlatformMBeanServer()
+                if (!server.isRegistered(NAME)) {
+                    server.registerMBean(DiagnosticsBean(model), NAME)
+                }
+            } catch (e: InstanceAlreadyExistsException) {
+                // registered concurrently
+            } catch (e: JMException) {
+                logger<DiagnosticsBean>().warn("Could not register kubernetes diagnostics in MBean server.", e)
+            }
+        }
+    }
+
+    @Volatile
+    private var snapshot: DiagnosticsSnapshot? = null
+    @Volatile
+    private var snapshotTime: Long = 0
+
+    override fun getContext(): String? {
+        return getSnapshot().context
+    }
+
+    override fun getCachedResources(): Map<String, Int> {
+        return getSnapshot().caches
+            .groupBy { cache -> cache.kind }
+            .mapValues { (_, caches) -> caches.sumOf { it.count } }
+    }
+
+    override fun getCachedResourcesBytes(): Long {
+        return getSnapshot().caches.sumOf { it.estimatedBytes }
+    }
+
+    override fun getListLatencyMean(): Map<String, Long> {
+        return getSnapshot().listLatencies.mapValues { (_, latencies) -> latencies.mean }
+    }
+
+    override fun getListLatency95thPercentile(): Map<String, Long> {
+        return getSnapshot().listLatencies.mapValues { (_, latencies) -> latencies.percentile(95) }
+    }
+
+    override fun getEventsPerSecond(): Map<String, Double> {
+        return getSnapshot().events.mapValues { (_, events) -> events.perSecond }
+    }
+
+    override fun getWatchReconnects(): Map<String, Int> {
+        return getSnapshot().watches.reconnects.mapValues { (_, metrics) -> metrics.reconnects }
+    }
+
+    override fun getPendingWatchOperations(): Int {
+        return getSnapshot().watches.pendingOperations
+    }
+
+    override fun getProcessWatches(): Int {
+        return getSnapshot().processWatches.watches
+    }
+
+    override fun getTreeUpdatesTime(): Long {
+        return getSnapshot().treeUpdates.total
+    }
+
+    override fun getEditorUpdates(): Long {
+        return getSnapshot().editorUpdates
+    }
+
+    override fun exportSnapshot(): String {
+        return model.getDiagnostics().toJson()
+    }
+
+    override fun reset() {
+        diagnostics.reset()
+        snapshot = null
+    }
+
+    private fun getSnapshot(): DiagnosticsSnapshot {
+        val now = clock.invoke()
+        val existing = snapshot
+        if (existing != null
+            && now - snapshotTime < MAX_SNAPSHOT_AGE) {
+            return existing
+        }
+        val created = model.getDiagnostics()
+        this.snapshotTime = now
+        this.snapshot = created
+        return created
+    }
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.diagnostics
+
+import com.intellij.icons.AllIcons
+import com.intellij.openapi.actionSystem.ActionManager
+import com.intellij.openapi.actionSystem.ActionPlaces
+import com.intellij.openapi.actionSystem.ActionToolbar
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.actionSystem.DefaultActionGroup
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.fileChooser.FileChooserFactory
+import com.intellij.openapi.fileChooser.FileSaverDescriptor
+import com.intellij.openapi.project.DumbAware
+import com.intellij.openapi.project.DumbAwareAction
+import com.intellij.openapi.project.DumbAwareToggleAction
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.SimpleToolWindowPanel
+import com.intellij.openapi.wm.ToolWindow
+import com.intellij.openapi.wm.ToolWindowFactory
+import com.intellij.ui.components.JBScrollPane
+import com.intellij.ui.components.JBTextArea
+import com.intellij.util.Alarm
+import com.intellij.util.ui.JBUI
+import com.redhat.devtools.intellij.common.utils.IDEAContentFactory
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder
+import java.awt.Font
+import java.nio.file.Files
+
+/**
+ * A tool window that shows what the resource model is doing: the cached resources, the latencies of listing them,
+ * the watch events, the watches and the updates of the resource tree and editors.
+ * It is refreshed periodically while it is visible. Snapshots can be exported to json and attached to bug reports,
+ * watch events can be recorded to a file and replayed offline.
+ *
+ * @see com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot
+ * @see com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchReplayer
+ */
+class DiagnosticsToolWindowFactory: ToolWindowFactory, DumbAware {
+
+    companion object {
+        const val ID = "Kubernetes Diagnostics"
+        private const val REFRESH_DELAY = 2000 /* ms */
+    }
+
+    override fun createToolWindowContent(project: Project, toolWindow: ToolWindow) {
+        val model = IResourceModel.getInstance()
+        val text = JBTextArea().apply {
+            isEditable = false
+            font = JBUI.Fonts.create(Font.MONOSPACED, font.size)
+        }
+        val alarm = Alarm(Alarm.ThreadToUse.POOLED_THREAD, toolWindow.disposable)
+        val refresh = {
+            val snapshot = model.getDiagnostics().toText()
+            ApplicationManager.getApplication().invokeLater {
+                text.text = snapshot
+                text.caretPosition = 0
+            }
+        }
+        scheduleRefresh(alarm, toolWindow, refresh)
+
+        val panel = SimpleToolWindowPanel(true, true).apply {
+            toolbar = createToolbar(project, model, text, refresh).component
+            setContent(JBScrollPane(text))
+        }
+        val content = IDEAContentFactory.getInstance().createContent(panel, "", false)
+        toolWindow.contentManager.addContent(content)
+    }
+
+    private fun scheduleRefresh(alarm: Alarm, toolWindow: ToolWindow, refresh: () -> Unit) {
+        alarm.addRequest({
+            if (toolWindow.isVisible) {
+                refresh.invoke()
+            }
+            scheduleRefresh(alarm, toolWindow, refresh)
+        }, REFRESH_DELAY)
+    }
+
+    private fun createToolbar(project: Project, model: IResourceModel, text: JBTextArea, refresh: () -> Unit): ActionToolbar {
+        return ActionManager.getInstance().createActionToolbar(
+            ActionPlaces.TOOLWINDOW_TOOLBAR_BAR,
+            DefaultActionGroup(
+                object : DumbAwareAction("Refresh", "Refresh diagnostics", AllIcons.Actions.Refresh) {
+                    override fun actionPerformed(e: AnActionEvent) {
+                        ApplicationManager.getApplication().executeOnPooledThread(refresh)
+                    }
+                },
+                object : DumbAwareAction("Reset", "Discard recorded latencies, events and updates", AllIcons.Actions.GC) {
+                    override fun actionPerformed(e: AnActionEvent) {
+                        Diagnostics.instance.reset()
+                        ApplicationManager.getApplication().executeOnPooledThread(refresh)
+                    }
+                },
+                object : DumbAwareAction("Export Snapshot...", "Export diagnostics to json for a bug report", AllIcons.ToolbarDecorator.Export) {
+                    override fun actionPerformed(e: AnActionEvent) {
+                        exportSnapshot(project, model)
+                    }
+                },
+                object : DumbAwareToggleAction("Record Watch Events...", "Record the watch events to a file that can be replayed offline", AllIcons.Debugger.Db_set_breakpoint) {
+                    override fun isSelected(e: AnActionEvent): Boolean {
+                        return WatchRecorder.instance.isRecording
+                    }
+
+                    override fun setSelected(e: AnActionEvent, state: Boolean) {
+                        if (state) {
+                            startRecording(project)
+                        } else {
+                            stopRecording()
+                        }
+                    }
+                }
+            ),
+            true
+        ).apply {
+            targetComponent = text
+        }
+    }
+
+    private fun startRecording(project: Project) {
+        val descriptor = FileSaverDescriptor("Record Watch Events", "Record kubernetes watch events to gzipped json lines", WatchRecorder.FILE_EXTENSION)
+        val file = FileChooserFactory.getInstance()
+            .createSaveFileDialog(descriptor, project)
+            .save("kubernetes-watch-events.jsonl.${WatchRecorder.FILE_EXTENSION}")
+            ?.file
+            ?.toPath()
+            ?: return
+        try {
+            WatchRecorder.instance.start(file)
+        } catch (e: Exception) {
+            logger<DiagnosticsToolWindowFactory>().warn("Could not record watch events to $file.", e)
+            Notification().error("Could not record watch events", "Could not record watch events to $file: ${e.message}")
+        }
+    }
+
+    private fun stopRecording() {
+        val file = WatchRecorder.instance.file
+        val count = WatchRecorder.instance.stop()
+        Notification().info("Recorded watch events", "Recorded $count watch event(s) to $file.")
+    }
+
+    private fun exportSnapshot(project: Project, model: IResourceModel) {
+        val descriptor = FileSaverDescriptor("Export Diagnostics Snapshot", "Export kubernetes diagnostics to json", "json")
+        val file = FileChooserFactory.getInstance()
+            .createSaveFileDialog(descriptor, project)
+            .save("kubernetes-diagnostics.json")
+            ?.file
+            ?.toPath()
+            ?: return
+        ApplicationManager.getApplication().executeOnPooledThread {
+            try {
+                Files.writeString(file, model.getDiagnostics().toJson())
+            } catch (e: Exception) {
+                logger<DiagnosticsToolWindowFactory>().warn("Could not export diagnostics to $file.", e)
+                Notification().error("Could not export diagnostics", "Could not export diagnostics to $file: ${e.message}")
+            }
+        }
+    }
+}
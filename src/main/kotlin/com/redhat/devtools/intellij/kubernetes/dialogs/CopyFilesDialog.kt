@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.dialogs
+
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.ComboBox
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.openapi.ui.TextFieldWithBrowseButton
+import com.intellij.openapi.ui.ValidationInfo
+import com.intellij.ui.components.JBTextField
+import com.intellij.util.ui.FormBuilder
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.Container
+import io.fabric8.kubernetes.api.model.Pod
+import java.awt.Component
+import java.nio.file.Files
+import java.nio.file.InvalidPathException
+import java.nio.file.Path
+import java.nio.file.Paths
+import javax.swing.DefaultListCellRenderer
+import javax.swing.JComponent
+import javax.swing.JList
+
+/**
+ * A dialog that lets the user pick the container, the local and the remote path to copy files between.
+ * Uploads pick a local file or directory and a remote directory, downloads a remote file or directory and a local
+ * directory.
+ *
+ * @param project the project to show the dialog in
+ * @param pod the pod to copy files to or from
+ * @param upload `true` if files are uploaded to the container, `false` if they're downloaded
+ */
+class CopyFilesDialog(
+    project: Project,
+    pod: Pod,
+    private val upload: Boolean
+) : DialogWrapper(project, false) {
+
+    private val containerCombo = ComboBox(pod.spec?.containers?.toTypedArray() ?: emptyArray()).apply {
+        renderer = object : DefaultListCellRenderer() {
+            override fun getListCellRendererComponent(
+                list: JList<*>?,
+                value: Any?,
+                index: Int,
+                isSelected: Boolean,
+                cellHasFocus: Boolean
+            ): Component {
+                return super.getListCellRendererComponent(
+                    list, (value as? Container)?.name, index, isSelected, cellHasFocus
+                )
+            }
+        }
+    }
+    private val localField = TextFieldWithBrowseButton().apply {
+        val descriptor = if (upload) {
+            FileChooserDescriptorFactory.createSingleFileOrFolderDescriptor()
+        } else {
+            FileChooserDescriptorFactory.createSingleFolderDescriptor()
+        }
+        addBrowseFolderListener(
+            if (upload) "Local File or Directory" else "Local Directory",
+            null,
+            project,
+            descriptor
+        )
+        text = project.basePath ?: ""
+    }
+    private val remoteField = JBTextField(if (upload) "/tmp" else "")
+
+    init {
+        title = if (upload) {
+            "Upload to ${toMessage(pod, 30)}"
+        } else {
+            "Download from ${toMessage(pod, 30)}"
+        }
+        setOKButtonText(if (upload) "Upload" else "Download")
+        init()
+    }
+
+    /**
+     * The container to copy files to or from.
+     */
+    val container: Container?
+        get() = containerCombo.selectedItem as? Container
+
+    /**
+     * The local file or directory to upload or the local directory to download to.
+     */
+    val local: Path?
+        get() = try {
+            Paths.get(localField.text.trim())
+        } catch (e: InvalidPathException) {
+            null
+        }
+
+    /**
+     * The remote directory to upload to or the remote file or directory to download.
+     */
+    val remote: String
+        get() = remoteField.text.trim()
+
+    override fun createCenterPanel(): JComponent {
+        return FormBuilder.createFormBuilder()
+            .addLabeledComponent("Container:", containerCombo)
+            .addLabeledComponent(if (upload) "Local file or directory:" else "Remote file or directory:",
+                if (upload) localField else remoteField)
+            .addLabeledComponent(if (upload) "Remote directory:" else "Local directory:",
+                if (upload) remoteField else localField)
+            .panel
+    }
+
+    override fun getPreferredFocusedComponent(): JComponent {
+        return if (upload) localField.textField else remoteField
+    }
+
+    override fun doValidate(): ValidationInfo? {
+        val local = local
+        return when {
+            container == null ->
+                ValidationInfo("No container selected", containerCombo)
+            local == null
+                    || !Files.exists(local) ->
+                ValidationInfo("Local path does not exist", localField.textField)
+            !upload
+                    && !Files.isDirectory(local) ->
+                ValidationInfo("Local path is not a directory", localField.textField)
+            remote.isEmpty() ->
+                ValidationInfo("Remote path is empty", remoteField)
+            else ->
+                null
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.dialogs
+
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.application.ModalityState
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.ui.CollectionListModel
+import com.intellij.ui.JBColor
+import com.intellij.ui.OnePixelSplitter
+import com.intellij.ui.SearchTextField
+import com.intellij.ui.components.JBCheckBox
+import com.intellij.ui.components.JBLabel
+import com.intellij.ui.components.JBList
+import com.intellij.ui.components.JBScrollPane
+import com.intellij.ui.components.JBTextArea
+import com.redhat.devtools.intellij.kubernetes.console.LogStore
+import java.awt.BorderLayout
+import java.awt.Dimension
+import java.awt.FlowLayout
+import java.awt.event.KeyAdapter
+import java.awt.event.KeyEvent
+import java.util.regex.PatternSyntaxException
+import javax.swing.Action
+import javax.swing.JComponent
+import javax.swing.JPanel
+import javax.swing.ListSelectionModel
+import javax.swing.text.DefaultHighlighter
+
+/**
+ * A dialog that searches the full history of a log in a [LogStore].
+ * Only the lines around the selected match are loaded and displayed.
+ */
+class LogHistoryDialog(
+    project: Project,
+    private val logTitle: String,
+    private val store: LogStore
+) : DialogWrapper(project, false) {
+
+    companion object {
+        private const val WINDOW_LINES = 100 /* lines displayed before and after a match */
+        private const val MAX_PREVIEW = 200 /* chars of a match displayed in the list */
+    }
+
+    private val searchField = SearchTextField(false).apply {
+        addKeyboardListener(object : KeyAdapter() {
+            override fun keyPressed(e: KeyEvent) {
+                if (e.keyCode == KeyEvent.VK_ENTER) {
+                    search()
+                }
+            }
+        })
+    }
+    private val regexCheckbox = JBCheckBox("Regex")
+    private val caseCheckbox = JBCheckBox("Match case")
+    private val statusLabel = JBLabel()
+    private val matchesModel = CollectionListModel<Match>()
+    private val matchesList = JBList(matchesModel).apply {
+        selectionMode = ListSelectionModel.SINGLE_SELECTION
+        addListSelectionListener {
+            if (!it.valueIsAdjusting) {
+                selectedValue?.let { match -> showWindow(match.line) }
+            }
+        }
+    }
+    private val windowArea = JBTextArea().apply {
+        isEditable = false
+    }
+
+    override fun createCenterPanel(): JComponent {
+        val searchPanel = JPanel(BorderLayout()).apply {
+            add(searchField, BorderLayout.CENTER)
+            add(JPanel(FlowLayout(FlowLayout.LEFT, 5, 0)).apply {
+                add(regexCheckbox)
+                add(caseCheckbox)
+                add(statusLabel)
+            }, BorderLayout.SOUTH)
+        }
+        val splitter = OnePixelSplitter(true, 0.3f).apply {
+            firstComponent = JBScrollPane(matchesList)
+            secondComponent = JBScrollPane(windowArea)
+        }
+        return JPanel(BorderLayout(0, 5)).apply {
+            preferredSize = Dimension(900, 600)
+            add(searchPanel, BorderLayout.NORTH)
+            add(splitter, BorderLayout.CENTER)
+        }
+    }
+
+    override fun init() {
+        title = "Search Log History: $logTitle"
+        isModal = false
+        setOKButtonText("Close")
+        super.init()
+    }
+
+    override fun createActions(): Array<Action> {
+        return arrayOf(okAction)
+    }
+
+    override fun getPreferredFocusedComponent(): JComponent {
+        return searchField.textEditor
+    }
+
+    override fun show() {
+        init()
+        super.show()
+    }
+
+    private fun search() {
+        val query = searchField.text
+        val regex = regexCheckbox.isSelected
+        val ignoreCase = !caseCheckbox.isSelected
+        statusLabel.text = "Searching..."
+        ApplicationManager.getApplication().executeOnPooledThread {
+            val result = try {
+                val matches = store.search(query, regex, ignoreCase)
+                    .map { Match(it.line, it.text) }
+                Pair(matches, getStatus(matches))
+            } catch (e: PatternSyntaxException) {
+                Pair(emptyList<Match>(), "Invalid regular expression: ${e.description}")
+            }
+            ApplicationManager.getApplication().invokeLater({
+                matchesModel.replaceAll(result.first)
+                statusLabel.text = result.second
+                if (!matchesModel.isEmpty) {
+                    matchesList.selectedIndex = 0
+                }
+            }, ModalityState.any())
+        }
+    }
+
+    private fun getStatus(matches: List<Match>): String {
+        val limit = if (matches.size >= LogStore.MAX_MATCHES) {
+            " (showing first ${LogStore.MAX_MATCHES})"
+        } else {
+            ""
+        }
+        return "${matches.size} matches in lines ${store.firstLine + 1}-${store.size}$limit"
+    }
+
+    private fun showWindow(line: Long) {
+        val from = maxOf(store.firstLine, line - WINDOW_LINES)
+        val lines = store.getLines(from, WINDOW_LINES * 2 + 1)
+        windowArea.text = lines.joinToString("\n")
+        val index = (line - from).toInt()
+        if (index !in lines.indices) {
+            return
+        }
+        val start = lines.take(index).sumOf { it.length + 1 }
+        val end = start + lines[index].length
+        windowArea.highlighter.removeAllHighlights()
+        windowArea.highlighter.addHighlight(start, end, DefaultHighlighter.DefaultHighlightPainter(JBColor.YELLOW))
+        windowArea.caretPosition = start
+    }
+
+    private class Match(val line: Long, private val text: String) {
+        override fun toString(): String {
+            return "${line + 1}: ${text.take(MAX_PREVIEW)}"
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.dialogs
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.openapi.ui.ValidationInfo
+import com.intellij.ui.JBIntSpinner
+import com.intellij.ui.components.JBCheckBox
+import com.intellij.ui.components.JBTextField
+import com.intellij.util.ui.FormBuilder
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
+import java.time.OffsetDateTime
+import java.time.format.DateTimeParseException
+import javax.swing.JComponent
+
+/**
+ * A dialog that lets the user pick which part of a container log should be followed.
+ */
+class LogOptionsDialog(project: Project) : DialogWrapper(project, false) {
+
+    private val tailCheckbox = JBCheckBox("Only the last lines:", true)
+    private val tailSpinner = JBIntSpinner(LogOptions.DEFAULT_TAIL_LINES, 1, Int.MAX_VALUE, 100)
+    private val sinceCheckbox = JBCheckBox("Only the last minutes:", false)
+    private val sinceSpinner = JBIntSpinner(10, 1, Int.MAX_VALUE, 5)
+    private val sinceTimeCheckbox = JBCheckBox("Since time (RFC 3339):", false)
+    private val sinceTimeField = JBTextField(OffsetDateTime.now().minusHours(1).withNano(0).toString())
+    private val previousCheckbox = JBCheckBox("Previous (terminated) container", false)
+
+    init {
+        title = "Follow Log"
+        setOKButtonText("Follow")
+        tailCheckbox.addActionListener { updateEnablement() }
+        sinceCheckbox.addActionListener {
+            if (sinceCheckbox.isSelected) {
+                sinceTimeCheckbox.isSelected = false
+            }
+            updateEnablement()
+        }
+        sinceTimeCheckbox.addActionListener {
+            if (sinceTimeCheckbox.isSelected) {
+                sinceCheckbox.isSelected = false
+            }
+            updateEnablement()
+        }
+        updateEnablement()
+        init()
+    }
+
+    val options: LogOptions
+        get() = LogOptions(
+            tailLines = if (tailCheckbox.isSelected) tailSpinner.number else null,
+            sinceSeconds = if (sinceCheckbox.isSelected) sinceSpinner.number * 60 else null,
+            sinceTime = if (sinceTimeCheckbox.isSelected) sinceTimeField.text.trim() else null,
+            previous = previousCheckbox.isSelected
+        )
+
+    override fun createCenterPanel(): JComponent {
+        return FormBuilder.createFormBuilder()
+            .addLabeledComponent(tailCheckbox, tailSpinner)
+            .addLabeledComponent(sinceCheckbox, sinceSpinner)
+            .addLabeledComponent(sinceTimeCheckbox, sinceTimeField)
+            .addComponent(previousCheckbox)
+            .panel
+    }
+
+    override fun getPreferredFocusedComponent(): JComponent {
+        return tailSpinner
+    }
+
+    override fun doValidate(): ValidationInfo? {
+        if (!sinceTimeCheckbox.isSelected) {
+            return null
+        }
+        return try {
+            OffsetDateTime.parse(sinceTimeField.text.trim())
+            null
+        } catch (e: DateTimeParseException) {
+            ValidationInfo("Invalid time, expected ex. 2025-05-04T12:00:00Z", sinceTimeField)
+        }
+    }
+
+    private fun updateEnablement() {
+        tailSpinner.isEnabled = tailCheckbox.isSelected
+        sinceSpinner.isEnabled = sinceCheckbox.isSelected
+        sinceTimeField.isEnabled = sinceTimeCheckbox.isSelected
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.dialogs
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.ComboBox
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.openapi.ui.ValidationInfo
+import com.intellij.ui.JBIntSpinner
+import com.intellij.util.ui.FormBuilder
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.Service
+import javax.swing.JComponent
+
+/**
+ * A dialog that lets the user pick the port of a pod or service to forward and the local port to forward it from.
+ */
+class PortForwardDialog(project: Project, resource: HasMetadata) : DialogWrapper(project, false) {
+
+    companion object {
+        private const val MAX_PORT = 65535
+    }
+
+    private val portCombo = ComboBox(getPorts(resource).toTypedArray()).apply {
+        isEditable = true
+    }
+    private val localPortSpinner = JBIntSpinner(getPorts(resource).firstOrNull() ?: 8080, 0, MAX_PORT)
+
+    init {
+        title = "Forward Port of ${toMessage(resource, 30)}"
+        setOKButtonText("Forward")
+        portCombo.addActionListener {
+            val port = port
+            if (port != null) {
+                localPortSpinner.number = port
+            }
+        }
+        init()
+    }
+
+    /**
+     * The port of the pod or service to forward.
+     */
+    val port: Int?
+        get() = portCombo.editor.item?.toString()?.trim()?.toIntOrNull()
+
+    /**
+     * The local port to forward from, `0` for any free port.
+     */
+    val localPort: Int
+        get() = localPortSpinner.number
+
+    override fun createCenterPanel(): JComponent {
+        return FormBuilder.createFormBuilder()
+            .addLabeledComponent("Remote port:", portCombo)
+            .addLabeledComponent("Local port (0 for any):", localPortSpinner)
+            .panel
+    }
+
+    override fun getPreferredFocusedComponent(): JComponent {
+        return portCombo
+    }
+
+    override fun doValidate(): ValidationInfo? {
+        val port = port
+        return if (port == null
+            || port < 1
+            || port > MAX_PORT) {
+            ValidationInfo("Invalid port, expected 1-$MAX_PORT", portCombo)
+        } else {
+            null
+        }
+    }
+
+    private fun getPorts(resource: HasMetadata): List<Int> {
+        return when (resource) {
+            is Pod -> resource.spec?.containers
+                ?.flatMap { container -> container.ports ?: emptyList() }
+                ?.mapNotNull { port -> port.containerPort }
+            is Service -> resource.spec?.ports
+                ?.mapNotNull { port -> port.port }
+            else -> null
+        } ?: emptyList()
+    }
+}
@@ -34,6 +34,7 @@ import com.redhat.devtools.intellij.kubernetes.editor.util.isKubernetesResource
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelListener
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
 import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
 import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
 import com.redhat.devtools.intellij.kubernetes.model.util.toTitle
@@ -105,6 +106,7 @@ open class ResourceEditor(
             if (isDisposed()) {
                 return@runAsync
             }
+            Diagnostics.instance.editorUpdated()
             try {
                 val resources = createResources(
                     getDocument(editor),
@@ -263,15 +265,40 @@ open class ResourceEditor(
         }
     }
 
+    /* the latest requested watch state, applied off the event dispatch thread */
+    @Volatile
+    private var watching: Boolean = false
+
+    /**
+     * Starts watching the resources of this editor. Watching is started off the event dispatch thread.
+     */
     fun startWatch(): ResourceEditor {
         if (isEditorSyncEnabled()) {
-            editorResources.watchAll()
+            watching = true
+            runAsync { applyWatching() }
         }
         return this
     }
 
+    /**
+     * Stops watching the resources of this editor. Watching is stopped off the event dispatch thread.
+     */
     fun stopWatch() {
-        editorResources.stopWatchAll()
+        watching = false
+        runAsync { applyWatching() }
+    }
+
+    /**
+     * Applies the latest requested watch state. Calls that were requested in a quick succession (ex. focus lost
+     * and gained) may run in any order, they all end up in the latest requested state.
+     */
+    @Synchronized
+    private fun applyWatching() {
+        if (watching) {
+            editorResources.watchAll()
+        } else {
+            editorResources.stopWatchAll()
+        }
     }
 
     fun removeClutter() {
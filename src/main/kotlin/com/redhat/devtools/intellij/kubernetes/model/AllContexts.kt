@@ -15,6 +15,7 @@ import com.intellij.openapi.diagnostic.logger
 import com.redhat.devtools.intellij.common.utils.ConfigWatcher
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientConfig
+import com.redhat.devtools.intellij.kubernetes.model.client.ClientConfig.Change
 import com.redhat.devtools.intellij.kubernetes.model.context.Context
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.context.IContext
@@ -254,20 +255,85 @@ open class AllContexts(
 	}
 
 	protected open fun onKubeConfigChanged(updated: Config?, error: Exception?) {
-		lock.read {
-			if (error == null) {
-				val client = client.get() ?: return
-				val existing = client.config
-				if (existing.isEqualConfig(updated)) {
-					return
+		if (error != null) {
+			refresh()
+			return
+		}
+		if (updated == null) {
+			recreateCurrentContext()
+			return
+		}
+		val changes = lock.read {
+			val client = client.get() ?: return
+			client.config.getChanges(updated)
+		}
+		when {
+			changes.isEmpty() ->
+				return
+			changes.contains(Change.CURRENT_CONTEXT) ->
+				recreateCurrentContext()
+			else -> {
+				if (changes.contains(Change.CREDENTIALS)) {
+					updateCredentials(updated)
+				}
+				if (changes.contains(Change.CONTEXTS)) {
+					updateContexts(updated)
 				}
-				this.client.reset() // create new client when accessed
-				client.close()
 			}
 		}
+	}
+
+	private fun recreateCurrentContext() {
+		logger<AllContexts>().debug("Current context changed in kube config, recreating it.")
+		lock.read {
+			val client = client.get()
+			this.client.reset() // create new client when accessed
+			client?.close()
+		}
 		refresh()
 	}
 
+	/**
+	 * Updates the credentials in the existing client. The current context, its watches and caches are kept.
+	 */
+	private fun updateCredentials(updated: Config) {
+		logger<AllContexts>().debug("Credentials changed in kube config, updating existing client.")
+		lock.read {
+			val client = client.get() ?: return
+			client.config.setCredentials(updated)
+		}
+	}
+
+	/**
+	 * Updates all contexts but keeps the current context as is.
+	 * Its watches and caches are kept.
+	 */
+	private fun updateContexts(updated: Config) {
+		logger<AllContexts>().debug("Contexts changed in kube config, updating all contexts.")
+		lock.write {
+			val client = client.get() ?: return
+			val config = client.config
+			config.setContexts(updated)
+			if (_all.isEmpty()) {
+				// not loaded yet, will load updated contexts when accessed
+				return
+			}
+			val current = findActive(_all)
+			val all = config.allContexts
+				.map { context ->
+					if (current != null
+						&& config.isCurrent(context)) {
+						current
+					} else {
+						Context(context)
+					}
+				}
+			_all.clear()
+			_all.addAll(all)
+		}
+		modelChange.fireAllContextsChanged()
+	}
+
 	/** for testing purposes */
 	protected open fun runAsync(runnable: () -> Unit) {
 		ApplicationManager.getApplication().executeOnPooledThread(runnable)
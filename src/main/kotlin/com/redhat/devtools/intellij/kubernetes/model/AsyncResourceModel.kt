@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.util.Disposer
+import com.intellij.util.concurrency.SequentialTaskExecutor
+import com.redhat.devtools.intellij.kubernetes.CompletableFutureUtils.PLATFORM_EXECUTOR
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.KubernetesReplicas.Replicator
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.Predicate
+
+/**
+ * The [IResourceModel] for callers on the event dispatch thread: all calls that may hit the cluster are run on a
+ * pooled thread and return a [CompletableFuture]. Calls can be tied to a [Disposable] (ex. a tree, an editor) and are
+ * canceled when it is disposed. A canceled call that didn't start yet is skipped, a call that is running completes in
+ * the background but its result is dropped.
+ * Watching and stopping to watch are run one after the other, in the order they were requested, so that a watch that
+ * is stopped right after it was requested doesn't outlive the stop.
+ *
+ * <h3>WARNING<h3>: no argument constructor required because this class is instantiated by IJ ServiceManager
+ *
+ * @param model the model to call
+ * @param executor the executor to run calls on
+ */
+open class AsyncResourceModel(
+    private val model: IResourceModel,
+    private val executor: Executor = PLATFORM_EXECUTOR
+) {
+
+    companion object {
+        fun getInstance(): AsyncResourceModel {
+            return ApplicationManager.getApplication().getService(AsyncResourceModel::class.java)
+        }
+    }
+
+    constructor() : this(IResourceModel.getInstance())
+
+    private val watchExecutor: Executor =
+        SequentialTaskExecutor.createSequentialApplicationPoolExecutor("Kubernetes Watches", executor)
+
+    /**
+     * Lists the resources of the given kind.
+     *
+     * @param kind the kind of resources to list
+     * @param resourcesIn where to list the resources
+     * @param filter the filter to apply to the resources, `null` for all resources
+     * @param parent the disposable that cancels the call when it is disposed
+     */
+    fun <R : HasMetadata> list(
+        kind: ResourceKind<R>,
+        resourcesIn: ResourcesIn,
+        filter: Predicate<R>? = null,
+        parent: Disposable? = null
+    ): CompletableFuture<Collection<R>> {
+        return call(parent) {
+            val resources = when (resourcesIn) {
+                ResourcesIn.ANY_NAMESPACE -> model.resources(kind).inAnyNamespace()
+                ResourcesIn.CURRENT_NAMESPACE -> model.resources(kind).inCurrentNamespace()
+                ResourcesIn.NO_NAMESPACE -> model.resources(kind).inNoNamespace()
+            }
+            if (filter == null) {
+                resources.list()
+            } else {
+                resources.filtered(filter).list()
+            }
+        }
+    }
+
+    fun watch(kind: ResourceKind<out HasMetadata>, parent: Disposable? = null): CompletableFuture<Unit> {
+        return callInOrder(parent) { model.watch(kind) }
+    }
+
+    fun stopWatch(kind: ResourceKind<out HasMetadata>, parent: Disposable? = null): CompletableFuture<Unit> {
+        return callInOrder(parent) { model.stopWatch(kind) }
+    }
+
+    fun get(resource: HasMetadata, parent: Disposable? = null): CompletableFuture<HasMetadata?> {
+        return call(parent) { model.getCurrentContext()?.get(resource) }
+    }
+
+    fun replace(resource: HasMetadata, parent: Disposable? = null): CompletableFuture<HasMetadata?> {
+        return call(parent) { model.getCurrentContext()?.replace(resource) }
+    }
+
+    fun delete(resources: List<HasMetadata>, force: Boolean, parent: Disposable? = null): CompletableFuture<Unit> {
+        return call(parent) { model.delete(resources, force) }
+    }
+
+    fun getReplicas(resource: HasMetadata, parent: Disposable? = null): CompletableFuture<Replicator?> {
+        return call(parent) { model.getReplicas(resource) }
+    }
+
+    fun setReplicas(replicas: Int, replicator: Replicator, parent: Disposable? = null): CompletableFuture<Unit> {
+        return call(parent) { model.setReplicas(replicas, replicator) }
+    }
+
+    /**
+     * Runs the given call on a pooled thread.
+     *
+     * @param parent the disposable that cancels the call when it is disposed
+     * @param call the call to run
+     */
+    fun <T> call(parent: Disposable? = null, call: () -> T): CompletableFuture<T> {
+        return submit(executor, parent, call)
+    }
+
+    /**
+     * Runs the given call on a pooled thread once all the calls that were requested before in order are done.
+     * Use it for watching and stopping to watch.
+     *
+     * @param parent the disposable that cancels the call when it is disposed
+     * @param call the call to run
+     */
+    fun <T> callInOrder(parent: Disposable? = null, call: () -> T): CompletableFuture<T> {
+        return submit(watchExecutor, parent, call)
+    }
+
+    private fun <T> submit(executor: Executor, parent: Disposable?, call: () -> T): CompletableFuture<T> {
+        val future = CompletableFuture<T>()
+        if (parent != null
+            && !cancelWhenDisposed(parent, future)) {
+            return future
+        }
+        try {
+            executor.execute {
+                if (future.isDone) {
+                    // canceled before it started
+                    return@execute
+                }
+                try {
+                    future.complete(call.invoke())
+                } catch (e: Throwable) {
+                    future.completeExceptionally(e)
+                }
+            }
+        } catch (e: RejectedExecutionException) {
+            future.completeExceptionally(e)
+        }
+        return future
+    }
+
+    /**
+     * Cancels the given future when the given parent is disposed.
+     * Returns `false` and cancels the future right away if the parent is disposed already.
+     */
+    private fun cancelWhenDisposed(parent: Disposable, future: CompletableFuture<*>): Boolean {
+        val disposing = AtomicBoolean(false)
+        val cancellation = Disposable {
+            disposing.set(true)
+            future.cancel(false)
+        }
+        if (!Disposer.tryRegister(parent, cancellation)) {
+            future.cancel(false)
+            return false
+        }
+        future.whenComplete { _, _ ->
+            if (!disposing.get()) {
+                // unregister from parent
+                Disposer.dispose(cancellation)
+            }
+        }
+        return true
+    }
+}
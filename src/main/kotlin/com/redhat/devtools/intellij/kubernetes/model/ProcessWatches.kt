@@ -12,9 +12,13 @@ package com.redhat.devtools.intellij.kubernetes.model
 
 import com.intellij.openapi.diagnostic.logger
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.client.ClientPool
+import com.redhat.devtools.intellij.kubernetes.model.resource.IExecutable
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableExec
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableLog
+import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchablePortForward
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableProcess
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.AllPodsOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.JobsOperator
@@ -25,17 +29,21 @@ import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.fabric8.kubernetes.client.KubernetesClientException
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.dsl.ExecListener
 import io.fabric8.kubernetes.client.dsl.ExecWatch
 import io.fabric8.kubernetes.client.dsl.LogWatch
 import java.io.Closeable
 import java.io.IOException
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 import java.util.concurrent.ConcurrentHashMap
 
 open class ProcessWatches(
     private val clientFactory: (String?, String?) -> ClientAdapter<out KubernetesClient>
-    = { namespace: String?, context: String? -> ClientAdapter.Factory.create(namespace, context) }
+    = { namespace: String?, context: String? -> ClientAdapter.Factory.create(namespace, context) },
+    private val currentContext: () -> String? = { null }
 ) {
 
     @Suppress("UNCHECKED_CAST")
@@ -54,22 +62,54 @@ open class ProcessWatches(
         )
     )
 
-    private val watches: ConcurrentHashMap<Closeable, IWatchableProcess<*>> = ConcurrentHashMap()
+    protected open val clients: ClientPool by lazy {
+        ClientPool(clientFactory)
+    }
+
+    private val watches: ConcurrentHashMap<Closeable, ProcessWatch> = ConcurrentHashMap()
+
+    /**
+     * Returns the number of log, exec and port forward watches that are open.
+     */
+    val watchCount: Int
+        get() = watches.size
+
+    /**
+     * Returns the number of clients that log and exec watches are using.
+     */
+    val clientCount: Int
+        get() = clients.clients
+
+    /**
+     * Returns the number of http connections that the clients of log and exec watches are holding.
+     */
+    val connectionCount: Int
+        get() = clients.connections
 
     fun canWatchLog(resource: HasMetadata): Boolean {
         return getOperatorFactory<IWatchableLog<HasMetadata>>(resource) != null
     }
 
-    fun watchLog(container: Container, resource: HasMetadata, out: OutputStream): LogWatch? {
+    fun watchLog(
+        container: Container,
+        resource: HasMetadata,
+        out: OutputStream,
+        options: LogOptions = LogOptions.DEFAULT
+    ): LogWatch? {
         logger<ProcessWatches>().debug("Watching log of container in ${toMessage(resource, -1)}")
-        val operator = createOperator<IWatchableLog<HasMetadata>>(resource) ?: return null
+        val factory = getOperatorFactory<IWatchableLog<HasMetadata>>(resource) ?: return null
+        val client = clients.acquire(currentContext.invoke())
         return try {
-            val watch = operator.watchLog(container, resource, out)
-            storeOperator(watch, operator)
+            @Suppress("UNCHECKED_CAST")
+            val operator = factory.invoke(client) as IWatchableLog<HasMetadata>
+            val watch = operator.watchLog(container, resource, out, options)
+            storeWatch(watch, operator, client)
             watch
         } catch (e: KubernetesClientException) {
+            clients.release(client)
             throw ResourceException("Could not watch log of ${toMessage(resource, -1)}", e)
         } catch (e: IOException) {
+            clients.release(client)
             // WebSocketHandshakeException
             throw ResourceException("Could not watch log of ${toMessage(resource, -1)}", e)
         }
@@ -86,12 +126,16 @@ open class ProcessWatches(
 
     fun watchExec(container: Container, resource: HasMetadata, listener: ExecListener): ExecWatch? {
         logger<ProcessWatches>().debug("Watching exec of container \"${container.name}\" in ${toMessage(resource, -1)}.")
-        val operator = createOperator<IWatchableExec<HasMetadata>>(resource)
+        val factory = getOperatorFactory<IWatchableExec<HasMetadata>>(resource) ?: return null
+        val client = clients.acquire(currentContext.invoke())
         return try {
-            val watch = operator?.watchExec(container, resource, listener)
-            storeOperator(watch, operator)
+            @Suppress("UNCHECKED_CAST")
+            val operator = factory.invoke(client) as IWatchableExec<HasMetadata>
+            val watch = operator.watchExec(container, resource, listener)
+            storeWatch(watch, operator, client)
             watch
         } catch (e: Throwable) {
+            clients.release(client)
             // KubernetesClientException
             // IOException
             throw ResourceException(
@@ -106,11 +150,78 @@ open class ProcessWatches(
         return stopWatch(watch, watches[watch])
     }
 
-    private fun stopWatch(watch: Closeable, operator: IWatchableProcess<*>?): Boolean {
+    fun canExec(resource: HasMetadata): Boolean {
+        return getOperatorFactory<IExecutable<HasMetadata>>(resource) != null
+    }
+
+    /**
+     * Executes the given command in the given container. The returned watch has to be stopped with [stopWatchExec].
+     */
+    fun exec(container: Container, resource: HasMetadata, command: List<String>, listener: ExecListener): ExecWatch? {
+        logger<ProcessWatches>().debug("Executing \"${command.firstOrNull()}\" in container \"${container.name}\" in ${toMessage(resource, -1)}.")
+        val factory = getOperatorFactory<IExecutable<HasMetadata>>(resource) ?: return null
+        val client = clients.acquire(currentContext.invoke())
+        return try {
+            @Suppress("UNCHECKED_CAST")
+            val operator = factory.invoke(client) as IExecutable<HasMetadata>
+            val watch = operator.exec(container, resource, command, listener)
+            storeWatch(watch, operator, client)
+            watch
+        } catch (e: Throwable) {
+            clients.release(client)
+            // KubernetesClientException
+            // IOException
+            throw ResourceException(
+                "Could not execute command in container \"${container.name}\" in ${toMessage(resource, 30)}.",
+                e, listOf(resource)
+            )
+        }
+    }
+
+    fun canPortForward(resource: HasMetadata): Boolean {
+        return getOperatorFactory<IWatchablePortForward<HasMetadata>>(resource) != null
+    }
+
+    fun portForward(
+        resource: HasMetadata,
+        port: Int,
+        input: ReadableByteChannel,
+        output: WritableByteChannel
+    ): PortForward? {
+        logger<ProcessWatches>().debug("Forwarding port $port of ${toMessage(resource, -1)}.")
+        val factory = getOperatorFactory<IWatchablePortForward<HasMetadata>>(resource) ?: return null
+        val client = clients.acquire(currentContext.invoke())
+        return try {
+            @Suppress("UNCHECKED_CAST")
+            val operator = factory.invoke(client) as IWatchablePortForward<HasMetadata>
+            val forward = operator.portForward(resource, port, input, output)
+            storeWatch(forward, operator, client)
+            forward
+        } catch (e: Throwable) {
+            clients.release(client)
+            // KubernetesClientException
+            // IOException
+            throw ResourceException(
+                "Could not forward port $port of ${toMessage(resource, 30)}.",
+                e, listOf(resource)
+            )
+        }
+    }
+
+    fun stopPortForward(forward: PortForward): Boolean {
+        logger<ProcessWatches>().debug("Closing port forward $forward.")
+        return stopWatch(forward, watches[forward])
+    }
+
+    private fun stopWatch(watch: Closeable, processWatch: ProcessWatch?): Boolean {
         return try {
             watch.close()
-            operator?.close()
-            operator != null
+            if (processWatch != null) {
+                watches.remove(watch)
+                // operators would close the client that they're given, pooled clients are released instead
+                clients.release(processWatch.client)
+            }
+            processWatch != null
         } catch (e: Exception) {
             logger<ProcessWatches>().warn(
                 "Could not close exec watch $watch",
@@ -119,11 +230,6 @@ open class ProcessWatches(
         }
     }
 
-    private inline fun <reified W : IWatchableProcess<*>> createOperator(resource: HasMetadata): W? {
-        val client = clientFactory.invoke(null, null)
-        return getOperatorFactory<W>(resource)?.invoke(client) as? W
-    }
-
     private inline fun <reified W : IWatchableProcess<*>> getOperatorFactory(resource: HasMetadata)
             : ((adapter: ClientAdapter<out KubernetesClient>) -> IWatchableProcess<*>)? {
         val spec = operators.entries.find { entry ->
@@ -135,14 +241,19 @@ open class ProcessWatches(
         return spec?.factory
     }
 
-    private fun storeOperator(watch: Closeable?, operator: IWatchableProcess<HasMetadata>?) {
-        if (watch == null
-            || operator == null) {
+    private fun storeWatch(watch: Closeable?, operator: IWatchableProcess<HasMetadata>, client: ClientAdapter<out KubernetesClient>) {
+        if (watch == null) {
+            clients.release(client)
             return
         }
-        watches[watch] = operator
+        watches[watch] = ProcessWatch(operator, client)
     }
 
+    private class ProcessWatch(
+        val operator: IWatchableProcess<HasMetadata>,
+        val client: ClientAdapter<out KubernetesClient>
+    )
+
     protected class OperatorSpecs(
         private val clazz: Class<out IWatchableProcess<*>>,
         val factory: (ClientAdapter<*>) -> IWatchableProcess<*>
@@ -16,16 +16,21 @@ import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn
 import com.redhat.devtools.intellij.kubernetes.model.context.IContext
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.KubernetesReplicas.*
 import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition
 import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.dsl.ExecListener
 import io.fabric8.kubernetes.client.dsl.ExecWatch
 import io.fabric8.kubernetes.client.dsl.LogWatch
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 import java.util.function.Predicate
 
 interface IResourceModel {
@@ -44,21 +49,31 @@ interface IResourceModel {
     fun isCurrentNamespace(resource: HasMetadata): Boolean
     fun <R: HasMetadata> resources(kind: ResourceKind<R>): Namespaceable<R>
     fun resources(definition: CustomResourceDefinition): ListableCustomResources
+    fun isStale(kind: ResourceKind<out HasMetadata>): Boolean
+    fun isReconnecting(kind: ResourceKind<out HasMetadata>): Boolean
+    fun search(query: String, max: Int = 100): List<HasMetadata>
+    fun getDiagnostics(): DiagnosticsSnapshot
     fun setReplicas(replicas: Int, replicator: Replicator)
     fun getReplicas(resource: HasMetadata): Replicator?
     fun watch(kind: ResourceKind<out HasMetadata>)
     fun watch(definition: CustomResourceDefinition)
     fun stopWatch(kind: ResourceKind<out HasMetadata>)
     fun stopWatch(definition: CustomResourceDefinition)
+    fun releaseWatch(kind: ResourceKind<out HasMetadata>)
     fun invalidate()
     fun invalidate(element: Any?)
     fun delete(resources: List<HasMetadata>, force: Boolean)
     fun canWatchLog(resource: HasMetadata): Boolean
-    fun watchLog(container: Container, resource: HasMetadata, out: OutputStream): LogWatch?
+    fun watchLog(container: Container, resource: HasMetadata, out: OutputStream, options: LogOptions = LogOptions.DEFAULT): LogWatch?
     fun stopWatch(watch: LogWatch): Boolean
     fun canWatchExec(resource: HasMetadata): Boolean
     fun watchExec(container: Container, resource: HasMetadata, listener: ExecListener): ExecWatch?
     fun stopWatch(watch: ExecWatch): Boolean
+    fun canExec(resource: HasMetadata): Boolean
+    fun exec(container: Container, resource: HasMetadata, command: List<String>, listener: ExecListener): ExecWatch?
+    fun canPortForward(resource: HasMetadata): Boolean
+    fun portForward(resource: HasMetadata, port: Int, input: ReadableByteChannel, output: WritableByteChannel): PortForward?
+    fun stopWatch(forward: PortForward): Boolean
     fun addListener(listener: IResourceModelListener)
     fun removeListener(listener: IResourceModelListener)
 }
@@ -75,7 +90,7 @@ interface IResourceModel {
 open class ResourceModel : IResourceModel {
 
     private val processWatches by lazy {
-        ProcessWatches(ClientAdapter.Factory::create)
+        ProcessWatches(ClientAdapter.Factory::create) { allContexts.current?.name }
     }
 
     protected open val modelChange: IResourceModelObservable by lazy {
@@ -118,6 +133,22 @@ open class ResourceModel : IResourceModel {
         return ListableCustomResources(definition,this)
     }
 
+    override fun isStale(kind: ResourceKind<out HasMetadata>): Boolean {
+        return allContexts.current?.isStale(kind) ?: false
+    }
+
+    override fun isReconnecting(kind: ResourceKind<out HasMetadata>): Boolean {
+        return allContexts.current?.isReconnecting(kind) ?: false
+    }
+
+    override fun search(query: String, max: Int): List<HasMetadata> {
+        return allContexts.current?.search(query, max) ?: emptyList()
+    }
+
+    override fun getDiagnostics(): DiagnosticsSnapshot {
+        return DiagnosticsSnapshot.create(allContexts.current, processWatches)
+    }
+
     fun <R: HasMetadata> getAllResources(kind: ResourceKind<R>, resourceIn: ResourcesIn, filter: Predicate<R>? = null): Collection<R> {
         val resources: Collection<R> = allContexts.current?.getAllResources(kind, resourceIn) ?: return emptyList()
         return if (filter == null) {
@@ -155,6 +186,10 @@ open class ResourceModel : IResourceModel {
         allContexts.current?.stopWatch(definition)
     }
 
+    override fun releaseWatch(kind: ResourceKind<out HasMetadata>) {
+        allContexts.current?.releaseWatch(kind)
+    }
+
     override fun invalidate(element: Any?) {
         when(element) {
             is IResourceModel -> invalidate()
@@ -197,8 +232,8 @@ open class ResourceModel : IResourceModel {
         return processWatches.canWatchLog(resource)
     }
 
-    override fun watchLog(container: Container, resource: HasMetadata, out: OutputStream): LogWatch? {
-        return processWatches.watchLog(container, resource, out)
+    override fun watchLog(container: Container, resource: HasMetadata, out: OutputStream, options: LogOptions): LogWatch? {
+        return processWatches.watchLog(container, resource, out, options)
     }
 
     override fun stopWatch(watch: LogWatch): Boolean {
@@ -217,4 +252,34 @@ open class ResourceModel : IResourceModel {
         return processWatches.stopWatchExec(watch)
     }
 
+    override fun canExec(resource: HasMetadata): Boolean {
+        return processWatches.canExec(resource)
+    }
+
+    override fun exec(
+        container: Container,
+        resource: HasMetadata,
+        command: List<String>,
+        listener: ExecListener
+    ): ExecWatch? {
+        return processWatches.exec(container, resource, command, listener)
+    }
+
+    override fun canPortForward(resource: HasMetadata): Boolean {
+        return processWatches.canPortForward(resource)
+    }
+
+    override fun portForward(
+        resource: HasMetadata,
+        port: Int,
+        input: ReadableByteChannel,
+        output: WritableByteChannel
+    ): PortForward? {
+        return processWatches.portForward(resource, port, input, output)
+    }
+
+    override fun stopWatch(forward: PortForward): Boolean {
+        return processWatches.stopPortForward(forward)
+    }
+
 }
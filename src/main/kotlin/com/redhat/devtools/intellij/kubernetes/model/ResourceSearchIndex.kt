@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import io.fabric8.kubernetes.api.model.HasMetadata
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet
+import java.util.PriorityQueue
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * An in-memory index of resources that can be searched by name, namespace, labels and kind.
+ * Each of these values is split into trigrams. Each value is padded at its start so that the first
+ * 1 and 2 characters are trigrams, too. Queries with less than 3 characters therefore match the start of a value
+ * while queries with 3 or more characters match anywhere in a value.
+ * Queries are split at whitespaces, a resource has to match all words of a query.
+ *
+ * The index keeps resources once they were added, even if their kind is not watched anymore (ex. because
+ * its folder was collapsed). They are replaced when their kind is listed again.
+ */
+class ResourceSearchIndex {
+
+    companion object {
+        private const val PAD = '\u0000'
+        private const val GRAM_LENGTH = 3
+    }
+
+    private val lock = ReentrantReadWriteLock()
+    private val ids = HashMap<String, Int>()
+    private val documents = HashMap<Int, Document>()
+    /* the ids of the documents that contain a trigram. Ids are stored as primitives to keep the index small */
+    private val postings = HashMap<String, IntOpenHashSet>()
+    private var nextId = 0
+
+    /**
+     * Adds the given resource to the index. Replaces it if it exists already.
+     *
+     * @param resource the resource to add
+     */
+    fun add(resource: HasMetadata) {
+        lock.write {
+            doRemove(toKey(resource))
+            doAdd(resource)
+        }
+    }
+
+    /**
+     * Replaces all resources of the given kind (and namespace) by the given resources.
+     *
+     * @param kind the kind of resources to replace
+     * @param namespace the namespace of the resources to replace, `null` for all namespaces
+     * @param resources the resources to add
+     */
+    fun replaceAll(kind: ResourceKind<out HasMetadata>, namespace: String?, resources: Collection<HasMetadata>) {
+        lock.write {
+            documents.values
+                .filter { document -> document.kind == kind
+                        && (namespace == null || namespace == document.resource.metadata?.namespace) }
+                .map { document -> document.key }
+                .forEach { key -> doRemove(key) }
+            resources.forEach { resource -> doAdd(resource) }
+        }
+    }
+
+    /**
+     * Removes the given resource from the index.
+     *
+     * @param resource the resource to remove
+     */
+    fun remove(resource: HasMetadata) {
+        lock.write {
+            doRemove(toKey(resource))
+        }
+    }
+
+    fun clear() {
+        lock.write {
+            ids.clear()
+            documents.clear()
+            postings.clear()
+        }
+    }
+
+    fun size(): Int {
+        return lock.read {
+            documents.size
+        }
+    }
+
+    /**
+     * Returns the resources that match all words in the given query.
+     * Resources whose name is the query are returned first, followed by resources whose name starts with
+     * the query. Resources are sorted by name otherwise.
+     *
+     * @param query the words to search for
+     * @param max the maximum number of resources to return
+     */
+    fun search(query: String, max: Int = 100): List<HasMetadata> {
+        val words = query.lowercase()
+            .split(Regex("\\s+"))
+            .filter { it.isNotEmpty() }
+        if (words.isEmpty()) {
+            return emptyList()
+        }
+        val lowerCaseQuery = words.joinToString(" ")
+        val order = compareBy<Document> { document -> document.rank(lowerCaseQuery) }
+            .thenBy { document -> document.name }
+        return lock.read {
+            val matching = getCandidates(words)
+                .asSequence()
+                .mapNotNull { id -> documents[id] }
+                .filter { document -> words.all { word -> document.matches(word) } }
+            getFirst(matching, max, order)
+                .map { document -> document.resource }
+        }
+    }
+
+    /**
+     * Returns the first elements in the given order without sorting all of them.
+     */
+    private fun <T> getFirst(elements: Sequence<T>, max: Int, order: Comparator<T>): List<T> {
+        if (max <= 0) {
+            return emptyList()
+        }
+        // head is the last of the first elements
+        val first = PriorityQueue(max + 1, order.reversed())
+        elements.forEach { element ->
+            first.add(element)
+            if (max < first.size) {
+                first.poll()
+            }
+        }
+        return first.sortedWith(order)
+    }
+
+    /**
+     * Returns the ids of the documents that contain all trigrams of the given words.
+     * Intersects the smallest posting lists first.
+     */
+    private fun getCandidates(words: List<String>): IntOpenHashSet {
+        val lists = words
+            .flatMap { word -> toQueryGrams(word) }
+            .distinct()
+            .map { gram -> postings[gram] ?: return IntOpenHashSet() }
+            .sortedBy { ids -> ids.size }
+        val candidates = IntOpenHashSet(lists.first())
+        lists.drop(1).forEach { ids ->
+            candidates.retainAll(ids)
+            if (candidates.isEmpty()) {
+                return candidates
+            }
+        }
+        return candidates
+    }
+
+    private fun doAdd(resource: HasMetadata) {
+        val key = toKey(resource)
+        val id = nextId++
+        val document = Document(key, ResourceKind.create(resource), resource)
+        ids[key] = id
+        documents[id] = document
+        document.grams.forEach { gram ->
+            postings.getOrPut(gram) { IntOpenHashSet() }.add(id)
+        }
+    }
+
+    private fun doRemove(key: String) {
+        val id = ids.remove(key) ?: return
+        val document = documents.remove(id) ?: return
+        document.grams.forEach { gram ->
+            val ids = postings[gram] ?: return@forEach
+            ids.remove(id)
+            if (ids.isEmpty()) {
+                postings.remove(gram)
+            }
+        }
+    }
+
+    private fun toKey(resource: HasMetadata): String {
+        return "${resource.apiVersion}/${resource.kind}/${resource.metadata?.namespace}/${resource.metadata?.name}"
+    }
+
+    private fun toQueryGrams(word: String): List<String> {
+        return if (word.length < GRAM_LENGTH) {
+            listOf(pad(word).takeLast(GRAM_LENGTH))
+        } else {
+            toGrams(word)
+        }
+    }
+
+    private fun pad(value: String): String {
+        return PAD.toString().repeat(GRAM_LENGTH - 1) + value
+    }
+
+    private fun toGrams(value: String): List<String> {
+        return (0..value.length - GRAM_LENGTH)
+            .map { index -> value.substring(index, index + GRAM_LENGTH) }
+    }
+
+    private inner class Document(
+        val key: String,
+        val kind: ResourceKind<out HasMetadata>,
+        val resource: HasMetadata
+    ) {
+        val name: String = resource.metadata?.name?.lowercase() ?: ""
+        private val values: List<String> = listOfNotNull(
+            name,
+            resource.metadata?.namespace?.lowercase(),
+            kind.kind.lowercase()
+        ) + (resource.metadata?.labels?.map { (key, value) -> "$key=$value".lowercase() } ?: emptyList())
+
+        val grams: Set<String> = values
+            .flatMap { value -> toGrams(pad(value)) }
+            .toSet()
+
+        fun matches(word: String): Boolean {
+            return values.any { value ->
+                if (word.length < GRAM_LENGTH) {
+                    value.startsWith(word)
+                } else {
+                    value.contains(word)
+                }
+            }
+        }
+
+        fun rank(query: String): Int {
+            return when {
+                name == query -> 0
+                name.startsWith(query) -> 1
+                else -> 2
+            }
+        }
+    }
+}
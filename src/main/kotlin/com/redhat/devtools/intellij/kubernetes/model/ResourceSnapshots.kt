@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.SecretsOperator
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.KubernetesList
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.io.IOException
+import java.net.URL
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import kotlin.io.path.exists
+import kotlin.io.path.isRegularFile
+import kotlin.streams.toList
+
+/**
+ * On-disk snapshots of the resources that are cached for a context.
+ * Snapshots allow the resource tree to display the last known state of a cluster immediately when the IDE is started.
+ * They are stale by definition and have to be reconciled with the cluster once they were restored.
+ *
+ * Snapshots are gzipped json lists. They are written in the background, coalescing changes that happen in quick
+ * succession. Kinds that hold sensitive data (ex. [io.fabric8.kubernetes.api.model.Secret]) are never written to disk.
+ * The size of the snapshots is bounded: lists that exceed [maxResources] are not written and the oldest snapshots
+ * are deleted once all snapshots for a context exceed [maxBytes].
+ */
+open class ResourceSnapshots(
+    private val directory: Path,
+    private val executor: ScheduledExecutorService,
+    private val delay: Long = WRITE_DELAY,
+    private val maxResources: Int = MAX_RESOURCES,
+    private val maxBytes: Long = MAX_BYTES
+) {
+
+    companion object {
+        const val WRITE_DELAY = 2000L /* ms */
+        const val MAX_RESOURCES = 5000
+        const val MAX_BYTES = 16L * 1024 * 1024
+        const val SCOPE_ALL = "_all"
+
+        private const val FILE_SUFFIX = ".json.gz"
+        private val EXCLUDED: Set<ResourceKind<out HasMetadata>> = setOf(SecretsOperator.KIND)
+
+        private val EXECUTOR: ScheduledExecutorService by lazy {
+            AppExecutorUtil.createBoundedScheduledExecutorService("Kubernetes Resource Snapshots", 1)
+        }
+
+        fun create(context: String?, masterUrl: URL): ResourceSnapshots {
+            val directory = Paths.get(PathManager.getSystemPath(), "kubernetes", "snapshots", toKey("$context@$masterUrl"))
+            return ResourceSnapshots(directory, EXECUTOR)
+        }
+
+        private fun toKey(value: String): String {
+            return MessageDigest.getInstance("SHA-256")
+                .digest(value.toByteArray())
+                .take(16)
+                .joinToString("") { "%02x".format(it) }
+        }
+    }
+
+    private val pending = ConcurrentHashMap<Path, () -> Collection<HasMetadata>>()
+
+    /**
+     * Returns `true` if resources of the given kind may be written to disk.
+     * Returns `false` for kinds that hold sensitive data.
+     *
+     * @param kind the kind of resources to check
+     */
+    fun isSupported(kind: ResourceKind<out HasMetadata>): Boolean {
+        return !EXCLUDED.contains(kind)
+    }
+
+    /**
+     * Returns the resources of the given kind and scope that were last written to disk.
+     * Returns an empty list if there's no snapshot or it could not be read.
+     *
+     * @param kind the kind of resources to load
+     * @param scope the namespace or [SCOPE_ALL] for non-namespaced resources or resources in all namespaces
+     */
+    fun load(kind: ResourceKind<out HasMetadata>, scope: String): List<HasMetadata> {
+        if (!isSupported(kind)) {
+            return emptyList()
+        }
+        val file = getFile(kind, scope)
+        if (!file.exists()) {
+            return emptyList()
+        }
+        return try {
+            val list = GZIPInputStream(Files.newInputStream(file)).use { stream ->
+                Serialization.unmarshal(stream, KubernetesList::class.java)
+            }
+            list?.items
+                ?.filter { kind.clazz.isInstance(it) }
+                ?: emptyList()
+        } catch (e: Exception) {
+            logger<ResourceSnapshots>().warn("Could not read snapshot for $kind in $scope at $file.", e)
+            delete(file)
+            emptyList()
+        }
+    }
+
+    /**
+     * Schedules the given resources to be written to disk. Several saves for the same kind and scope that happen
+     * within the write delay are coalesced into a single write with the latest resources.
+     *
+     * @param kind the kind of resources to save
+     * @param scope the namespace or [SCOPE_ALL] for non-namespaced resources or resources in all namespaces
+     * @param resources supplies the resources to write, invoked when the write happens
+     */
+    fun save(kind: ResourceKind<out HasMetadata>, scope: String, resources: () -> Collection<HasMetadata>) {
+        if (!isSupported(kind)) {
+            return
+        }
+        val file = getFile(kind, scope)
+        if (pending.put(file, resources) == null) {
+            executor.schedule({ write(file) }, delay, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    /**
+     * Writes all pending snapshots to disk.
+     */
+    fun flush() {
+        pending.keys.toList().forEach { write(it) }
+    }
+
+    private fun write(file: Path) {
+        val resources = pending.remove(file) ?: return
+        try {
+            write(file, resources.invoke())
+            trim(file)
+        } catch (e: Exception) {
+            logger<ResourceSnapshots>().warn("Could not write snapshot $file.", e)
+        }
+    }
+
+    private fun write(file: Path, resources: Collection<HasMetadata>) {
+        if (resources.isEmpty()
+            || resources.size > maxResources) {
+            delete(file)
+            return
+        }
+        val mapper = Serialization.jsonMapper()
+        val list = mapper.createObjectNode()
+            .put("apiVersion", "v1")
+            .put("kind", "List")
+        val items = list.putArray("items")
+        resources.forEach { resource ->
+            val node = mapper.valueToTree<ObjectNode>(resource)
+            // managed fields are of no use in the tree but make up for a large part of a resource
+            (node.get("metadata") as? ObjectNode)?.remove("managedFields")
+            items.add(node)
+        }
+        Files.createDirectories(directory)
+        val temporary = Files.createTempFile(directory, file.fileName.toString(), ".tmp")
+        try {
+            GZIPOutputStream(Files.newOutputStream(temporary)).use { stream ->
+                mapper.writeValue(stream, list)
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } finally {
+            Files.deleteIfExists(temporary)
+        }
+    }
+
+    /**
+     * Deletes the oldest snapshots until all snapshots fit in [maxBytes]. The given snapshot is kept.
+     */
+    private fun trim(keep: Path) {
+        val files = Files.list(directory).use { stream ->
+            stream
+                .filter { it.isRegularFile() && it.fileName.toString().endsWith(FILE_SUFFIX) }
+                .toList()
+        }.sortedByDescending { Files.getLastModifiedTime(it) }
+        var total = 0L
+        files.forEach { file ->
+            total += Files.size(file)
+            if (total > maxBytes
+                && file != keep) {
+                logger<ResourceSnapshots>().debug("Deleting snapshot $file, snapshots exceed $maxBytes bytes.")
+                delete(file)
+            }
+        }
+    }
+
+    private fun delete(file: Path) {
+        try {
+            Files.deleteIfExists(file)
+        } catch (e: IOException) {
+            logger<ResourceSnapshots>().warn("Could not delete snapshot $file.", e)
+        }
+    }
+
+    private fun getFile(kind: ResourceKind<out HasMetadata>, scope: String): Path {
+        val name = "${kind.version}_${kind.kind}_$scope"
+            .replace(Regex("[^A-Za-z0-9._-]"), "_")
+        return directory.resolve(name + FILE_SUFFIX)
+    }
+}
@@ -12,6 +12,8 @@ package com.redhat.devtools.intellij.kubernetes.model
 
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.client.Watch
 import io.fabric8.kubernetes.client.Watcher
@@ -24,14 +26,17 @@ import java.util.concurrent.LinkedBlockingDeque
 /**
  * A watch that listens for changes on the kubernetes cluster and operates actions on a model accordingly.
  * The model is only visible to this watcher by operations that the former provides (addOperation, removeOperation).
+ * Watches that fail are re-established by the given [WatchSupervisor].
  */
 open class ResourceWatch<T>(
     protected val watchOperations: BlockingDeque<WatchOperation<*>> = LinkedBlockingDeque(),
     watchOperationsRunner: Runnable = WatchOperationsRunner(watchOperations),
-    private val executor: (runnable: Runnable) -> Unit = { runnable -> AppExecutorUtil.getAppExecutorService().execute(runnable) }
+    private val executor: (runnable: Runnable) -> Unit = { runnable -> AppExecutorUtil.getAppExecutorService().execute(runnable) },
+    protected val supervisor: WatchSupervisor<T> = WatchSupervisor()
 ) {
     companion object {
         @JvmField val WATCH_OPERATION_ENQUEUED: Watch = Watch {  }
+        @JvmField val WATCH_RECONNECTING: Watch = Watch {  }
     }
 
     protected open val watches: ConcurrentHashMap<T, Watch?> = ConcurrentHashMap()
@@ -57,12 +62,64 @@ open class ResourceWatch<T>(
                     watches,
                     watchListeners.added,
                     watchListeners.removed,
-                    watchListeners.replaced)
+                    watchListeners.replaced,
+                    { e -> onFailed(key, e, watchOperation, watchListeners) })
             watchOperations.add(operation) // enqueue watch operation
             WATCH_OPERATION_ENQUEUED // Marker: watch operation submitted
         }
     }
 
+    /**
+     * Returns `true` if the watch for the given key failed and is being re-established.
+     */
+    fun isReconnecting(key: T): Boolean {
+        return supervisor.isReconnecting(key)
+    }
+
+    /**
+     * Returns the reconnect metrics for all watches that failed at least once.
+     */
+    fun getMetrics(): Map<T, WatchSupervisor.Metrics> {
+        return supervisor.getMetrics()
+    }
+
+    /**
+     * Returns the number of watch operations that are waiting to be executed.
+     */
+    fun getPendingOperations(): Int {
+        return watchOperations.size
+    }
+
+    /**
+     * Marks the watch for the given key as reconnecting and has the supervisor re-establish it.
+     * Does nothing if the watch was stopped in the meantime.
+     */
+    private fun onFailed(
+        key: T,
+        e: Exception?,
+        watchOperation: (watcher: Watcher<HasMetadata>) -> Watch?,
+        watchListeners: WatchListeners
+    ) {
+        val failed = watches[key] ?: return // stopped
+        if (failed !== WATCH_RECONNECTING
+            && !watches.replace(key, failed, WATCH_RECONNECTING)) {
+            return // stopped or replaced
+        }
+        supervisor.onFailed(key, e, Runnable {
+            if (watches[key] !== WATCH_RECONNECTING) {
+                return@Runnable // stopped
+            }
+            logger<ResourceWatch<*>>().debug("Enqueueing reconnect of watch for $key resources.")
+            watchOperations.add(ReconnectOperation(
+                key,
+                watchOperation,
+                watches,
+                watchListeners,
+                { supervisor.onConnected(key) },
+                { error -> onFailed(key, error, watchOperation, watchListeners) }))
+        })
+    }
+
     fun stopWatchAll(keys: Collection<T>): Collection<T> {
         val existing = watches.entries.filter { keys.contains(it.key) }
         closeAll(existing)
@@ -75,6 +132,7 @@ open class ResourceWatch<T>(
                 return null
             }
             logger<ResourceWatch<*>>().debug("Closing watch for $key resource(s).")
+            supervisor.onStopped(key)
             val watch = watches[key] ?: return null
             watch.close()
             return watches.remove(key)
@@ -89,6 +147,7 @@ open class ResourceWatch<T>(
     }
 
     fun close() {
+        supervisor.close()
         executor.invoke {
             closeAll(watches.entries.toList())
         }
@@ -103,7 +162,10 @@ open class ResourceWatch<T>(
                 safeClose(it.key, watch)
             }
         }
-        closed.forEach { watches.remove(it.key) }
+        closed.forEach {
+            supervisor.onStopped(it.key)
+            watches.remove(it.key)
+        }
     }
 
     private fun safeClose(type: T, watch: Watch): Boolean {
@@ -128,26 +190,32 @@ open class ResourceWatch<T>(
         }
     }
 
-    class WatchOperation<out T>(
+    open class WatchOperation<out T>(
             val key: T,
             private val watchOperation: (watcher: Watcher<HasMetadata>) -> Watch?,
-            private val watches: MutableMap<T, Watch?>,
+            protected val watches: MutableMap<@UnsafeVariance T, Watch?>,
             private val addOperation: (HasMetadata) -> Unit,
             private val removeOperation: (HasMetadata) -> Unit,
-            private val replaceOperation: (HasMetadata) -> Unit
+            private val replaceOperation: (HasMetadata) -> Unit,
+            private val failedOperation: (WatcherException) -> Unit = {}
     ) : Runnable {
         override fun run() {
             try {
                 logger<ResourceWatch<*>>().debug("Watching $key resource(s).")
-                val watch: Watch? = watchOperation.invoke(ResourceWatcher(addOperation, removeOperation, replaceOperation))
+                val watch: Watch? = watchOperation.invoke(
+                    ResourceWatcher(addOperation, removeOperation, replaceOperation, failedOperation))
                 saveWatch(watch)
             } catch (e: Exception) {
-                watches.remove(key) // remove placeholder
-                logger<ResourceWatch<*>>().warn("Could not watch resource(s) $key.", e)
+                onError(e)
             }
         }
 
-        private fun saveWatch(watch: Watch?) {
+        protected open fun onError(e: Exception) {
+            watches.remove(key) // remove placeholder
+            logger<ResourceWatch<*>>().warn("Could not watch resource(s) $key.", e)
+        }
+
+        protected open fun saveWatch(watch: Watch?) {
             if (watch == null) {
                 watches.remove(key) // remove placeholder
             } else {
@@ -157,15 +225,58 @@ open class ResourceWatch<T>(
         }
     }
 
+    /**
+     * Re-establishes a watch that failed. Keeps the [WATCH_RECONNECTING] placeholder and reschedules if this fails.
+     */
+    private class ReconnectOperation<T>(
+        key: T,
+        watchOperation: (watcher: Watcher<HasMetadata>) -> Watch?,
+        watches: MutableMap<T, Watch?>,
+        watchListeners: WatchListeners,
+        private val reconnectedOperation: () -> Unit,
+        private val failedOperation: (Exception?) -> Unit
+    ) : WatchOperation<T>(
+        key,
+        watchOperation,
+        watches,
+        watchListeners.added,
+        watchListeners.removed,
+        watchListeners.replaced,
+        failedOperation
+    ) {
+        override fun onError(e: Exception) {
+            logger<ResourceWatch<*>>().debug("Could not reconnect watch for $key resource(s).", e)
+            failedOperation.invoke(e)
+        }
+
+        override fun saveWatch(watch: Watch?) {
+            when {
+                watch == null ->
+                    // nothing to watch (anymore)
+                    watches.remove(key, WATCH_RECONNECTING)
+                watches.replace(key, WATCH_RECONNECTING, watch) -> {
+                    logger<ResourceWatch<*>>().debug("Reconnected watch for $key resources.")
+                    reconnectedOperation.invoke()
+                }
+                else ->
+                    // stopped while reconnecting
+                    watch.close()
+            }
+        }
+    }
+
     class ResourceWatcher(
             private val addOperation: (HasMetadata) -> Unit,
             private val removeOperation: (HasMetadata) -> Unit,
-            private val replaceOperation: (HasMetadata) -> Unit
+            private val replaceOperation: (HasMetadata) -> Unit,
+            private val failedOperation: (WatcherException) -> Unit = {}
     ) : Watcher<HasMetadata> {
         override fun eventReceived(action: Watcher.Action?, resource: HasMetadata) {
             logger<ResourceWatch<*>>().debug(
                     """Received $action event for ${resource.kind} '${resource.metadata.name}'
                             |"${if (resource.metadata.namespace != null) "in namespace ${resource.metadata.namespace}" else ""}.""")
+            Diagnostics.instance.received(resource)
+            WatchRecorder.instance.record(action, resource)
             when (action) {
                 Watcher.Action.ADDED ->
                     addOperation(resource)
@@ -179,6 +290,10 @@ open class ResourceWatch<T>(
 
         override fun onClose(e: WatcherException?) {
             logger<ResourceWatch<*>>().debug("watcher closed.", e)
+            if (e != null) {
+                // closed because of an error (ex. reconnect limit reached), not closed by us
+                failedOperation.invoke(e)
+            }
         }
     }
 
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.settings.Settings
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+/**
+ * The retention policy for watches. Stopping a watch invalidates the cached resources and watching them again
+ * requires to list them again. A watch that is released (ex. because its folder was collapsed) is therefore kept
+ * for a grace period and only stopped if it is not watched again in the meantime.
+ * A watch can be used several times (ex. pods are watched by each expanded deployment). It's released once it was
+ * released as many times as it was watched.
+ * The number of watches is bounded: once there are more than the given maximum, the least recently used
+ * released watches are evicted. Watches that are in use are never evicted.
+ *
+ * @param stop stops the watch for the given key
+ * @param gracePeriod the time to keep a released watch, in ms
+ * @param maxWatches the maximum number of watches to keep
+ * @param schedule schedules the stop of a released watch after the given delay in ms
+ */
+open class WatchRetention<T>(
+    private val stop: (key: T) -> Unit,
+    private val gracePeriod: () -> Long = {
+        TimeUnit.SECONDS.toMillis(
+            (Settings.getInstance()?.getWatchGracePeriod() ?: Settings.WATCH_GRACE_PERIOD_DEFAULT).toLong())
+    },
+    private val maxWatches: () -> Int = {
+        Settings.getInstance()?.getWatchLimit() ?: Settings.WATCH_LIMIT_DEFAULT
+    },
+    private val schedule: (runnable: Runnable, delay: Long) -> Future<*> = { runnable, delay ->
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(runnable, delay, TimeUnit.MILLISECONDS)
+    }
+) {
+
+    /* watches in least recently used order */
+    private val watches = LinkedHashMap<T, Usage>(16, 0.75f, true)
+    private val evictions: MutableMap<T, Int> = ConcurrentHashMap()
+
+    /**
+     * Notifies that the watch for the given key is used. Cancels a pending stop and
+     * evicts the least recently used released watches if there are more watches than allowed.
+     *
+     * @param key the key of the watch that is used
+     */
+    fun watched(key: T) {
+        val evicted = synchronized(watches) {
+            val usage = watches[key] ?: Usage()
+            usage.release?.cancel(false)
+            watches[key] = Usage(usage.users + 1)
+            evict()
+        }
+        evicted.forEach { evictedKey ->
+            logger<WatchRetention<*>>().debug("Evicting watch for $evictedKey, more than ${maxWatches.invoke()} watches.")
+            evictions.merge(evictedKey, 1, Int::plus)
+            stop.invoke(evictedKey)
+        }
+    }
+
+    /**
+     * Notifies that the watch for the given key is used one time less. Once it's not used anymore, the watch is
+     * stopped when the grace period is over unless it is used again in the meantime.
+     * Returns `false` if the watch for the given key was unknown.
+     *
+     * @param key the key of the watch that was released
+     * @return true if the watch is retained or stopped, false if the watch was unknown
+     */
+    fun released(key: T): Boolean {
+        val gracePeriod = gracePeriod.invoke()
+        synchronized(watches) {
+            val usage = watches[key] ?: return false
+            if (1 < usage.users) {
+                watches[key] = Usage(usage.users - 1)
+                return true
+            }
+            if (usage.isReleased()) {
+                return true
+            }
+            if (0 < gracePeriod) {
+                logger<WatchRetention<*>>().debug("Retaining watch for $key for $gracePeriod ms.")
+                watches[key] = Usage(0, schedule.invoke(Runnable { expire(key) }, gracePeriod))
+                return true
+            }
+            watches.remove(key)
+        }
+        stop.invoke(key)
+        return true
+    }
+
+    /**
+     * Notifies that the watch for the given key was stopped. Cancels a pending stop.
+     *
+     * @param key the key of the watch that was stopped
+     */
+    fun removed(key: T) {
+        synchronized(watches) {
+            watches.remove(key)?.release?.cancel(false)
+        }
+    }
+
+    /**
+     * Returns how many times the watches for each key were evicted.
+     */
+    fun getEvictions(): Map<T, Int> {
+        return HashMap(evictions)
+    }
+
+    fun close() {
+        synchronized(watches) {
+            watches.values.forEach { it.release?.cancel(false) }
+            watches.clear()
+        }
+    }
+
+    private fun expire(key: T) {
+        synchronized(watches) {
+            // dont use #get, it would change the access order
+            val usage = watches.entries.find { it.key == key }?.value
+            if (usage?.isReleased() != true) {
+                return // stopped or watched again
+            }
+            watches.remove(key)
+        }
+        logger<WatchRetention<*>>().debug("Grace period for watch for $key is over, stopping it.")
+        stop.invoke(key)
+    }
+
+    /**
+     * Removes the least recently used released watches until there are no more watches than allowed.
+     * Has to be called while holding the lock on [watches].
+     */
+    private fun evict(): List<T> {
+        val toEvict = watches.size - maxWatches.invoke()
+        if (toEvict <= 0) {
+            return emptyList()
+        }
+        val evicted = watches.entries
+            .filter { (_, usage) -> usage.isReleased() }
+            .take(toEvict)
+            .map { (key, usage) -> Pair(key, usage) }
+        evicted.forEach { (key, usage) ->
+            usage.release?.cancel(false)
+            watches.remove(key)
+        }
+        return evicted.map { (key, _) -> key }
+    }
+
+    /**
+     * The number of users of a watch and the pending stop once it is not used anymore.
+     */
+    private class Usage(val users: Int = 0, val release: Future<*>? = null) {
+        fun isReleased(): Boolean {
+            return release != null
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Supervises the watches of a [ResourceWatch]. The client gives up on a watch once it failed to reconnect a few times
+ * (see [com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter.LIMIT_RECONNECT]).
+ * The supervisor then re-establishes it with an exponential backoff that is jittered so that watches that failed
+ * at the same time (ex. a VPN that dropped) don't all reconnect at once.
+ * It records how many times a watch reconnected and for how long it was down.
+ *
+ * @param onDisconnected called when a watch failed and is about to be re-established
+ * @param onReconnected called when a watch that failed was re-established
+ * @param schedule schedules a reconnect after the given delay in ms
+ * @param minDelay the delay before the 1st reconnect, in ms
+ * @param maxDelay the maximum delay between reconnects, in ms
+ */
+open class WatchSupervisor<T>(
+    private val onDisconnected: (key: T, e: Exception?) -> Unit = { _, _ -> },
+    private val onReconnected: (key: T) -> Unit = { },
+    private val schedule: (runnable: Runnable, delay: Long) -> Future<*> = { runnable, delay ->
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(runnable, delay, TimeUnit.MILLISECONDS)
+    },
+    private val minDelay: Long = MIN_DELAY,
+    private val maxDelay: Long = MAX_DELAY,
+    /* for testing purposes */
+    private val random: Random = Random.Default,
+    /* for testing purposes */
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        const val MIN_DELAY = 1000L /* ms */
+        const val MAX_DELAY = 60 * 1000L /* ms */
+    }
+
+    private val outages: MutableMap<T, Outage> = ConcurrentHashMap()
+    private val metrics: MutableMap<T, Metrics> = ConcurrentHashMap()
+
+    /**
+     * Notifies that the watch for the given key failed. Schedules the given reconnect after a backoff delay
+     * that grows with each consecutive failure.
+     *
+     * @param key the key of the watch that failed
+     * @param e the error that caused the watch to fail
+     * @param reconnect the operation that re-establishes the watch
+     */
+    fun onFailed(key: T, e: Exception?, reconnect: Runnable) {
+        val now = clock.invoke()
+        val outage = outages.compute(key) { _, existing ->
+            existing?.next() ?: Outage(now, 1)
+        } ?: return
+        if (outage.attempt == 1) {
+            metrics.compute(key) { _, existing -> (existing ?: Metrics()).failed(now) }
+            notify("disconnected from", key) { onDisconnected.invoke(key, e) }
+        }
+        val delay = getDelay(outage.attempt)
+        logger<WatchSupervisor<*>>().info(
+            "Watch for $key failed${if (e != null) " (${e.message})" else ""}, reconnecting in $delay ms (attempt ${outage.attempt}).")
+        outage.reconnect = schedule.invoke(reconnect, delay)
+    }
+
+    /**
+     * Notifies that the watch for the given key was established. Records the reconnect if the watch had failed.
+     *
+     * @param key the key of the watch that was established
+     */
+    fun onConnected(key: T) {
+        val outage = outages.remove(key) ?: return
+        val now = clock.invoke()
+        metrics.compute(key) { _, existing -> (existing ?: Metrics()).reconnected(now - outage.since) }
+        logger<WatchSupervisor<*>>().info(
+            "Watch for $key reconnected after ${now - outage.since} ms (${outage.attempt} attempt(s)).")
+        notify("reconnected to", key) { onReconnected.invoke(key) }
+    }
+
+    /**
+     * Notifies that the watch for the given key was stopped. Cancels a pending reconnect.
+     *
+     * @param key the key of the watch that was stopped
+     */
+    fun onStopped(key: T) {
+        val outage = outages.remove(key) ?: return
+        outage.reconnect?.cancel(false)
+        metrics.computeIfPresent(key) { _, existing -> existing.stopped(clock.invoke() - outage.since) }
+    }
+
+    /**
+     * Returns `true` if the watch for the given key failed and is not re-established yet.
+     */
+    fun isReconnecting(key: T): Boolean {
+        return outages.containsKey(key)
+    }
+
+    /**
+     * Returns the reconnect metrics for all the watches that failed at least once.
+     * Watches that are down at the time of the call include their ongoing downtime.
+     */
+    fun getMetrics(): Map<T, Metrics> {
+        val now = clock.invoke()
+        return metrics.mapValues { (key, metrics) ->
+            val outage = outages[key]
+            if (outage == null) {
+                metrics
+            } else {
+                metrics.copy(downtime = metrics.downtime + (now - outage.since))
+            }
+        }
+    }
+
+    fun close() {
+        outages.values.forEach { it.reconnect?.cancel(false) }
+        outages.clear()
+    }
+
+    /**
+     * Returns the delay before the given reconnect attempt: an exponential backoff bounded by [maxDelay]
+     * of which half is random ("equal jitter").
+     */
+    protected open fun getDelay(attempt: Int): Long {
+        val exponent = (attempt - 1).coerceIn(0, 30)
+        val backoff = (minDelay shl exponent).coerceIn(minDelay, maxDelay)
+        val half = backoff / 2
+        return half + random.nextLong(half + 1)
+    }
+
+    private fun notify(event: String, key: T, listener: () -> Unit) {
+        try {
+            listener.invoke()
+        } catch (e: Exception) {
+            logger<WatchSupervisor<*>>().warn("Could not notify that watch for $key $event cluster.", e)
+        }
+    }
+
+    private class Outage(val since: Long, val attempt: Int) {
+
+        @Volatile
+        var reconnect: Future<*>? = null
+
+        fun next(): Outage {
+            return Outage(since, attempt + 1)
+        }
+    }
+
+    /**
+     * The reconnect metrics of a watch.
+     *
+     * @param failures the number of times the watch failed
+     * @param reconnects the number of times the watch was re-established
+     * @param downtime the total time the watch was down, in ms
+     * @param lastFailure the time when the watch failed the last time, in ms since epoch
+     */
+    data class Metrics(
+        val failures: Int = 0,
+        val reconnects: Int = 0,
+        val downtime: Long = 0,
+        val lastFailure: Long? = null
+    ) {
+        fun failed(time: Long): Metrics {
+            return copy(failures = failures + 1, lastFailure = time)
+        }
+
+        fun reconnected(downtime: Long): Metrics {
+            return copy(reconnects = reconnects + 1, downtime = this.downtime + downtime)
+        }
+
+        fun stopped(downtime: Long): Metrics {
+            return copy(downtime = this.downtime + downtime)
+        }
+    }
+}
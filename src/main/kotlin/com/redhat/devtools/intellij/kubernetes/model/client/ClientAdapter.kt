@@ -77,11 +77,13 @@ abstract class ClientAdapter<C : KubernetesClient>(private val fabric8Client: C)
             context: String? = null,
             clientBuilder: KubernetesClientBuilder? = null,
             createConfig: (context: String?) -> Config = { context ->
-                Config.autoConfigure(context)
-                val config = Config.autoConfigure(context)
+                // exec plugins only run once per user, not for each client
+                val config = ExecCredentialsCache.instance.autoConfigure(context)
                 config.connectionTimeout = TIMEOUT_CONNECTION
                 config.requestTimeout = TIMEOUT_REQUEST
                 config.watchReconnectLimit = LIMIT_RECONNECT
+                // share exec plugin tokens among all clients
+                ExecCredentialsCache.instance.setTokenProvider(config)
                 config
             },
             externalTrustManagerProvider: ((toIntegrate: List<X509ExtendedTrustManager>) -> X509TrustManager)? = null
@@ -57,23 +57,63 @@ open class ClientConfig(
 		}
 
 	/**
-	 * Returns `true` if the given config is equal in
-	 *   * current context
-	 *   * (existing) contexts
-	 *   * current cluster
-	 *   * current auth info
+	 * Returns the changes between the given config and the one that this class adapts.
+	 * Returns an empty set if both are equal.
+	 * A `null` config is considered a change of the current context.
 	 *
 	 * @param config the [Config] to compare the adapted config in this class to.
-	 * @return true if the given config is equal to the one that this class adapts
+	 * @return the changes in the given config
+	 *
+	 * @see Change
 	 */
-	fun isEqualConfig(config: Config?): Boolean {
+	fun getChanges(config: Config?): Set<Change> {
 		if (config == null) {
-			return false
+			return setOf(Change.CURRENT_CONTEXT)
+		}
+		if (!ConfigHelper.areEqualCurrentContext(config, this.config)
+			|| !ConfigHelper.areEqualCluster(config, this.config)
+			|| !areEqualClientCertificate(config, this.config)) {
+			return setOf(Change.CURRENT_CONTEXT)
+		}
+		val changes = mutableSetOf<Change>()
+		if (!ConfigHelper.areEqualAuthInfo(config, this.config)) {
+			changes.add(Change.CREDENTIALS)
 		}
-		return ConfigHelper.areEqualCurrentContext(config, this.config)
-				&& ConfigHelper.areEqualContexts(config, this.config)
-				&& ConfigHelper.areEqualCluster(config, this.config)
-				&& ConfigHelper.areEqualAuthInfo(config, this.config)
+		if (!ConfigHelper.areEqualContexts(config, this.config)) {
+			changes.add(Change.CONTEXTS)
+		}
+		return changes
+	}
+
+	private fun areEqualClientCertificate(config: Config, other: Config): Boolean {
+		return config.clientCertData == other.clientCertData
+				&& config.clientCertFile == other.clientCertFile
+				&& config.clientKeyData == other.clientKeyData
+				&& config.clientKeyFile == other.clientKeyFile
+	}
+
+	/**
+	 * Sets the contexts of the given config to the config that this class adapts.
+	 * The current context is left untouched.
+	 *
+	 * @param config the config to copy the contexts from
+	 */
+	fun setContexts(config: Config) {
+		this.config.contexts = config.contexts
+	}
+
+	/**
+	 * Sets the credentials (token, username and password) of the given config to the config that this class adapts.
+	 * The client that uses the adapted config will then authenticate with the new credentials
+	 * without being re-created.
+	 *
+	 * @param config the config to copy the credentials from
+	 */
+	fun setCredentials(config: Config) {
+		this.config.autoOAuthToken = config.autoOAuthToken
+		this.config.oauthToken = config.oauthToken
+		this.config.username = config.username
+		this.config.password = config.password
 	}
 
 	/**
@@ -133,4 +173,24 @@ open class ClientConfig(
 	fun isCurrent(context: NamedContext): Boolean {
 		return ConfigHelper.areEqualContext(context, currentContext)
 	}
+
+	/**
+	 * A change between 2 configs
+	 *
+	 * @see getChanges
+	 */
+	enum class Change {
+		/**
+		 * Contexts were added or removed, the current context is unchanged
+		 */
+		CONTEXTS,
+		/**
+		 * The credentials (token, username and password) of the current context changed
+		 */
+		CREDENTIALS,
+		/**
+		 * The current context, its cluster or its client certificate changed
+		 */
+		CURRENT_CONTEXT
+	}
 }
\ No newline at end of file
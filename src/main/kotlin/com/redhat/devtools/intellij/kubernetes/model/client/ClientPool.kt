@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.client
+
+import com.intellij.openapi.diagnostic.logger
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.impl.BaseClient
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientImpl
+
+/**
+ * A pool of clients that are shared by long-running streams (ex. logs, terminals) to the same context.
+ * Clients are reference counted: a client is created when the first stream to a context is opened and closed once
+ * the last stream to it is closed. Streams that share a client share its dispatcher, ssl context and connection pool,
+ * which allows them to reuse connections (and multiplex them if the server supports HTTP/2).
+ *
+ * @param clientFactory creates a client for the given namespace and context
+ */
+open class ClientPool(
+    private val clientFactory: (namespace: String?, context: String?) -> ClientAdapter<out KubernetesClient>
+) {
+
+    private val entries = mutableMapOf<String?, Entry>()
+
+    /**
+     * Returns the client for the given context, creating it if there is none yet.
+     * Every client that is acquired has to be [released][release] once it's not used anymore.
+     *
+     * @param context the name of the context to return the client for, `null` for the current context in the kube config
+     * @return the client for the given context
+     */
+    fun acquire(context: String?): ClientAdapter<out KubernetesClient> {
+        synchronized(entries) {
+            val entry = entries.getOrPut(context) {
+                logger<ClientPool>().debug("Creating pooled client for context $context.")
+                Entry(clientFactory.invoke(null, context))
+            }
+            entry.references++
+            return entry.client
+        }
+    }
+
+    /**
+     * Releases the given client. The client is closed if it's not used by anybody else anymore.
+     *
+     * @param client the client to release
+     * @return `true` if the given client was pooled, `false` otherwise
+     */
+    fun release(client: ClientAdapter<out KubernetesClient>): Boolean {
+        val toClose = synchronized(entries) {
+            val (context, entry) = entries.entries.find { it.value.client === client }
+                ?: return false
+            entry.references--
+            if (entry.references > 0) {
+                return true
+            }
+            entries.remove(context)
+            entry.client
+        }
+        logger<ClientPool>().debug("Closing pooled client ${toClose.get().masterUrl}, no streams are using it anymore.")
+        try {
+            toClose.close()
+        } catch (e: Exception) {
+            logger<ClientPool>().warn("Could not close pooled client.", e)
+        }
+        return true
+    }
+
+    /**
+     * Returns the number of clients that are alive.
+     */
+    val clients: Int
+        get() = synchronized(entries) {
+            entries.size
+        }
+
+    /**
+     * Returns the number of streams that are using pooled clients.
+     */
+    val references: Int
+        get() = synchronized(entries) {
+            entries.values.sumOf { it.references }
+        }
+
+    /**
+     * Returns the number of http connections that the pooled clients hold, active and idle ones.
+     */
+    val connections: Int
+        get() {
+            val clients = synchronized(entries) {
+                entries.values.map { it.client }
+            }
+            return clients.sumOf { getConnections(it) }
+        }
+
+    protected open fun getConnections(client: ClientAdapter<out KubernetesClient>): Int {
+        return try {
+            val httpClient = (client.get() as? BaseClient)?.httpClient as? OkHttpClientImpl
+            httpClient?.okHttpClient?.connectionPool?.connectionCount() ?: 0
+        } catch (e: Exception) {
+            0
+        }
+    }
+
+    private class Entry(val client: ClientAdapter<out KubernetesClient>, var references: Int = 0)
+}
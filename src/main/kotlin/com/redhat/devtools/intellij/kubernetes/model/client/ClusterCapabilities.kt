@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.client
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.common.kubernetes.ClusterHelper
+import com.redhat.devtools.intellij.common.kubernetes.ClusterInfo
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.net.URL
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * The capabilities of a cluster that are expensive to detect and don't change as long as the server version doesn't.
+ */
+data class ClusterCapabilities(
+    val serverVersion: String? = null,
+    val isOpenShift: Boolean = false,
+    val kubernetesVersion: String? = null,
+    val openshiftVersion: String? = null,
+    val apiGroups: List<String> = emptyList()
+) {
+    fun hasApiGroup(group: String): Boolean {
+        return apiGroups.contains(group)
+    }
+
+    fun toClusterInfo(): ClusterInfo {
+        return ClusterInfo(kubernetesVersion, isOpenShift, openshiftVersion)
+    }
+}
+
+/**
+ * A cache of [ClusterCapabilities] per master url that is persisted across sessions.
+ * Cached capabilities are used up front when a context is created and are revalidated in the background.
+ * Capabilities are only detected again if the server version changed.
+ *
+ * @param file the file to persist the capabilities to, nothing is persisted if `null`
+ */
+open class ClusterCapabilitiesCache(private val file: Path?) {
+
+    companion object {
+        private const val MAX_ENTRIES = 50
+
+        val instance: ClusterCapabilitiesCache by lazy {
+            ClusterCapabilitiesCache(Paths.get(PathManager.getSystemPath(), "kubernetes", "capabilities.json"))
+        }
+    }
+
+    private val lock = ReentrantReadWriteLock()
+    private val capabilities: LinkedHashMap<String, ClusterCapabilities> by lazy {
+        load()
+    }
+
+    /**
+     * Returns the cached capabilities for the cluster of the given client. Returns `null` if there are none.
+     * Nothing is requested from the cluster.
+     *
+     * @param client the client for the cluster to get the capabilities for
+     */
+    fun get(client: ClientAdapter<out KubernetesClient>): ClusterCapabilities? {
+        val masterUrl: URL = client.get().masterUrl ?: return null
+        return get(masterUrl)
+    }
+
+    fun get(masterUrl: URL): ClusterCapabilities? {
+        lock.read {
+            return capabilities[masterUrl.toString()]
+        }
+    }
+
+    fun put(masterUrl: URL, capabilities: ClusterCapabilities) {
+        lock.write {
+            val key = masterUrl.toString()
+            // re-insert so that most recent entries are kept when trimming
+            this.capabilities.remove(key)
+            this.capabilities[key] = capabilities
+            while (this.capabilities.size > MAX_ENTRIES) {
+                this.capabilities.remove(this.capabilities.keys.first())
+            }
+        }
+        save()
+    }
+
+    /**
+     * Returns the capabilities for the cluster of the given client, detecting them if the server version changed or
+     * there were none. The server version is requested from the cluster.
+     * Returns `null` if the server version or the capabilities could not be retrieved (ex. the cluster can't be
+     * reached). The cached capabilities are kept in this case, what was detected while failing cannot be trusted.
+     *
+     * @param client the client for the cluster to revalidate the capabilities for
+     * @return the current capabilities of the cluster, `null` if they could not be retrieved
+     */
+    fun revalidate(client: ClientAdapter<out KubernetesClient>): ClusterCapabilities? {
+        val masterUrl: URL? = client.get().masterUrl
+        val serverVersion = getServerVersion(client)
+            ?: return null
+        val cached = masterUrl?.let { get(it) }
+        if (cached != null
+            && cached.serverVersion == serverVersion) {
+            return cached
+        }
+        val detected = detect(client, serverVersion)
+            ?: return null
+        if (masterUrl != null
+            && detected != cached) {
+            put(masterUrl, detected)
+        }
+        return detected
+    }
+
+    /**
+     * Detects the capabilities of the cluster of the given client.
+     * Returns `null` if they could not be detected.
+     */
+    protected open fun detect(client: ClientAdapter<out KubernetesClient>, serverVersion: String?): ClusterCapabilities? {
+        logger<ClusterCapabilitiesCache>().debug("Detecting capabilities of cluster at ${client.get().masterUrl}.")
+        val apiGroups = getApiGroups(client)
+            ?: return null
+        val isOpenShift = client.canAdaptToOpenShift()
+        val info = try {
+            ClusterHelper.getClusterInfo(client.get())
+        } catch (e: Exception) {
+            logger<ClusterCapabilitiesCache>().debug("Could not retrieve cluster info for ${client.get().masterUrl}.", e)
+            null
+        }
+        return ClusterCapabilities(
+            serverVersion,
+            isOpenShift,
+            info?.kubernetesVersion,
+            info?.openshiftVersion,
+            apiGroups
+        )
+    }
+
+    private fun getServerVersion(client: ClientAdapter<out KubernetesClient>): String? {
+        return try {
+            client.get().kubernetesVersion?.gitVersion
+        } catch (e: Exception) {
+            logger<ClusterCapabilitiesCache>().debug("Could not retrieve server version for ${client.get().masterUrl}.", e)
+            null
+        }
+    }
+
+    private fun getApiGroups(client: ClientAdapter<out KubernetesClient>): List<String>? {
+        return try {
+            client.get().apiGroups?.groups
+                ?.mapNotNull { it.name }
+                ?: emptyList()
+        } catch (e: Exception) {
+            logger<ClusterCapabilitiesCache>().debug("Could not retrieve api groups for ${client.get().masterUrl}.", e)
+            null
+        }
+    }
+
+    private fun load(): LinkedHashMap<String, ClusterCapabilities> {
+        val loaded = LinkedHashMap<String, ClusterCapabilities>()
+        if (file == null
+            || !Files.exists(file)) {
+            return loaded
+        }
+        try {
+            val root = Serialization.jsonMapper().readTree(file.toFile())
+            root.fields().forEach { (masterUrl, node) ->
+                loaded[masterUrl] = toCapabilities(node)
+            }
+        } catch (e: Exception) {
+            logger<ClusterCapabilitiesCache>().warn("Could not read cluster capabilities from $file.", e)
+        }
+        return loaded
+    }
+
+    private fun save() {
+        if (file == null) {
+            return
+        }
+        try {
+            val mapper = Serialization.jsonMapper()
+            val root = mapper.createObjectNode()
+            lock.read {
+                capabilities.forEach { (masterUrl, capabilities) ->
+                    toNode(capabilities, root.putObject(masterUrl))
+                }
+            }
+            Files.createDirectories(file.parent)
+            val temporary = Files.createTempFile(file.parent, file.fileName.toString(), ".tmp")
+            try {
+                mapper.writeValue(temporary.toFile(), root)
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            } finally {
+                Files.deleteIfExists(temporary)
+            }
+        } catch (e: Exception) {
+            logger<ClusterCapabilitiesCache>().warn("Could not write cluster capabilities to $file.", e)
+        }
+    }
+
+    private fun toNode(capabilities: ClusterCapabilities, node: ObjectNode) {
+        node.put("serverVersion", capabilities.serverVersion)
+        node.put("isOpenShift", capabilities.isOpenShift)
+        node.put("kubernetesVersion", capabilities.kubernetesVersion)
+        node.put("openshiftVersion", capabilities.openshiftVersion)
+        val groups = node.putArray("apiGroups")
+        capabilities.apiGroups.forEach { groups.add(it) }
+    }
+
+    private fun toCapabilities(node: JsonNode): ClusterCapabilities {
+        return ClusterCapabilities(
+            node.get("serverVersion")?.textValue(),
+            node.get("isOpenShift")?.booleanValue() ?: false,
+            node.get("kubernetesVersion")?.textValue(),
+            node.get("openshiftVersion")?.textValue(),
+            node.get("apiGroups")?.mapNotNull { it.textValue() } ?: emptyList()
+        )
+    }
+}
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.client
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.util.SystemInfo
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.util.ConfigUtils
+import io.fabric8.kubernetes.api.model.AuthInfo
+import io.fabric8.kubernetes.api.model.ExecConfig
+import io.fabric8.kubernetes.api.model.NamedContextBuilder
+import io.fabric8.kubernetes.client.Config
+import io.fabric8.kubernetes.client.ConfigBuilder
+import io.fabric8.kubernetes.client.KubernetesClientException
+import io.fabric8.kubernetes.client.OAuthTokenProvider
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.io.File
+import java.io.InputStream
+import java.time.Duration
+import java.time.Instant
+import java.time.OffsetDateTime
+import java.util.Base64
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+/**
+ * A cache for the tokens that exec credential plugins (ex. `aws eks get-token`, `gke-gcloud-auth-plugin`) return.
+ * Tokens are cached per user entry in the kube config and shared by all clients.
+ * A plugin is only run again once the token that it returned expires.
+ * Tokens without expiration are kept for [MAX_AGE_WITHOUT_EXPIRATION].
+ * Auto-configuring a client runs the exec plugin of its user, too. Configs for users with an exec plugin are therefore
+ * only auto-configured once (see [autoConfigure]) and the token that they hold is used to seed the cache.
+ *
+ * @param runPlugin runs the given exec plugin and returns the credential it printed
+ * @param autoConfigure auto-configures the config for the given context, running the exec plugin of its user
+ * @param getAuthInfo returns the kube config file and the auth info for the given user
+ * @param getKubeConfigStamp returns a stamp that changes whenever the kube config files change
+ * @param now returns the current time
+ *
+ * @see [client-go credential plugins](https://kubernetes.io/docs/reference/access-authn-authz/authentication/#client-go-credential-plugins)
+ */
+open class ExecCredentialsCache(
+    /* for testing purposes */
+    private val runPlugin: (exec: ExecConfig, directory: File?) -> ExecCredential? =
+        { exec, directory -> execute(exec, directory) },
+    /* for testing purposes */
+    private val autoConfigure: (context: String?) -> Config =
+        { context -> Config.autoConfigure(context) },
+    /* for testing purposes */
+    private val getAuthInfo: (user: String) -> Pair<File, AuthInfo>? =
+        { user -> ConfigUtils.getAuthInfo(user) },
+    /* for testing purposes */
+    private val getKubeConfigStamp: () -> String = { getKubeConfigStamp() },
+    /* for testing purposes */
+    private val now: () -> Instant = Instant::now
+) {
+
+    companion object {
+        /* refresh tokens a bit before they expire so that requests in flight don't fail */
+        val EXPIRATION_MARGIN: Duration = Duration.ofSeconds(30)
+        val MAX_AGE_WITHOUT_EXPIRATION: Duration = Duration.ofMinutes(10)
+        private const val PLUGIN_TIMEOUT = 60L /* seconds */
+
+        val instance: ExecCredentialsCache by lazy {
+            ExecCredentialsCache()
+        }
+
+        /**
+         * Runs the given exec credential plugin and returns the credential that it printed to stdout.
+         * The output is read while the plugin is running so that a plugin that hangs times out.
+         * What the plugin printed to stderr is logged and reported if it fails.
+         *
+         * @param exec the exec plugin configuration
+         * @param directory the directory that relative plugin commands are relative to
+         * @param executor the executor that reads the output of the plugin
+         * @param timeout the time to wait for the plugin, in seconds
+         */
+        fun execute(
+            exec: ExecConfig,
+            directory: File?,
+            executor: Executor = AppExecutorUtil.getAppExecutorService(),
+            timeout: Long = PLUGIN_TIMEOUT
+        ): ExecCredential? {
+            val command = mutableListOf<String>()
+            if (SystemInfo.isWindows) {
+                command.addAll(listOf("cmd.exe", "/c"))
+            }
+            command.add(resolveCommand(exec.command, directory))
+            command.addAll(exec.args ?: emptyList())
+            val builder = ProcessBuilder(command)
+            if (directory != null) {
+                builder.directory(directory)
+            }
+            exec.env?.forEach { env ->
+                builder.environment()[env.name] = env.value
+            }
+            builder.environment()["KUBERNETES_EXEC_INFO"] =
+                """{"apiVersion":"${exec.apiVersion}","kind":"ExecCredential","spec":{"interactive":false}}"""
+            val process = builder.start()
+            val output = read(process.inputStream, executor)
+            val error = read(process.errorStream, executor)
+            if (!process.waitFor(timeout, TimeUnit.SECONDS)) {
+                process.destroyForcibly()
+                throw KubernetesClientException("Exec credential plugin ${exec.command} timed out after $timeout s.")
+            }
+            // streams are closed once the process exited
+            val stderr = error.get(timeout, TimeUnit.SECONDS).trim()
+            if (process.exitValue() != 0) {
+                throw KubernetesClientException(
+                    "Exec credential plugin ${exec.command} failed with exit code ${process.exitValue()}: $stderr")
+            }
+            if (stderr.isNotEmpty()) {
+                logger<ExecCredentialsCache>().debug("Exec credential plugin ${exec.command} printed: $stderr")
+            }
+            return ExecCredential.parse(output.get(timeout, TimeUnit.SECONDS))
+        }
+
+        private fun read(stream: InputStream, executor: Executor): CompletableFuture<String> {
+            return CompletableFuture.supplyAsync({
+                stream.use { String(it.readBytes()) }
+            }, executor)
+        }
+
+        private fun getKubeConfigStamp(): String {
+            return Config.getKubeconfigFilenames()
+                .filterNotNull()
+                .map { File(it) }
+                .joinToString(",") { file -> "${file.absolutePath}:${file.lastModified()}:${file.length()}" }
+        }
+
+        private fun resolveCommand(command: String, directory: File?): String {
+            // relative paths with separators are relative to the kube config file
+            return if (directory != null
+                && command.contains(File.separatorChar)
+                && !File(command).isAbsolute) {
+                File(directory, command).absolutePath
+            } else {
+                command
+            }
+        }
+    }
+
+    private val credentials = ConcurrentHashMap<String, ExecCredential>()
+    private val locks = ConcurrentHashMap<String, Any>()
+    /* configs of users with an exec plugin by context and kube config stamp, never handed out but copied */
+    private val configs = mutableMapOf<String, Config>()
+
+    /**
+     * Returns the config for the given context as [Config.autoConfigure] does.
+     * Auto-configuring runs the exec plugin of the user of the context. The config of a user with an exec plugin is
+     * therefore only auto-configured once, copies of it are returned until the kube config files change.
+     *
+     * @param context the name of the context to configure, the current context if `null`
+     * @return the config for the given context
+     */
+    fun autoConfigure(context: String?): Config {
+        val stamp = getKubeConfigStamp.invoke()
+        val key = "$context|$stamp"
+        synchronized(configs) {
+            val existing = configs[key]
+            if (existing != null) {
+                return copy(existing)
+            }
+            val config = autoConfigure.invoke(context)
+            if (getExec(config) == null) {
+                return config
+            }
+            // drop configs of previous kube configs
+            configs.keys.removeIf { !it.endsWith("|$stamp") }
+            configs[key] = config
+            return copy(config)
+        }
+    }
+
+    /**
+     * Sets a token provider to the given config if the user of its current context is using an exec credential
+     * plugin. The provider then returns the token that is cached for the user. Does nothing otherwise.
+     * The token that the config holds already (auto-configuring ran the plugin) is used to seed the cache.
+     *
+     * @param config the config to set the token provider to
+     */
+    fun setTokenProvider(config: Config) {
+        val (user, file, exec) = getExec(config) ?: return
+        seed(user, exec, config.autoOAuthToken)
+        config.oauthTokenProvider = OAuthTokenProvider {
+            getToken(user, exec, file.parentFile)
+        }
+    }
+
+    /**
+     * Returns the token for the given user. Runs the given exec plugin if there's no cached token
+     * or the cached one is expired.
+     *
+     * @param user the name of the user entry in the kube config
+     * @param exec the exec plugin configuration for the user
+     * @param directory the directory that relative plugin commands are relative to
+     * @return the token for the given user
+     */
+    fun getToken(user: String, exec: ExecConfig, directory: File?): String? {
+        val key = toKey(user, exec)
+        val cached = credentials[key]
+        if (cached != null
+            && !isExpired(cached)) {
+            return cached.token
+        }
+        synchronized(locks.computeIfAbsent(key) { Any() }) {
+            // another thread may have run the plugin in the meantime
+            val current = credentials[key]
+            if (current != null
+                && !isExpired(current)) {
+                return current.token
+            }
+            logger<ExecCredentialsCache>().debug("Running exec credential plugin ${exec.command} for user $user.")
+            val credential = runPlugin.invoke(exec, directory)
+                ?.let { withDefaultExpiration(it) }
+                ?: return null
+            credentials[key] = credential
+            return credential.token
+        }
+    }
+
+    /**
+     * Removes the cached token for the given user.
+     */
+    fun invalidate(user: String, exec: ExecConfig) {
+        credentials.remove(toKey(user, exec))
+    }
+
+    private fun getExec(config: Config): Triple<String, File, ExecConfig>? {
+        val user = config.currentContext?.context?.user ?: return null
+        val (file, authInfo) = getAuthInfo.invoke(user) ?: return null
+        val exec = authInfo.exec ?: return null
+        return Triple(user, file, exec)
+    }
+
+    private fun seed(user: String, exec: ExecConfig, token: String?) {
+        if (token == null) {
+            return
+        }
+        // opaque tokens (ex. EKS) don't tell when they expire
+        val expiration = getJwtExpiration(token)
+            ?: now.invoke().plus(MAX_AGE_WITHOUT_EXPIRATION)
+        credentials.putIfAbsent(toKey(user, exec), ExecCredential(token, expiration))
+    }
+
+    private fun copy(config: Config): Config {
+        val copy = ConfigBuilder(config).build()
+        // contexts are mutated (ex. current namespace), each client needs its own
+        val contexts = config.contexts?.map { NamedContextBuilder(it).build() }
+        copy.contexts = contexts
+        copy.currentContext = contexts?.find { it.name == config.currentContext?.name }
+            ?: config.currentContext?.let { NamedContextBuilder(it).build() }
+        copy.file = config.file
+        copy.autoOAuthToken = config.autoOAuthToken
+        return copy
+    }
+
+    private fun withDefaultExpiration(credential: ExecCredential): ExecCredential {
+        return if (credential.expiration == null) {
+            credential.copy(expiration = now.invoke().plus(MAX_AGE_WITHOUT_EXPIRATION))
+        } else {
+            credential
+        }
+    }
+
+    private fun isExpired(credential: ExecCredential): Boolean {
+        val expiration = credential.expiration ?: return false
+        return !now.invoke().plus(EXPIRATION_MARGIN).isBefore(expiration)
+    }
+
+    private fun getJwtExpiration(token: String): Instant? {
+        return try {
+            val parts = token.split('.')
+            if (parts.size != 3) {
+                return null
+            }
+            val payload = Base64.getUrlDecoder().decode(parts[1])
+            val exp = Serialization.jsonMapper().readTree(payload).get("exp") ?: return null
+            Instant.ofEpochSecond(exp.asLong())
+        } catch (e: Exception) {
+            null
+        }
+    }
+
+    private fun toKey(user: String, exec: ExecConfig): String {
+        val env = exec.env
+            ?.joinToString(",") { "${it.name}=${it.value}" }
+            ?: ""
+        return "$user|${exec.command}|${exec.args?.joinToString(" ") ?: ""}|$env"
+    }
+
+    /**
+     * The credential that an exec plugin returned.
+     *
+     * @param token the bearer token
+     * @param expiration the time when the token expires, `null` if unknown
+     */
+    data class ExecCredential(val token: String, val expiration: Instant?) {
+
+        companion object {
+            /**
+             * Parses the given `ExecCredential` json that a plugin printed. Returns `null` if there's no token.
+             */
+            fun parse(json: String): ExecCredential? {
+                val status = Serialization.jsonMapper().readTree(json)?.get("status") ?: return null
+                val token = status.get("token")?.textValue() ?: return null
+                val expiration = status.get("expirationTimestamp")?.textValue()
+                    ?.let { OffsetDateTime.parse(it).toInstant() }
+                return ExecCredential(token, expiration)
+            }
+        }
+    }
+}
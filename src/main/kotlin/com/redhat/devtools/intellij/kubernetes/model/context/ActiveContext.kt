@@ -10,27 +10,37 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.kubernetes.model.context
 
+import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.extensions.ExtensionPointName
 import com.redhat.devtools.intellij.common.kubernetes.ClusterHelper
 import com.redhat.devtools.intellij.common.kubernetes.ClusterInfo
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelObservable
 import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.ResourceSearchIndex
+import com.redhat.devtools.intellij.kubernetes.model.ResourceSnapshots
 import com.redhat.devtools.intellij.kubernetes.model.ResourceWatch
 import com.redhat.devtools.intellij.kubernetes.model.ResourceWatch.WatchListeners
+import com.redhat.devtools.intellij.kubernetes.model.WatchRetention
+import com.redhat.devtools.intellij.kubernetes.model.WatchSupervisor
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.client.ClusterCapabilitiesCache
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn.ANY_NAMESPACE
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn.CURRENT_NAMESPACE
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn.NO_NAMESPACE
 import com.redhat.devtools.intellij.kubernetes.model.dashboard.IDashboard
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot.CacheStats
+import com.redhat.devtools.intellij.kubernetes.model.resource.AbstractResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.INamespacedResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.INonNamespacedResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.IResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.IResourceOperatorFactory
 import com.redhat.devtools.intellij.kubernetes.model.resource.NonCachingSingleResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceCatalog
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceDefinitionContextFactory
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceDefinitionsOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.NamespacedCustomResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.NonNamespacedCustomResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.util.MultiResourceException
@@ -49,6 +59,9 @@ import io.fabric8.kubernetes.client.Watch
 import io.fabric8.kubernetes.client.Watcher
 import io.fabric8.kubernetes.model.Scope
 import java.net.URL
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
 
 abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
     context: NamedContext,
@@ -69,7 +82,8 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         }
 
     override val version: ClusterInfo by lazy {
-        ClusterHelper.getClusterInfo(client.get())
+        ClusterCapabilitiesCache.instance.get(client)?.toClusterInfo()
+            ?: ClusterHelper.getClusterInfo(client.get())
     }
 
     private val extensionName: ExtensionPointName<IResourceOperatorFactory<HasMetadata, KubernetesClient, IResourceOperator<HasMetadata>>> =
@@ -87,11 +101,33 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         operators
     }
 
-    protected open var watch = ResourceWatch<ResourceKind<out HasMetadata>>()
+    protected open var watch = ResourceWatch<ResourceKind<out HasMetadata>>(
+        supervisor = WatchSupervisor({ kind, _ -> onWatchFailed(kind) }, { kind -> onWatchReconnected(kind) })
+    )
+    protected open val retention: WatchRetention<ResourceKind<out HasMetadata>> by lazy {
+        WatchRetention({ kind -> stopWatch(kind) })
+    }
+    protected open val customResourceCatalog: CustomResourceCatalog by lazy {
+        CustomResourceCatalog(client.get())
+    }
+    protected open val searchIndex: ResourceSearchIndex by lazy {
+        ResourceSearchIndex()
+    }
     protected open val watchListener = WatchListeners({ added(it) }, { removed(it) }, { replaced(it) })
 
     protected open val notification: Notification = Notification()
 
+    protected open val snapshots: ResourceSnapshots by lazy {
+        ResourceSnapshots.create(name, masterUrl)
+    }
+    /* kinds and scopes that were restored from snapshots, restoring happens once only */
+    private val restored: MutableSet<Pair<ResourceKind<*>, String>> = ConcurrentHashMap.newKeySet()
+    /* kinds and scopes that are loaded and need to be written to snapshots when they change */
+    private val snapshotted: MutableSet<Pair<ResourceKind<*>, String>> = ConcurrentHashMap.newKeySet()
+    private val staleOperators: MutableSet<AbstractResourceOperator<*, *>> = ConcurrentHashMap.newKeySet()
+    /* loads of the operators when they were last indexed, watch events keep the index in sync in between */
+    private val indexed: MutableMap<IResourceOperator<*>, Int> = Collections.synchronizedMap(WeakHashMap())
+
     private fun setCurrentNamespace(operators: Collection<INamespacedResourceOperator<*, *>>) {
         try {
             @Suppress("UNCHECKED_CAST")
@@ -141,11 +177,16 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
     override fun <R: HasMetadata> getAllResources(kind: ResourceKind<R>, resourcesIn: ResourcesIn): Collection<R> {
         logger<ActiveContext<*, *>>().debug("Resources $kind requested.")
         return try {
-            synchronized(this) {
-                val operator = getOperator(kind, resourcesIn)
-                operator?.allResources
-                    ?: emptyList()
+            val operator = synchronized(this) {
+                getOperator(kind, resourcesIn)
             }
+            restoreSnapshot(operator)
+            // load outside of the lock so that several kinds can load in parallel, operators synchronize on their own
+            val resources = operator?.allResources
+                ?: emptyList()
+            onLoaded(operator)
+            index(operator, resources)
+            resources
         } catch (e: KubernetesClientException) {
             if (e.isNotFound()) {
                 emptyList()
@@ -155,6 +196,139 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         }
     }
 
+    /**
+     * Replaces the resources of the given operator in the search index if the operator listed them from the cluster
+     * (or restored them from a snapshot) since it was last indexed. Returns right away otherwise.
+     */
+    private fun index(operator: IResourceOperator<out HasMetadata>?, resources: Collection<HasMetadata>) {
+        if (operator == null) {
+            return
+        }
+        val loads = (operator as? AbstractResourceOperator<*, *>)?.loads ?: 0
+        if (indexed.put(operator, loads) == loads) {
+            return
+        }
+        val namespace = (operator as? INamespacedResourceOperator<*, *>)?.namespace
+        searchIndex.replaceAll(operator.kind, namespace, resources)
+    }
+
+    override fun search(query: String, max: Int): List<HasMetadata> {
+        return searchIndex.search(query, max)
+    }
+
+    override fun isStale(kind: ResourceKind<out HasMetadata>): Boolean {
+        return staleOperators.any { operator -> operator.kind == kind && operator.isStale }
+    }
+
+    override fun isReconnecting(kind: ResourceKind<out HasMetadata>): Boolean {
+        return watch.isReconnecting(kind)
+    }
+
+    override fun getWatchMetrics(): Map<ResourceKind<out HasMetadata>, WatchSupervisor.Metrics> {
+        return watch.getMetrics()
+    }
+
+    /**
+     * Marks the cached resources of the given kind as stale: changes in the cluster are missed while the watch is down.
+     */
+    private fun onWatchFailed(kind: ResourceKind<out HasMetadata>) {
+        getCachingOperators(kind).forEach { operator ->
+            operator.markStale()
+            staleOperators.add(operator)
+        }
+        modelChange.fireModified(kind)
+    }
+
+    /**
+     * Reconciles the cached resources of the given kind with the cluster once the watch was re-established.
+     */
+    private fun onWatchReconnected(kind: ResourceKind<out HasMetadata>) {
+        val stale = getCachingOperators(kind).filter { operator -> operator.isStale }
+        if (stale.isEmpty()) {
+            modelChange.fireModified(kind)
+        } else {
+            stale.forEach { operator -> executeAsync { revalidate(operator, getSnapshotScope(operator)) } }
+        }
+    }
+
+    private fun getCachingOperators(kind: ResourceKind<out HasMetadata>): List<AbstractResourceOperator<*, *>> {
+        return listOfNotNull(namespacedOperators[kind], nonNamespacedOperators[kind])
+            .filterIsInstance<AbstractResourceOperator<*, *>>()
+    }
+
+    /**
+     * Restores the resources of the given operator from the snapshot on disk if this wasn't done before.
+     * The restored resources are then revalidated in the background.
+     */
+    private fun restoreSnapshot(operator: IResourceOperator<out HasMetadata>?) {
+        if (operator !is AbstractResourceOperator<*, *>
+            || !snapshots.isSupported(operator.kind)) {
+            return
+        }
+        val scope = getSnapshotScope(operator) ?: return
+        if (!restored.add(Pair(operator.kind, scope))) {
+            return
+        }
+        if (operator.restore(snapshots.load(operator.kind, scope))) {
+            staleOperators.add(operator)
+            executeAsync { revalidate(operator, scope) }
+        }
+    }
+
+    private fun revalidate(operator: AbstractResourceOperator<*, *>, scope: String?) {
+        try {
+            val changed = operator.revalidate()
+            logger<ActiveContext<*, *>>().debug(
+                "Revalidated stale ${operator.kind} resources in $scope, ${if (changed) "changed" else "unchanged"}.")
+            if (scope != null
+                && snapshots.isSupported(operator.kind)) {
+                snapshotted.add(Pair(operator.kind, scope))
+                saveSnapshot(operator, scope)
+            }
+        } catch (e: Exception) {
+            logger<ActiveContext<*, *>>().warn("Could not revalidate stale ${operator.kind} resources in $scope.", e)
+        } finally {
+            if (!operator.isStale) {
+                staleOperators.remove(operator)
+            }
+            // reload (and remove stale marker) even if unchanged
+            modelChange.fireModified(operator.kind)
+        }
+    }
+
+    private fun onLoaded(operator: IResourceOperator<out HasMetadata>?) {
+        if (operator !is AbstractResourceOperator<*, *>
+            || operator.isStale) {
+            return
+        }
+        val scope = getSnapshotScope(operator) ?: return
+        if (snapshotted.add(Pair(operator.kind, scope))) {
+            saveSnapshot(operator, scope)
+        }
+    }
+
+    private fun onChanged(operator: IResourceOperator<out HasMetadata>?) {
+        if (operator !is AbstractResourceOperator<*, *>
+            || operator.isStale) {
+            return
+        }
+        val scope = getSnapshotScope(operator) ?: return
+        if (snapshotted.contains(Pair(operator.kind, scope))) {
+            saveSnapshot(operator, scope)
+        }
+    }
+
+    private fun saveSnapshot(operator: AbstractResourceOperator<*, *>, scope: String) {
+        snapshots.save(operator.kind, scope) { operator.cachedResources }
+    }
+
+    private fun getSnapshotScope(operator: IResourceOperator<*>): String? {
+        return when (operator) {
+            is INamespacedResourceOperator<*, *> -> operator.namespace
+            else -> ResourceSnapshots.SCOPE_ALL
+        }
+    }
+
     private fun setOperator(
         operator: IResourceOperator<out HasMetadata>,
         kind: ResourceKind<GenericKubernetesResource>,
@@ -211,7 +385,10 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
     override fun getAllResources(definition: CustomResourceDefinition): Collection<GenericKubernetesResource> {
         logger<ActiveContext<*, *>>().debug("Getting all ${definition.metadata.name} resources.")
         return try {
-            getOperator(definition)?.allResources ?: return emptyList()
+            val operator = getOperator(definition) ?: return emptyList()
+            val resources = operator.allResources
+            index(operator, resources)
+            resources
         } catch (e: IllegalArgumentException) {
             throw ResourceException("Could not get custom resources for ${definition.metadata}: $e", e)
         }
@@ -274,6 +451,7 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
 
     override fun watch(kind: ResourceKind<out HasMetadata>) {
         logger<ActiveContext<*, *>>().debug("Watching $kind resources.")
+        retention.watched(kind)
         watch(namespacedOperators[kind])
         watch(nonNamespacedOperators[kind])
     }
@@ -283,7 +461,9 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
     }
 
     override fun watch(definition: CustomResourceDefinition) {
-        watch(getOperator(definition))
+        val operator = getOperator(definition) ?: return
+        retention.watched(operator.kind)
+        watch(operator)
     }
 
     override fun getWatched(): Collection<ResourceKind<out HasMetadata>> {
@@ -304,6 +484,7 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
 
     override fun stopWatch(kind: ResourceKind<out HasMetadata>) {
         logger<ActiveContext<*, *>>().debug("Stop watching $kind resources.")
+        retention.removed(kind)
         watch.stopWatch(kind)
         // don't notify invalidation change because this would cause the UI to reload
         // and therefore to repopulate the cache immediately.
@@ -317,14 +498,47 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         stopWatch(kind)
     }
 
-    override fun added(resource: HasMetadata): Boolean {
-        val added = when (resource) {
-            is CustomResourceDefinition ->
-                addResource(resource)
-            else ->
-                addResource(resource)
+    override fun releaseWatch(kind: ResourceKind<out HasMetadata>) {
+        if (!retention.released(kind)) {
+            // not watched via #watch(kind)
+            stopWatch(kind)
         }
+    }
+
+    override fun getWatchEvictions(): Map<ResourceKind<out HasMetadata>, Int> {
+        return retention.getEvictions()
+    }
+
+    override fun getPendingWatchOperations(): Int {
+        return watch.getPendingOperations()
+    }
+
+    override fun getCacheStats(): List<CacheStats> {
+        val operators = synchronized(this) {
+            listOf(*namespacedOperators.values.toTypedArray(), *nonNamespacedOperators.values.toTypedArray())
+        }
+        return operators
+            .filterIsInstance<AbstractResourceOperator<*, *>>()
+            .mapNotNull { operator ->
+                val cached = operator.cachedResources
+                if (cached.isEmpty()) {
+                    null
+                } else {
+                    val namespace = (operator as? INamespacedResourceOperator<*, *>)?.namespace
+                    CacheStats.create(operator.kind, namespace, cached, operator.isStale)
+                }
+            }
+    }
+
+    override fun getCustomResourceCatalog(): CustomResourceCatalog {
+        return customResourceCatalog
+    }
+
+    override fun added(resource: HasMetadata): Boolean {
+        // custom resources operators are created on demand, not when their definition is added
+        val added = addResource(resource)
         if (added) {
+            searchIndex.add(resource)
             modelChange.fireAdded(resource)
         }
         return added
@@ -340,22 +554,15 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
                 addedToNamespaced
     }
 
-    private fun addResource(resource: CustomResourceDefinition): Boolean {
-        val added = addResource(resource as HasMetadata)
-        if (added) {
-            val kind = ResourceKind.create(resource.spec)
-            if (kind != null) {
-                createCustomResourcesOperator(resource, kind)
-            }
-        }
-        return added
-    }
-
     private fun addResource(resource: HasMetadata, operator: IResourceOperator<out HasMetadata>?): Boolean {
         if (operator == null) {
             return false
         }
-        return operator.added(resource)
+        val added = operator.added(resource)
+        if (added) {
+            onChanged(operator)
+        }
+        return added
     }
 
     override fun removed(resource: HasMetadata): Boolean {
@@ -367,6 +574,7 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
             removeResource(resource)
         }
         if (removed) {
+            searchIndex.remove(resource)
             modelChange.fireRemoved(resource)
         }
         return removed
@@ -394,13 +602,18 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         if (operator == null) {
             return false
         }
-        return operator.removed(resource)
+        val removed = operator.removed(resource)
+        if (removed) {
+            onChanged(operator)
+        }
+        return removed
     }
 
     override fun invalidate() {
         logger<ActiveContext<*, *>>().debug("Invalidating all cached resources.")
         namespacedOperators.values.forEach { it.invalidate() }
         nonNamespacedOperators.values.forEach { it.invalidate() }
+        customResourceCatalog.invalidate()
         modelChange.fireModified(this)
     }
 
@@ -413,6 +626,7 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
                 replaced(ResourceKind.create(resource), resource)
         }
         if (replaced) {
+            searchIndex.add(resource)
             modelChange.fireModified(resource)
         }
         return replaced
@@ -422,20 +636,35 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         if (kind == null) {
             return false
         }
-        val replaceNamespaced = namespacedOperators[kind]?.replaced(resource) ?: false
-        val replaceNonNamespaced = nonNamespacedOperators[kind]?.replaced(resource) ?: false
+        val replaceNamespaced = replaced(resource, namespacedOperators[kind])
+        val replaceNonNamespaced = replaced(resource, nonNamespacedOperators[kind])
         return replaceNamespaced
                 || replaceNonNamespaced
     }
 
+    private fun replaced(resource: HasMetadata, operator: IResourceOperator<out HasMetadata>?): Boolean {
+        if (operator == null) {
+            return false
+        }
+        val replaced = operator.replaced(resource)
+        if (replaced) {
+            onChanged(operator)
+        }
+        return replaced
+    }
+
     override fun invalidate(kind: ResourceKind<*>) {
         logger<ActiveContext<*, *>>().debug("Invalidating all $kind resources.")
         invalidateOperators(kind)
+        if (kind == CustomResourceDefinitionsOperator.KIND) {
+            customResourceCatalog.invalidate()
+        }
     }
 
     private fun invalidateOperators(kind: ResourceKind<*>) {
         namespacedOperators[kind]?.invalidate()
         nonNamespacedOperators[kind]?.invalidate()
+        snapshotted.removeIf { it.first == kind }
     }
 
     protected open fun namespacedOperators(namespace: String?): List<INamespacedResourceOperator<out HasMetadata, C>> {
@@ -486,6 +715,7 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
 
     override fun close() {
         logger<ActiveContext<*, *>>().debug("Closing context $name.")
+        retention.close()
         watch.close()
         dashboard?.close()
     }
@@ -515,4 +745,8 @@ abstract class ActiveContext<N : HasMetadata, C : KubernetesClient>(
         return dashboard?.get()
     }
 
+    protected open fun executeAsync(runnable: () -> Unit) {
+        ApplicationManager.getApplication().executeOnPooledThread(runnable)
+    }
+
 }
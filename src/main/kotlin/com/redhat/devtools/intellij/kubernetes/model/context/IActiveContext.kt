@@ -12,12 +12,15 @@ package com.redhat.devtools.intellij.kubernetes.model.context
 
 import com.redhat.devtools.intellij.common.kubernetes.ClusterInfo
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.WatchSupervisor
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.OSClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot.CacheStats
 import com.redhat.devtools.intellij.kubernetes.model.resource.IResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.KubernetesReplicas.Replicator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceCatalog
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition
@@ -129,6 +132,33 @@ interface IActiveContext<N: HasMetadata, C: KubernetesClient>: IContext {
      */
     fun <R: HasMetadata> getAllResources(kind: ResourceKind<R>, resourcesIn: ResourcesIn): Collection<R>
 
+    /**
+     * Returns `true` if resources of the given kind were restored from a snapshot
+     * and were not reconciled with the cluster yet.
+     *
+     * @param kind the kind of resources to check
+     * @return true if the resources of the given kind are stale
+     *
+     * @see com.redhat.devtools.intellij.kubernetes.model.ResourceSnapshots
+     */
+    fun isStale(kind: ResourceKind<out HasMetadata>): Boolean
+
+    /**
+     * Returns `true` if the watch for resources of the given kind failed and is being re-established.
+     * The cached resources of this kind are stale until then.
+     *
+     * @param kind the kind of resources to check
+     * @return true if the watch for the given kind is reconnecting
+     *
+     * @see com.redhat.devtools.intellij.kubernetes.model.WatchSupervisor
+     */
+    fun isReconnecting(kind: ResourceKind<out HasMetadata>): Boolean
+
+    /**
+     * Returns the reconnect metrics (reconnects, downtime) of the watches that failed at least once.
+     */
+    fun getWatchMetrics(): Map<ResourceKind<out HasMetadata>, WatchSupervisor.Metrics>
+
     /**
      * Returns all resources of the kind specified by the given custom resource definition.
      *
@@ -227,6 +257,54 @@ interface IActiveContext<N: HasMetadata, C: KubernetesClient>: IContext {
      */
     fun stopWatch(kind: ResourceKind<out HasMetadata>)
 
+    /**
+     * Releases the watch for resources of the given resource kind. The watch is kept for a grace period and
+     * only stopped if it's not watched again in the meantime. The least recently used released watches are stopped
+     * once there are more watches than allowed.
+     *
+     * @param kind the kind of resources that are not needed anymore
+     *
+     * @see com.redhat.devtools.intellij.kubernetes.model.WatchRetention
+     */
+    fun releaseWatch(kind: ResourceKind<out HasMetadata>)
+
+    /**
+     * Returns how many times the watches for each kind were evicted because there were more watches than allowed.
+     */
+    fun getWatchEvictions(): Map<ResourceKind<out HasMetadata>, Int>
+
+    /**
+     * Returns the number of watch operations that are waiting to be executed.
+     */
+    fun getPendingWatchOperations(): Int
+
+    /**
+     * Returns how many resources of each kind are cached and an estimate of the heap that they take.
+     * Nothing is loaded from the cluster.
+     *
+     * @see com.redhat.devtools.intellij.kubernetes.model.diagnostics.DiagnosticsSnapshot
+     */
+    fun getCacheStats(): List<CacheStats>
+
+    /**
+     * Returns the resources whose name, namespace, labels or kind match all words of the given query.
+     * Only resources that were loaded at least once are searched, no resources are loaded.
+     *
+     * @param query the words to search for
+     * @param max the maximum number of resources to return
+     *
+     * @see com.redhat.devtools.intellij.kubernetes.model.ResourceSearchIndex
+     */
+    fun search(query: String, max: Int): List<HasMetadata>
+
+    /**
+     * Returns the catalog of the custom resource definitions in this context.
+     * The definitions are listed metadata-only and only fully loaded when requested.
+     *
+     * @see CustomResourceCatalog
+     */
+    fun getCustomResourceCatalog(): CustomResourceCatalog
+
     /**
      * Stops watching resources of the kind specified by the given custom resource definition
      *
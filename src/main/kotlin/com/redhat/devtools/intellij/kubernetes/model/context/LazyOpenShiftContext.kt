@@ -11,6 +11,8 @@
 package com.redhat.devtools.intellij.kubernetes.model.context
 
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.client.ClusterCapabilities
+import com.redhat.devtools.intellij.kubernetes.model.client.ClusterCapabilitiesCache
 import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.OSClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.resource.IResourceOperator
@@ -25,18 +27,21 @@ import kotlin.concurrent.read
 import kotlin.concurrent.write
 
 /**
- * A delegating context that starts with a Kubernetes delegate.
- * It then (async) tries to create and use an OpenShift context, notifying the change if it successfully could.
- * It sticks to the Kubernetes if it can't.
+ * A delegating context that starts with the delegate that matches the cached capabilities of the cluster.
+ * It starts with a Kubernetes delegate if there are no cached capabilities.
+ * It then (async) revalidates the capabilities and switches to an OpenShift (or Kubernetes) delegate,
+ * notifying the change only if the cluster turned out to be different from what was assumed.
+ * It sticks to the assumed delegate if the cluster cannot be reached.
  *
- * @see createOpenShiftDelegate
+ * @see ClusterCapabilitiesCache
+ * @see revalidateDelegate
  */
 class LazyOpenShiftContext(
     context: NamedContext,
     modelChange: IResourceModelObservable,
     client: KubeClientAdapter,
     /* for testing purposes */
-    kubernetesContextFactory: (
+    private val kubernetesContextFactory: (
         context: NamedContext,
         modelChange: IResourceModelObservable,
         client: KubeClientAdapter,
@@ -50,16 +55,20 @@ class LazyOpenShiftContext(
     = IActiveContext.Factory::createOpenShift,
     /* for testing purposes */
     runAsync: (runnable: () -> Unit) -> Unit
-    = ::runAsync
+    = ::runAsync,
+    /* for testing purposes */
+    private val capabilities: ClusterCapabilitiesCache = ClusterCapabilitiesCache.instance
 ) : KubernetesContext(context, modelChange, client) {
 
     private val lock = ReentrantReadWriteLock()
+    private val kubeClient: KubeClientAdapter = client
+    private var isOpenShiftDelegate: Boolean = false
     private var delegate: IActiveContext<out HasMetadata, out KubernetesClient> =
-        kubernetesContextFactory.invoke(context, modelChange, client)
+        createDelegate(capabilities.get(client))
 
     init {
         runAsync.invoke {
-            createOpenShiftDelegate()
+            revalidateDelegate()
         }
     }
 
@@ -96,17 +105,50 @@ class LazyOpenShiftContext(
         }
     }
 
-    private fun createOpenShiftDelegate() {
-        if (client.canAdaptToOpenShift()) {
-            val delegate = openshiftContextFactory.invoke(
-                client.toOpenShift(),
-                modelChange
-            ) ?: return
-            lock.write {
-                this.delegate = delegate
+    private fun createDelegate(capabilities: ClusterCapabilities?): IActiveContext<out HasMetadata, out KubernetesClient> {
+        if (capabilities?.isOpenShift == true) {
+            val openshift = createOpenShiftDelegate()
+            if (openshift != null) {
+                isOpenShiftDelegate = true
+                return openshift
             }
-            modelChange.fireModified(this)
         }
+        isOpenShiftDelegate = false
+        return createKubernetesDelegate()
+    }
+
+    private fun revalidateDelegate() {
+        val capabilities = this.capabilities.revalidate(client)
+            // cluster can't be reached, stick to what was assumed
+            ?: return
+        if (capabilities.isOpenShift == isOpenShiftDelegate) {
+            // delegate matches cluster, nothing to notify
+            return
+        }
+        val delegate = if (capabilities.isOpenShift) {
+            createOpenShiftDelegate() ?: return
+        } else {
+            createKubernetesDelegate()
+        }
+        val replaced = lock.write {
+            val replaced = this.delegate
+            this.delegate = delegate
+            this.isOpenShiftDelegate = capabilities.isOpenShift
+            replaced
+        }
+        replaced.close()
+        modelChange.fireModified(this)
+    }
+
+    private fun createOpenShiftDelegate(): IActiveContext<out HasMetadata, out KubernetesClient>? {
+        return openshiftContextFactory.invoke(
+            client.toOpenShift(),
+            modelChange
+        )
+    }
+
+    private fun createKubernetesDelegate(): IActiveContext<out HasMetadata, out KubernetesClient> {
+        return kubernetesContextFactory.invoke(context, modelChange, kubeClient)
     }
 }
 
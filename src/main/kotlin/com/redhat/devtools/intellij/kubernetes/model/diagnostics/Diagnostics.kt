@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Records what the plugin is doing so that it can be inspected when the IDE gets slow:
+ * the latencies of listing resources, the watch events that are received, the time that is spent updating the
+ * resource tree and how often resource editors are updated.
+ * Recording is cheap (counters and fixed size histograms), snapshots are only created on demand.
+ *
+ * @see DiagnosticsSnapshot
+ */
+open class Diagnostics(
+    /* for testing purposes */
+    private val clock: () -> Long = System::currentTimeMillis,
+    /* for testing purposes */
+    private val nanoTime: () -> Long = System::nanoTime
+) {
+
+    companion object {
+        val instance: Diagnostics by lazy {
+            Diagnostics()
+        }
+
+        /* upper bounds of the latency buckets, in ms. The last bucket holds all the longer latencies */
+        val LATENCY_BUCKETS = longArrayOf(10, 50, 100, 250, 500, 1000, 2500, 5000, 10000)
+        /* the period over which events per second are averaged */
+        const val RATE_PERIOD = 60 /* seconds */
+    }
+
+    private val listLatencies: MutableMap<ResourceKind<out HasMetadata>, Histogram> = ConcurrentHashMap()
+    private val events: MutableMap<ResourceKind<out HasMetadata>, EventRate> = ConcurrentHashMap()
+    private val treeUpdates = Histogram()
+    private val editorUpdates = AtomicLong()
+
+    /**
+     * Runs the given operation that lists the resources of the given kind and records how long it took.
+     * Failed listings are recorded, too.
+     *
+     * @param kind the kind of resources that are listed
+     * @param list the operation that lists the resources
+     * @return the result of the given operation
+     */
+    fun <T> listed(kind: ResourceKind<out HasMetadata>, list: () -> T): T {
+        val start = nanoTime.invoke()
+        try {
+            return list.invoke()
+        } finally {
+            listLatencies.computeIfAbsent(kind) { Histogram() }
+                .record(toMillis(nanoTime.invoke() - start))
+        }
+    }
+
+    /**
+     * Records that a watch event for the given resource was received.
+     * Resources without api version are not recorded, their kind is unknown.
+     *
+     * @param resource the resource that the event was received for
+     */
+    fun received(resource: HasMetadata) {
+        if (resource.apiVersion == null) {
+            return
+        }
+        events.computeIfAbsent(ResourceKind.create(resource)) { EventRate() }
+            .record(clock.invoke())
+    }
+
+    /**
+     * Runs the given tree update and records how long it took.
+     * Tree updates run on the invoker of the tree model, off the event dispatch thread.
+     *
+     * @param update the update of the resource tree
+     */
+    fun treeUpdated(update: () -> Unit) {
+        val start = nanoTime.invoke()
+        try {
+            update.invoke()
+        } finally {
+            treeUpdates.record(toMillis(nanoTime.invoke() - start))
+        }
+    }
+
+    /**
+     * Records that a resource editor was updated.
+     */
+    fun editorUpdated() {
+        editorUpdates.incrementAndGet()
+    }
+
+    fun getListLatencies(): Map<ResourceKind<out HasMetadata>, Latencies> {
+        return listLatencies.mapValues { (_, histogram) -> histogram.toLatencies() }
+    }
+
+    fun getEvents(): Map<ResourceKind<out HasMetadata>, Events> {
+        val now = clock.invoke()
+        return events.mapValues { (_, rate) -> rate.toEvents(now) }
+    }
+
+    fun getTreeUpdates(): Latencies {
+        return treeUpdates.toLatencies()
+    }
+
+    fun getEditorUpdates(): Long {
+        return editorUpdates.get()
+    }
+
+    /**
+     * Discards everything that was recorded.
+     */
+    fun reset() {
+        listLatencies.clear()
+        events.clear()
+        treeUpdates.reset()
+        editorUpdates.set(0)
+    }
+
+    private fun toMillis(nanos: Long): Long {
+        return TimeUnit.NANOSECONDS.toMillis(nanos)
+    }
+
+    /**
+     * A histogram of latencies in fixed buckets.
+     *
+     * @see LATENCY_BUCKETS
+     */
+    private class Histogram {
+
+        private val buckets = AtomicLongArray(LATENCY_BUCKETS.size + 1)
+        private val total = AtomicLong()
+        private val max = AtomicLong()
+
+        fun record(millis: Long) {
+            val index = LATENCY_BUCKETS.indexOfFirst { bound -> millis <= bound }
+            buckets.incrementAndGet(if (index < 0) LATENCY_BUCKETS.size else index)
+            total.addAndGet(millis)
+            max.accumulateAndGet(millis) { current, recorded -> maxOf(current, recorded) }
+        }
+
+        fun reset() {
+            (0 until buckets.length()).forEach { buckets.set(it, 0) }
+            total.set(0)
+            max.set(0)
+        }
+
+        fun toLatencies(): Latencies {
+            val counts = (0 until buckets.length()).map { buckets.get(it) }
+            return Latencies(counts.sum(), total.get(), max.get(), counts)
+        }
+    }
+
+    /**
+     * Counts events in slots of a second over the last [RATE_PERIOD] seconds.
+     */
+    private class EventRate {
+
+        private val slots = LongArray(RATE_PERIOD)
+        private val seconds = LongArray(RATE_PERIOD) { -1 }
+        private var total = 0L
+
+        @Synchronized
+        fun record(time: Long) {
+            val second = time / 1000
+            val slot = (second % RATE_PERIOD).toInt()
+            if (seconds[slot] != second) {
+                seconds[slot] = second
+                slots[slot] = 0
+            }
+            slots[slot]++
+            total++
+        }
+
+        @Synchronized
+        fun toEvents(now: Long): Events {
+            val second = now / 1000
+            val inPeriod = slots.indices
+                .filter { slot -> second - seconds[slot] in 0 until RATE_PERIOD }
+                .sumOf { slot -> slots[slot] }
+            return Events(total, inPeriod.toDouble() / RATE_PERIOD)
+        }
+    }
+
+    /**
+     * Latencies that were recorded.
+     *
+     * @param count the number of recorded latencies
+     * @param total the sum of all latencies, in ms
+     * @param max the highest latency, in ms
+     * @param buckets the number of latencies in each of the [LATENCY_BUCKETS] and in the bucket for longer ones
+     */
+    data class Latencies(
+        val count: Long,
+        val total: Long,
+        val max: Long,
+        val buckets: List<Long>
+    ) {
+        val mean: Long
+            get() = if (count == 0L) 0 else total / count
+
+        /**
+         * Returns the upper bound of the bucket that holds the given percentile.
+         * Returns [max] for the percentiles in the bucket for latencies that are longer than all the bounds.
+         *
+         * @param percentile the percentile, ex. 95
+         */
+        fun percentile(percentile: Int): Long {
+            val rank = Math.ceil(count * percentile / 100.0).toLong()
+            var seen = 0L
+            buckets.forEachIndexed { index, inBucket ->
+                seen += inBucket
+                if (seen >= rank
+                    && inBucket > 0) {
+                    return LATENCY_BUCKETS.getOrNull(index) ?: max
+                }
+            }
+            return max
+        }
+    }
+
+    /**
+     * Watch events that were received.
+     *
+     * @param total the number of events that were received
+     * @param perSecond the average number of events per second over the last [RATE_PERIOD] seconds
+     */
+    data class Events(
+        val total: Long,
+        val perSecond: Double
+    )
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.intellij.openapi.util.text.StringUtil
+import com.redhat.devtools.intellij.kubernetes.model.ProcessWatches
+import com.redhat.devtools.intellij.kubernetes.model.WatchSupervisor
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.time.Instant
+
+/**
+ * The state of the resource model at a given time: the cached resources, the watches and what was recorded
+ * by [Diagnostics]. Can be exported to json and attached to bug reports.
+ *
+ * @param time the time when the snapshot was taken, in ms since epoch
+ * @param context the name of the current context
+ * @param caches the cached resources of each kind
+ * @param listLatencies the latencies of listing the resources of each kind
+ * @param events the watch events that were received for each kind
+ * @param watches the watches of the current context
+ * @param processWatches the log, exec and port forward watches
+ * @param treeUpdates the durations of the updates of the resource tree on the invoker of the tree model
+ * @param editorUpdates the number of times resource editors were updated
+ */
+data class DiagnosticsSnapshot(
+    val time: Long,
+    val context: String?,
+    val caches: List<CacheStats>,
+    val listLatencies: Map<String, Diagnostics.Latencies>,
+    val events: Map<String, Diagnostics.Events>,
+    val watches: WatchStats,
+    val processWatches: ProcessWatchStats,
+    val treeUpdates: Diagnostics.Latencies,
+    val editorUpdates: Long
+) {
+
+    companion object {
+
+        fun create(
+            context: IActiveContext<*, *>?,
+            processWatches: ProcessWatches?,
+            diagnostics: Diagnostics = Diagnostics.instance,
+            time: Long = System.currentTimeMillis()
+        ): DiagnosticsSnapshot {
+            return DiagnosticsSnapshot(
+                time,
+                context?.name,
+                context?.getCacheStats() ?: emptyList(),
+                toKeys(diagnostics.getListLatencies()),
+                toKeys(diagnostics.getEvents()),
+                WatchStats.create(context),
+                ProcessWatchStats(
+                    processWatches?.watchCount ?: 0,
+                    processWatches?.clientCount ?: 0,
+                    processWatches?.connectionCount ?: 0
+                ),
+                diagnostics.getTreeUpdates(),
+                diagnostics.getEditorUpdates()
+            )
+        }
+
+        fun toKey(kind: ResourceKind<out HasMetadata>): String {
+            return "${kind.kind} (${kind.version})"
+        }
+
+        private fun <V> toKeys(byKind: Map<ResourceKind<out HasMetadata>, V>): Map<String, V> {
+            return byKind.mapKeys { (kind, _) -> toKey(kind) }
+                .toSortedMap()
+        }
+    }
+
+    fun toJson(): String {
+        return Serialization.jsonMapper()
+            .writerWithDefaultPrettyPrinter()
+            .writeValueAsString(this)
+    }
+
+    /**
+     * Returns this snapshot as text that is readable by humans.
+     */
+    fun toText(): String {
+        return StringBuilder()
+            .appendLine("Time: ${Instant.ofEpochMilli(time)}")
+            .appendLine("Context: ${context ?: "none"}")
+            .appendLine()
+            .appendLine("Cached resources (${caches.sumOf { it.count }}, ~${StringUtil.formatFileSize(caches.sumOf { it.estimatedBytes })}):")
+            .apply {
+                caches.sortedByDescending { it.estimatedBytes }.forEach { cache ->
+                    appendLine("  ${cache.kind}${if (cache.namespace != null) " in ${cache.namespace}" else ""}: "
+                            + "${cache.count}, ~${StringUtil.formatFileSize(cache.estimatedBytes)}${if (cache.stale) ", stale" else ""}")
+                }
+            }
+            .appendLine()
+            .appendLine("List latencies (count, mean, p95, max in ms):")
+            .apply {
+                listLatencies.forEach { (kind, latencies) ->
+                    appendLine("  $kind: ${latencies.count}, ${latencies.mean}, ${latencies.percentile(95)}, ${latencies.max}")
+                }
+            }
+            .appendLine()
+            .appendLine("Watch events (total, per second):")
+            .apply {
+                events.forEach { (kind, events) ->
+                    appendLine("  $kind: ${events.total}, ${"%.2f".format(events.perSecond)}")
+                }
+            }
+            .appendLine()
+            .appendLine("Watches: ${watches.watched.size}, pending operations: ${watches.pendingOperations}")
+            .apply {
+                if (watches.reconnecting.isNotEmpty()) {
+                    appendLine("  reconnecting: ${watches.reconnecting.joinToString()}")
+                }
+                watches.reconnects.forEach { (kind, metrics) ->
+                    appendLine("  $kind: ${metrics.failures} failure(s), ${metrics.reconnects} reconnect(s), down for ${metrics.downtime} ms")
+                }
+                watches.evictions.forEach { (kind, evictions) ->
+                    appendLine("  $kind: evicted $evictions time(s)")
+                }
+            }
+            .appendLine("Log, exec and port forward watches: ${processWatches.watches}, "
+                    + "clients: ${processWatches.clients}, connections: ${processWatches.connections}")
+            .appendLine()
+            .appendLine("Tree updates (tree model invoker): ${treeUpdates.count}, mean ${treeUpdates.mean} ms, "
+                    + "max ${treeUpdates.max} ms, total ${treeUpdates.total} ms")
+            .appendLine("Editor updates: $editorUpdates")
+            .toString()
+    }
+
+    /**
+     * The resources of a kind that are cached.
+     *
+     * @param kind the kind of the resources
+     * @param namespace the namespace of the resources, `null` if they're not namespaced
+     * @param count the number of cached resources
+     * @param estimatedBytes the estimated size of the cached resources on the heap
+     * @param stale `true` if the resources are stale
+     */
+    data class CacheStats(
+        val kind: String,
+        val namespace: String?,
+        val count: Int,
+        val estimatedBytes: Long,
+        val stale: Boolean
+    ) {
+        companion object {
+            private const val SAMPLE_SIZE = 20
+
+            fun create(
+                kind: ResourceKind<out HasMetadata>,
+                namespace: String?,
+                resources: List<HasMetadata>,
+                stale: Boolean
+            ): CacheStats {
+                return CacheStats(toKey(kind), namespace, resources.size, estimateBytes(resources), stale)
+            }
+
+            /**
+             * Estimates the heap that the given resources take by serializing a sample of them to json.
+             * A resource on the heap takes about 2 bytes per character of its json (strings are UTF-16),
+             * this ignores object headers and is therefore a lower bound.
+             */
+            fun estimateBytes(resources: List<HasMetadata>): Long {
+                if (resources.isEmpty()) {
+                    return 0
+                }
+                val step = maxOf(1, resources.size / SAMPLE_SIZE)
+                val sample = (resources.indices step step)
+                    .take(SAMPLE_SIZE)
+                    .map { index -> resources[index] }
+                val sampleBytes = sample.sumOf { resource -> Serialization.asJson(resource).length * 2L }
+                return sampleBytes * resources.size / sample.size
+            }
+        }
+    }
+
+    /**
+     * The watches of a context.
+     *
+     * @param watched the kinds that are watched
+     * @param pendingOperations the number of watch operations that are waiting to be executed
+     * @param reconnecting the kinds whose watch failed and is being re-established
+     * @param reconnects the reconnect metrics of the watches that failed at least once
+     * @param evictions the number of times the watch for each kind was evicted
+     */
+    data class WatchStats(
+        val watched: List<String>,
+        val pendingOperations: Int,
+        val reconnecting: List<String>,
+        val reconnects: Map<String, WatchSupervisor.Metrics>,
+        val evictions: Map<String, Int>
+    ) {
+        companion object {
+            fun create(context: IActiveContext<*, *>?): WatchStats {
+                if (context == null) {
+                    return WatchStats(emptyList(), 0, emptyList(), emptyMap(), emptyMap())
+                }
+                val watched = context.getWatched()
+                return WatchStats(
+                    watched.map { toKey(it) }.sorted(),
+                    context.getPendingWatchOperations(),
+                    watched.filter { context.isReconnecting(it) }.map { toKey(it) }.sorted(),
+                    toKeys(context.getWatchMetrics()),
+                    toKeys(context.getWatchEvictions())
+                )
+            }
+        }
+    }
+
+    /**
+     * The log, exec and port forward watches.
+     *
+     * @param watches the number of open watches
+     * @param clients the number of clients that the watches use
+     * @param connections the number of http connections that the clients hold
+     */
+    data class ProcessWatchStats(
+        val watches: Int,
+        val clients: Int,
+        val connections: Int
+    )
+}
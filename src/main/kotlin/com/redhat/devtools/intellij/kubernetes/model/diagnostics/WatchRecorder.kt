@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.intellij.openapi.diagnostic.logger
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.client.Watcher
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.io.BufferedWriter
+import java.io.IOException
+import java.io.OutputStreamWriter
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Records the watch events that are received to a file so that performance issues can be reproduced offline
+ * by replaying them with [WatchReplayer].
+ *
+ * Recordings are gzipped json lines. The first line is a header with the time when the recording was started,
+ * each following line is an event with the time in ms since the start, the action and the resource.
+ * Managed fields are dropped to keep recordings compact. The values of secrets and the last applied configuration,
+ * which may hold them, too, are redacted.
+ */
+open class WatchRecorder(
+    /* for testing purposes */
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    companion object {
+        val instance: WatchRecorder by lazy {
+            WatchRecorder()
+        }
+
+        const val FORMAT_VERSION = 1
+        const val FILE_EXTENSION = "gz"
+        const val REDACTED = ""
+
+        const val PROPERTY_VERSION = "version"
+        const val PROPERTY_STARTED = "started"
+        const val PROPERTY_TIME = "time"
+        const val PROPERTY_ACTION = "action"
+        const val PROPERTY_RESOURCE = "resource"
+
+        private const val ANNOTATION_LAST_APPLIED = "kubectl.kubernetes.io/last-applied-configuration"
+    }
+
+    @Volatile
+    private var recording: Recording? = null
+
+    val isRecording: Boolean
+        get() = recording != null
+
+    /**
+     * Returns the file that events are recorded to, `null` if nothing is recorded.
+     */
+    val file: Path?
+        get() = recording?.file
+
+    /**
+     * Starts recording the watch events to the given file. A recording that is in progress is stopped.
+     * The given file is overwritten if it exists.
+     *
+     * @param file the file to record to
+     * @throws IOException if the file cannot be written
+     */
+    @Synchronized
+    fun start(file: Path) {
+        stop()
+        val recording = Recording(file, clock.invoke())
+        this.recording = recording
+        logger<WatchRecorder>().info("Started recording watch events to $file.")
+    }
+
+    /**
+     * Stops recording and closes the file. Does nothing if nothing is recorded.
+     *
+     * @return the number of events that were recorded
+     */
+    @Synchronized
+    fun stop(): Int {
+        val recording = this.recording ?: return 0
+        this.recording = null
+        recording.close()
+        logger<WatchRecorder>().info("Stopped recording watch events to ${recording.file}, ${recording.count} event(s) recorded.")
+        return recording.count
+    }
+
+    /**
+     * Records the given watch event if a recording was started. Does nothing otherwise.
+     * Recording is stopped if the event cannot be written.
+     *
+     * @param action the action of the event
+     * @param resource the resource of the event
+     */
+    fun record(action: Watcher.Action?, resource: HasMetadata) {
+        val recording = this.recording ?: return
+        if (action == null) {
+            return
+        }
+        try {
+            recording.write(action, resource)
+        } catch (e: IOException) {
+            logger<WatchRecorder>().warn("Could not record watch event to ${recording.file}, stopped recording.", e)
+            synchronized(this) {
+                if (this.recording == recording) {
+                    stop()
+                }
+            }
+        }
+    }
+
+    private inner class Recording(val file: Path, private val started: Long) {
+
+        private val mapper = Serialization.jsonMapper()
+        private val writer = BufferedWriter(OutputStreamWriter(GZIPOutputStream(Files.newOutputStream(file)), Charsets.UTF_8))
+        private var closed = false
+        var count = 0
+            private set
+
+        init {
+            writeLine(mapper.createObjectNode()
+                .put(PROPERTY_VERSION, FORMAT_VERSION)
+                .put(PROPERTY_STARTED, started))
+        }
+
+        fun write(action: Watcher.Action, resource: HasMetadata) {
+            val event = mapper.createObjectNode()
+                .put(PROPERTY_TIME, clock.invoke() - started)
+                .put(PROPERTY_ACTION, action.name)
+            event.set<ObjectNode>(PROPERTY_RESOURCE, redact(mapper.valueToTree(resource)))
+            synchronized(this) {
+                if (closed) {
+                    // stopped while the event was serialized
+                    return
+                }
+                writeLine(event)
+                count++
+            }
+        }
+
+        private fun writeLine(node: ObjectNode) {
+            writer.write(mapper.writeValueAsString(node))
+            writer.newLine()
+        }
+
+        private fun redact(resource: ObjectNode): ObjectNode {
+            val metadata = resource.get("metadata") as? ObjectNode
+            // managed fields are of no use when replaying but make up for a large part of a resource
+            metadata?.remove("managedFields")
+            (metadata?.get("annotations") as? ObjectNode)?.apply {
+                if (has(ANNOTATION_LAST_APPLIED)) {
+                    put(ANNOTATION_LAST_APPLIED, REDACTED)
+                }
+            }
+            if (resource.path("kind").asText() == "Secret") {
+                listOf("data", "stringData").forEach { property ->
+                    (resource.get(property) as? ObjectNode)?.apply {
+                        fieldNames().asSequence().toList().forEach { key -> put(key, REDACTED) }
+                    }
+                }
+            }
+            return resource
+        }
+
+        @Synchronized
+        fun close() {
+            closed = true
+            try {
+                writer.close()
+            } catch (e: IOException) {
+                logger<WatchRecorder>().warn("Could not close recording of watch events at $file.", e)
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.ResourceWatch
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder.Companion.FORMAT_VERSION
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder.Companion.PROPERTY_ACTION
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder.Companion.PROPERTY_RESOURCE
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder.Companion.PROPERTY_TIME
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.WatchRecorder.Companion.PROPERTY_VERSION
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.KubernetesResource
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.Watcher
+import io.fabric8.kubernetes.client.WatcherException
+import io.fabric8.kubernetes.client.utils.Serialization
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+
+/**
+ * Replays watch events that were recorded by [WatchRecorder] to a [Watcher], at the recorded pace, accelerated
+ * or as fast as possible. Events are read one at a time so that large recordings can be replayed.
+ *
+ * The events can be replayed to an [IActiveContext] to reproduce how the model and the tree behave (see [toContext])
+ * or to a cluster, ex. a mock server, that then sends them to the plugin through its watches (see [toClient]).
+ */
+class WatchReplayer(
+    /* for testing purposes */
+    private val clock: () -> Long = System::currentTimeMillis,
+    /* for testing purposes */
+    private val sleep: (millis: Long) -> Unit = Thread::sleep
+) {
+
+    companion object {
+        /* replays the events as fast as possible */
+        const val SPEED_MAX = Double.POSITIVE_INFINITY
+
+        /**
+         * Returns a watcher that dispatches the events to the given context the same way as the watches of the
+         * context do.
+         *
+         * @param context the context to dispatch the events to
+         */
+        fun toContext(context: IActiveContext<*, *>): Watcher<HasMetadata> {
+            return ResourceWatch.ResourceWatcher(
+                { context.added(it) },
+                { context.removed(it) },
+                { context.replaced(it) }
+            )
+        }
+
+        /**
+         * Returns a watcher that applies the events to the cluster of the given client.
+         * Resources that were added or modified are created or updated, deleted resources are deleted.
+         * The recorded resource version and uid are dropped, the cluster assigns its own.
+         *
+         * @param client the client to apply the events with
+         */
+        fun toClient(client: KubernetesClient): Watcher<HasMetadata> {
+            return object : Watcher<HasMetadata> {
+                override fun eventReceived(action: Watcher.Action, resource: HasMetadata) {
+                    resource.metadata.resourceVersion = null
+                    resource.metadata.uid = null
+                    when (action) {
+                        Watcher.Action.ADDED,
+                        Watcher.Action.MODIFIED ->
+                            client.resource(resource).createOr { operation -> operation.update() }
+                        Watcher.Action.DELETED ->
+                            client.resource(resource).delete()
+                        else -> Unit
+                    }
+                }
+
+                override fun onClose(e: WatcherException?) {
+                    // nothing to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the events in the given recording to the given watcher, in the calling thread.
+     *
+     * @param file the recording to replay
+     * @param watcher the watcher to replay the events to
+     * @param speed the factor by which the recorded pace is accelerated, [SPEED_MAX] to not wait between events
+     * @return the number of events that were replayed
+     * @throws IOException if the recording cannot be read or is not a recording of watch events
+     */
+    fun replay(file: Path, watcher: Watcher<HasMetadata>, speed: Double = 1.0): Int {
+        require(speed > 0) { "speed has to be positive." }
+        val start = clock.invoke()
+        var count = 0
+        read(file) { event ->
+            val delay = (start + event.time / speed).toLong() - clock.invoke()
+            if (delay > 0) {
+                sleep.invoke(delay)
+            }
+            watcher.eventReceived(event.action, event.resource)
+            count++
+        }
+        logger<WatchReplayer>().info("Replayed $count watch event(s) from $file in ${clock.invoke() - start} ms.")
+        return count
+    }
+
+    /**
+     * Reads the events in the given recording and hands them to the given consumer one by one.
+     *
+     * @param file the recording to read
+     * @param consumer the consumer of the events
+     * @throws IOException if the recording cannot be read or is not a recording of watch events
+     */
+    fun read(file: Path, consumer: (WatchEvent) -> Unit) {
+        val mapper = Serialization.jsonMapper()
+        GZIPInputStream(Files.newInputStream(file)).bufferedReader(Charsets.UTF_8).useLines { lines ->
+            lines.forEachIndexed { index, line ->
+                val node = mapper.readTree(line)
+                if (index == 0) {
+                    checkHeader(node, file)
+                } else {
+                    consumer.invoke(toEvent(node))
+                }
+            }
+        }
+    }
+
+    private fun checkHeader(header: JsonNode, file: Path) {
+        val version = header.path(PROPERTY_VERSION).asInt(-1)
+        if (version != FORMAT_VERSION) {
+            throw IOException("$file is not a recording of watch events (version $FORMAT_VERSION).")
+        }
+    }
+
+    private fun toEvent(node: JsonNode): WatchEvent {
+        val resource = Serialization.jsonMapper()
+            .treeToValue(node.get(PROPERTY_RESOURCE), KubernetesResource::class.java) as HasMetadata
+        return WatchEvent(
+            node.path(PROPERTY_TIME).asLong(),
+            Watcher.Action.valueOf(node.path(PROPERTY_ACTION).asText()),
+            resource
+        )
+    }
+
+    /**
+     * A recorded watch event.
+     *
+     * @param time the time when the event was received, in ms since the recording was started
+     * @param action the action of the event
+     * @param resource the resource of the event
+     */
+    data class WatchEvent(
+        val time: Long,
+        val action: Watcher.Action,
+        val resource: HasMetadata
+    )
+}
@@ -0,0 +1,539 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.files
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.Container
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.client.dsl.ExecListener
+import io.fabric8.kubernetes.client.dsl.ExecWatch
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.InterruptedIOException
+import java.io.OutputStream
+import java.nio.file.Files
+import java.nio.file.LinkOption
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.nio.file.attribute.PosixFileAttributeView
+import java.nio.file.attribute.PosixFilePermission
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CancellationException
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+import java.util.stream.Collectors
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import kotlin.io.path.isDirectory
+import kotlin.io.path.isRegularFile
+
+/**
+ * Copies files and directories to and from containers by streaming gzipped tar archives through `tar` in the
+ * container. Archives are never staged, neither in memory nor on disk:
+ * - uploads are packed and compressed on a separate thread while the calling thread sends the compressed chunks.
+ *   The chunks that are waiting to be sent are bounded so that a slow connection holds back compression.
+ * - downloads are decompressed and unpacked while they are received.
+ *
+ * @param model the model to execute `tar` in containers with
+ * @param executor the executor to compress uploads on
+ * @param chunkSize the size of the compressed chunks that uploads are sent in
+ * @param maxChunks the number of chunks that may wait to be sent
+ * @param exitTimeout the milliseconds to wait for `tar` to exit once all data was transferred
+ */
+open class ContainerFiles(
+    private val model: IResourceModel,
+    /* for testing purposes */
+    private val executor: Executor = AppExecutorUtil.getAppExecutorService(),
+    private val chunkSize: Int = CHUNK_SIZE,
+    private val maxChunks: Int = MAX_CHUNKS,
+    private val exitTimeout: Long = EXIT_TIMEOUT
+) {
+
+    companion object {
+        const val CHUNK_SIZE = 64 * 1024
+        const val MAX_CHUNKS = 16
+        const val EXIT_TIMEOUT = 30_000L
+        private const val POLL_TIMEOUT = 100L
+        private const val MAX_ERROR_LENGTH = 4 * 1024
+        private val END = ByteArray(0)
+    }
+
+    /**
+     * Progress of a transfer, that can be canceled.
+     */
+    interface Progress {
+        /**
+         * Is called while a transfer is progressing.
+         *
+         * @param transferred the number of bytes that were transferred so far
+         * @param total the number of bytes to transfer, `-1` if unknown
+         */
+        fun onProgress(transferred: Long, total: Long)
+
+        /**
+         * Returns `true` if the transfer should be canceled.
+         */
+        fun isCanceled(): Boolean
+    }
+
+    /**
+     * The result of a transfer.
+     *
+     * @param files the number of files that were transferred
+     * @param bytes the number of (uncompressed) bytes that were transferred
+     * @param millis the duration of the transfer
+     */
+    data class Transfer(val files: Int, val bytes: Long, val millis: Long) {
+        val bytesPerSecond: Long
+            get() = if (millis <= 0) bytes else bytes * 1000 / millis
+    }
+
+    /**
+     * Uploads the given local file or directory into the given directory of the container.
+     * The directory is created if it doesn't exist yet.
+     *
+     * @param local the file or directory to upload
+     * @param container the container to upload to
+     * @param pod the pod of the container
+     * @param remoteDirectory the directory in the container to upload to
+     * @param progress the progress to report to
+     * @return the transfer that was completed
+     * @throws ResourceException if the upload failed
+     * @throws CancellationException if the upload was canceled
+     */
+    fun upload(local: Path, container: Container, pod: Pod, remoteDirectory: String, progress: Progress): Transfer {
+        val started = System.currentTimeMillis()
+        val entries = collectEntries(local)
+        val total = entries.sumOf { entry -> entry.size }
+        val command = listOf("sh", "-c", "mkdir -p \"\$0\" && exec tar xzf - -C \"\$0\"", remoteDirectory)
+        val listener = TransferListener()
+        val watch = exec(container, pod, command, listener)
+        val error = drainError(watch)
+        val chunks = ArrayBlockingQueue<ByteArray>(maxChunks)
+        val stopped = AtomicBoolean(false)
+        val packed = AtomicLong()
+        val packFailure = AtomicReference<Throwable>()
+        try {
+            executor.execute {
+                pack(entries, ChunkOutputStream(chunks, stopped), packed, stopped, packFailure)
+            }
+            send(chunks, watch, listener, progress, packed, total)
+            packFailure.get()?.let { e ->
+                throw ResourceException("Could not read ${local.fileName}.", e, listOf(pod))
+            }
+            watch.input?.close()
+            awaitExit(watch, listener, error, "upload to", container, pod)
+        } catch (e: IOException) {
+            throw ResourceException(
+                "Could not upload to container \"${container.name}\" in ${toMessage(pod, 30)}.", e, listOf(pod)
+            )
+        } finally {
+            stopped.set(true)
+            chunks.clear()
+            model.stopWatch(watch)
+        }
+        return Transfer(entries.count { it.isFile }, packed.get(), System.currentTimeMillis() - started)
+    }
+
+    /**
+     * Downloads the given remote file or directory of the container into the given local directory.
+     *
+     * @param remote the file or directory in the container to download
+     * @param container the container to download from
+     * @param pod the pod of the container
+     * @param localDirectory the local directory to download to
+     * @param progress the progress to report to
+     * @return the transfer that was completed
+     * @throws ResourceException if the download failed
+     * @throws CancellationException if the download was canceled
+     */
+    fun download(remote: String, container: Container, pod: Pod, localDirectory: Path, progress: Progress): Transfer {
+        val started = System.currentTimeMillis()
+        val trimmed = remote.trimEnd('/')
+        val parent = if (trimmed.isEmpty()) "/" else trimmed.substringBeforeLast('/', ".").ifEmpty { "/" }
+        val name = trimmed.substringAfterLast('/').ifEmpty { "." }
+        val command = listOf("tar", "czf", "-", "-C", parent, name)
+        val listener = TransferListener()
+        val watch = exec(container, pod, command, listener)
+        val error = drainError(watch)
+        try {
+            val output = watch.output
+                ?: throw ResourceException("Could not read from container \"${container.name}\".", null, listOf(pod))
+            val (files, bytes) = unpack(output, localDirectory, progress)
+            awaitExit(watch, listener, error, "download from", container, pod)
+            return Transfer(files, bytes, System.currentTimeMillis() - started)
+        } catch (e: IOException) {
+            if (progress.isCanceled()) {
+                throw CancellationException("Download from container \"${container.name}\" was canceled.")
+            }
+            throw ResourceException(
+                "Could not download $remote from container \"${container.name}\" in ${toMessage(pod, 30)}: ${error.get()}",
+                e, listOf(pod)
+            )
+        } finally {
+            model.stopWatch(watch)
+        }
+    }
+
+    private fun exec(container: Container, pod: Pod, command: List<String>, listener: ExecListener): ExecWatch {
+        return model.exec(container, pod, command, listener)
+            ?: throw ResourceException(
+                "Could not execute tar in container \"${container.name}\" in ${toMessage(pod, 30)}.",
+                null,
+                listOf(pod)
+            )
+    }
+
+    /**
+     * Returns the entries for the given file or directory. Entries are named relative to the parent of the given
+     * file or directory. Only regular files and directories are included, links are not followed.
+     */
+    private fun collectEntries(local: Path): List<LocalEntry> {
+        val root = local.toAbsolutePath().normalize()
+        val base = root.parent ?: root
+        return Files.walk(root).use { paths ->
+            paths
+                .filter { path -> path.isDirectory(LinkOption.NOFOLLOW_LINKS) || path.isRegularFile(LinkOption.NOFOLLOW_LINKS) }
+                .map { path -> LocalEntry(path, toEntry(base, path)) }
+                .collect(Collectors.toList())
+        }
+    }
+
+    private fun toEntry(base: Path, path: Path): Tar.Entry {
+        val name = base.relativize(path).joinToString("/")
+        val modified = Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS).toMillis() / 1000
+        return if (path.isDirectory(LinkOption.NOFOLLOW_LINKS)) {
+            Tar.Entry("$name/", Tar.TYPE_DIRECTORY, 0, 493 /* 0755 */, modified)
+        } else {
+            Tar.Entry(name, Tar.TYPE_FILE, Files.size(path), getMode(path), modified)
+        }
+    }
+
+    /**
+     * Returns the permissions of the given file if the file system supports posix permissions, 0644 otherwise.
+     * Windows can't tell executable files (ex. scripts) apart, they're therefore uploaded as non-executable.
+     */
+    private fun getMode(path: Path): Int {
+        val view = Files.getFileAttributeView(path, PosixFileAttributeView::class.java, LinkOption.NOFOLLOW_LINKS)
+            ?: return 420 /* 0644 */
+        return try {
+            view.readAttributes().permissions().sumOf { permission -> toMode(permission) }
+        } catch (e: UnsupportedOperationException) {
+            420 /* 0644 */
+        }
+    }
+
+    private fun toMode(permission: PosixFilePermission): Int {
+        return when (permission) {
+            PosixFilePermission.OWNER_READ -> 256 /* 0400 */
+            PosixFilePermission.OWNER_WRITE -> 128 /* 0200 */
+            PosixFilePermission.OWNER_EXECUTE -> 64 /* 0100 */
+            PosixFilePermission.GROUP_READ -> 32 /* 0040 */
+            PosixFilePermission.GROUP_WRITE -> 16 /* 0020 */
+            PosixFilePermission.GROUP_EXECUTE -> 8 /* 0010 */
+            PosixFilePermission.OTHERS_READ -> 4 /* 0004 */
+            PosixFilePermission.OTHERS_WRITE -> 2 /* 0002 */
+            PosixFilePermission.OTHERS_EXECUTE -> 1 /* 0001 */
+        }
+    }
+
+    /**
+     * Packs and compresses the given entries into chunks. Runs on the executor.
+     */
+    private fun pack(
+        entries: List<LocalEntry>,
+        out: ChunkOutputStream,
+        packed: AtomicLong,
+        stopped: AtomicBoolean,
+        failure: AtomicReference<Throwable>
+    ) {
+        try {
+            GZIPOutputStream(out, chunkSize).use { gzip ->
+                val tar = Tar.Writer(gzip)
+                entries.forEach { local ->
+                    if (stopped.get()) {
+                        return
+                    }
+                    if (local.entry.isFile) {
+                        Files.newInputStream(local.path).use { content ->
+                            tar.write(local.entry, CountingInputStream(content, packed))
+                        }
+                    } else {
+                        tar.write(local.entry)
+                    }
+                }
+                tar.close()
+            }
+        } catch (e: Throwable) {
+            if (!stopped.get()) {
+                failure.set(e)
+                logger<ContainerFiles>().warn("Could not pack files for upload.", e)
+            }
+        } finally {
+            out.end()
+        }
+    }
+
+    /**
+     * Sends the compressed chunks to the container until the end is reached. Runs on the calling thread.
+     */
+    private fun send(
+        chunks: BlockingQueue<ByteArray>,
+        watch: ExecWatch,
+        listener: TransferListener,
+        progress: Progress,
+        packed: AtomicLong,
+        total: Long
+    ) {
+        val input = watch.input ?: throw IOException("Could not write to container.")
+        while (true) {
+            if (progress.isCanceled()) {
+                throw CancellationException("Upload was canceled.")
+            }
+            listener.failure.get()?.let { e -> throw IOException("Connection to container failed.", e) }
+            val chunk = chunks.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS)
+            progress.onProgress(packed.get(), total)
+            if (chunk == null) {
+                continue
+            }
+            if (chunk === END) {
+                return
+            }
+            input.write(chunk)
+            input.flush()
+        }
+    }
+
+    /**
+     * Decompresses and unpacks the given archive into the given directory while it is received.
+     *
+     * @return the number of files and the number of bytes that were unpacked
+     */
+    private fun unpack(archive: InputStream, localDirectory: Path, progress: Progress): Pair<Int, Long> {
+        val root = localDirectory.toAbsolutePath().normalize()
+        val unpacked = AtomicLong()
+        var files = 0
+        val buffer = ByteArray(chunkSize)
+        val tar = Tar.Reader(GZIPInputStream(archive, chunkSize))
+        var entry = tar.next()
+        while (entry != null) {
+            if (progress.isCanceled()) {
+                throw CancellationException("Download was canceled.")
+            }
+            val target = root.resolve(entry.name).normalize()
+            if (!target.startsWith(root)) {
+                throw IOException("Entry ${entry.name} is outside of ${root}.")
+            }
+            when {
+                entry.isDirectory ->
+                    Files.createDirectories(target)
+                entry.isFile -> {
+                    target.parent?.let { Files.createDirectories(it) }
+                    Files.newOutputStream(target).use { out ->
+                        copy(tar.content(), out, buffer, unpacked, progress)
+                    }
+                    if (entry.mode and 64 /* 0100 */ != 0) {
+                        target.toFile().setExecutable(true)
+                    }
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(entry.modified * 1000))
+                    files++
+                }
+                else ->
+                    logger<ContainerFiles>().debug("Skipping entry ${entry.name} of type ${entry.type}.")
+            }
+            entry = tar.next()
+        }
+        return Pair(files, unpacked.get())
+    }
+
+    private fun copy(input: InputStream, out: OutputStream, buffer: ByteArray, count: AtomicLong, progress: Progress) {
+        var read = input.read(buffer)
+        while (read >= 0) {
+            if (progress.isCanceled()) {
+                throw CancellationException("Download was canceled.")
+            }
+            out.write(buffer, 0, read)
+            progress.onProgress(count.addAndGet(read.toLong()), -1)
+            read = input.read(buffer)
+        }
+    }
+
+    /**
+     * Waits for `tar` to exit once all data was transferred.
+     * A `tar` that doesn't exit in time is assumed to wait for an end of input that is never sent
+     * (older clusters cannot close the input of an exec). All data was transferred by then.
+     */
+    private fun awaitExit(
+        watch: ExecWatch,
+        listener: TransferListener,
+        error: AtomicReference<String>,
+        operation: String,
+        container: Container,
+        pod: Pod
+    ) {
+        val exitCode = try {
+            watch.exitCode()?.get(exitTimeout, TimeUnit.MILLISECONDS)
+        } catch (e: TimeoutException) {
+            logger<ContainerFiles>().warn("Timed out waiting for tar in container \"${container.name}\" to exit.")
+            return
+        } catch (e: Exception) {
+            // ExecutionException, InterruptedException
+            throw ResourceException(
+                "Could not $operation container \"${container.name}\" in ${toMessage(pod, 30)}.", e, listOf(pod)
+            )
+        }
+        if (exitCode != null
+            && exitCode != 0) {
+            throw ResourceException(
+                "Could not $operation container \"${container.name}\" in ${toMessage(pod, 30)}: "
+                        + (error.get().ifBlank { null } ?: "tar exited with code $exitCode"),
+                listener.failure.get(),
+                listOf(pod)
+            )
+        }
+    }
+
+    /**
+     * Reads the error output of the given watch so that it doesn't hold up the transfer.
+     * Only the beginning of the error output is kept.
+     */
+    private fun drainError(watch: ExecWatch): AtomicReference<String> {
+        val error = AtomicReference("")
+        val stream = watch.error ?: return error
+        executor.execute {
+            try {
+                val buffer = ByteArray(1024)
+                val kept = StringBuilder()
+                var read = stream.read(buffer)
+                while (read >= 0) {
+                    if (kept.length < MAX_ERROR_LENGTH) {
+                        kept.append(String(buffer, 0, read, Charsets.UTF_8))
+                        error.set(kept.toString().trim())
+                    }
+                    read = stream.read(buffer)
+                }
+            } catch (e: IOException) {
+                // watch closed
+            }
+        }
+        return error
+    }
+
+    private class LocalEntry(val path: Path, val entry: Tar.Entry) {
+        val isFile: Boolean
+            get() = entry.isFile
+
+        val size: Long
+            get() = entry.size
+    }
+
+    private class TransferListener : ExecListener {
+
+        val failure = AtomicReference<Throwable>()
+
+        override fun onFailure(e: Throwable?, response: ExecListener.Response?) {
+            failure.set(e ?: IOException("Connection to container failed."))
+        }
+    }
+
+    /**
+     * Cuts the written bytes into chunks and queues them. Blocks while the queue is full.
+     */
+    private inner class ChunkOutputStream(
+        private val chunks: BlockingQueue<ByteArray>,
+        private val stopped: AtomicBoolean
+    ) : OutputStream() {
+
+        private var chunk = ByteArray(chunkSize)
+        private var count = 0
+
+        override fun write(b: Int) {
+            if (count == chunk.size) {
+                queueChunk()
+            }
+            chunk[count++] = b.toByte()
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            var offset = off
+            var remaining = len
+            while (remaining > 0) {
+                if (count == chunk.size) {
+                    queueChunk()
+                }
+                val length = minOf(remaining, chunk.size - count)
+                System.arraycopy(b, offset, chunk, count, length)
+                count += length
+                offset += length
+                remaining -= length
+            }
+        }
+
+        /**
+         * Queues what's left and marks the end.
+         */
+        fun end() {
+            if (stopped.get()) {
+                return
+            }
+            try {
+                if (count > 0) {
+                    queueChunk()
+                }
+                queue(END)
+            } catch (e: IOException) {
+                // stopped
+            }
+        }
+
+        private fun queueChunk() {
+            queue(chunk.copyOf(count))
+            count = 0
+        }
+
+        private fun queue(toQueue: ByteArray) {
+            while (!chunks.offer(toQueue, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                if (stopped.get()) {
+                    throw InterruptedIOException("Upload was stopped.")
+                }
+            }
+        }
+    }
+
+    private class CountingInputStream(input: InputStream, private val count: AtomicLong) : FilterInputStream(input) {
+
+        override fun read(): Int {
+            val read = super.read()
+            if (read >= 0) {
+                count.incrementAndGet()
+            }
+            return read
+        }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            val read = super.read(b, off, len)
+            if (read > 0) {
+                count.addAndGet(read.toLong())
+            }
+            return read
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.files
+
+import java.io.Closeable
+import java.io.EOFException
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+
+/**
+ * The subset of the tar format that's required to copy files and directories to and from containers.
+ * Entries are written as ustar with GNU long names, which both GNU and busybox tar understand.
+ * Entries are read as ustar, GNU long names and pax paths. Entries of other types (ex. links) are skipped.
+ */
+object Tar {
+
+    const val BLOCK_SIZE = 512
+
+    const val TYPE_FILE = '0'
+    const val TYPE_FILE_OLD = '\u0000'
+    const val TYPE_DIRECTORY = '5'
+    internal const val TYPE_GNU_LONG_NAME = 'L'
+    internal const val TYPE_PAX_HEADER = 'x'
+
+    internal const val GNU_LONG_LINK = "././@LongLink"
+    internal const val NAME_LENGTH = 100
+    /* the largest size that fits into the octal size field, bigger ones are written in base-256 */
+    internal const val MAX_OCTAL_SIZE = 8589934591L
+
+    /**
+     * An entry in a tar archive.
+     *
+     * @param name the path of the entry, directories end with a `/`
+     * @param type the type of the entry (ex. [TYPE_FILE], [TYPE_DIRECTORY])
+     * @param size the number of bytes of the content
+     * @param mode the unix permissions
+     * @param modified the time of the last modification in seconds since the epoch
+     */
+    data class Entry(
+        val name: String,
+        val type: Char,
+        val size: Long = 0,
+        val mode: Int = if (type == TYPE_DIRECTORY) 493 /* 0755 */ else 420 /* 0644 */,
+        val modified: Long = System.currentTimeMillis() / 1000
+    ) {
+        val isDirectory: Boolean
+            get() = type == TYPE_DIRECTORY
+
+        val isFile: Boolean
+            get() = type == TYPE_FILE
+                    || type == TYPE_FILE_OLD
+    }
+
+    /**
+     * Writes entries to a tar archive. Contents are streamed, nothing is buffered but the current block.
+     *
+     * @param out the stream to write the archive to
+     */
+    class Writer(private val out: OutputStream) : Closeable {
+
+        private val header = ByteArray(BLOCK_SIZE)
+
+        /**
+         * Writes the given entry and its content.
+         *
+         * @param entry the entry to write
+         * @param content the content of the entry, has to provide [Entry.size] bytes
+         * @throws IOException if the content has less bytes than the entry size
+         */
+        fun write(entry: Entry, content: InputStream? = null) {
+            val nameBytes = entry.name.toByteArray(Charsets.UTF_8)
+            if (nameBytes.size > NAME_LENGTH) {
+                writeHeader(Entry(GNU_LONG_LINK, TYPE_GNU_LONG_NAME, nameBytes.size + 1L, 420, 0), nameBytes)
+                out.write(nameBytes)
+                out.write(0)
+                pad(nameBytes.size + 1L)
+            }
+            writeHeader(entry, nameBytes)
+            if (content != null
+                && entry.size > 0) {
+                val copied = copy(content, out, entry.size)
+                if (copied < entry.size) {
+                    throw EOFException("Entry ${entry.name} has $copied bytes, expected ${entry.size}.")
+                }
+                pad(entry.size)
+            }
+        }
+
+        /**
+         * Writes the end of the archive. Doesn't close the underlying stream.
+         */
+        override fun close() {
+            out.write(ByteArray(BLOCK_SIZE * 2))
+            out.flush()
+        }
+
+        private fun writeHeader(entry: Entry, nameBytes: ByteArray) {
+            header.fill(0)
+            nameBytes.copyInto(header, 0, 0, minOf(nameBytes.size, NAME_LENGTH))
+            writeOctal(entry.mode.toLong(), 100, 8)
+            writeOctal(0, 108, 8) // uid
+            writeOctal(0, 116, 8) // gid
+            writeSize(entry.size)
+            writeOctal(entry.modified, 136, 12)
+            header[156] = entry.type.code.toByte()
+            "ustar".toByteArray().copyInto(header, 257)
+            header[263] = '0'.code.toByte()
+            header[264] = '0'.code.toByte()
+            // checksum is computed with spaces in the checksum field
+            for (i in 148 until 156) {
+                header[i] = ' '.code.toByte()
+            }
+            val checksum = header.sumOf { it.toInt() and 0xff }
+            writeOctal(checksum.toLong(), 148, 7)
+            out.write(header)
+        }
+
+        private fun writeSize(size: Long) {
+            if (size <= MAX_OCTAL_SIZE) {
+                writeOctal(size, 124, 12)
+                return
+            }
+            // base-256: highest bit set, big endian
+            var value = size
+            for (i in 135 downTo 125) {
+                header[i] = (value and 0xff).toByte()
+                value = value shr 8
+            }
+            header[124] = 0x80.toByte()
+        }
+
+        /**
+         * Writes the given value as zero-padded octal digits followed by a NUL.
+         */
+        private fun writeOctal(value: Long, offset: Int, length: Int) {
+            val digits = java.lang.Long.toOctalString(value).padStart(length - 1, '0')
+            digits.toByteArray().copyInto(header, offset, 0, length - 1)
+            header[offset + length - 1] = 0
+        }
+
+        private fun pad(size: Long) {
+            val remainder = (size % BLOCK_SIZE).toInt()
+            if (remainder > 0) {
+                out.write(ByteArray(BLOCK_SIZE - remainder))
+            }
+        }
+    }
+
+    /**
+     * Reads the entries of a tar archive one after the other.
+     *
+     * @param input the stream to read the archive from
+     */
+    class Reader(private val input: InputStream) {
+
+        private val header = ByteArray(BLOCK_SIZE)
+        private var remaining = 0L
+        private var padding = 0L
+        private var current: EntryInputStream? = null
+
+        /**
+         * Returns the next entry or `null` if there are none left.
+         * The content of the previous entry is skipped if it wasn't read.
+         */
+        fun next(): Entry? {
+            skipCurrent()
+            var longName: String? = null
+            while (true) {
+                if (!readBlock()) {
+                    return null
+                }
+                if (header.all { it.toInt() == 0 }) {
+                    // end of archive
+                    return null
+                }
+                verifyChecksum()
+                val type = header[156].toInt().toChar()
+                val size = readSize()
+                when (type) {
+                    TYPE_GNU_LONG_NAME -> {
+                        longName = String(readContent(size), Charsets.UTF_8).trimEnd('\u0000')
+                    }
+                    TYPE_PAX_HEADER -> {
+                        longName = parsePaxPath(readContent(size)) ?: longName
+                    }
+                    else -> {
+                        val entry = Entry(
+                            longName ?: readName(),
+                            type,
+                            size,
+                            readOctal(100, 8).toInt(),
+                            readOctal(136, 12)
+                        )
+                        remaining = size
+                        padding = padding(size)
+                        current = EntryInputStream()
+                        return entry
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the content of the entry that was returned last.
+         */
+        fun content(): InputStream {
+            return current ?: throw IllegalStateException("No current entry.")
+        }
+
+        private fun skipCurrent() {
+            skipFully(remaining + padding)
+            remaining = 0
+            padding = 0
+            current = null
+        }
+
+        private fun readBlock(): Boolean {
+            var read = 0
+            while (read < BLOCK_SIZE) {
+                val count = input.read(header, read, BLOCK_SIZE - read)
+                if (count < 0) {
+                    if (read == 0) {
+                        return false
+                    }
+                    throw EOFException("Truncated tar header.")
+                }
+                read += count
+            }
+            return true
+        }
+
+        private fun readContent(size: Long): ByteArray {
+            if (size > Int.MAX_VALUE) {
+                throw IOException("Tar header entry too large: $size bytes.")
+            }
+            val content = ByteArray(size.toInt())
+            var read = 0
+            while (read < content.size) {
+                val count = input.read(content, read, content.size - read)
+                if (count < 0) {
+                    throw EOFException("Truncated tar header entry.")
+                }
+                read += count
+            }
+            skipFully(padding(size))
+            return content
+        }
+
+        private fun readName(): String {
+            val name = readString(0, NAME_LENGTH)
+            val prefix = if (isUstar()) readString(345, 155) else ""
+            return if (prefix.isEmpty()) {
+                name
+            } else {
+                "$prefix/$name"
+            }
+        }
+
+        private fun isUstar(): Boolean {
+            return String(header, 257, 5, Charsets.US_ASCII) == "ustar"
+        }
+
+        private fun readString(offset: Int, length: Int): String {
+            var end = offset
+            while (end < offset + length
+                && header[end].toInt() != 0) {
+                end++
+            }
+            return String(header, offset, end - offset, Charsets.UTF_8)
+        }
+
+        private fun readSize(): Long {
+            if (header[124].toInt() and 0x80 != 0) {
+                var size = 0L
+                for (i in 125 until 136) {
+                    size = (size shl 8) or (header[i].toLong() and 0xff)
+                }
+                return size
+            }
+            return readOctal(124, 12)
+        }
+
+        private fun readOctal(offset: Int, length: Int): Long {
+            val value = readString(offset, length).trim()
+            return if (value.isEmpty()) {
+                0
+            } else {
+                value.toLongOrNull(8) ?: throw IOException("Invalid number \"$value\" in tar header.")
+            }
+        }
+
+        private fun verifyChecksum() {
+            val expected = readOctal(148, 8)
+            var actual = 0L
+            for (i in 0 until BLOCK_SIZE) {
+                actual += if (i in 148 until 156) {
+                    ' '.code
+                } else {
+                    header[i].toInt() and 0xff
+                }
+            }
+            if (expected != actual) {
+                throw IOException("Invalid tar header checksum.")
+            }
+        }
+
+        /**
+         * Returns the path of the given pax records ("<length> path=<value>\n").
+         */
+        private fun parsePaxPath(records: ByteArray): String? {
+            return String(records, Charsets.UTF_8)
+                .lineSequence()
+                .map { record -> record.substringAfter(' ', "") }
+                .find { record -> record.startsWith("path=") }
+                ?.removePrefix("path=")
+        }
+
+        private fun padding(size: Long): Long {
+            val remainder = size % BLOCK_SIZE
+            return if (remainder == 0L) 0 else BLOCK_SIZE - remainder
+        }
+
+        private fun skipFully(count: Long) {
+            var toSkip = count
+            while (toSkip > 0) {
+                val skipped = input.skip(toSkip)
+                if (skipped <= 0) {
+                    if (input.read() < 0) {
+                        throw EOFException("Truncated tar archive.")
+                    }
+                    toSkip--
+                } else {
+                    toSkip -= skipped
+                }
+            }
+        }
+
+        private inner class EntryInputStream : InputStream() {
+
+            override fun read(): Int {
+                if (current !== this
+                    || remaining <= 0) {
+                    return -1
+                }
+                val read = input.read()
+                if (read < 0) {
+                    throw EOFException("Truncated tar entry.")
+                }
+                remaining--
+                return read
+            }
+
+            override fun read(buffer: ByteArray, offset: Int, length: Int): Int {
+                if (current !== this
+                    || remaining <= 0) {
+                    return -1
+                }
+                val read = input.read(buffer, offset, minOf(length.toLong(), remaining).toInt())
+                if (read < 0) {
+                    throw EOFException("Truncated tar entry.")
+                }
+                remaining -= read
+                return read
+            }
+        }
+    }
+
+    /**
+     * Copies at most the given number of bytes.
+     *
+     * @return the number of bytes that were copied
+     */
+    internal fun copy(input: InputStream, out: OutputStream, count: Long): Long {
+        val buffer = ByteArray(64 * 1024)
+        var copied = 0L
+        while (copied < count) {
+            val read = input.read(buffer, 0, minOf(buffer.size.toLong(), count - copied).toInt())
+            if (read < 0) {
+                break
+            }
+            out.write(buffer, 0, read)
+            copied += read
+        }
+        return copied
+    }
+}
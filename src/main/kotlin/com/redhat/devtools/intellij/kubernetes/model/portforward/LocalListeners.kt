@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.portforward
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import java.io.Closeable
+import java.io.IOException
+import java.net.InetSocketAddress
+import java.nio.channels.ClosedSelectorException
+import java.nio.channels.SelectionKey
+import java.nio.channels.Selector
+import java.nio.channels.ServerSocketChannel
+import java.nio.channels.SocketChannel
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Local server sockets that accept connections for port forwards.
+ * A single thread waits for connections on all the listening sockets (using a [Selector]).
+ * Accepted connections are handed to the listener on the given executor so that connecting to the cluster doesn't
+ * hold up accepting further connections. The thread ends once there are no listening sockets left.
+ *
+ * @param executor the executor to hand accepted connections to listeners on
+ */
+open class LocalListeners(
+    private val executor: (runnable: Runnable) -> Unit = { runnable ->
+        AppExecutorUtil.getAppExecutorService().execute(runnable)
+    }
+) {
+
+    companion object {
+        val instance by lazy { LocalListeners() }
+    }
+
+    private val toRegister = ConcurrentLinkedQueue<Listener>()
+    /* guarded by this */
+    private var selector: Selector? = null
+
+    /**
+     * Listens for connections at the given address.
+     *
+     * @param address the address to listen at, port `0` for any free port
+     * @param onAccepted is called with each connection that is accepted
+     * @return the listener, that has to be closed to stop listening
+     * @throws IOException if the address cannot be bound
+     */
+    fun listen(address: InetSocketAddress, onAccepted: (channel: SocketChannel) -> Unit): Listener {
+        val server = ServerSocketChannel.open()
+        try {
+            server.bind(address)
+            server.configureBlocking(false)
+        } catch (e: IOException) {
+            server.close()
+            throw e
+        }
+        val listener = Listener(server, onAccepted)
+        toRegister.add(listener)
+        getSelector().wakeup()
+        return listener
+    }
+
+    /**
+     * Returns the number of sockets that are listening.
+     */
+    val listening: Int
+        get() = synchronized(this) {
+            selector?.keys()?.count { it.isValid } ?: 0
+        } + toRegister.size
+
+    @Synchronized
+    private fun getSelector(): Selector {
+        val existing = selector
+        if (existing != null) {
+            return existing
+        }
+        val created = Selector.open()
+        selector = created
+        Thread({ select(created) }, "Kubernetes Port Forward Listener").apply {
+            isDaemon = true
+            start()
+        }
+        return created
+    }
+
+    private fun select(selector: Selector) {
+        try {
+            while (true) {
+                selector.select()
+                register(selector)
+                val keys = selector.selectedKeys().iterator()
+                while (keys.hasNext()) {
+                    val key = keys.next()
+                    keys.remove()
+                    accept(key)
+                }
+                if (isDone(selector)) {
+                    return
+                }
+            }
+        } catch (e: IOException) {
+            logger<LocalListeners>().warn("Could not wait for connections to forwarded ports.", e)
+            closeAll(selector)
+        } catch (e: ClosedSelectorException) {
+            // closed
+        }
+    }
+
+    private fun register(selector: Selector) {
+        var listener = toRegister.poll()
+        while (listener != null) {
+            try {
+                listener.server.register(selector, SelectionKey.OP_ACCEPT, listener)
+            } catch (e: IOException) {
+                // ClosedChannelException: listener was closed before it was registered
+            }
+            listener = toRegister.poll()
+        }
+    }
+
+    private fun accept(key: SelectionKey) {
+        if (!key.isValid
+            || !key.isAcceptable) {
+            return
+        }
+        val listener = key.attachment() as Listener
+        val channel = try {
+            listener.server.accept()
+        } catch (e: IOException) {
+            logger<LocalListeners>().warn("Could not accept connection at ${listener.address}.", e)
+            null
+        } ?: return
+        executor.invoke {
+            try {
+                listener.onAccepted.invoke(channel)
+            } catch (e: Exception) {
+                logger<LocalListeners>().warn("Could not forward connection to ${listener.address}.", e)
+                channel.close()
+            }
+        }
+    }
+
+    /**
+     * Returns `true` and closes the selector if there are no sockets left to listen at.
+     * Keys of closed sockets are removed by the preceding select.
+     */
+    private fun isDone(selector: Selector): Boolean {
+        synchronized(this) {
+            if (selector.keys().isNotEmpty()
+                || toRegister.isNotEmpty()) {
+                return false
+            }
+            this.selector = null
+        }
+        selector.close()
+        return true
+    }
+
+    private fun closeAll(selector: Selector) {
+        synchronized(this) {
+            if (this.selector === selector) {
+                this.selector = null
+            }
+        }
+        selector.keys().forEach { key -> key.channel().close() }
+        selector.close()
+    }
+
+    /**
+     * A socket that is listening for connections.
+     */
+    inner class Listener(
+        internal val server: ServerSocketChannel,
+        internal val onAccepted: (channel: SocketChannel) -> Unit
+    ) : Closeable {
+
+        /**
+         * The address that is listened at. Has the actual port if any free port was requested.
+         */
+        val address: InetSocketAddress = server.localAddress as InetSocketAddress
+
+        override fun close() {
+            server.close()
+            // release the port: the selector only deregisters closed sockets when selecting
+            synchronized(this@LocalListeners) {
+                selector?.wakeup()
+            }
+        }
+    }
+}
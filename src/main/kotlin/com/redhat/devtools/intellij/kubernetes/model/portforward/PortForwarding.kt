@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.portforward
+
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModelListener
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.PodForService
+import com.redhat.devtools.intellij.kubernetes.model.util.PodUtils.isTerminating
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.Service
+import io.fabric8.kubernetes.client.PortForward
+import java.io.Closeable
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.nio.ByteBuffer
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.SocketChannel
+import java.nio.channels.WritableByteChannel
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Predicate
+
+/**
+ * Forwards a local port to a port of a pod or a service.
+ * Each local connection is forwarded to the pod that is the current target. The target of a service is one of its
+ * ready pods. When the target dies (it is removed or not ready anymore) a new ready pod is picked for the connections
+ * that follow. Pods are tracked with the pod events of the model.
+ * Bytes are passed between the local connection and the cluster without intermediate buffers, they are only counted.
+ *
+ * @param resource the pod or service to forward to
+ * @param port the port of the pod or the service to forward to
+ * @param localPort the local port to listen at, `0` for any free port
+ * @param model the model to forward ports and track pods with
+ * @param listeners the listeners to accept local connections with
+ */
+open class PortForwarding(
+    val resource: HasMetadata,
+    val port: Int,
+    private val localPort: Int,
+    private val model: IResourceModel,
+    private val listeners: LocalListeners = LocalListeners.instance
+) : IResourceModelListener, Closeable {
+
+    private val candidates: Predicate<Pod> = if (resource is Service) {
+        PodForService(resource)
+    } else {
+        Predicate { pod -> pod.metadata?.name == resource.metadata.name }
+    }
+
+    private var listener: LocalListeners.Listener? = null
+    /* true if [start] watched the pods, the watch is then released once in [close] */
+    private val watching = AtomicBoolean()
+    /* guarded by this */
+    private var target: Pod? = null
+    private val connections = CopyOnWriteArrayList<Connection>()
+    private val totalConnections = AtomicLong()
+    private val bytesSent = AtomicLong()
+    private val bytesReceived = AtomicLong()
+
+    /**
+     * The local address that connections are forwarded from, `null` if not started yet.
+     */
+    val localAddress: InetSocketAddress?
+        get() = listener?.address
+
+    /**
+     * Starts listening at the local port.
+     *
+     * @throws ResourceException if there is no ready pod to forward to or the local port cannot be listened at
+     */
+    fun start() {
+        model.addListener(this)
+        model.watch(NamespacedPodsOperator.KIND)
+        watching.set(true)
+        val initial = if (resource is Pod
+            && isReady(resource)) {
+            resource
+        } else {
+            findTarget(null)
+        }
+        if (initial == null) {
+            close()
+            throw ResourceException("There is no ready pod to forward to in ${toMessage(resource, 30)}.", null, listOf(resource))
+        }
+        setTarget(initial)
+        try {
+            listener = listeners.listen(InetSocketAddress(InetAddress.getLoopbackAddress(), localPort), ::accept)
+        } catch (e: IOException) {
+            close()
+            throw ResourceException("Could not listen at local port $localPort.", e, listOf(resource))
+        }
+    }
+
+    /**
+     * Returns the current statistics of this forward.
+     */
+    val stats: Stats
+        get() {
+            removeClosed()
+            return Stats(
+                synchronized(this) { target?.metadata?.name },
+                connections.size,
+                totalConnections.get(),
+                bytesSent.get(),
+                bytesReceived.get()
+            )
+        }
+
+    override fun close() {
+        model.removeListener(this)
+        if (watching.compareAndSet(true, false)) {
+            model.releaseWatch(NamespacedPodsOperator.KIND)
+        }
+        listener?.close()
+        val all = connections.toList()
+        connections.clear()
+        all.forEach { it.close() }
+    }
+
+    override fun added(added: Any) {
+        val pod = added as? Pod ?: return
+        if (isCandidate(pod)
+            && isReady(pod)) {
+            synchronized(this) {
+                if (target == null) {
+                    setTarget(pod)
+                }
+            }
+        }
+    }
+
+    override fun modified(modified: Any) {
+        val pod = modified as? Pod ?: return
+        if (!isCandidate(pod)) {
+            return
+        }
+        if (isTarget(pod)
+            && !isReady(pod)) {
+            retarget(pod)
+        } else {
+            added(pod)
+        }
+    }
+
+    override fun removed(removed: Any) {
+        val pod = removed as? Pod ?: return
+        if (isTarget(pod)) {
+            retarget(pod)
+        }
+    }
+
+    private fun accept(channel: SocketChannel) {
+        val pod = synchronized(this) { target }
+        val remotePort = pod?.let { getTargetPort(it) }
+        if (pod == null
+            || remotePort == null) {
+            logger<PortForwarding>().debug("No pod to forward connection to in ${toMessage(resource, -1)}.")
+            channel.close()
+            return
+        }
+        val forward = try {
+            model.portForward(
+                pod,
+                remotePort,
+                CountingReadableChannel(channel, bytesSent),
+                CountingWritableChannel(channel, bytesReceived)
+            )
+        } catch (e: ResourceException) {
+            logger<PortForwarding>().warn("Could not forward connection to port $remotePort of ${toMessage(pod, -1)}.", e)
+            null
+        }
+        if (forward == null) {
+            channel.close()
+            return
+        }
+        totalConnections.incrementAndGet()
+        connections.add(Connection(pod.metadata.name, channel, forward))
+        removeClosed()
+    }
+
+    private fun retarget(dead: Pod) {
+        val next = findTarget(dead.metadata.name)
+        synchronized(this) {
+            if (!isTarget(dead)) {
+                // retargeted in the meantime
+                return
+            }
+            setTarget(next)
+        }
+        // connections to the dead pod won't recover
+        val toClose = connections.filter { it.pod == dead.metadata.name }
+        connections.removeAll(toClose.toSet())
+        toClose.forEach { it.close() }
+    }
+
+    private fun setTarget(pod: Pod?) {
+        synchronized(this) {
+            logger<PortForwarding>().debug("Forwarding port $port of ${toMessage(resource, -1)} to ${pod?.metadata?.name}.")
+            target = pod
+        }
+    }
+
+    private fun findTarget(excluded: String?): Pod? {
+        return model.resources(NamespacedPodsOperator.KIND)
+            .inCurrentNamespace()
+            .filtered(candidates)
+            .list()
+            .firstOrNull { pod ->
+                pod.metadata.name != excluded
+                        && isSameNamespace(pod)
+                        && isReady(pod)
+            }
+    }
+
+    private fun isTarget(pod: Pod): Boolean {
+        return synchronized(this) {
+            target?.metadata?.name == pod.metadata?.name
+        }
+    }
+
+    private fun isCandidate(pod: Pod): Boolean {
+        return isSameNamespace(pod)
+                && candidates.test(pod)
+    }
+
+    private fun isSameNamespace(pod: Pod): Boolean {
+        val namespace = resource.metadata?.namespace
+        return namespace == null
+                || namespace == pod.metadata?.namespace
+    }
+
+    private fun isReady(pod: Pod): Boolean {
+        return !pod.isTerminating()
+                && true == pod.status?.conditions?.any { condition ->
+                    condition.type == "Ready"
+                            && condition.status == "True"
+                }
+    }
+
+    /**
+     * Returns the port of the given pod that the port of the resource maps to.
+     * The port of a service is mapped to the target port, which may be a named port of a container.
+     */
+    private fun getTargetPort(pod: Pod): Int? {
+        if (resource !is Service) {
+            return port
+        }
+        val servicePort = resource.spec?.ports?.find { it.port == port }
+            ?: return null
+        val targetPort = servicePort.targetPort
+            ?: return port
+        return targetPort.intVal
+            ?: pod.spec?.containers
+                ?.flatMap { container -> container.ports ?: emptyList() }
+                ?.find { containerPort -> containerPort.name == targetPort.strVal }
+                ?.containerPort
+    }
+
+    private fun removeClosed() {
+        val closed = connections.filter { !it.isAlive() }
+        if (closed.isEmpty()) {
+            return
+        }
+        connections.removeAll(closed.toSet())
+        closed.forEach { it.close() }
+    }
+
+    /**
+     * Statistics of a port forward.
+     *
+     * @param target the name of the pod that connections are forwarded to, `null` if there is none
+     * @param activeConnections the number of connections that are open
+     * @param totalConnections the number of connections that were forwarded since the forward was started
+     * @param bytesSent the number of bytes that were sent to the cluster
+     * @param bytesReceived the number of bytes that were received from the cluster
+     */
+    data class Stats(
+        val target: String?,
+        val activeConnections: Int,
+        val totalConnections: Long,
+        val bytesSent: Long,
+        val bytesReceived: Long
+    )
+
+    private inner class Connection(
+        val pod: String,
+        private val channel: SocketChannel,
+        private val forward: PortForward
+    ) {
+        fun isAlive(): Boolean {
+            return channel.isOpen
+                    && forward.isAlive
+        }
+
+        fun close() {
+            model.stopWatch(forward)
+            try {
+                channel.close()
+            } catch (e: IOException) {
+                // ignore
+            }
+        }
+    }
+
+    private class CountingReadableChannel(
+        private val channel: ReadableByteChannel,
+        private val count: AtomicLong
+    ) : ReadableByteChannel by channel {
+
+        override fun read(buffer: ByteBuffer): Int {
+            val read = channel.read(buffer)
+            if (read > 0) {
+                count.addAndGet(read.toLong())
+            }
+            return read
+        }
+    }
+
+    private class CountingWritableChannel(
+        private val channel: WritableByteChannel,
+        private val count: AtomicLong
+    ) : WritableByteChannel by channel {
+
+        override fun write(buffer: ByteBuffer): Int {
+            val written = channel.write(buffer)
+            count.addAndGet(written.toLong())
+            return written
+        }
+    }
+}
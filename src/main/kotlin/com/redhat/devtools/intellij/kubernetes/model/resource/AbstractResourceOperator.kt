@@ -11,7 +11,6 @@
 package com.redhat.devtools.intellij.kubernetes.model.resource
 
 import com.intellij.openapi.diagnostic.logger
-import com.redhat.devtools.intellij.kubernetes.model.util.isSameResource
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.client.Client
 import io.fabric8.kubernetes.client.KubernetesClient
@@ -22,15 +21,123 @@ import io.fabric8.kubernetes.client.dsl.Resource
 
 abstract class AbstractResourceOperator<R : HasMetadata, C : Client>(protected val client: C) : IResourceOperator<R> {
 
-    protected val _allResources: MutableList<R> = mutableListOf()
+    /* kept sorted by name so that listing doesn't need to sort */
+    protected val _allResources: SortedResources<R> = SortedResources()
+
+    /**
+     * `true` if the cached resources were restored from a snapshot or missed changes while the watch was down,
+     * and were not reconciled with the cluster yet.
+     *
+     * @see restore
+     * @see markStale
+     * @see revalidate
+     */
+    @Volatile
+    var isStale: Boolean = false
+        private set
+
+    /**
+     * The number of times that the cache was filled as a whole, by listing all resources in the cluster or by
+     * restoring them from a snapshot. Changes by watch events don't count.
+     *
+     * @see allResources
+     * @see restore
+     */
+    @Volatile
+    var loads: Int = 0
+        protected set
+
+    /**
+     * The resources that are currently cached. Returns an empty list if nothing was loaded yet.
+     * Other than [allResources] this never loads resources from the cluster.
+     */
+    val cachedResources: List<R>
+        get() {
+            synchronized(_allResources) {
+                return ArrayList(_allResources)
+            }
+        }
 
     override fun invalidate() {
         logger<AbstractResourceOperator<*, *>>().debug("Invalidating all $kind resources.")
         synchronized(_allResources) {
             _allResources.clear()
+            isStale = false
+        }
+    }
+
+    /**
+     * Fills the cache with the given resources if nothing was loaded yet.
+     * The cache is then stale until it is reconciled with the cluster by [revalidate].
+     *
+     * @param resources the resources to restore, typically from a snapshot
+     * @return true if the resources were restored
+     */
+    fun restore(resources: Collection<HasMetadata>): Boolean {
+        synchronized(_allResources) {
+            if (_allResources.isNotEmpty()) {
+                return false
+            }
+            @Suppress("UNCHECKED_CAST")
+            val restored = resources.filter { isCorrectKind(it) } as List<R>
+            if (restored.isEmpty()) {
+                return false
+            }
+            logger<AbstractResourceOperator<*, *>>().debug("Restoring ${restored.size} stale $kind resources.")
+            _allResources.addAll(restored)
+            isStale = true
+            loads++
+            return true
+        }
+    }
+
+    /**
+     * Marks the cached resources as stale, ex. because the watch that keeps them in sync with the cluster failed.
+     * They are then stale until they are reconciled with the cluster by [revalidate].
+     */
+    fun markStale() {
+        synchronized(_allResources) {
+            isStale = true
         }
     }
 
+    /**
+     * Reconciles stale resources with the cluster: loads all resources from the cluster and replaces the stale ones.
+     * The stale resources are kept if loading fails.
+     *
+     * @return true if the resources in the cluster differ from the stale ones (by uid and resource version)
+     *
+     * @see restore
+     */
+    fun revalidate(): Boolean {
+        val stale = synchronized(_allResources) {
+            if (!isStale) {
+                return false
+            }
+            val stale = ArrayList(_allResources)
+            _allResources.clear()
+            isStale = false
+            stale
+        }
+        val loaded = try {
+            allResources // loads from cluster
+            cachedResources
+        } catch (e: RuntimeException) {
+            synchronized(_allResources) {
+                if (_allResources.isEmpty()) {
+                    _allResources.addAll(stale)
+                    isStale = true
+                }
+            }
+            throw e
+        }
+        return toVersions(stale) != toVersions(loaded)
+    }
+
+    private fun toVersions(resources: Collection<HasMetadata>): Map<String?, String?> {
+        return resources.associate { it.metadata?.uid to it.metadata?.resourceVersion }
+    }
+
     override fun added(resource: HasMetadata): Boolean {
         if (!isCorrectKind(resource)) {
             return false
@@ -39,10 +146,13 @@ abstract class AbstractResourceOperator<R : HasMetadata, C : Client>(protected v
         // don't add resource if different instance of same resource is already contained
         synchronized(_allResources) {
             @Suppress("UNCHECKED_CAST")
-            return when (val existing = _allResources.find { resource.isSameResource(it) }) {
-                null -> _allResources.add(resource as R)
+            return when (_allResources.find(resource)) {
+                null -> {
+                    _allResources.add(resource as R)
+                    true
+                }
                 resource -> false
-                else -> replace(existing, resource)
+                else -> _allResources.replace(resource as R)
             }
         }
     }
@@ -56,7 +166,7 @@ abstract class AbstractResourceOperator<R : HasMetadata, C : Client>(protected v
             // do not remove by instance equality (ex. when removal is triggered by resource watch)
             // or equals bcs instance to be removed can be different and not equals either
             // (#equals would not match bcs properties - ex. phase - changed)
-            return _allResources.removeIf { resource.isSameResource(it) }
+            return _allResources.remove(resource)
         }
     }
 
@@ -66,19 +176,9 @@ abstract class AbstractResourceOperator<R : HasMetadata, C : Client>(protected v
         }
         logger<AbstractResourceOperator<*, *>>().debug("Replacing resource ${resource.metadata.name}.")
         synchronized(_allResources) {
-            val toReplace = _allResources.find { resource.isSameResource(it) } ?: return false
-            return replace(toReplace, resource)
-        }
-    }
-
-    private fun replace(toReplace: R, replaceBy: HasMetadata): Boolean {
-        val indexOf = _allResources.indexOf(toReplace)
-        if (indexOf < 0) {
-            return false
+            @Suppress("UNCHECKED_CAST")
+            return _allResources.replace(resource as R)
         }
-        @Suppress("UNCHECKED_CAST")
-        _allResources[indexOf] = replaceBy as R
-        return true
     }
 
     override fun delete(resources: List<HasMetadata>, force: Boolean): Boolean {
@@ -12,27 +12,61 @@ package com.redhat.devtools.intellij.kubernetes.model.resource
 
 import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.dsl.ContainerResource
 import io.fabric8.kubernetes.client.dsl.Containerable
 import io.fabric8.kubernetes.client.dsl.ExecListener
 import io.fabric8.kubernetes.client.dsl.ExecWatch
+import io.fabric8.kubernetes.client.dsl.Loggable
 import io.fabric8.kubernetes.client.dsl.LogWatch
+import io.fabric8.kubernetes.client.dsl.PortForwardable
 import io.fabric8.kubernetes.client.dsl.Resource
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable
+import io.fabric8.kubernetes.client.dsl.TerminateTimeTailPrettyLoggable
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable
 import java.io.Closeable
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 
 interface IWatchableProcess<R: HasMetadata> : Closeable
 
 interface IWatchableLog<R: HasMetadata>: IWatchableProcess<R> {
-    fun watchLog(container: Container, resource: R, out: OutputStream): LogWatch?
+    fun watchLog(container: Container, resource: R, out: OutputStream, options: LogOptions = LogOptions.DEFAULT): LogWatch?
 }
 
-fun <R : HasMetadata> watchLog(container: Container, out: OutputStream, operation: Resource<R>): LogWatch? {
+fun <R : HasMetadata> watchLog(
+    container: Container,
+    out: OutputStream,
+    operation: Resource<R>,
+    options: LogOptions = LogOptions.DEFAULT
+): LogWatch? {
     @Suppress("UNCHECKED_CAST")
     val op = operation as? Containerable<String, ContainerResource>
         ?: return null
-    return op.inContainer(container.name)
-        ?.watchLog(out)
+    val inContainer: ContainerResource = op.inContainer(container.name)
+        ?: return null
+    val timestamped: TerminateTimeTailPrettyLoggable = if (options.timestamps) {
+        inContainer.usingTimestamps() ?: return null
+    } else {
+        inContainer
+    }
+    val previous: TimeTailPrettyLoggable = if (options.previous) {
+        timestamped.terminated() ?: return null
+    } else {
+        timestamped
+    }
+    val since: TailPrettyLoggable = when {
+        options.sinceTime != null -> previous.sinceTime(options.sinceTime)
+        options.sinceSeconds != null -> previous.sinceSeconds(options.sinceSeconds)
+        else -> previous
+    } ?: return null
+    val tail: Loggable = if (options.tailLines != null) {
+        since.tailingLines(options.tailLines)
+    } else {
+        since
+    } ?: return null
+    return tail.watchLog(out)
 }
 
 interface IWatchableExec<R: HasMetadata>: IWatchableProcess<R> {
@@ -53,3 +87,44 @@ fun <R: HasMetadata> watchExec(container: Container, listener: ExecListener, ope
 
     return op.exec("sh")
 }
+
+interface IExecutable<R: HasMetadata>: IWatchableProcess<R> {
+    fun exec(container: Container, resource: R, command: List<String>, listener: ExecListener): ExecWatch?
+}
+
+/**
+ * Executes the given command in the given container. Input, output and error are redirected, there's no terminal.
+ */
+fun <R: HasMetadata> exec(
+    container: Container,
+    command: List<String>,
+    listener: ExecListener,
+    operation: Resource<R>
+): ExecWatch? {
+    val containerId = container.name ?: return null
+    @Suppress("UNCHECKED_CAST")
+    val op = (operation as? Containerable<String, ContainerResource>)
+        ?.inContainer(containerId)
+        ?.redirectingInput()
+        ?.redirectingOutput()
+        ?.redirectingError()
+        ?.usingListener(listener)
+        ?: return null
+
+    return op.exec(*command.toTypedArray())
+}
+
+interface IWatchablePortForward<R: HasMetadata>: IWatchableProcess<R> {
+    fun portForward(resource: R, port: Int, input: ReadableByteChannel, output: WritableByteChannel): PortForward?
+}
+
+fun <R: HasMetadata> portForward(
+    port: Int,
+    input: ReadableByteChannel,
+    output: WritableByteChannel,
+    operation: Resource<R>
+): PortForward? {
+    val op = operation as? PortForwardable
+        ?: return null
+    return op.portForward(port, input, output)
+}
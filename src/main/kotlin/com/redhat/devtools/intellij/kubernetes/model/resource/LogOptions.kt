@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource
+
+/**
+ * Options that define which part of a container log is streamed.
+ * Logs are streamed from the beginning of the container if neither tail nor since are given.
+ *
+ * @param tailLines the number of lines at the end of the log to start streaming with, all lines if `null`
+ * @param sinceSeconds the number of seconds before now to start streaming at, ignored if [sinceTime] is given
+ * @param sinceTime the RFC 3339 timestamp to start streaming at (ex. `2025-05-04T12:00:00Z`)
+ * @param previous `true` if the log of the previous, terminated container should be streamed
+ * @param timestamps `true` if each line should be prefixed with the RFC 3339 timestamp at which it was logged
+ */
+data class LogOptions(
+    val tailLines: Int? = DEFAULT_TAIL_LINES,
+    val sinceSeconds: Int? = null,
+    val sinceTime: String? = null,
+    val previous: Boolean = false,
+    val timestamps: Boolean = false
+) {
+
+    companion object {
+        const val DEFAULT_TAIL_LINES = 1000
+
+        /** the last [DEFAULT_TAIL_LINES] lines of the log */
+        val DEFAULT = LogOptions()
+
+        /** the whole log since the container was started */
+        val ALL = LogOptions(tailLines = null)
+    }
+
+    /**
+     * Returns options that start streaming the given number of lines earlier.
+     * Returns these options if they are not bounded by a tail window.
+     *
+     * @param lines the number of lines to start earlier
+     * @param maxLines the maximum number of lines in the tail window
+     */
+    fun earlier(lines: Int, maxLines: Int = Int.MAX_VALUE): LogOptions {
+        val tail = tailLines ?: return this
+        return copy(tailLines = minOf(maxLines.toLong(), tail.toLong() + lines).toInt())
+    }
+}
@@ -11,6 +11,7 @@
 package com.redhat.devtools.intellij.kubernetes.model.resource
 
 import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
 import com.redhat.devtools.intellij.kubernetes.model.util.runWithoutServerSetProperties
 import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.HasMetadata
@@ -18,6 +19,7 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList
 import io.fabric8.kubernetes.client.Client
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.fabric8.kubernetes.client.KubernetesClientException
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.Watch
 import io.fabric8.kubernetes.client.Watcher
 import io.fabric8.kubernetes.client.dsl.ExecListener
@@ -26,6 +28,8 @@ import io.fabric8.kubernetes.client.dsl.LogWatch
 import io.fabric8.kubernetes.client.dsl.MixedOperation
 import io.fabric8.kubernetes.client.dsl.Resource
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 
 typealias NamespacedOperation<R> = MixedOperation<R, out KubernetesResourceList<R>, out Resource<R>>
 
@@ -51,12 +55,13 @@ abstract class NamespacedResourceOperator<R : HasMetadata, C: Client>(
                 if (_allResources.isEmpty()) {
                     val namespace = this.namespace
                     if (namespace != null) {
-                        _allResources.addAll(loadAllResources(namespace))
+                        _allResources.addAll(Diagnostics.instance.listed(kind) { loadAllResources(namespace) })
+                        loads++
                     } else {
                         logger<NamespacedResourceOperator<*, *>>().debug("Could not load $kind resources: no namespace set.")
                     }
                 }
-                return _allResources
+                return ArrayList(_allResources)
             }
         }
 
@@ -92,12 +97,12 @@ abstract class NamespacedResourceOperator<R : HasMetadata, C: Client>(
             ?.watch(typedWatcher)
     }
 
-    protected open fun watchLog(container: Container, resource: R, out: OutputStream): LogWatch? {
+    protected open fun watchLog(container: Container, resource: R, out: OutputStream, options: LogOptions): LogWatch? {
         val op = getOperation()
             ?.inNamespace(resourceNamespaceOrCurrent(resource))
             ?.withName(resource.metadata.name)
             ?: return null
-        return watchLog(container, out, op)
+        return watchLog(container, out, op, options)
     }
 
     protected open fun watchExec(container: Container, resource: R, listener: ExecListener): ExecWatch? {
@@ -108,6 +113,27 @@ abstract class NamespacedResourceOperator<R : HasMetadata, C: Client>(
         return watchExec(container, listener, operation)
     }
 
+    protected open fun exec(container: Container, resource: R, command: List<String>, listener: ExecListener): ExecWatch? {
+        val operation = getOperation()
+            ?.inNamespace(resourceNamespaceOrCurrent(resource))
+            ?.withName(resource.metadata.name)
+            ?: return null
+        return exec(container, command, listener, operation)
+    }
+
+    protected open fun portForward(
+        resource: R,
+        port: Int,
+        input: ReadableByteChannel,
+        output: WritableByteChannel
+    ): PortForward? {
+        val operation = getOperation()
+            ?.inNamespace(resourceNamespaceOrCurrent(resource))
+            ?.withName(resource.metadata.name)
+            ?: return null
+        return portForward(port, input, output, operation)
+    }
+
     override fun replace(resource: HasMetadata): HasMetadata? {
         @Suppress("UNCHECKED_CAST")
         val toReplace = resource as? R ?: return null
@@ -11,6 +11,7 @@
 package com.redhat.devtools.intellij.kubernetes.model.resource
 
 import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
 import com.redhat.devtools.intellij.kubernetes.model.util.isSameNamespace
 import com.redhat.devtools.intellij.kubernetes.model.util.runWithoutServerSetProperties
 import io.fabric8.kubernetes.api.model.Container
@@ -18,6 +19,7 @@ import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.KubernetesResourceList
 import io.fabric8.kubernetes.client.Client
 import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.Watch
 import io.fabric8.kubernetes.client.Watcher
 import io.fabric8.kubernetes.client.dsl.ExecListener
@@ -26,6 +28,8 @@ import io.fabric8.kubernetes.client.dsl.LogWatch
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation
 import io.fabric8.kubernetes.client.dsl.Resource
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 
 typealias NonNamespacedOperation<R> = NonNamespaceOperation<R, out KubernetesResourceList<R>, out Resource<R>>
 
@@ -39,9 +43,10 @@ abstract class NonNamespacedResourceOperator<R : HasMetadata, C : Client>(
         get() {
             synchronized(_allResources) {
                 if (_allResources.isEmpty()) {
-                    _allResources.addAll(loadAllResources())
+                    _allResources.addAll(Diagnostics.instance.listed(kind) { loadAllResources() })
+                    loads++
                 }
-                return _allResources
+                return ArrayList(_allResources)
             }
         }
 
@@ -67,11 +72,11 @@ abstract class NonNamespacedResourceOperator<R : HasMetadata, C : Client>(
             ?.watch(typedWatcher)
     }
 
-    open fun watchLog(container: Container, resource: R, out: OutputStream): LogWatch? {
+    open fun watchLog(container: Container, resource: R, out: OutputStream, options: LogOptions): LogWatch? {
         val operation = getOperation()
             ?.withName(resource.metadata.name)
             ?: return null
-        return watchLog(container, out, operation)
+        return watchLog(container, out, operation, options)
     }
 
     open fun watchExec(container: Container, resource: R, listener: ExecListener): ExecWatch? {
@@ -81,6 +86,20 @@ abstract class NonNamespacedResourceOperator<R : HasMetadata, C : Client>(
         return watchExec(container, listener, operation)
     }
 
+    open fun exec(container: Container, resource: R, command: List<String>, listener: ExecListener): ExecWatch? {
+        val operation = getOperation()
+            ?.withName(resource.metadata.name)
+            ?: return null
+        return exec(container, command, listener, operation)
+    }
+
+    open fun portForward(resource: R, port: Int, input: ReadableByteChannel, output: WritableByteChannel): PortForward? {
+        val operation = getOperation()
+            ?.withName(resource.metadata.name)
+            ?: return null
+        return portForward(port, input, output, operation)
+    }
+
     override fun replace(resource: HasMetadata): HasMetadata? {
         @Suppress("UNCHECKED_CAST")
         val toReplace = resource as? R ?: return null
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource
+
+import com.redhat.devtools.intellij.kubernetes.model.util.isSameResource
+import io.fabric8.kubernetes.api.model.HasMetadata
+
+/**
+ * A list of resources that is kept sorted by name (and namespace).
+ * Resources are inserted at their position when they are added, so that they don't need to be sorted
+ * each time they are listed. Lookups use a binary search on the name.
+ * This class is not thread-safe, callers need to synchronize.
+ */
+class SortedResources<R : HasMetadata> : AbstractList<R>() {
+
+    companion object {
+        val ORDER: Comparator<HasMetadata> = compareBy<HasMetadata, String?>(nullsFirst<String>()) { it.metadata?.name }
+            .thenBy(nullsFirst<String>()) { it.metadata?.namespace }
+    }
+
+    private val resources = ArrayList<R>()
+
+    override val size: Int
+        get() = resources.size
+
+    override fun get(index: Int): R {
+        return resources[index]
+    }
+
+    /**
+     * Inserts the given resource at its position.
+     * Doesn't check if the same resource is contained already.
+     *
+     * @param resource the resource to insert
+     * @return the index at which the resource was inserted
+     */
+    fun add(resource: R): Int {
+        val index = insertionPoint(resource)
+        resources.add(index, resource)
+        return index
+    }
+
+    /**
+     * Adds all the given resources and sorts them once.
+     *
+     * @param toAdd the resources to add
+     */
+    fun addAll(toAdd: Collection<R>) {
+        resources.addAll(toAdd)
+        resources.sortWith(ORDER)
+    }
+
+    /**
+     * Returns the resource that is the same resource as the given one.
+     * Returns `null` if there's none.
+     *
+     * @param resource the resource to look for
+     *
+     * @see isSameResource
+     */
+    fun find(resource: HasMetadata): R? {
+        val index = indexOfSame(resource)
+        return if (index < 0) {
+            null
+        } else {
+            resources[index]
+        }
+    }
+
+    /**
+     * Returns the index of the resource that is the same resource as the given one.
+     * Returns `-1` if there's none.
+     *
+     * @param resource the resource to look for
+     *
+     * @see isSameResource
+     */
+    fun indexOfSame(resource: HasMetadata): Int {
+        var index = firstWithName(resource.metadata?.name)
+        while (index < resources.size
+            && resources[index].metadata?.name == resource.metadata?.name) {
+            if (resource.isSameResource(resources[index])) {
+                return index
+            }
+            index++
+        }
+        return -1
+    }
+
+    /**
+     * Replaces the resource that is the same resource as the given one.
+     *
+     * @param resource the resource to replace the existing one with
+     * @return `true` if a resource was replaced
+     */
+    fun replace(resource: R): Boolean {
+        val index = indexOfSame(resource)
+        if (index < 0) {
+            return false
+        }
+        // same resource has same name and namespace, position is unchanged
+        resources[index] = resource
+        return true
+    }
+
+    /**
+     * Removes the resource that is the same resource as the given one.
+     *
+     * @param resource the resource to remove
+     * @return `true` if a resource was removed
+     */
+    fun remove(resource: HasMetadata): Boolean {
+        val index = indexOfSame(resource)
+        if (index < 0) {
+            return false
+        }
+        resources.removeAt(index)
+        return true
+    }
+
+    fun clear() {
+        resources.clear()
+    }
+
+    private fun insertionPoint(resource: HasMetadata): Int {
+        // insert after equal ones, keeps the order in which they were added
+        var low = 0
+        var high = resources.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (ORDER.compare(resources[middle], resource) <= 0) {
+                low = middle + 1
+            } else {
+                high = middle
+            }
+        }
+        return low
+    }
+
+    private fun firstWithName(name: String?): Int {
+        val byName = nullsFirst<String>()
+        var low = 0
+        var high = resources.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (byName.compare(resources[middle].metadata?.name, name) < 0) {
+                low = middle + 1
+            } else {
+                high = middle
+            }
+        }
+        return low
+    }
+}
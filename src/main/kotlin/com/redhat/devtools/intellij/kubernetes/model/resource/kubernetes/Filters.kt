@@ -58,6 +58,25 @@ class PodForJob(private val job: Job) : Predicate<Pod> {
 	}
 }
 
+/**
+ * Returns the filter that matches the pods of the given resource.
+ * Returns `null` if the given resource has no pods.
+ *
+ * @param resource the resource to return the pod filter for
+ */
+fun getPodFilter(resource: HasMetadata): Predicate<Pod>? {
+	return when (resource) {
+		is Deployment -> PodForDeployment(resource)
+		is StatefulSet -> PodForStatefulSet(resource)
+		is DaemonSet -> PodForDaemonSet(resource)
+		is ReplicaSet -> PodForReplicaSet(resource)
+		is ReplicationController -> PodForReplicationController(resource)
+		is Job -> PodForJob(resource)
+		is Service -> PodForService(resource)
+		else -> null
+	}
+}
+
 class DeploymentForPod(pod: Pod) : ResourceForPod<Deployment>(pod) {
 
 	override fun getSelectorLabels(resource: Deployment): Map<String, String> {
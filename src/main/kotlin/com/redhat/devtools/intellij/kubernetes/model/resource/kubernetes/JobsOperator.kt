@@ -13,6 +13,7 @@ package com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableExec
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableLog
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedOperation
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
@@ -38,8 +39,8 @@ class JobsOperator(client: ClientAdapter<out KubernetesClient>)
         return client.v1().jobs()
     }
 
-    override fun watchLog(container: Container, resource: Job, out: OutputStream): LogWatch? {
-        return super.watchLog(container, resource, out)
+    override fun watchLog(container: Container, resource: Job, out: OutputStream, options: LogOptions): LogWatch? {
+        return super.watchLog(container, resource, out, options)
     }
 
     override fun watchExec(container: Container, resource: Job, listener: ExecListener): ExecWatch? {
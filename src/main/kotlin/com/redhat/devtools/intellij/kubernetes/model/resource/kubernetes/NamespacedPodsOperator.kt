@@ -11,23 +11,31 @@
 package com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes
 
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.resource.IExecutable
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableExec
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableLog
+import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchablePortForward
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedOperation
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import io.fabric8.kubernetes.api.model.Container
 import io.fabric8.kubernetes.api.model.Pod
 import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.PortForward
 import io.fabric8.kubernetes.client.dsl.ExecListener
 import io.fabric8.kubernetes.client.dsl.ExecWatch
 import io.fabric8.kubernetes.client.dsl.LogWatch
 import java.io.OutputStream
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
 
 open class NamespacedPodsOperator(client: ClientAdapter<out KubernetesClient>):
     NamespacedResourceOperator<Pod, KubernetesClient>(client.get()),
     IWatchableLog<Pod>,
-    IWatchableExec<Pod> {
+    IWatchableExec<Pod>,
+    IWatchablePortForward<Pod>,
+    IExecutable<Pod> {
 
     companion object {
         val KIND = ResourceKind.create(Pod::class.java)
@@ -39,11 +47,24 @@ open class NamespacedPodsOperator(client: ClientAdapter<out KubernetesClient>):
         return client.pods()
     }
 
-    override fun watchLog(container: Container, resource: Pod, out: OutputStream): LogWatch? {
-        return super.watchLog(container, resource, out)
+    override fun watchLog(container: Container, resource: Pod, out: OutputStream, options: LogOptions): LogWatch? {
+        return super.watchLog(container, resource, out, options)
     }
 
     override fun watchExec(container: Container, resource: Pod, listener: ExecListener): ExecWatch? {
         return super.watchExec(container, resource, listener)
     }
+
+    override fun exec(container: Container, resource: Pod, command: List<String>, listener: ExecListener): ExecWatch? {
+        return super.exec(container, resource, command, listener)
+    }
+
+    override fun portForward(
+        resource: Pod,
+        port: Int,
+        input: ReadableByteChannel,
+        output: WritableByteChannel
+    ): PortForward? {
+        return super.portForward(resource, port, input, output)
+    }
 }
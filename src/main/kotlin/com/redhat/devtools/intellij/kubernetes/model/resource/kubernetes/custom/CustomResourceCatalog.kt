@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom
+
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import io.fabric8.kubernetes.api.model.PartialObjectMetadataList
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.impl.BaseClient
+import io.fabric8.kubernetes.client.utils.Serialization
+import io.fabric8.kubernetes.client.utils.URLUtils
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * A catalog of the custom resource definitions in a cluster that is cheap to load and to keep:
+ * The definitions are listed metadata-only, without their (possibly huge) schemas. Their group and plural are
+ * derived from their name (`<plural>.<group>`). A definition is only fully loaded once it's requested
+ * (ex. when its node is expanded).
+ * The number of custom resources for a definition is counted with a metadata-only list that is limited to 1 item
+ * and uses the number of remaining items that the cluster reports.
+ *
+ * @param client the client to list the definitions and custom resources with
+ * @param listMetadata lists the metadata of the resources at the given path, limited to the given number of items
+ */
+open class CustomResourceCatalog(
+    private val client: KubernetesClient,
+    /* for testing purposes */
+    private val listMetadata: (path: String, limit: Long?) -> PartialObjectMetadataList? = { path, limit ->
+        listMetadata(client, path, limit)
+    }
+) {
+
+    companion object {
+        private const val DEFINITIONS_PATH = "apis/apiextensions.k8s.io/v1/customresourcedefinitions"
+        private const val ACCEPT_METADATA =
+            "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1,application/json"
+        private const val TIMEOUT = 30L /* seconds */
+
+        private fun listMetadata(client: KubernetesClient, path: String, limit: Long?): PartialObjectMetadataList? {
+            val httpClient = (client as? BaseClient)?.httpClient ?: return null
+            val query = if (limit == null) {
+                ""
+            } else {
+                "?limit=$limit"
+            }
+            val request = httpClient.newHttpRequestBuilder()
+                .uri(URLUtils.join(client.masterUrl.toString(), path) + query)
+                .header("Accept", ACCEPT_METADATA)
+                .build()
+            val response = httpClient.sendAsync(request, String::class.java).get(TIMEOUT, TimeUnit.SECONDS)
+            if (!response.isSuccessful) {
+                throw ResourceException("Could not list metadata at $path: HTTP ${response.code()}")
+            }
+            return Serialization.unmarshal(response.body(), PartialObjectMetadataList::class.java)
+        }
+    }
+
+    @Volatile
+    private var entries: List<Entry>? = null
+    private val definitions: MutableMap<String, CustomResourceDefinition> = ConcurrentHashMap()
+    private val versions: MutableMap<String, String> = ConcurrentHashMap()
+    private val counts: MutableMap<String, Long> = ConcurrentHashMap()
+    /* groups whose custom resources were counted, counting happens once until the catalog is invalidated */
+    private val countedGroups: MutableSet<String> = ConcurrentHashMap.newKeySet()
+
+    /**
+     * Returns the api groups of all custom resource definitions.
+     */
+    fun getGroups(): List<Group> {
+        return getEntries()
+            .groupBy { entry -> entry.group }
+            .map { (group, entries) -> Group(group, entries.size) }
+    }
+
+    /**
+     * Returns the custom resource definitions in the given group.
+     * The definitions are not loaded, only their names are known.
+     *
+     * @param group the group to return the definitions for
+     */
+    fun getDefinitions(group: Group): List<Entry> {
+        return getEntries()
+            .filter { entry -> entry.group == group.name }
+    }
+
+    /**
+     * Returns the full custom resource definition for the given entry. Loads it if it wasn't loaded yet.
+     *
+     * @param entry the entry to return the definition for
+     */
+    fun getDefinition(entry: Entry): CustomResourceDefinition? {
+        definitions[entry.name]?.let { return it }
+        logger<CustomResourceCatalog>().debug("Loading custom resource definition ${entry.name}.")
+        val definition = client.apiextensions().v1().customResourceDefinitions()
+            .withName(entry.name)
+            .get()
+            ?: return null
+        definitions[entry.name] = definition
+        return definition
+    }
+
+    /**
+     * Returns the full custom resource definition for the given entry if it was loaded already.
+     * Returns `null` otherwise.
+     *
+     * @param entry the entry to return the definition for
+     */
+    fun getLoadedDefinition(entry: Entry): CustomResourceDefinition? {
+        return definitions[entry.name]
+    }
+
+    /**
+     * Counts the custom resources for each definition in the given group.
+     * A group is only counted once until the catalog is invalidated, definitions that were counted already
+     * and definitions whose resources can't be counted are skipped.
+     *
+     * @param group the group to count the custom resources of
+     *
+     * @see getCount
+     * @see invalidate
+     */
+    fun loadCounts(group: Group) {
+        if (!countedGroups.add(group.name)) {
+            return
+        }
+        val version = getPreferredVersion(group) ?: return
+        getDefinitions(group)
+            .filter { entry -> !counts.containsKey(entry.name) }
+            .forEach { entry ->
+                try {
+                    val list = listMetadata("apis/${group.name}/$version/${entry.plural}", 1) ?: return@forEach
+                    val count = toCount(list) ?: return@forEach
+                    counts[entry.name] = count
+                } catch (e: Exception) {
+                    logger<CustomResourceCatalog>().debug("Could not count custom resources ${entry.name}.", e)
+                }
+            }
+    }
+
+    /**
+     * Returns the number of custom resources that were counted for the given entry.
+     * Returns `null` if they were not counted.
+     *
+     * @param entry the entry to return the number of custom resources for
+     *
+     * @see loadCounts
+     */
+    fun getCount(entry: Entry): Long? {
+        return counts[entry.name]
+    }
+
+    /**
+     * Drops all definitions and counts so that they are listed again when requested.
+     */
+    fun invalidate() {
+        entries = null
+        definitions.clear()
+        versions.clear()
+        counts.clear()
+        countedGroups.clear()
+    }
+
+    private fun getEntries(): List<Entry> {
+        val existing = entries
+        if (existing != null) {
+            return existing
+        }
+        logger<CustomResourceCatalog>().debug("Listing custom resource definitions metadata-only.")
+        val listed = listMetadata(DEFINITIONS_PATH, null)
+            ?.items
+            ?.mapNotNull { item -> Entry.create(item.metadata?.name) }
+            ?: emptyList()
+        entries = listed
+        return listed
+    }
+
+    private fun getPreferredVersion(group: Group): String? {
+        return versions[group.name]
+            ?: client.getApiGroup(group.name)?.preferredVersion?.version
+                ?.also { version -> versions[group.name] = version }
+    }
+
+    private fun toCount(list: PartialObjectMetadataList): Long? {
+        val remaining = list.metadata?.remainingItemCount
+        return when {
+            remaining != null ->
+                list.items.size + remaining
+            list.metadata?.`continue`.isNullOrEmpty() ->
+                list.items.size.toLong()
+            else ->
+                // more items but cluster doesn't tell how many
+                null
+        }
+    }
+
+    /**
+     * An api group that holds custom resource definitions.
+     *
+     * @param name the name of the group
+     * @param definitions the number of definitions in this group
+     */
+    data class Group(val name: String, val definitions: Int)
+
+    /**
+     * A custom resource definition that is known by name only.
+     *
+     * @param name the name of the definition (`<plural>.<group>`)
+     * @param plural the plural of the custom resources
+     * @param group the api group of the custom resources
+     */
+    data class Entry(val name: String, val plural: String, val group: String) {
+        companion object {
+            fun create(name: String?): Entry? {
+                if (name == null
+                    || !name.contains('.')) {
+                    return null
+                }
+                return Entry(name, name.substringBefore('.'), name.substringAfter('.'))
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ package com.redhat.devtools.intellij.kubernetes.model.resource.openshift
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableExec
 import com.redhat.devtools.intellij.kubernetes.model.resource.IWatchableLog
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedOperation
 import com.redhat.devtools.intellij.kubernetes.model.resource.NamespacedResourceOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
@@ -37,8 +38,8 @@ class BuildsOperator(client: ClientAdapter<out OpenShiftClient>)
         return client.builds()
     }
 
-    override fun watchLog(container: Container, resource: Build, out: OutputStream): LogWatch? {
-        return super.watchLog(container, resource, out)
+    override fun watchLog(container: Container, resource: Build, out: OutputStream, options: LogOptions): LogWatch? {
+        return super.watchLog(container, resource, out, options)
     }
 
     override fun watchExec(container: Container, resource: Build, listener: ExecListener): ExecWatch? {
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.kubernetes.model.util
 
+import io.fabric8.kubernetes.api.model.AuthInfo
 import io.fabric8.kubernetes.api.model.Config
 import io.fabric8.kubernetes.api.model.NamedContext
 import io.fabric8.kubernetes.client.internal.KubeConfigUtils
@@ -18,6 +19,32 @@ import java.io.File
 object ConfigUtils {
 
     fun getFileWithCurrentContext(): Pair<File, Config>? {
+        return getKubeConfigs()
+            .filter { pair: Pair<File, Config> ->
+                pair.second.currentContext?.isNotEmpty() != null
+            }
+            .firstOrNull()
+    }
+
+    /**
+     * Returns the auth info for the user with the given name and the file that it was found in.
+     * The first user with the given name is returned if several kube config files have it.
+     *
+     * @param user the name of the user
+     */
+    fun getAuthInfo(user: String): Pair<File, AuthInfo>? {
+        return getKubeConfigs()
+            .mapNotNull { pair: Pair<File, Config> ->
+                val authInfo = pair.second.users
+                    ?.find { namedAuthInfo -> namedAuthInfo.name == user }
+                    ?.user
+                    ?: return@mapNotNull null
+                Pair(pair.first, authInfo)
+            }
+            .firstOrNull()
+    }
+
+    private fun getKubeConfigs(): Sequence<Pair<File, Config>> {
         return io.fabric8.kubernetes.client.Config.getKubeconfigFilenames()
             .asSequence()
             .mapNotNull { filepath: String? ->
@@ -35,10 +62,6 @@ object ConfigUtils {
                 val config = KubeConfigUtils.parseConfig(file) ?: return@mapNotNull null
                 Pair(file, config)
             }
-            .filter { pair: Pair<File, Config> ->
-                pair.second.currentContext?.isNotEmpty() != null
-            }
-            .firstOrNull()
     }
 
     fun getCurrentContext(config: Config): NamedContext? {
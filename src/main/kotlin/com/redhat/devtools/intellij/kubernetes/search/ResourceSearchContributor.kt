@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.search
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.progress.ProgressIndicator
+import com.intellij.openapi.project.Project
+import com.intellij.ui.ColoredListCellRenderer
+import com.intellij.ui.SimpleTextAttributes
+import com.intellij.util.Processor
+import com.redhat.devtools.intellij.kubernetes.editor.ResourceEditorFactory
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import io.fabric8.kubernetes.api.model.HasMetadata
+import javax.swing.JList
+import javax.swing.ListCellRenderer
+
+/**
+ * A contributor to "Search Everywhere" that finds the resources of the current context by name, namespace,
+ * labels and kind. Only resources that were loaded at least once are found, searching doesn't load any resources.
+ * Selecting a resource opens it in an editor.
+ *
+ * @see com.redhat.devtools.intellij.kubernetes.model.ResourceSearchIndex
+ */
+class ResourceSearchContributor(
+    private val project: Project?,
+    private val model: IResourceModel = IResourceModel.getInstance()
+) : SearchEverywhereContributor<HasMetadata> {
+
+    companion object {
+        const val ID = "KubernetesResources"
+        private const val MAX_RESULTS = 100
+    }
+
+    class Factory : SearchEverywhereContributorFactory<HasMetadata> {
+        override fun createContributor(initEvent: AnActionEvent): SearchEverywhereContributor<HasMetadata> {
+            return ResourceSearchContributor(initEvent.project)
+        }
+    }
+
+    override fun getSearchProviderId(): String = ID
+
+    override fun getGroupName(): String = "Kubernetes"
+
+    override fun getSortWeight(): Int = 1000
+
+    override fun showInFindResults(): Boolean = false
+
+    override fun isShownInSeparateTab(): Boolean = true
+
+    override fun fetchElements(
+        pattern: String,
+        progressIndicator: ProgressIndicator,
+        consumer: Processor<in HasMetadata>
+    ) {
+        if (pattern.isBlank()) {
+            return
+        }
+        try {
+            model.search(pattern, MAX_RESULTS)
+                .forEach { resource ->
+                    progressIndicator.checkCanceled()
+                    if (!consumer.process(resource)) {
+                        return
+                    }
+                }
+        } catch (e: RuntimeException) {
+            logger<ResourceSearchContributor>().warn("Could not search resources for \"$pattern\".", e)
+        }
+    }
+
+    override fun processSelectedItem(selected: HasMetadata, modifiers: Int, searchText: String): Boolean {
+        val project = project ?: return false
+        ResourceEditorFactory.instance.openEditor(selected, project)
+        return true
+    }
+
+    override fun getElementsRenderer(): ListCellRenderer<in HasMetadata> {
+        return object : ColoredListCellRenderer<HasMetadata>() {
+            override fun customizeCellRenderer(
+                list: JList<out HasMetadata>,
+                resource: HasMetadata?,
+                index: Int,
+                selected: Boolean,
+                hasFocus: Boolean
+            ) {
+                if (resource == null) {
+                    return
+                }
+                append(resource.metadata?.name ?: "<unknown>")
+                val namespace = resource.metadata?.namespace
+                val location = if (namespace.isNullOrEmpty()) {
+                    resource.kind
+                } else {
+                    "${resource.kind} in $namespace"
+                }
+                append(" $location", SimpleTextAttributes.GRAYED_ATTRIBUTES)
+            }
+        }
+    }
+
+    override fun getDataForItem(element: HasMetadata, dataId: String): Any? {
+        return null
+    }
+}
@@ -30,6 +30,12 @@ class Settings: SimplePersistentStateComponent<SettingsState>(SettingsState()) {
     companion object {
         const val PROP_EDITOR_SYNC_ENABLED: String = "com.redhat.devtools.intellij.kubernetes.settings.editor.notifications"
         const val EDITOR_SYNC_ENABLED_DEFAULT = true
+        const val PROP_WATCH_GRACE_PERIOD: String = "com.redhat.devtools.intellij.kubernetes.settings.watch.gracePeriod"
+        const val WATCH_GRACE_PERIOD_DEFAULT = 60 /* seconds */
+        const val PROP_WATCH_LIMIT: String = "com.redhat.devtools.intellij.kubernetes.settings.watch.limit"
+        const val WATCH_LIMIT_DEFAULT = 20
+        const val PROP_CUSTOM_RESOURCE_COUNTS: String = "com.redhat.devtools.intellij.kubernetes.settings.customResources.counts"
+        const val CUSTOM_RESOURCE_COUNTS_DEFAULT = false
 
         fun getInstance(): Settings? {
             return try {
@@ -53,6 +59,51 @@ class Settings: SimplePersistentStateComponent<SettingsState>(SettingsState()) {
         return state.editorSyncEnabled
     }
 
+    fun setWatchGracePeriod(seconds: Int) {
+        val current = state.watchGracePeriod
+        if (current != seconds) {
+            state.watchGracePeriod = seconds
+            notifyListeners(PROP_WATCH_GRACE_PERIOD, seconds.toString())
+        }
+    }
+
+    /**
+     * Returns the time in seconds that the watch of a collapsed folder is kept before it is stopped.
+     */
+    fun getWatchGracePeriod(): Int {
+        return state.watchGracePeriod
+    }
+
+    fun setWatchLimit(limit: Int) {
+        val current = state.watchLimit
+        if (current != limit) {
+            state.watchLimit = limit
+            notifyListeners(PROP_WATCH_LIMIT, limit.toString())
+        }
+    }
+
+    /**
+     * Returns the maximum number of watches that are kept per context.
+     */
+    fun getWatchLimit(): Int {
+        return state.watchLimit
+    }
+
+    fun setCustomResourceCountsEnabled(enabled: Boolean) {
+        val wasEnabled = state.customResourceCountsEnabled
+        if (wasEnabled != enabled) {
+            state.customResourceCountsEnabled = enabled
+            notifyListeners(PROP_CUSTOM_RESOURCE_COUNTS, enabled.toString())
+        }
+    }
+
+    /**
+     * Returns `true` if the number of custom resources is displayed for each custom resource definition.
+     */
+    fun isCustomResourceCountsEnabled(): Boolean {
+        return state.customResourceCountsEnabled
+    }
+
     private fun notifyListeners(property: String, value: String?) {
         val listener = ApplicationManager.getApplication().messageBus.syncPublisher(SettingsChangeListener.CHANGED)
         listener?.changed(property, value)
@@ -60,5 +111,8 @@ class Settings: SimplePersistentStateComponent<SettingsState>(SettingsState()) {
 
     class SettingsState: BaseState() {
         var editorSyncEnabled: Boolean by property(EDITOR_SYNC_ENABLED_DEFAULT)
+        var watchGracePeriod: Int by property(WATCH_GRACE_PERIOD_DEFAULT)
+        var watchLimit: Int by property(WATCH_LIMIT_DEFAULT)
+        var customResourceCountsEnabled: Boolean by property(CUSTOM_RESOURCE_COUNTS_DEFAULT)
     }
 }
\ No newline at end of file
@@ -11,16 +11,26 @@
 package com.redhat.devtools.intellij.kubernetes.settings
 
 import com.intellij.openapi.observable.properties.AtomicBooleanProperty
+import com.intellij.openapi.observable.properties.AtomicProperty
 import com.intellij.openapi.options.BoundConfigurable
 import com.intellij.openapi.options.SearchableConfigurable
 import com.intellij.openapi.ui.DialogPanel
+import com.intellij.ui.dsl.builder.bindIntText
 import com.intellij.ui.dsl.builder.bindSelected
 import com.intellij.ui.dsl.builder.panel
 import org.jetbrains.annotations.NonNls
 
-class SettingsComponent(editorSyncEnabled: Boolean):  BoundConfigurable("Editor"), SearchableConfigurable {
+class SettingsComponent(
+    editorSyncEnabled: Boolean,
+    watchGracePeriod: Int,
+    watchLimit: Int,
+    customResourceCountsEnabled: Boolean
+):  BoundConfigurable("Editor"), SearchableConfigurable {
 
     private var editorSyncEnabled = AtomicBooleanProperty(editorSyncEnabled)
+    private var watchGracePeriod = AtomicProperty(watchGracePeriod)
+    private var watchLimit = AtomicProperty(watchLimit)
+    private var customResourceCountsEnabled = AtomicBooleanProperty(customResourceCountsEnabled)
 
     override fun createPanel(): DialogPanel {
         return panel {
@@ -29,6 +39,23 @@ class SettingsComponent(editorSyncEnabled: Boolean):  BoundConfigurable("Editor"
                     .bindSelected(editorSyncEnabled)
                     .comment("If unchecked, no local or remote changes are notified in the editor.")
             }
+            group("Resource Tree") {
+                row("Keep watching collapsed folders for (seconds):") {
+                    intTextField(0..3600)
+                        .bindIntText(watchGracePeriod)
+                        .comment("Folders that are expanded again within this time don't need to be reloaded.")
+                }
+                row("Maximum number of watches per cluster:") {
+                    intTextField(1..500)
+                        .bindIntText(watchLimit)
+                        .comment("Watches of collapsed folders are stopped, least recently used first, once there are more.")
+                }
+                row {
+                    checkBox("Show number of custom resources")
+                        .bindSelected(customResourceCountsEnabled)
+                        .comment("Counts the resources of each custom resource definition in a group when the group is expanded.")
+                }
+            }
         }
     }
 
@@ -40,6 +67,30 @@ class SettingsComponent(editorSyncEnabled: Boolean):  BoundConfigurable("Editor"
         return editorSyncEnabled.get()
     }
 
+    fun setWatchGracePeriod(seconds: Int) {
+        watchGracePeriod.set(seconds)
+    }
+
+    fun getWatchGracePeriod(): Int {
+        return watchGracePeriod.get()
+    }
+
+    fun setWatchLimit(limit: Int) {
+        watchLimit.set(limit)
+    }
+
+    fun getWatchLimit(): Int {
+        return watchLimit.get()
+    }
+
+    fun setCustomResourceCountsEnabled(enabled: Boolean) {
+        customResourceCountsEnabled.set(enabled)
+    }
+
+    fun isCustomResourceCountsEnabled(): Boolean {
+        return customResourceCountsEnabled.get()
+    }
+
     override fun getId(): String {
         return "kubernetes.editor"
     }
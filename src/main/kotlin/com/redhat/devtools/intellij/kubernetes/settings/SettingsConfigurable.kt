@@ -11,7 +11,10 @@
 package com.redhat.devtools.intellij.kubernetes.settings
 
 import com.intellij.openapi.options.SearchableConfigurable
+import com.redhat.devtools.intellij.kubernetes.settings.Settings.Companion.CUSTOM_RESOURCE_COUNTS_DEFAULT
 import com.redhat.devtools.intellij.kubernetes.settings.Settings.Companion.EDITOR_SYNC_ENABLED_DEFAULT
+import com.redhat.devtools.intellij.kubernetes.settings.Settings.Companion.WATCH_GRACE_PERIOD_DEFAULT
+import com.redhat.devtools.intellij.kubernetes.settings.Settings.Companion.WATCH_LIMIT_DEFAULT
 import org.jetbrains.annotations.Nls
 import javax.swing.JComponent
 
@@ -32,21 +35,35 @@ internal class SettingsConfigurable: SearchableConfigurable {
     }
 
     override fun createComponent(): JComponent? {
-        this.component = SettingsComponent(isEditorSyncEnabled())
+        this.component = SettingsComponent(
+            isEditorSyncEnabled(),
+            getWatchGracePeriod(),
+            getWatchLimit(),
+            isCustomResourceCountsEnabled()
+        )
         return this.component.createPanel()
     }
 
     override fun isModified(): Boolean {
         return component.isEditorSyncDisabled() != isEditorSyncEnabled()
+                || component.getWatchGracePeriod() != getWatchGracePeriod()
+                || component.getWatchLimit() != getWatchLimit()
+                || component.isCustomResourceCountsEnabled() != isCustomResourceCountsEnabled()
     }
 
     override fun apply() {
         val editorNotificationsDisabled = component.isEditorSyncDisabled()
         setEditorSyncEnabled(editorNotificationsDisabled)
+        Settings.getInstance()?.setWatchGracePeriod(component.getWatchGracePeriod())
+        Settings.getInstance()?.setWatchLimit(component.getWatchLimit())
+        Settings.getInstance()?.setCustomResourceCountsEnabled(component.isCustomResourceCountsEnabled())
     }
 
     override fun reset() {
         component.setEditorSyncDisabled(isEditorSyncEnabled())
+        component.setWatchGracePeriod(getWatchGracePeriod())
+        component.setWatchLimit(getWatchLimit())
+        component.setCustomResourceCountsEnabled(isCustomResourceCountsEnabled())
     }
 
     override fun getId(): String = ID
@@ -55,6 +72,18 @@ internal class SettingsConfigurable: SearchableConfigurable {
         return Settings.getInstance()?.isEditorSyncEnabled() ?: EDITOR_SYNC_ENABLED_DEFAULT
     }
 
+    private fun getWatchGracePeriod(): Int {
+        return Settings.getInstance()?.getWatchGracePeriod() ?: WATCH_GRACE_PERIOD_DEFAULT
+    }
+
+    private fun getWatchLimit(): Int {
+        return Settings.getInstance()?.getWatchLimit() ?: WATCH_LIMIT_DEFAULT
+    }
+
+    private fun isCustomResourceCountsEnabled(): Boolean {
+        return Settings.getInstance()?.isCustomResourceCountsEnabled() ?: CUSTOM_RESOURCE_COUNTS_DEFAULT
+    }
+
     private fun setEditorSyncEnabled(enabled: Boolean) {
         Settings.getInstance()?.setEditorSyncEnabled(enabled)
     }
@@ -23,15 +23,19 @@ abstract class AbstractTreeStructureContribution(override val model: IResourceMo
 
     protected open val elementsTree: List<ElementNode<*>> = emptyList()
 
+    /* created lazily, elementsTree is initialized by subclasses */
+    private val dispatch by lazy { ElementNodeDispatch(elementsTree) }
+
     override fun getChildElements(element: Any): Collection<Any> {
-        val node = elementsTree.find { it.isApplicableFor(element) } ?: return emptyList()
+        val node = dispatch.find(element) ?: return emptyList()
         return node.getChildElements(element)
     }
 
     override fun getParentElement(element: Any): Any? {
         return try {
             val kind = getResourceKind(element)
-            return elementsTree.first { it.getChildrenKind() == kind }
+            return dispatch.findByChildrenKind(kind)
+                ?: throw NoSuchElementException("No element has children of kind $kind.")
         } catch (e: ResourceException) {
             // default to null to allow tree structure to choose default parent element
             null
@@ -44,7 +48,7 @@ abstract class AbstractTreeStructureContribution(override val model: IResourceMo
     }
 
     override fun createDescriptor(element: Any, parent: NodeDescriptor<*>?, project: Project): NodeDescriptor<*>? {
-        val childrenKind = elementsTree.find { it.isApplicableFor(element) }?.getChildrenKind()
+        val childrenKind = getChildrenKind(element)
         return descriptorFactory().invoke(element, childrenKind, parent, model, project)
     }
 
@@ -66,17 +70,56 @@ abstract class AbstractTreeStructureContribution(override val model: IResourceMo
         return null
     }
 
+    override fun getChildrenKind(element: Any): ResourceKind<out HasMetadata>? {
+        return dispatch.find(element)?.getChildrenKind()
+    }
+
+    override fun isPrefetched(element: Any): Boolean {
+        return dispatch.find(element)?.isPrefetched() ?: true
+    }
+
     class ElementNode<T> {
 
         private lateinit var applicableExpression: (element: Any) -> Boolean
+        private var applicableElement: Any? = null
+        private var applicableType: Class<*>? = null
         private var childrenKind: ResourceKind<out HasMetadata>? = null
         private var childElementsProvider: ((element: T) -> Collection<Any>)? = null
+        private var prefetched = true
 
         fun applicableIf(provider: (element: Any) -> Boolean): ElementNode<T> {
             this.applicableExpression = provider
             return this
         }
 
+        /**
+         * Applies this node to the given element only (ex. a folder).
+         * Allows the node to be looked up by element instead of being evaluated.
+         */
+        fun applicableTo(element: Any): ElementNode<T> {
+            this.applicableElement = element
+            this.applicableExpression = { it == element }
+            return this
+        }
+
+        /**
+         * Applies this node to the elements of the given type (ex. pods).
+         * Allows the node to be looked up by type instead of being evaluated.
+         */
+        fun applicableToType(type: Class<*>): ElementNode<T> {
+            this.applicableType = type
+            this.applicableExpression = { type.isInstance(it) }
+            return this
+        }
+
+        fun getApplicableElement(): Any? {
+            return applicableElement
+        }
+
+        fun getApplicableType(): Class<*>? {
+            return applicableType
+        }
+
         fun childrenKind(provider: () -> ResourceKind<out HasMetadata>): ElementNode<T> {
             this.childrenKind = provider.invoke()
             return this
@@ -87,6 +130,19 @@ abstract class AbstractTreeStructureContribution(override val model: IResourceMo
             return this
         }
 
+        /**
+         * Does not prefetch the children when the parent of the element is expanded.
+         * Children that are costly to list should not be loaded before they are displayed (ex. all pods in the cluster).
+         */
+        fun notPrefetched(): ElementNode<T> {
+            this.prefetched = false
+            return this
+        }
+
+        fun isPrefetched(): Boolean {
+            return prefetched
+        }
+
         fun isApplicableFor(element: Any): Boolean {
             return applicableExpression.invoke(element)
         }
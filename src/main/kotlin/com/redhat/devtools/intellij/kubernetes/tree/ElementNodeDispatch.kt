@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.tree.AbstractTreeStructureContribution.ElementNode
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Looks up the [ElementNode] that applies to a given element without evaluating all the nodes one by one:
+ * Nodes that apply to a single element (ex. a folder) are looked up by this element,
+ * nodes that apply to a type (ex. pods) are looked up by the class of the element. The latter are cached per class.
+ * Only nodes with other conditions (ex. the current context) are evaluated.
+ * The first node in the given order that applies is returned, the same as if all nodes were evaluated in turn.
+ *
+ * @param nodes the element nodes to look up, in the order they are evaluated
+ */
+class ElementNodeDispatch(private val nodes: List<ElementNode<*>>) {
+
+    companion object {
+        private const val NONE = Int.MAX_VALUE
+    }
+
+    private val byElement: Map<Any, Int> = HashMap<Any, Int>().apply {
+        nodes.forEachIndexed { index, node ->
+            val element = node.getApplicableElement() ?: return@forEachIndexed
+            putIfAbsent(element, index)
+        }
+    }
+
+    /* the classes of the elements that nodes apply to, other elements are not looked up by element */
+    private val elementClasses: Set<Class<*>> = byElement.keys
+        .map { element -> element.javaClass }
+        .toSet()
+
+    private val byType: List<Pair<Class<*>, Int>> = nodes
+        .mapIndexedNotNull { index, node ->
+            node.getApplicableType()?.let { type -> Pair(type, index) }
+        }
+
+    private val byCondition: List<Int> = nodes
+        .mapIndexedNotNull { index, node ->
+            if (node.getApplicableElement() == null
+                && node.getApplicableType() == null) {
+                index
+            } else {
+                null
+            }
+        }
+
+    private val byChildrenKind: Map<ResourceKind<out HasMetadata>, ElementNode<*>> =
+        HashMap<ResourceKind<out HasMetadata>, ElementNode<*>>().apply {
+            nodes.forEach { node ->
+                val kind = node.getChildrenKind() ?: return@forEach
+                putIfAbsent(kind, node)
+            }
+        }
+
+    private val typeMatches: MutableMap<Class<*>, Int> = ConcurrentHashMap()
+
+    /**
+     * Returns the first node that applies to the given element. Returns `null` if none applies.
+     *
+     * @param element the element to look up the node for
+     */
+    fun find(element: Any): ElementNode<*>? {
+        val first = minOf(findByElement(element), findByType(element.javaClass))
+        val index = byCondition
+            .firstOrNull { index -> index < first
+                    && nodes[index].isApplicableFor(element) }
+            ?: first
+        return nodes.getOrNull(index)
+    }
+
+    /**
+     * Returns the first node whose children are of the given kind. Returns `null` if there's none.
+     *
+     * @param kind the kind of the children
+     */
+    fun findByChildrenKind(kind: ResourceKind<out HasMetadata>?): ElementNode<*>? {
+        return byChildrenKind[kind ?: return null]
+    }
+
+    private fun findByElement(element: Any): Int {
+        // dont hash elements (ex. resources) that can't be a key
+        if (!elementClasses.contains(element.javaClass)) {
+            return NONE
+        }
+        return byElement[element] ?: NONE
+    }
+
+    private fun findByType(type: Class<*>): Int {
+        return typeMatches.getOrPut(type) {
+            byType.firstOrNull { (applicableType, _) -> applicableType.isAssignableFrom(type) }
+                ?.second
+                ?: NONE
+        }
+    }
+}
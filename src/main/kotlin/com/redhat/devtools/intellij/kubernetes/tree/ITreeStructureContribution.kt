@@ -14,7 +14,9 @@ import com.intellij.ide.util.treeView.NodeDescriptor
 import com.intellij.openapi.project.Project
 import com.intellij.ui.tree.LeafState
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Descriptor
+import io.fabric8.kubernetes.api.model.HasMetadata
 
 interface ITreeStructureContribution {
 
@@ -29,4 +31,20 @@ interface ITreeStructureContribution {
      * Returns {@code null} if this contribution has no answer for the given element.
      */
     fun getLeafState(element: Any): LeafState?
+
+    /**
+     * Returns the kind of the resources that are the children of the given element.
+     * Returns {@code null} if the children of the given element are no resources or this contribution has no answer.
+     */
+    fun getChildrenKind(element: Any): ResourceKind<out HasMetadata>? {
+        return null
+    }
+
+    /**
+     * Returns {@code false} if the children of the given element should not be prefetched when its parent is expanded
+     * (ex. because they are listed in all namespaces).
+     */
+    fun isPrefetched(element: Any): Boolean {
+        return true
+    }
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.context.KubernetesContext
 import com.redhat.devtools.intellij.kubernetes.model.context.LazyOpenShiftContext
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceCatalog
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceDefinitionsOperator
 import com.redhat.devtools.intellij.kubernetes.model.util.getHighestPriorityVersion
 import com.redhat.devtools.intellij.kubernetes.tree.AbstractTreeStructureContribution.DescriptorFactory
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.NamespacesFolder
@@ -38,7 +40,6 @@ import io.fabric8.kubernetes.api.model.Pod
 import io.fabric8.kubernetes.api.model.ReplicationController
 import io.fabric8.kubernetes.api.model.Secret
 import io.fabric8.kubernetes.api.model.Service
-import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition
 import io.fabric8.kubernetes.api.model.apps.DaemonSet
 import io.fabric8.kubernetes.api.model.apps.Deployment
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet
@@ -102,7 +103,9 @@ object KubernetesDescriptors {
 					|| element is ReplicaSet
 					|| element is ReplicationController ->
 					ResourceDescriptor(element, childrenKind, parent, model, project)
-			element is CustomResourceDefinition ->
+			element is CustomResourceCatalog.Group ->
+				CustomResourceGroupDescriptor(element, parent, model, project)
+			element is CustomResourceCatalog.Entry ->
 				CustomResourceDefinitionDescriptor(element, parent, model, project)
 
 			else ->
@@ -217,36 +220,87 @@ object KubernetesDescriptors {
 		}
 	}
 
+	private class CustomResourceGroupDescriptor(
+		group: CustomResourceCatalog.Group,
+		parent: NodeDescriptor<*>?,
+		model: IResourceModel,
+		project: Project
+	) : TreeStructure.Descriptor<CustomResourceCatalog.Group>(
+		group,
+		null,
+		parent,
+		model,
+		project
+	) {
+		override fun getLabel(element: CustomResourceCatalog.Group?): String {
+			return element?.name ?: "unknown"
+		}
+
+		override fun invalidate() {
+			// lists definitions again
+			model.invalidate(CustomResourceDefinitionsOperator.KIND)
+		}
+	}
+
+	/**
+	 * A descriptor for a custom resource definition that is only known by name.
+	 * The definition is loaded once its custom resources are listed or watched.
+	 */
 	private class CustomResourceDefinitionDescriptor(
-		definition: CustomResourceDefinition,
+		entry: CustomResourceCatalog.Entry,
 		parent: NodeDescriptor<*>?,
 		model: IResourceModel,
 		project: Project
-	) : ResourceDescriptor<CustomResourceDefinition>(
-		definition,
-		ResourceKind.create(definition.spec),
+	) : TreeStructure.Descriptor<CustomResourceCatalog.Entry>(
+		entry,
+		null,
 		parent,
 		model,
 		project
 	) {
-		override fun getLabel(element: CustomResourceDefinition?): String {
-			return when {
-				element == null ->
-					"unknown"
-				element.spec?.names?.plural?.isNotBlank()  ?: false ->
-					element.spec!!.names!!.plural
-				else ->
-					element.metadata.name
+		/* the kind that [watchChildren] watched, released in [stopWatchChildren] even if the catalog was invalidated */
+		@Volatile
+		private var watched: ResourceKind<out HasMetadata>? = null
+
+		override val childrenKind: ResourceKind<out HasMetadata>?
+			get() {
+				val definition = getCatalog()?.getLoadedDefinition(element ?: return null) ?: return null
+				return ResourceKind.create(definition.spec)
 			}
+
+		override fun getLabel(element: CustomResourceCatalog.Entry?): String {
+			return element?.plural ?: "unknown"
 		}
 
-		override fun getSubLabel(element: CustomResourceDefinition): String? {
-			return " (${element.spec.group}/${getHighestPriorityVersion(element.spec)})"
+		override fun getSubLabel(element: CustomResourceCatalog.Entry): String? {
+			val catalog = getCatalog() ?: return null
+			val version = catalog.getLoadedDefinition(element)?.spec?.let { spec -> getHighestPriorityVersion(spec) }
+			val count = catalog.getCount(element)?.let { count -> "($count)" }
+			return listOfNotNull(version, count)
+				.joinToString(" ")
+				.ifEmpty { null }
 		}
 
 		override fun watchChildren() {
-			val toWatch = element ?: return
-			model.watch(toWatch)
+			val entry = element ?: return
+			val definition = getCatalog()?.getDefinition(entry) ?: return
+			model.watch(definition)
+			watched = ResourceKind.create(definition.spec)
+		}
+
+		override fun stopWatchChildren() {
+			val kind = watched ?: return
+			watched = null
+			model.releaseWatch(kind)
+		}
+
+		override fun invalidate() {
+			val kind = childrenKind ?: return
+			model.invalidate(kind)
+		}
+
+		private fun getCatalog(): CustomResourceCatalog? {
+			return model.getCurrentContext()?.getCustomResourceCatalog()
 		}
 	}
 
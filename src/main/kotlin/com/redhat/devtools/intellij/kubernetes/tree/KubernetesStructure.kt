@@ -17,9 +17,10 @@ import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.*
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceCatalog
 import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom.CustomResourceDefinitionsOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.openshift.ReplicationControllersOperator
-import com.redhat.devtools.intellij.kubernetes.model.resourceName
+import com.redhat.devtools.intellij.kubernetes.settings.Settings
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.CONFIGURATION
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.CONFIG_MAPS
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.CRONJOBS
@@ -45,7 +46,6 @@ import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.WORKLOADS
 import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Folder
 import io.fabric8.kubernetes.api.model.*
-import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition
 import io.fabric8.kubernetes.api.model.apps.DaemonSet
 import io.fabric8.kubernetes.api.model.apps.Deployment
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet
@@ -111,12 +111,11 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createNamespacesElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == NAMESPACES }
+					applicableTo(NAMESPACES)
 					children {
 						model.resources(NamespacesOperator.KIND)
 								.inNoNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 		)
@@ -125,7 +124,7 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createPodElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Pod> {
-					applicableIf { it is Pod }
+					applicableToType(Pod::class.java)
 					children {
 						KubernetesDescriptors.createPodDescriptorFactories(it)
 					}
@@ -136,23 +135,23 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createNodesElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == NODES }
+					applicableTo(NODES)
 					childrenKind { NodesOperator.KIND }
 					children {
 						model.resources(NodesOperator.KIND)
 								.inNoNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Node> {
-					applicableIf { it is Node }
+					applicableToType(Node::class.java)
 					childrenKind { AllPodsOperator.KIND }
+					// pods in all namespaces
+					notPrefetched()
 					children {
 						model.resources(AllPodsOperator.KIND)
 								.inAnyNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				}
 		)
@@ -161,7 +160,7 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createWorkloadElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == WORKLOADS }
+					applicableTo(WORKLOADS)
 					children {
 						listOf(DEPLOYMENTS,
 								STATEFULSETS,
@@ -174,138 +173,125 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 					}
 				},
 				element<Folder> {
-					applicableIf { it == DEPLOYMENTS }
+					applicableTo(DEPLOYMENTS)
 					childrenKind { DeploymentsOperator.KIND }
 					children {
 						model.resources(DeploymentsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Deployment> {
-					applicableIf { it is Deployment }
+					applicableToType(Deployment::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 								.inCurrentNamespace()
 								.filtered(PodForDeployment(it))
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == STATEFULSETS }
+					applicableTo(STATEFULSETS)
 					childrenKind { StatefulSetsOperator.KIND }
 					children {
 						model.resources(StatefulSetsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<StatefulSet> {
-					applicableIf { it is StatefulSet }
+					applicableToType(StatefulSet::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 								.inCurrentNamespace()
 								.filtered(PodForStatefulSet(it))
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == DAEMONSETS }
+					applicableTo(DAEMONSETS)
 					childrenKind { DaemonSetsOperator.KIND }
 					children {
 						model.resources(DaemonSetsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<DaemonSet> {
-					applicableIf { it is DaemonSet }
+					applicableToType(DaemonSet::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 								.inCurrentNamespace()
 								.filtered(PodForDaemonSet(it))
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == JOBS }
+					applicableTo(JOBS)
 					childrenKind { JobsOperator.KIND }
 					children {
 						model.resources(JobsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Job> {
-					applicableIf { it is Job }
+					applicableToType(Job::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 							.inCurrentNamespace()
 							.filtered(PodForJob(it))
 							.list()
-							.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == CRONJOBS }
+					applicableTo(CRONJOBS)
 					childrenKind { CronJobsOperator.KIND }
 					children {
 						model.resources(CronJobsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == PODS }
+					applicableTo(PODS)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == REPLICASETS }
+					applicableTo(REPLICASETS)
 					childrenKind { ReplicaSetsOperator.KIND }
 					children {
 						model.resources(ReplicaSetsOperator.KIND)
 							.inCurrentNamespace()
 							.list()
-							.sortedBy(resourceName)
 					}
 				},
 				element<ReplicaSet> {
-					applicableIf { it is ReplicaSet }
+					applicableToType(ReplicaSet::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 							.inCurrentNamespace()
 							.filtered(PodForReplicaSet(it))
 							.list()
-							.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == REPLICATIONCONTROLLERS }
+					applicableTo(REPLICATIONCONTROLLERS)
 					childrenKind { ReplicationControllersOperator.KIND }
 					children {
 						model.resources(ReplicationControllersOperator.KIND)
 							.inCurrentNamespace()
 							.list()
-							.sortedBy(resourceName)
 					}
 				}
 		)
@@ -314,7 +300,7 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createNetworkElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == NETWORK }
+					applicableTo(NETWORK)
 					children {
 						listOf(
 								SERVICES,
@@ -323,44 +309,40 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 					}
 				},
 				element<Folder> {
-					applicableIf { it == SERVICES }
+					applicableTo(SERVICES)
 					childrenKind { ServicesOperator.KIND }
 					children {
 						model.resources(ServicesOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Service> {
-					applicableIf { it is Service }
+					applicableToType(Service::class.java)
 					childrenKind { NamespacedPodsOperator.KIND }
 					children {
 						model.resources(NamespacedPodsOperator.KIND)
 								.inCurrentNamespace()
 								.filtered(PodForService(it))
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == ENDPOINTS }
+					applicableTo(ENDPOINTS)
 					childrenKind { EndpointsOperator.KIND }
 					children {
 						model.resources(EndpointsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == INGRESS }
+					applicableTo(INGRESS)
 					childrenKind { IngressOperator.KIND }
 					children {
 						model.resources(IngressOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				}
 		)
@@ -369,7 +351,7 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createStorageElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == STORAGE }
+					applicableTo(STORAGE)
 					children {
 						listOf(
 								PERSISTENT_VOLUMES,
@@ -378,32 +360,29 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 					}
 				},
 				element<Folder> {
-					applicableIf { it == PERSISTENT_VOLUMES }
+					applicableTo(PERSISTENT_VOLUMES)
 					children {
 						model.resources(PersistentVolumesOperator.KIND)
 								.inAnyNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == PERSISTENT_VOLUME_CLAIMS }
+					applicableTo(PERSISTENT_VOLUME_CLAIMS)
 					childrenKind { PersistentVolumeClaimsOperator.KIND }
 					children {
 						model.resources(PersistentVolumeClaimsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == STORAGE_CLASSES }
+					applicableTo(STORAGE_CLASSES)
 					childrenKind { StorageClassesOperator.KIND }
 					children {
 						model.resources(StorageClassesOperator.KIND)
 								.inAnyNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				}
 		)
@@ -412,7 +391,7 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createConfigurationElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == CONFIGURATION }
+					applicableTo(CONFIGURATION)
 					children {
 						listOf(
 								CONFIG_MAPS,
@@ -420,33 +399,31 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 					}
 				},
 				element<Folder> {
-					applicableIf { it == CONFIG_MAPS }
+					applicableTo(CONFIG_MAPS)
 					childrenKind { ConfigMapsOperator.KIND }
 					children {
 						model.resources(ConfigMapsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<ConfigMap> {
-					applicableIf { it is ConfigMap }
+					applicableToType(ConfigMap::class.java)
 					children {
 						KubernetesDescriptors.createDataDescriptorFactories((it).data, it)
 					}
 				},
 				element<Folder> {
-					applicableIf { it == SECRETS }
+					applicableTo(SECRETS)
 					childrenKind { SecretsOperator.KIND }
 					children {
 						model.resources(SecretsOperator.KIND)
 								.inCurrentNamespace()
 								.list()
-								.sortedBy(resourceName)
 					}
 				},
 				element<Secret>{
-					applicableIf { it is Secret }
+					applicableToType(Secret::class.java)
 					children {
 						KubernetesDescriptors.createDataDescriptorFactories((it).data, it)
 					}
@@ -457,26 +434,40 @@ class KubernetesStructure(model: IResourceModel) : AbstractTreeStructureContribu
 	private fun createCustomResourcesElements(): Array<ElementNode<*>> {
 		return arrayOf(
 				element<Folder> {
-					applicableIf { it == CUSTOM_RESOURCES_DEFINITIONS }
-					childrenKind { CustomResourceDefinitionsOperator.KIND }
+					applicableTo(CUSTOM_RESOURCES_DEFINITIONS)
 					children {
-						model.resources(CustomResourceDefinitionsOperator.KIND)
-								.inAnyNamespace()
-								.list()
-								.sortedBy(resourceName)
+						getCustomResourceCatalog()
+								?.getGroups()
+								?.sortedBy { group -> group.name }
+								?: emptyList()
 					}
 				},
-				element<CustomResourceDefinition> {
-					applicableIf { it is CustomResourceDefinition }
+				element<CustomResourceCatalog.Group> {
+					applicableToType(CustomResourceCatalog.Group::class.java)
 					children {
-						model.resources(it)
+						val catalog = getCustomResourceCatalog() ?: return@children emptyList()
+						if (true == Settings.getInstance()?.isCustomResourceCountsEnabled()) {
+							catalog.loadCounts(it)
+						}
+						catalog.getDefinitions(it)
+								.sortedBy { entry -> entry.plural }
+					}
+				},
+				element<CustomResourceCatalog.Entry> {
+					applicableToType(CustomResourceCatalog.Entry::class.java)
+					children {
+						val definition = getCustomResourceCatalog()?.getDefinition(it) ?: return@children emptyList()
+						model.resources(definition)
 								.list()
-								.sortedBy(resourceName)
 					}
 				}
 		)
 	}
 
+	private fun getCustomResourceCatalog(): CustomResourceCatalog? {
+		return model.getCurrentContext()?.getCustomResourceCatalog()
+	}
+
 	override fun descriptorFactory(): (Any, ResourceKind<out HasMetadata>?, NodeDescriptor<*>?, IResourceModel, Project) -> NodeDescriptor<*>? {
 		return KubernetesDescriptors::createDescriptor
 	}
@@ -26,7 +26,6 @@ import com.redhat.devtools.intellij.kubernetes.model.resource.openshift.Projects
 import com.redhat.devtools.intellij.kubernetes.model.resource.openshift.ReplicationControllerFor
 import com.redhat.devtools.intellij.kubernetes.model.resource.openshift.ReplicationControllersOperator
 import com.redhat.devtools.intellij.kubernetes.model.resource.openshift.RoutesOperator
-import com.redhat.devtools.intellij.kubernetes.model.resourceName
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.NETWORK
 import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.WORKLOADS
 import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Folder
@@ -63,13 +62,12 @@ class OpenShiftStructure(model: IResourceModel): AbstractTreeStructureContributi
                 }
             },
             element<Folder> {
-                applicableIf { it == PROJECTS }
+                applicableTo(PROJECTS)
                 childrenKind { ProjectsOperator.KIND }
                 children {
                     model.resources(ProjectsOperator.KIND)
                         .inNoNamespace()
                         .list()
-                        .sortedBy(resourceName)
                 }
             }
         )
@@ -78,7 +76,7 @@ class OpenShiftStructure(model: IResourceModel): AbstractTreeStructureContributi
     private fun createWorkloadElements(): Array<ElementNode<*>> {
         return arrayOf(
             element<Folder> {
-                applicableIf { it == WORKLOADS }
+                applicableTo(WORKLOADS)
                 children {
                     listOf(
                         IMAGESTREAMS,
@@ -88,66 +86,60 @@ class OpenShiftStructure(model: IResourceModel): AbstractTreeStructureContributi
                 }
             },
             element<Folder> {
-                applicableIf { it == IMAGESTREAMS }
+                applicableTo(IMAGESTREAMS)
                 childrenKind { ImageStreamsOperator.KIND }
                 children {
                     model.resources(ImageStreamsOperator.KIND)
                         .inCurrentNamespace()
                         .list()
-                        .sortedBy(resourceName)
                 }
             },
             element<Folder> {
-                applicableIf { it == DEPLOYMENTCONFIGS }
+                applicableTo(DEPLOYMENTCONFIGS)
                 childrenKind { DeploymentConfigsOperator.KIND }
                 children {
                     model.resources(DeploymentConfigsOperator.KIND)
                         .inCurrentNamespace()
                         .list()
-                        .sortedBy(resourceName)
                 }
             },
             element<DeploymentConfig> {
-                applicableIf { it is DeploymentConfig }
+                applicableToType(DeploymentConfig::class.java)
                 childrenKind { ReplicationControllersOperator.KIND }
                 children {
                     model.resources(ReplicationControllersOperator.KIND)
                         .inCurrentNamespace()
                         .filtered(ReplicationControllerFor(it))
                         .list()
-                        .sortedBy(resourceName)
                 }
             },
             element<ReplicationController> {
-                applicableIf { it is ReplicationController }
+                applicableToType(ReplicationController::class.java)
                 childrenKind { NamespacedPodsOperator.KIND }
                 children {
                     model.resources(NamespacedPodsOperator.KIND)
                         .inCurrentNamespace()
                         .filtered(PodForReplicationController(it))
                         .list()
-                        .sortedBy(resourceName)
                 }
             },
             element<Folder> {
-                applicableIf { it == BUILDCONFIGS }
+                applicableTo(BUILDCONFIGS)
                 childrenKind { BuildConfigsOperator.KIND }
                 children {
                     model.resources(BuildConfigsOperator.KIND)
                         .inCurrentNamespace()
                         .list()
-                        .sortedBy(resourceName)
                 }
             },
             element<BuildConfig> {
-                applicableIf { it is BuildConfig }
+                applicableToType(BuildConfig::class.java)
                 childrenKind { BuildsOperator.KIND }
                 children {
                     model.resources(BuildsOperator.KIND)
                         .inCurrentNamespace()
                         .filtered(BuildFor(it))
                         .list()
-                        .sortedBy(resourceName)
                 }
             }
         )
@@ -156,7 +148,7 @@ class OpenShiftStructure(model: IResourceModel): AbstractTreeStructureContributi
     private fun createNetworkElements(): Array<ElementNode<*>> {
         return arrayOf(
             element<Folder> {
-                applicableIf { it == NETWORK }
+                applicableTo(NETWORK)
                 children {
                     listOf(
                         ROUTES
@@ -164,13 +156,12 @@ class OpenShiftStructure(model: IResourceModel): AbstractTreeStructureContributi
                 }
             },
             element<Folder> {
-                applicableIf { it == ROUTES }
+                applicableTo(ROUTES)
                 childrenKind { RoutesOperator.KIND }
                 children {
                     model.resources(RoutesOperator.KIND)
                         .inCurrentNamespace()
                         .list()
-                        .sortedBy(resourceName)
                 }
             }
         )
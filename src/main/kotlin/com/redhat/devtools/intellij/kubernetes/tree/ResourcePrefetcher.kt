@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.redhat.devtools.intellij.kubernetes.model.AsyncResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+
+/**
+ * Prefetches the resources that are most likely displayed next when a node is expanded: For each kind of resources
+ * that the children of the expanded node hold, the children of one of them are loaded in the background.
+ * Ex. expanding "Workloads" loads deployments, stateful sets, pods etc. in parallel, expanding "Deployments" loads
+ * the pods. Children that are costly to list (ex. the pods of a node, which are listed in all namespaces) are not
+ * prefetched. The resources that were prefetched are watched so that they don't go stale. Their watches are released
+ * right away and therefore only retained for a grace period.
+ * Prefetching runs on a bounded number of threads and is canceled when the given parent is disposed
+ * (ex. the node is collapsed).
+ *
+ * @param structure the structure that provides the children of the elements in the tree
+ * @param model the model to watch the prefetched resources with
+ * @param executor the executor to prefetch on
+ *
+ * @see com.redhat.devtools.intellij.kubernetes.model.WatchRetention
+ */
+class ResourcePrefetcher(
+    private val structure: TreeStructure,
+    private val model: IResourceModel,
+    executor: Executor = EXECUTOR
+) {
+
+    companion object {
+        const val MAX_CONCURRENT = 4
+
+        private val EXECUTOR: Executor by lazy {
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("Kubernetes Resource Prefetch", MAX_CONCURRENT)
+        }
+    }
+
+    private val async = AsyncResourceModel(model, executor)
+
+    /**
+     * Prefetches the resources that the children of the given element hold.
+     * Returns the kinds of resources that were prefetched.
+     *
+     * @param element the element that was expanded
+     * @param parent the disposable that cancels prefetching when it is disposed
+     */
+    fun prefetch(element: Any, parent: Disposable): CompletableFuture<List<ResourceKind<out HasMetadata>>> {
+        return async.call(parent) {
+            getNext(element)
+        }.thenCompose { next ->
+            val prefetched = next.map { (kind, child) ->
+                async.call(parent) {
+                    prefetch(kind, child)
+                    kind
+                }
+            }
+            CompletableFuture.allOf(*prefetched.toTypedArray())
+                .thenApply { prefetched.map { it.join() } }
+        }
+    }
+
+    /**
+     * Returns one child of the given element for each kind of resources that the children hold.
+     * Children that opted out of prefetching are skipped.
+     *
+     * @see TreeStructure.isPrefetched
+     */
+    private fun getNext(element: Any): List<Pair<ResourceKind<out HasMetadata>, Any>> {
+        return structure.getChildElements(element)
+            .filter { child -> structure.isPrefetched(child) }
+            .mapNotNull { child ->
+                structure.getChildrenKind(child)?.let { kind -> Pair(kind, child) }
+            }
+            .distinctBy { (kind, _) -> kind }
+    }
+
+    private fun prefetch(kind: ResourceKind<out HasMetadata>, element: Any) {
+        logger<ResourcePrefetcher>().debug("Prefetching $kind resources for $element.")
+        // loads and caches the resources
+        structure.getChildElements(element)
+        // keep cache in sync until watch is stopped when the grace period is over
+        model.watch(kind)
+        model.releaseWatch(kind)
+    }
+}
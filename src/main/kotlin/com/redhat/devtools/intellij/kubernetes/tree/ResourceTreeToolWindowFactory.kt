@@ -12,7 +12,9 @@ package com.redhat.devtools.intellij.kubernetes.tree
 
 import com.intellij.ide.util.treeView.AbstractTreeStructure
 import com.intellij.ide.util.treeView.NodeRenderer
+import com.intellij.openapi.actionSystem.ActionManager
 import com.intellij.openapi.actionSystem.ActionPlaces
+import com.intellij.openapi.actionSystem.CommonShortcuts
 import com.intellij.openapi.project.DumbAware
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.wm.ToolWindow
@@ -25,6 +27,8 @@ import com.intellij.ui.tree.StructureTreeModel
 import com.intellij.ui.treeStructure.Tree
 import com.intellij.util.concurrency.Invoker
 import com.redhat.devtools.intellij.common.utils.IDEAContentFactory
+import com.redhat.devtools.intellij.kubernetes.actions.FindResourceAction
+import com.redhat.devtools.intellij.kubernetes.actions.getDescriptor
 import com.redhat.devtools.intellij.kubernetes.actions.getElement
 import com.redhat.devtools.intellij.kubernetes.editor.ResourceEditorFactory
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
@@ -35,6 +39,8 @@ import java.awt.event.MouseAdapter
 import java.awt.event.MouseEvent
 import java.awt.event.MouseListener
 import javax.swing.JTree
+import javax.swing.event.TreeExpansionEvent
+import javax.swing.event.TreeWillExpandListener
 import javax.swing.tree.MutableTreeNode
 
 
@@ -52,6 +58,9 @@ class ResourceTreeToolWindowFactory: ToolWindowFactory, DumbAware {
 
         val tree = createTree(content, project)
         PopupHandler.installPopupMenu(tree, "com.redhat.devtools.intellij.kubernetes.tree", ActionPlaces.TOOLWINDOW_POPUP)
+        // quick find resources in the tree, also in collapsed folders
+        ActionManager.getInstance().getAction(FindResourceAction.ID)
+            ?.registerCustomShortcutSet(CommonShortcuts.getFind(), tree)
         panel.setViewportView(tree)
     }
 
@@ -68,11 +77,46 @@ class ResourceTreeToolWindowFactory: ToolWindowFactory, DumbAware {
         tree.isRootVisible = false
         tree.cellRenderer = NodeRenderer()
         tree.addDoubleClickListener(openResourceEditor(project))
+        tree.addDoubleClickListener(showMoreChildren(structure, treeModel))
+        tree.addTreeWillExpandListener(resetPagesWhenCollapsed(structure, treeModel))
         TreeUpdater(treeModel, structure).listenTo(resourceModel)
-        ResourceWatchController.install(tree)
+        ResourceWatchController.install(tree, content, prefetcher = ResourcePrefetcher(structure, resourceModel))
         return tree
     }
 
+    private fun showMoreChildren(structure: TreeStructure, treeModel: StructureTreeModel<*>): MouseListener {
+        return object: MouseAdapter() {
+            override fun mouseClicked(event: MouseEvent) {
+                val tree = event.source as JTree
+                val path = tree.getPathForLocation(event.point.x, event.point.y) ?: return
+                val node = path.lastPathComponent as? MutableTreeNode ?: return
+                val more = node.getElement<TreeStructure.MoreChildren>() ?: return
+                structure.showMore(more)
+                treeModel.invalidate(path.parentPath, true)
+            }
+        }
+    }
+
+    private fun resetPagesWhenCollapsed(structure: TreeStructure, treeModel: StructureTreeModel<*>): TreeWillExpandListener {
+        return object: TreeWillExpandListener {
+            override fun treeWillExpand(event: TreeExpansionEvent) {
+                // nothing to do
+            }
+
+            override fun treeWillCollapse(event: TreeExpansionEvent) {
+                val tree = event.source as? JTree ?: return
+                // collect on the EDT, nodes of the tree are not to be accessed on the invoker.
+                // Only expanded nodes may show more than their first page
+                val elements = tree.getExpandedDescendants(event.path)?.toList()
+                    ?.mapNotNull { path -> path.lastPathComponent.getDescriptor()?.element }
+                    ?: return
+                treeModel.invoker.invokeLater {
+                    elements.forEach { element -> structure.resetPages(element) }
+                }
+            }
+        }
+    }
+
     private fun openResourceEditor(project: Project): MouseListener {
         return object: MouseAdapter() {
             override fun mouseClicked(event: MouseEvent) {
@@ -10,31 +10,76 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.kubernetes.tree
 
+import com.intellij.openapi.Disposable
 import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.util.Disposer
 import com.redhat.devtools.intellij.kubernetes.actions.getDescriptor
+import com.redhat.devtools.intellij.kubernetes.model.AsyncResourceModel
 import com.redhat.devtools.intellij.kubernetes.telemetry.TelemetryService
 import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletionException
 import javax.swing.JTree
 import javax.swing.event.TreeExpansionEvent
 import javax.swing.event.TreeExpansionListener
 import javax.swing.tree.DefaultMutableTreeNode
+import javax.swing.tree.TreePath
 
 /**
  * A controller that is watching resources when a tree node is expanded and stops to watch them when folded.
+ * Watching is done off the event dispatch thread. A watch that didn't start yet when its node is folded is canceled.
  */
 object ResourceWatchController {
 
-	fun install(tree: JTree) {
-		tree.addTreeExpansionListener(object: TreeExpansionListener {
+	/**
+	 * Installs the controller to the given tree.
+	 *
+	 * @param tree the tree to watch the resources of expanded nodes for
+	 * @param parent the disposable that cancels pending watches when it is disposed
+	 * @param model the model to watch with
+	 * @param prefetcher the prefetcher that loads the resources that are likely displayed next, `null` for none
+	 */
+	fun install(
+		tree: JTree,
+		parent: Disposable,
+		model: AsyncResourceModel = AsyncResourceModel.getInstance(),
+		prefetcher: ResourcePrefetcher? = null
+	) {
+		tree.addTreeExpansionListener(createListener(parent, model, prefetcher))
+	}
+
+	/* for testing purposes */
+	fun createListener(
+		parent: Disposable,
+		model: AsyncResourceModel,
+		prefetcher: ResourcePrefetcher? = null
+	): TreeExpansionListener {
+		return object: TreeExpansionListener {
+
+			/* the expanded nodes, accessed on the event dispatch thread only */
+			private val expanded = mutableMapOf<TreePath, Expansion>()
+
 			override fun treeExpanded(event: TreeExpansionEvent) {
-				val descriptor = getDescriptor(event)
+				val descriptor = getDescriptor(event) ?: return
+				val path = event.path ?: return
 				val telemetry = createTelemetry(descriptor)
-				try {
-					descriptor?.watchChildren()
-					telemetry?.send()
-				} catch (e: Exception) {
-					logger<ResourceWatchController>().warn("Could not watch ${descriptor?.element} resources.", e)
-					telemetry?.error(e)
+				val expansion = Expansion(Disposer.newDisposable(parent, "expanded ${descriptor.element}"))
+				expanded.put(path, expansion)?.let { previous -> release(previous, descriptor) }
+				model.callInOrder(expansion.disposable) {
+					descriptor.watchChildren()
+					expansion.watching = true
+				}.whenComplete { _, e ->
+					when (e?.let { unwrap(it) }) {
+						null -> telemetry?.send()
+						is CancellationException -> {}
+						else -> {
+							logger<ResourceWatchController>().warn("Could not watch ${descriptor.element} resources.", e)
+							telemetry?.error(unwrap(e))
+						}
+					}
+				}
+				descriptor.element?.let { element ->
+					prefetcher?.prefetch(element, expansion.disposable)
 				}
 			}
 
@@ -45,11 +90,24 @@ object ResourceWatchController {
 			}
 
 			override fun treeCollapsed(event: TreeExpansionEvent?) {
-				val descriptor = getDescriptor(event)
-				try {
-					descriptor?.stopWatchChildren()
-				} catch (e: Exception) {
-					logger<ResourceWatchController>().warn("Could not watch ${descriptor?.element} resources.", e)
+				val descriptor = getDescriptor(event) ?: return
+				val expansion = event?.path?.let { path -> expanded.remove(path) } ?: return
+				release(expansion, descriptor)
+			}
+
+			private fun release(expansion: Expansion, descriptor: TreeStructure.Descriptor<*>) {
+				// cancel watch and prefetch that didn't start yet
+				Disposer.dispose(expansion.disposable)
+				model.callInOrder(parent) {
+					// runs after watching, only release watch that was started
+					if (expansion.watching) {
+						descriptor.stopWatchChildren()
+					}
+				}.whenComplete { _, e ->
+					if (e != null
+						&& unwrap(e) !is CancellationException) {
+						logger<ResourceWatchController>().warn("Could not stop watching ${descriptor.element} resources.", e)
+					}
 				}
 			}
 
@@ -57,6 +115,18 @@ object ResourceWatchController {
 				return (event?.path?.lastPathComponent as? DefaultMutableTreeNode)?.getDescriptor()
 			}
 
-		})
+			private fun unwrap(e: Throwable): Throwable {
+				return if (e is CompletionException) {
+					e.cause ?: e
+				} else {
+					e
+				}
+			}
+		}
+	}
+
+	private class Expansion(val disposable: Disposable) {
+		@Volatile
+		var watching: Boolean = false
 	}
-}
\ No newline at end of file
+}
@@ -25,16 +25,21 @@ import com.intellij.ui.tree.LeafState
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.context.IContext
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceIdentifier
 import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
 import com.redhat.devtools.intellij.kubernetes.model.util.hasDeletionTimestamp
 import com.redhat.devtools.intellij.kubernetes.model.util.isSameResource
 import com.redhat.devtools.intellij.kubernetes.model.util.isWillBeDeleted
 import com.redhat.devtools.intellij.kubernetes.model.util.toMessage
 import io.fabric8.kubernetes.api.model.HasMetadata
+import java.util.concurrent.ConcurrentHashMap
 import javax.swing.Icon
 
 /**
  * A factory that creates nodes (PresentableNodeDescriptor) for a (tree-) model.
+ * Elements with many children are paged: only the first page of children is returned, followed by a
+ * [MoreChildren] element that shows the next page when it is double-clicked. Nodes are therefore only
+ * created for the children that are shown.
  *
  * @see PresentableNodeDescriptor
  * @see AbstractTreeStructure
@@ -44,9 +49,25 @@ open class TreeStructure(
         private val project: Project,
         private val model: IResourceModel,
         private val extensionPoint: ExtensionPointName<ITreeStructureContributionFactory> =
-                ExtensionPointName("com.redhat.devtools.intellij.kubernetes.structureContribution"))
+                ExtensionPointName("com.redhat.devtools.intellij.kubernetes.structureContribution"),
+        private val pageSize: Int = PAGE_SIZE)
     : AbstractTreeStructure(), MultiParentTreeStructure {
 
+    companion object {
+        const val PAGE_SIZE = 500
+    }
+
+    /* the number of children that are shown for elements whose children are paged, keyed by [toPageKey] */
+    private val shown: MutableMap<Any, Int> = ConcurrentHashMap()
+
+    /*
+     * the contributions that can contribute to the context they were evaluated for.
+     * A context may turn out to be OpenShift later on without being replaced, contributions are therefore
+     * evaluated again if the context or its flavor changes.
+     */
+    @Volatile
+    private var validContributions: Triple<IActiveContext<*, *>?, Boolean, List<ITreeStructureContribution>>? = null
+
     private val contributions by lazy {
         listOf(
                 *getTreeStructureDefaults(model).toTypedArray(),
@@ -61,12 +82,92 @@ open class TreeStructure(
     override fun getChildElements(element: Any): Array<Any> {
         return when (element) {
             rootElement -> getAllContexts()
-            else -> getValidContributions()
-                .flatMap { getChildElements(element, it) }
-                .toTypedArray()
+            is MoreChildren -> emptyArray()
+            else -> toPage(element, getAllChildElements(element))
+        }
+    }
+
+    /**
+     * Shows the next page of children of the element that the given [MoreChildren] belongs to.
+     * The parent node needs to be invalidated for the new page to be shown.
+     *
+     * @param more the element that was displayed at the end of the children
+     */
+    fun showMore(more: MoreChildren) {
+        shown[toPageKey(more.parent)] = more.shown + pageSize
+    }
+
+    /**
+     * Shows the first page of children of the given element again, ex. when it was collapsed.
+     *
+     * @param element the element whose children are paged
+     */
+    fun resetPages(element: Any) {
+        shown.remove(toPageKey(element))
+    }
+
+    private fun getAllChildElements(element: Any): List<Any> {
+        // resources come sorted from the caches of the operators
+        return getValidContributions()
+            .flatMap { getChildElements(element, it) }
+    }
+
+    private fun toPage(parent: Any, children: List<Any>): Array<Any> {
+        val shown = getShown(parent)
+        if (children.size <= shown) {
+            return children.toTypedArray()
+        }
+        return (children.subList(0, shown) + MoreChildren(parent, shown, children.size))
+            .toTypedArray()
+    }
+
+    private fun getShown(parent: Any): Int {
+        return shown[toPageKey(parent)] ?: pageSize
+    }
+
+    /**
+     * Returns the key for the pages of the given element.
+     * Resources are identified by kind, name and namespace so that they keep their pages when they are modified.
+     */
+    private fun toPageKey(element: Any): Any {
+        return if (element is HasMetadata) {
+            ResourceIdentifier(element)
+        } else {
+            element
         }
     }
 
+    /**
+     * Returns the kind of the resources that are the children of the given element.
+     * Returns `null` if the children of the given element are no resources.
+     */
+    fun getChildrenKind(element: Any): ResourceKind<out HasMetadata>? {
+        return getValidContributions()
+            .firstNotNullOfOrNull { contribution ->
+                try {
+                    contribution.getChildrenKind(element)
+                } catch (e: Exception) {
+                    null
+                }
+            }
+    }
+
+    /**
+     * Returns `true` if the children of the given element may be prefetched when its parent is expanded.
+     *
+     * @see ResourcePrefetcher
+     */
+    fun isPrefetched(element: Any): Boolean {
+        return getValidContributions()
+            .all { contribution ->
+                try {
+                    contribution.isPrefetched(element)
+                } catch (e: Exception) {
+                    true
+                }
+            }
+    }
+
     private fun getAllContexts(): Array<Any> {
         return try {
             model.getAllContexts().toTypedArray()
@@ -85,6 +186,9 @@ open class TreeStructure(
     }
 
     override fun getParentElement(element: Any): Any? {
+        if (element is MoreChildren) {
+            return element.parent
+        }
         return getValidContributions().stream()
             .map { contribution -> getParentElement(element, contribution) }
             .filter { parentElement -> parentElement != null }
@@ -117,6 +221,7 @@ open class TreeStructure(
                     is IContext -> ContextDescriptor(element, parent, model, project)
                     is Exception -> ErrorDescriptor(element, parent, model, project)
                     is Folder -> FolderDescriptor(element, parent, model, project)
+                    is MoreChildren -> MoreChildrenDescriptor(element, parent, model, project)
                     else -> Descriptor(element, null, parent, model, project)
                 }
         } catch (e: Exception) {
@@ -125,7 +230,15 @@ open class TreeStructure(
     }
 
     private fun getValidContributions(): Collection<ITreeStructureContribution> {
-        return contributions
+        val context = getCurrentContext()
+        val isOpenShift = isOpenShift(context)
+        val valid = validContributions
+        if (valid != null
+            && valid.first === context
+            && valid.second == isOpenShift) {
+            return valid.third
+        }
+        val contributions = contributions
             .filter {
                 try {
                     it.canContribute()
@@ -133,6 +246,24 @@ open class TreeStructure(
                     false
                 }
             }
+        this.validContributions = Triple(context, isOpenShift, contributions)
+        return contributions
+    }
+
+    private fun isOpenShift(context: IActiveContext<*, *>?): Boolean {
+        return try {
+            context?.isOpenShift() ?: false
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    private fun getCurrentContext(): IActiveContext<*, *>? {
+        return try {
+            model.getCurrentContext()
+        } catch (e: Exception) {
+            null
+        }
     }
 
     private fun getTreeStructureExtensions(model: IResourceModel): List<ITreeStructureContribution> {
@@ -160,7 +291,8 @@ open class TreeStructure(
         return if (element is IContext
                 && element !is IActiveContext<*, *>) {
             LeafState.ALWAYS
-        } else if (element is Exception) {
+        } else if (element is Exception
+            || element is MoreChildren) {
             LeafState.ALWAYS
         } else {
             val leafState = contributions.find { it.getLeafState(element) != null }?.getLeafState(element)
@@ -244,6 +376,40 @@ open class TreeStructure(
         override fun getLabel(element: Folder?): String {
             return element?.label ?: "<unknown folder>"
         }
+
+        override fun getSubLabel(element: Folder): String? {
+            val kind = element.kind ?: return null
+            return when {
+                model.isReconnecting(kind) -> "(reconnecting)"
+                model.isStale(kind) -> "(stale)"
+                else -> null
+            }
+        }
+    }
+
+    private class MoreChildrenDescriptor(
+        more: MoreChildren,
+        parent: NodeDescriptor<*>?,
+        model: IResourceModel,
+        project: Project
+    ) : Descriptor<MoreChildren>(
+        more,
+        null,
+        parent,
+        model,
+        project
+    ) {
+        override fun getLabel(element: MoreChildren?): String {
+            return "Show more..."
+        }
+
+        override fun getSubLabel(element: MoreChildren): String {
+            return "(${element.shown} of ${element.total})"
+        }
+
+        override fun getIcon(element: MoreChildren): Icon {
+            return AllIcons.Actions.More
+        }
     }
 
     private class ErrorDescriptor(
@@ -304,7 +470,7 @@ open class TreeStructure(
 
     open class Descriptor<T>(
             private var element: T,
-            val childrenKind: ResourceKind<out HasMetadata>?,
+            open val childrenKind: ResourceKind<out HasMetadata>?,
             parent: NodeDescriptor<*>?,
             protected val model: IResourceModel,
             project: Project
@@ -371,7 +537,7 @@ open class TreeStructure(
 
         open fun stopWatchChildren() {
             val kind = childrenKind ?: return
-            model.stopWatch(kind)
+            model.releaseWatch(kind)
         }
 
         override fun toString(): String {
@@ -379,6 +545,15 @@ open class TreeStructure(
         }
     }
 
+    /**
+     * The element that is displayed after the children that are shown if an element has more children.
+     *
+     * @param parent the element whose children are paged
+     * @param shown the number of children that are shown
+     * @param total the total number of children
+     */
+    data class MoreChildren(val parent: Any, val shown: Int, val total: Int)
+
     open class Folder(val label: String, val kind: ResourceKind<out HasMetadata>?) {
         constructor(folder: Folder, kind: ResourceKind<out HasMetadata>?) : this(folder.label, kind)
     }
@@ -20,6 +20,8 @@ import com.redhat.devtools.intellij.kubernetes.actions.getDescriptor
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelListener
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
+import io.fabric8.kubernetes.api.model.HasMetadata
 import javax.swing.tree.DefaultMutableTreeNode
 import javax.swing.tree.TreeNode
 import javax.swing.tree.TreePath
@@ -27,6 +29,8 @@ import javax.swing.tree.TreePath
 /**
  * An adapter that listens to events of the IKubernetesResourceModel and invalidates or updates
  * nodes, descriptors accordingly.
+ * Modified resources only update their own nodes. Added and removed resources only reload the children of
+ * their parents, not the children of these children.
  *
  * @see IResourceModel
  * @see StructureTreeModel
@@ -49,7 +53,7 @@ class TreeUpdater(
     }
 
     override fun currentNamespaceChanged(new: IActiveContext<*, *>?, old: IActiveContext<*,*>?) {
-        treeModel.invoker.invokeLater {
+        invokeLater {
             val contexts = findNodes(old)
                 .map { TreePathUtil.toTreePath(it) }
             // have existing node point to new context (is pointing to old context that was replaced)
@@ -74,32 +78,42 @@ class TreeUpdater(
     }
 
     override fun removed(removed: Any) {
-        treeModel.invoker.invokeLater {
+        invokeLater {
             val parents = findNodes(removed)
-                .map { TreePathUtil.toTreePath(it.parent) }
-            invalidatePaths(parents)
+                .mapNotNull { it.parent }
+                .map { TreePathUtil.toTreePath(it) }
+            invalidatePaths(parents, affectsDescendants(removed))
         }
     }
 
     override fun added(added: Any) {
-        treeModel.invoker.invokeLater {
+        invokeLater {
             val parents = getPotentialParentNodes(added)
                 .map { TreePathUtil.toTreePath(it) }
-            invalidatePaths(parents)
+            invalidatePaths(parents, affectsDescendants(added))
         }
     }
 
     override fun modified(modified: Any) {
-        treeModel.invoker.invokeLater {
+        invokeLater {
             val paths = findNodes(modified)
                 .map { node -> TreePathUtil.pathToTreeNode(node) }
             // update node
             updateDescriptors(paths, modified)
-            // trigger reload of children
-            invalidatePaths(paths)
+            // repaint node, reload all nodes below it only if needed
+            invalidatePaths(paths, affectsDescendants(modified))
         }
     }
 
+    /**
+     * Returns `true` if all nodes below the nodes of the given changed element need to be reloaded.
+     * This is the case for elements that are not resources (ex. a context, a resource kind)
+     * because they may affect any children.
+     */
+    private fun affectsDescendants(changed: Any): Boolean {
+        return changed !is HasMetadata
+    }
+
     private fun updateDescriptors(paths: List<TreePath>, element: Any) {
         paths.forEach { path ->
             val descriptor = TreePathUtil.toTreeNode(path)?.getDescriptor() ?: return
@@ -108,18 +122,28 @@ class TreeUpdater(
         }
     }
 
+    /**
+     * Runs the given update on the invoker of the tree model and records how long it took.
+     *
+     * @see Diagnostics.treeUpdated
+     */
+    private fun invokeLater(update: () -> Unit) {
+        treeModel.invoker.invokeLater {
+            Diagnostics.instance.treeUpdated(update)
+        }
+    }
 
-    private fun invalidatePaths(paths: Collection<TreePath>) {
+    private fun invalidatePaths(paths: Collection<TreePath>, descendants: Boolean = true) {
         paths.forEach { path ->
-            invalidatePath(path)
+            invalidatePath(path, descendants)
         }
     }
 
-    private fun invalidatePath(path: TreePath) {
+    private fun invalidatePath(path: TreePath, descendants: Boolean) {
         if (path.lastPathComponent == treeModel.root) {
             invalidateRoot()
         } else {
-            treeModel.invalidate(path, true)
+            treeModel.invalidate(path, descendants)
         }
     }
 
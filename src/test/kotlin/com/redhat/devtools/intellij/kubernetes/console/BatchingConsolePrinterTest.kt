@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.intellij.execution.ui.ConsoleView
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argThat
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import org.junit.After
+import org.junit.Test
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class BatchingConsolePrinterTest {
+
+    private val terminal: ConsoleView = mock()
+    private val executor = Executors.newSingleThreadScheduledExecutor()
+
+    @After
+    fun after() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun `#print should not print before interval elapsed`() {
+        // given
+        val printer = BatchingConsolePrinter(terminal, executor, 60 * 1000)
+        // when
+        printer.print("luke\n")
+        printer.print("leia\n")
+        // then
+        verify(terminal, never()).print(any(), any())
+    }
+
+    @Test
+    fun `#flush should print collected text at once`() {
+        // given
+        val printer = BatchingConsolePrinter(terminal, executor, 60 * 1000)
+        printer.print("luke\n")
+        printer.print("leia\n")
+        // when
+        printer.flush()
+        // then
+        verify(terminal, times(1)).print(eq("luke\nleia\n"), any())
+    }
+
+    @Test
+    fun `#print should print once interval elapsed`() {
+        // given
+        val printer = BatchingConsolePrinter(terminal, executor, 10)
+        // when
+        printer.print("luke\n")
+        printer.print("leia\n")
+        // then
+        executor.schedule({}, 100, TimeUnit.MILLISECONDS).get()
+        verify(terminal, times(1)).print(eq("luke\nleia\n"), any())
+    }
+
+    @Test
+    fun `#print should drop text if pending text exceeds max pending and tell how many lines were dropped`() {
+        // given
+        val printer = BatchingConsolePrinter(terminal, executor, 60 * 1000, 1024, 10)
+        printer.print("luke\n")
+        // when
+        printer.print("leia\n han\n")
+        printer.print("chewie\n")
+        printer.flush()
+        // then
+        verify(terminal, times(1)).print(eq("luke\n"), any())
+        verify(terminal, times(1)).print(argThat { contains("skipped 3 lines") }, any())
+    }
+
+    @Test
+    fun `#print should no longer drop text once pending text was printed`() {
+        // given
+        val printer = BatchingConsolePrinter(terminal, executor, 60 * 1000, 1024, 10)
+        printer.print("luke\n")
+        printer.print("leia\n han\n")
+        printer.flush()
+        // when
+        printer.print("chewie\n")
+        printer.flush()
+        // then
+        verify(terminal, times(1)).print(eq("chewie\n"), any())
+    }
+}
@@ -76,6 +76,47 @@ class ConsoleOutputStreamTest {
         verify(terminal, never()).print(eq("\n"), any())
     }
 
+    @Test
+    fun `#write should decode multi-byte character that is split across writes`() {
+        // given
+        val toPrint = "may the force be with you \uD83D\uDE80 \u00e9\n"
+        val bytes = toPrint.toByteArray(Charsets.UTF_8)
+        // when
+        bytes.forEach { out.write(it.toInt()) }
+        // then
+        verify(terminal, times(1)).print(eq(toPrint), any())
+    }
+
+    @Test
+    fun `#write(ByteArray) should print all complete lines at once`() {
+        // given
+        val toPrint = "luke\nleia\nhan\nchewbacca"
+        // when
+        out.write(toPrint.toByteArray(Charsets.UTF_8))
+        // then
+        verify(terminal, times(1)).print(eq("luke\nleia\nhan\n"), any())
+    }
+
+    @Test
+    fun `#write(ByteArray) should print incomplete line once it is complete`() {
+        // given
+        out.write("luke\nlei".toByteArray(Charsets.UTF_8))
+        // when
+        out.write("a\n".toByteArray(Charsets.UTF_8))
+        // then
+        verify(terminal, times(1)).print(eq("leia\n"), any())
+    }
+
+    @Test
+    fun `#close should print incomplete line`() {
+        // given
+        out.write("chewbacca".toByteArray(Charsets.UTF_8))
+        // when
+        out.close()
+        // then
+        verify(terminal, times(1)).print(eq("chewbacca"), any())
+    }
+
     private fun printToTerminal(string: String) {
         string.forEach { out.write(it.code) }
     }
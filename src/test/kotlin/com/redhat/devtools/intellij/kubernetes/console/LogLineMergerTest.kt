@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class LogLineMergerTest {
+
+    private val printed = StringBuilder()
+    private var now = 0L
+    private val merger = LogLineMerger({ text -> printed.append(text) }, 500, 1024) { now }
+
+    @Test
+    fun `#flush should not print lines that are held for less than the window`() {
+        // given
+        merger.append("luke", "2025-05-04T12:00:00Z use the force\n")
+        now = 499
+        // when
+        merger.flush()
+        // then
+        assertThat(printed.toString()).isEmpty()
+    }
+
+    @Test
+    fun `#flush should print lines of several sources ordered by timestamp`() {
+        // given
+        merger.append("luke", "2025-05-04T12:00:02Z I am a jedi\n")
+        merger.append("vader", "2025-05-04T12:00:01Z I am your father\n")
+        merger.append("luke", "2025-05-04T12:00:03.5Z nooo\n")
+        merger.append("vader", "2025-05-04T12:00:03.25Z join me\n")
+        now = 500
+        // when
+        merger.flush()
+        // then
+        assertThat(printed.toString()).isEqualTo(
+            "[vader] I am your father\n" +
+                    "[luke] I am a jedi\n" +
+                    "[vader] join me\n" +
+                    "[luke] nooo\n"
+        )
+    }
+
+    @Test
+    fun `#append should keep incomplete line until it is complete`() {
+        // given
+        merger.append("yoda", "2025-05-04T12:00:00Z do or do not")
+        now = 500
+        merger.flush()
+        assertThat(printed.toString()).isEmpty()
+        // when
+        merger.append("yoda", ", there is no try\n")
+        now = 1000
+        merger.flush()
+        // then
+        assertThat(printed.toString()).isEqualTo("[yoda] do or do not, there is no try\n")
+    }
+
+    @Test
+    fun `#append should order line without timestamp after previous line of same source`() {
+        // given
+        merger.append("han", "2025-05-04T12:00:05Z I know\n")
+        merger.append("leia", "2025-05-04T12:00:01Z I love you\n")
+        merger.append("han", "no timestamp\n")
+        merger.append("leia", "2025-05-04T12:00:06Z scoundrel\n")
+        now = 500
+        // when
+        merger.flush()
+        // then
+        assertThat(printed.toString()).isEqualTo(
+            "[leia] I love you\n" +
+                    "[han] I know\n" +
+                    "[han] no timestamp\n" +
+                    "[leia] scoundrel\n"
+        )
+    }
+
+    @Test
+    fun `#append should print oldest lines right away if buffer is full`() {
+        // given
+        val line = "x".repeat(400)
+        merger.append("r2d2", "2025-05-04T12:00:02Z $line\n")
+        merger.append("c3po", "2025-05-04T12:00:01Z $line\n")
+        // when
+        merger.append("r2d2", "2025-05-04T12:00:03Z $line\n")
+        // then
+        assertThat(printed.toString()).isEqualTo("[c3po] $line\n")
+        assertThat(merger.size).isLessThanOrEqualTo(1024)
+    }
+
+    @Test
+    fun `#flushAll should print held lines and incomplete line of given source`() {
+        // given
+        merger.append("chewie", "2025-05-04T12:00:01Z rrraaarrr\n")
+        merger.append("chewie", "2025-05-04T12:00:02Z aaargh")
+        // when
+        merger.flushAll("chewie")
+        // then
+        assertThat(printed.toString()).isEqualTo("[chewie] rrraaarrr\n[chewie] aaargh\n")
+        assertThat(merger.size).isEqualTo(0)
+    }
+}
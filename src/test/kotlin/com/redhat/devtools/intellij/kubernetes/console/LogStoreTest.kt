@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.nio.file.Files
+import java.nio.file.Path
+
+class LogStoreTest {
+
+    private lateinit var directory: Path
+    private lateinit var store: LogStore
+
+    @Before
+    fun before() {
+        this.directory = Files.createTempDirectory("logs")
+        // keep 4 lines in memory, spill in batches of 1
+        this.store = LogStore(directory, 4)
+    }
+
+    @After
+    fun after() {
+        store.close()
+        directory.toFile().deleteRecursively()
+    }
+
+    @Test
+    fun `#append should only add complete lines`() {
+        // given
+        // when
+        store.append("luke\nlei")
+        // then
+        assertThat(store.size).isEqualTo(1)
+        assertThat(store.getLines(0, 10)).containsExactly("luke")
+    }
+
+    @Test
+    fun `#append should complete partial line`() {
+        // given
+        store.append("luke\nlei")
+        // when
+        store.append("a\nhan\n")
+        // then
+        assertThat(store.getLines(0, 10)).containsExactly("luke", "leia", "han")
+    }
+
+    @Test
+    fun `#getLines should return lines that were spilled to disk`() {
+        // given
+        val lines = (0 until 20).map { "line $it" }
+        // when
+        store.append(lines.joinToString("\n", postfix = "\n"))
+        // then
+        assertThat(Files.list(directory).count()).isGreaterThan(0)
+        assertThat(store.getLines(0, 20)).containsExactlyElementsOf(lines)
+        assertThat(store.getLines(5, 3)).containsExactly("line 5", "line 6", "line 7")
+    }
+
+    @Test
+    fun `#copyUntil should copy lines before given line`() {
+        // given
+        val lines = (0 until 20).map { "line $it" }
+        store.append(lines.joinToString("\n", postfix = "\n"))
+        // when
+        val copy = store.copyUntil(15)
+        // then
+        try {
+            assertThat(copy.size).isEqualTo(15)
+            assertThat(copy.getLines(0, 20)).containsExactlyElementsOf(lines.take(15))
+        } finally {
+            copy.close()
+        }
+    }
+
+    @Test
+    fun `#copyUntil should return empty store if given line precedes all lines`() {
+        // given
+        store.append("luke\nleia\n")
+        // when
+        val copy = store.copyUntil(-3)
+        // then
+        assertThat(copy.size).isZero()
+        copy.close()
+    }
+
+    @Test
+    fun `#getLines should decode multi-byte characters that were spilled to disk`() {
+        // given
+        val lines = (0 until 10).map { "étoile 🚀 $it" }
+        // when
+        store.append(lines.joinToString("\n", postfix = "\n"))
+        // then
+        assertThat(store.getLines(0, 10)).containsExactlyElementsOf(lines)
+    }
+
+    @Test
+    fun `#search should find substring in spilled and recent lines`() {
+        // given
+        store.append("luke\nleia\nDarth Vader\nhan\nchewbacca\nyoda\nDARTH sidious\nlando\n")
+        // when
+        val matches = store.search("darth")
+        // then
+        assertThat(matches.map { it.line }).containsExactly(2L, 6L)
+        assertThat(matches.map { it.text }).containsExactly("Darth Vader", "DARTH sidious")
+    }
+
+    @Test
+    fun `#search should match case if requested`() {
+        // given
+        store.append("luke\nleia\nDarth Vader\nhan\nchewbacca\nyoda\nDARTH sidious\nlando\n")
+        // when
+        val matches = store.search("Darth", ignoreCase = false)
+        // then
+        assertThat(matches.map { it.line }).containsExactly(2L)
+    }
+
+    @Test
+    fun `#search should find regular expression`() {
+        // given
+        store.append("luke\nleia\nDarth Vader\nhan\nchewbacca\nyoda\nDARTH sidious\nlando\n")
+        // when
+        val matches = store.search("^l.+a$", regex = true)
+        // then
+        assertThat(matches.map { it.text }).containsExactly("leia")
+    }
+
+    @Test
+    fun `#search should return no more than given limit`() {
+        // given
+        store.append((0 until 20).joinToString("\n", postfix = "\n") { "jedi $it" })
+        // when
+        val matches = store.search("jedi", limit = 5)
+        // then
+        assertThat(matches).hasSize(5)
+    }
+
+    @Test
+    fun `should drop oldest segment if there are more than max segments`() {
+        // given
+        val store = LogStore(directory, 4, 1, 2)
+        // when
+        store.append((0 until 20).joinToString("\n", postfix = "\n") { "line $it" })
+        // then
+        assertThat(store.size).isEqualTo(20)
+        assertThat(store.firstLine).isGreaterThan(0)
+        assertThat(store.getLines(0, 20).first()).isEqualTo("line ${store.firstLine}")
+        assertThat(store.getLines(0, 20).last()).isEqualTo("line 19")
+        store.close()
+    }
+
+    @Test
+    fun `#close should delete spilled segments`() {
+        // given
+        store.append((0 until 20).joinToString("\n", postfix = "\n") { "line $it" })
+        // when
+        store.close()
+        // then
+        assertThat(Files.list(directory).count()).isEqualTo(0)
+    }
+}
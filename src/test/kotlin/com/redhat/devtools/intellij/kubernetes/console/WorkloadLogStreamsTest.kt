@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.console
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import com.redhat.devtools.intellij.kubernetes.model.FilterableResources
+import com.redhat.devtools.intellij.kubernetes.model.IListable
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.Namespaceable
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.apps.Deployment
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder
+import io.fabric8.kubernetes.client.dsl.LogWatch
+import java.io.OutputStream
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class WorkloadLogStreamsTest {
+
+    private val deployment: Deployment = DeploymentBuilder()
+        .withNewMetadata()
+            .withName("death-star")
+            .withNamespace("empire")
+        .endMetadata()
+        .withNewSpec()
+            .withNewSelector()
+                .addToMatchLabels("app", "death-star")
+            .endSelector()
+        .endSpec()
+        .build()
+    private val watch1: LogWatch = mock()
+    private val watch2: LogWatch = mock()
+    private val model: IResourceModel = mock {
+        on { watchLog(any(), any(), any(), any()) }.thenReturn(watch1, watch2)
+    }
+    private val messages = mutableListOf<String>()
+
+    @Test
+    fun `#added should follow log of running container of matching pod`() {
+        // given
+        val streams = createStreams()
+        val pod = pod("vader", "death-star")
+        // when
+        streams.added(pod)
+        // then
+        verify(model).watchLog(eq(pod.spec.containers[0]), eq(pod), any(), eq(WorkloadLogStreams.OPTIONS))
+        assertThat(streams.streaming).isEqualTo(1)
+    }
+
+    @Test
+    fun `#added should not follow log of pod that does not match selector`() {
+        // given
+        val streams = createStreams()
+        val pod = pod("luke", "rebellion")
+        // when
+        streams.added(pod)
+        // then
+        verify(model, never()).watchLog(any(), any(), any(), any())
+        assertThat(streams.streaming).isEqualTo(0)
+    }
+
+    @Test
+    fun `#added should not follow log of container that is not running`() {
+        // given
+        val streams = createStreams()
+        val pod = pod("vader", "death-star", false)
+        // when
+        streams.added(pod)
+        // then
+        verify(model, never()).watchLog(any(), any(), any(), any())
+    }
+
+    @Test
+    fun `#removed should stop following log of pod`() {
+        // given
+        val streams = createStreams()
+        val pod = pod("vader", "death-star")
+        streams.added(pod)
+        // when
+        streams.removed(pod)
+        // then
+        verify(model).stopWatch(watch1)
+        assertThat(streams.streaming).isEqualTo(0)
+    }
+
+    @Test
+    fun `#modified should stop following log of container that stopped running`() {
+        // given
+        val streams = createStreams()
+        streams.added(pod("vader", "death-star"))
+        // when
+        streams.modified(pod("vader", "death-star", false))
+        // then
+        verify(model).stopWatch(watch1)
+    }
+
+    @Test
+    fun `#added should let container wait if max streams are followed`() {
+        // given
+        val streams = createStreams(1)
+        streams.added(pod("vader", "death-star"))
+        // when
+        streams.added(pod("tarkin", "death-star"))
+        // then
+        verify(model, times(1)).watchLog(any(), any(), any(), any())
+        assertThat(streams.waitingCount).isEqualTo(1)
+        assertThat(messages).anyMatch { it.contains("waiting") }
+    }
+
+    @Test
+    fun `#removed should follow waiting container once a stream is free`() {
+        // given
+        val streams = createStreams(1)
+        val vader = pod("vader", "death-star")
+        val tarkin = pod("tarkin", "death-star")
+        streams.added(vader)
+        streams.added(tarkin)
+        // when
+        streams.removed(vader)
+        // then
+        verify(model).watchLog(eq(tarkin.spec.containers[0]), eq(tarkin), any(), any())
+        assertThat(streams.waitingCount).isEqualTo(0)
+        assertThat(streams.streaming).isEqualTo(1)
+    }
+
+    @Test
+    fun `#stop should stop following all logs`() {
+        // given
+        val streams = createStreams()
+        streams.added(pod("vader", "death-star"))
+        streams.added(pod("tarkin", "death-star"))
+        // when
+        streams.stop()
+        // then
+        verify(model).stopWatch(watch1)
+        verify(model).stopWatch(watch2)
+        verify(model).removeListener(streams)
+    }
+
+    @Test
+    fun `#start should not notify pods that exist already as added`() {
+        // given
+        mockPods(pod("vader", "death-star"), pod("tarkin", "death-star"))
+        val streams = createStreams()
+        // when
+        streams.start()
+        // then
+        assertThat(streams.streaming).isEqualTo(2)
+        assertThat(messages).noneMatch { message -> message.endsWith("was added.") }
+    }
+
+    @Test
+    fun `#added should notify pod that is added after start`() {
+        // given
+        mockPods(pod("vader", "death-star"))
+        val streams = createStreams()
+        streams.start()
+        // when
+        streams.added(pod("tarkin", "death-star"))
+        // then
+        assertThat(messages).containsExactly("Pod tarkin was added.")
+    }
+
+    @Test
+    fun `#stop should release watch of pods that start watched`() {
+        // given
+        mockPods()
+        val streams = createStreams()
+        streams.start()
+        // when
+        streams.stop()
+        streams.stop()
+        // then
+        verify(model, times(1)).releaseWatch(NamespacedPodsOperator.KIND)
+    }
+
+    @Test
+    fun `#stop should NOT release watch of pods if it was not started`() {
+        // given
+        val streams = createStreams()
+        // when
+        streams.stop()
+        // then
+        verify(model, never()).releaseWatch(any())
+    }
+
+    private fun mockPods(vararg pods: Pod) {
+        val listable: IListable<Pod> = mock {
+            on { list() } doReturn pods.toList()
+        }
+        val filterable: FilterableResources<Pod> = mock {
+            on { filtered(any()) } doReturn listable
+        }
+        val namespaceable: Namespaceable<Pod> = mock {
+            on { inCurrentNamespace() } doReturn filterable
+        }
+        whenever(model.resources(NamespacedPodsOperator.KIND)).doReturn(namespaceable)
+    }
+
+    private fun createStreams(maxStreams: Int = WorkloadLogStreams.MAX_STREAMS): WorkloadLogStreams {
+        return WorkloadLogStreams(
+            deployment,
+            model,
+            { mock<OutputStream>() },
+            { message -> messages.add(message) },
+            maxStreams,
+            WorkloadLogStreams.OPTIONS,
+            { runnable -> runnable.run() }
+        )
+    }
+
+    private fun pod(name: String, app: String, running: Boolean = true): Pod {
+        val builder = PodBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace("empire")
+                .addToLabels("app", app)
+            .endMetadata()
+            .withNewSpec()
+                .addNewContainer()
+                    .withName("sith")
+                .endContainer()
+            .endSpec()
+        return if (running) {
+            builder.withNewStatus()
+                    .addNewContainerStatus()
+                        .withName("sith")
+                        .withReady(true)
+                        .withNewState()
+                            .withNewRunning()
+                            .endRunning()
+                        .endState()
+                    .endContainerStatus()
+                .endStatus()
+                .build()
+        } else {
+            builder.build()
+        }
+    }
+}
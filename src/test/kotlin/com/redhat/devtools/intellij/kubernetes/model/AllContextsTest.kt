@@ -22,6 +22,7 @@ import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.client.ClientConfig.Change
 import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.context.IContext
 import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.NAMESPACE1
@@ -403,8 +404,8 @@ class AllContextsTest {
     @Test
     fun `#onKubeConfigChanged() should NOT fire if existing config and updated config are equal`() {
         // given
-        doReturn(true)
-            .whenever(clientConfig).isEqualConfig(any())
+        doReturn(emptySet<Change>())
+            .whenever(clientConfig).getChanges(any())
         // when
         allContexts.onKubeConfigChanged(mock(), null)
         // then
@@ -412,10 +413,10 @@ class AllContextsTest {
     }
 
     @Test
-    fun `#onKubeConfigChanged() should fire if existing config and updated config are not equal`() {
+    fun `#onKubeConfigChanged() should fire if current context in updated config changed`() {
         // given
-        doReturn(false)
-            .whenever(clientConfig).isEqualConfig(any())
+        doReturn(setOf(Change.CURRENT_CONTEXT))
+            .whenever(clientConfig).getChanges(any())
         // when
         allContexts.onKubeConfigChanged(mock(), null)
         // then
@@ -423,10 +424,10 @@ class AllContextsTest {
     }
 
     @Test
-    fun `#onKubeConfigChanged() should close client if existing config and updated config are not equal`() {
+    fun `#onKubeConfigChanged() should close client if current context in updated config changed`() {
         // given
-        doReturn(false)
-            .whenever(clientConfig).isEqualConfig(any())
+        doReturn(setOf(Change.CURRENT_CONTEXT))
+            .whenever(clientConfig).getChanges(any())
         // when
         allContexts.onKubeConfigChanged(mock(), null)
         // then
@@ -434,10 +435,20 @@ class AllContextsTest {
     }
 
     @Test
-    fun `#onKubeConfigChanged() should close current context if existing config and updated config are not equal`() {
+    fun `#onKubeConfigChanged() should close current context if current context in updated config changed`() {
+        // given
+        allContexts.current // create current context
+        doReturn(setOf(Change.CURRENT_CONTEXT))
+            .whenever(clientConfig).getChanges(any())
+        // when
+        allContexts.onKubeConfigChanged(mock(), null)
+        // then
+        verify(activeContext).close()
+    }
+
+    @Test
+    fun `#onKubeConfigChanged() should close current context if there was an error`() {
         // given
-        doReturn(false)
-            .whenever(clientConfig).isEqualConfig(any())
         // when
         allContexts.onKubeConfigChanged(mock(), mock())
         // then
@@ -445,16 +456,74 @@ class AllContextsTest {
     }
 
     @Test
-    fun `#onKubeConfigChanged() should get all contexts (again) if existing config and updated config are not equal`() {
+    fun `#onKubeConfigChanged() should get all contexts (again) if current context in updated config changed`() {
+        // given
+        doReturn(setOf(Change.CURRENT_CONTEXT))
+            .whenever(clientConfig).getChanges(any())
+        // when
+        allContexts.onKubeConfigChanged(mock(), null)
+        // then
+        verify(clientConfig).allContexts
+    }
+
+    @Test
+    fun `#onKubeConfigChanged() should get all contexts (again) if there was an error`() {
         // given
-        doReturn(false)
-            .whenever(clientConfig).isEqualConfig(any())
         // when
         allContexts.onKubeConfigChanged(mock(), mock())
         // then
         verify(clientConfig).allContexts
     }
 
+    @Test
+    fun `#onKubeConfigChanged() should NOT close client nor current context if only contexts changed`() {
+        // given
+        allContexts.current // create current context
+        doReturn(setOf(Change.CONTEXTS))
+            .whenever(clientConfig).getChanges(any())
+        // when
+        allContexts.onKubeConfigChanged(mock(), null)
+        // then
+        verify(clientAdapter, never()).close()
+        verify(activeContext, never()).close()
+    }
+
+    @Test
+    fun `#onKubeConfigChanged() should update contexts but keep current context if only contexts changed`() {
+        // given
+        val current = allContexts.current
+        val updated: Config = mock()
+        doReturn(setOf(Change.CONTEXTS))
+            .whenever(clientConfig).getChanges(any())
+        doReturn(listOf(namedContext1, currentContext))
+            .whenever(clientConfig).allContexts
+        // when
+        allContexts.onKubeConfigChanged(updated, null)
+        // then
+        verify(clientConfig).setContexts(updated)
+        assertThat(allContexts.all)
+            .extracting(IContext::name)
+            .containsExactly(namedContext1.name, currentContext.name)
+        assertThat(allContexts.current).isSameAs(current)
+        verify(modelChange).fireAllContextsChanged()
+    }
+
+    @Test
+    fun `#onKubeConfigChanged() should update credentials in existing client if only credentials changed`() {
+        // given
+        allContexts.current // create current context
+        val updated: Config = mock()
+        doReturn(setOf(Change.CREDENTIALS))
+            .whenever(clientConfig).getChanges(any())
+        // when
+        allContexts.onKubeConfigChanged(updated, null)
+        // then
+        verify(clientConfig).setCredentials(updated)
+        verify(clientAdapter, never()).close()
+        verify(activeContext, never()).close()
+        verify(modelChange, never()).fireAllContextsChanged()
+    }
+
     /**
      * Returns a client mock that answers with the given boolean to the call
      * [client.namespaces().withName("<name>").isReady]
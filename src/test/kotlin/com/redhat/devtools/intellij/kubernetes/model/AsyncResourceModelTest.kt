@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.intellij.openapi.util.Disposer
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.inOrder
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class AsyncResourceModelTest {
+
+    private val pod: Pod = PodBuilder()
+        .withNewMetadata()
+            .withName("yoda")
+        .endMetadata()
+        .build()
+    private val filterable: FilterableResources<Pod> = mock {
+        on { list() } doReturn listOf(pod)
+    }
+    private val namespaceable: Namespaceable<Pod> = mock {
+        on { inCurrentNamespace() } doReturn filterable
+        on { inAnyNamespace() } doReturn filterable
+        on { inNoNamespace() } doReturn filterable
+    }
+    private val model: IResourceModel = mock {
+        on { resources(NamespacedPodsOperator.KIND) } doReturn namespaceable
+    }
+    private val executor = QueueExecutor()
+    private val async = AsyncResourceModel(model, executor)
+
+    @Test
+    fun `#list should not list on calling thread`() {
+        // given
+        // when
+        val future = async.list(NamespacedPodsOperator.KIND, ResourcesIn.CURRENT_NAMESPACE)
+        // then
+        assertThat(future).isNotDone
+        verify(filterable, never()).list()
+    }
+
+    @Test
+    fun `#list should list resources in requested namespace`() {
+        // given
+        val future = async.list(NamespacedPodsOperator.KIND, ResourcesIn.CURRENT_NAMESPACE)
+        // when
+        executor.runAll()
+        // then
+        verify(namespaceable).inCurrentNamespace()
+        assertThat(future.get()).containsExactly(pod)
+    }
+
+    @Test
+    fun `#getReplicas should complete exceptionally if model throws`() {
+        // given
+        whenever(model.getReplicas(any())).thenThrow(ResourceException("the dark side clouds everything"))
+        val future = async.getReplicas(pod)
+        // when
+        executor.runAll()
+        // then
+        assertThatThrownBy { future.get() }
+            .isInstanceOf(ExecutionException::class.java)
+            .hasCauseInstanceOf(ResourceException::class.java)
+    }
+
+    @Test
+    fun `#call should be canceled and skipped if parent is disposed before it runs`() {
+        // given
+        val parent = Disposer.newDisposable()
+        var called = false
+        val future = async.call(parent) { called = true }
+        // when
+        Disposer.dispose(parent)
+        executor.runAll()
+        // then
+        assertThat(future).isCancelled
+        assertThat(called).isFalse()
+    }
+
+    @Test
+    fun `#call should be canceled right away if parent is disposed already`() {
+        // given
+        val parent = Disposer.newDisposable()
+        Disposer.dispose(parent)
+        // when
+        val future = async.call(parent) { "luke" }
+        // then
+        assertThat(future).isCancelled
+        assertThat(executor.size).isEqualTo(0)
+    }
+
+    @Test
+    fun `#call should not be canceled if parent is disposed after it completed`() {
+        // given
+        val parent = Disposer.newDisposable()
+        val future = async.call(parent) { "luke" }
+        executor.runAll()
+        // when
+        Disposer.dispose(parent)
+        // then
+        assertThat(future).isCompleted
+        assertThat(future.get()).isEqualTo("luke")
+    }
+
+    @Test
+    fun `#watch and #stopWatch should run in requested order`() {
+        // given
+        val async = AsyncResourceModel(model, PooledExecutor())
+        // when
+        async.watch(NamespacedPodsOperator.KIND)
+        async.stopWatch(NamespacedPodsOperator.KIND)
+            .get(5, TimeUnit.SECONDS)
+        // then
+        inOrder(model) {
+            verify(model).watch(NamespacedPodsOperator.KIND)
+            verify(model).stopWatch(NamespacedPodsOperator.KIND)
+        }
+    }
+
+    @Test
+    fun `#callInOrder should skip call that was canceled`() {
+        // given
+        val parent = Disposer.newDisposable()
+        val watch = async.callInOrder(parent) { model.watch(NamespacedPodsOperator.KIND) }
+        val stop = async.callInOrder { model.stopWatch(NamespacedPodsOperator.KIND) }
+        // when
+        Disposer.dispose(parent)
+        executor.runAll()
+        // then
+        assertThatThrownBy { watch.get() }
+            .isInstanceOf(CancellationException::class.java)
+        assertThat(stop).isCompleted
+        verify(model, never()).watch(NamespacedPodsOperator.KIND)
+        verify(model).stopWatch(NamespacedPodsOperator.KIND)
+    }
+
+    /**
+     * An executor that queues tasks until they are run explicitly.
+     */
+    private class QueueExecutor : Executor {
+
+        private val tasks = ArrayDeque<Runnable>()
+
+        val size: Int
+            get() = synchronized(tasks) { tasks.size }
+
+        override fun execute(command: Runnable) {
+            synchronized(tasks) {
+                tasks.add(command)
+            }
+        }
+
+        fun runAll() {
+            var task = synchronized(tasks) { tasks.removeFirstOrNull() }
+            while (task != null) {
+                task.run()
+                task = synchronized(tasks) { tasks.removeFirstOrNull() }
+            }
+        }
+    }
+
+    /**
+     * An executor that runs each task in a thread of its own.
+     */
+    private class PooledExecutor : Executor {
+        override fun execute(command: Runnable) {
+            Thread(command).start()
+        }
+    }
+}
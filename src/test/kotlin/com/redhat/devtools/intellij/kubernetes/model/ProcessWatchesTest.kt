@@ -16,6 +16,8 @@ import com.nhaarman.mockitokotlin2.doReturn
 import com.nhaarman.mockitokotlin2.eq
 import com.nhaarman.mockitokotlin2.isNull
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
@@ -142,6 +144,33 @@ class ProcessWatchesTest {
         assertThat(stopped).isTrue
     }
 
+    @Test
+    fun `#watchLog and #watchExec should share the same client`() {
+        // given
+        // when
+        watches.watchLog(container1, pod, mock())
+        watches.watchExec(container2, pod, mock())
+        // then
+        verify(clientFactory, times(1)).invoke(anyOrNull(), anyOrNull())
+        assertThat(watches.clientCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `#stopWatchLog should close client only once all watches are stopped`() {
+        // given
+        val logWatch = watches.watchLog(container1, pod, mock())
+        val execWatch = watches.watchExec(container2, pod, mock())
+        // when
+        watches.stopWatchLog(logWatch!!)
+        // then
+        verify(client.get(), never()).close()
+        // when
+        watches.stopWatchExec(execWatch!!)
+        // then
+        verify(client.get()).close()
+        assertThat(watches.clientCount).isEqualTo(0)
+    }
+
     @Test
     fun `#stopWatchLog should return false if watch does not exist`() {
         // given
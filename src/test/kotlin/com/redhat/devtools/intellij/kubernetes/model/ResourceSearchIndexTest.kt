@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.Service
+import io.fabric8.kubernetes.api.model.ServiceBuilder
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ResourceSearchIndexTest {
+
+    private val nginx = pod("nginx-7d9c", "default", mapOf("app" to "web"))
+    private val nginxCanary = pod("nginx-canary", "staging", mapOf("app" to "web", "track" to "canary"))
+    private val redis = pod("redis-0", "default", mapOf("app" to "cache"))
+    private val nginxService = service("nginx", "default")
+    private val index = ResourceSearchIndex().apply {
+        listOf(nginx, nginxCanary, redis, nginxService).forEach { add(it) }
+    }
+
+    @Test
+    fun `#search should find resources whose name contains query`() {
+        // given
+        // when
+        val found = index.search("canary")
+        // then
+        assertThat(found).containsExactly(nginxCanary)
+    }
+
+    @Test
+    fun `#search should find resources whose name starts with short query`() {
+        // given
+        // when
+        val found = index.search("re")
+        // then
+        assertThat(found).containsExactly(redis)
+    }
+
+    @Test
+    fun `#search should not find resources whose name contains short query in the middle`() {
+        // given
+        // when
+        val found = index.search("gi")
+        // then
+        assertThat(found).isEmpty()
+    }
+
+    @Test
+    fun `#search should find resources by label`() {
+        // given
+        // when
+        val found = index.search("app=cache")
+        // then
+        assertThat(found).containsExactly(redis)
+    }
+
+    @Test
+    fun `#search should find resources that match all words`() {
+        // given
+        // when
+        val found = index.search("nginx staging")
+        // then
+        assertThat(found).containsExactly(nginxCanary)
+    }
+
+    @Test
+    fun `#search should find resources by kind`() {
+        // given
+        // when
+        val found = index.search("service")
+        // then
+        assertThat(found).containsExactly(nginxService)
+    }
+
+    @Test
+    fun `#search should return exact name match first`() {
+        // given
+        // when
+        val found = index.search("nginx")
+        // then
+        assertThat(found).containsExactly(nginxService, nginx, nginxCanary)
+    }
+
+    @Test
+    fun `#search should return no more than given maximum`() {
+        // given
+        // when
+        val found = index.search("nginx", 2)
+        // then
+        assertThat(found).containsExactly(nginxService, nginx)
+    }
+
+    @Test
+    fun `#remove should remove resource from index`() {
+        // given
+        // when
+        index.remove(redis)
+        // then
+        assertThat(index.search("redis")).isEmpty()
+    }
+
+    @Test
+    fun `#add should replace existing resource`() {
+        // given
+        val relabeled = pod("redis-0", "default", mapOf("app" to "store"))
+        // when
+        index.add(relabeled)
+        // then
+        assertThat(index.search("app=cache")).isEmpty()
+        assertThat(index.search("app=store")).containsExactly(relabeled)
+        assertThat(index.size()).isEqualTo(4)
+    }
+
+    @Test
+    fun `#replaceAll should replace resources of given kind in given namespace only`() {
+        // given
+        val postgres = pod("postgres-0", "default", emptyMap())
+        // when
+        index.replaceAll(ResourceKind.create(Pod::class.java), "default", listOf(postgres))
+        // then
+        assertThat(index.search("redis")).isEmpty()
+        assertThat(index.search("postgres")).containsExactly(postgres)
+        assertThat(index.search("canary")).containsExactly(nginxCanary)
+        assertThat(index.search("nginx")).contains(nginxService)
+    }
+
+    private fun pod(name: String, namespace: String, labels: Map<String, String>): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .withLabels(labels)
+            .endMetadata()
+            .build()
+    }
+
+    private fun service(name: String, namespace: String): Service {
+        return ServiceBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+            .endMetadata()
+            .build()
+    }
+}
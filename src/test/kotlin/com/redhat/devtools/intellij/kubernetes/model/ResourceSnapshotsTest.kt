@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.AllPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.SecretsOperator
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.SecretBuilder
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+class ResourceSnapshotsTest {
+
+    private lateinit var directory: Path
+    private lateinit var executor: ScheduledExecutorService
+    private lateinit var snapshots: ResourceSnapshots
+
+    @Before
+    fun before() {
+        this.directory = Files.createTempDirectory("snapshots")
+        // long delay: writes only happen when flushing
+        this.executor = Executors.newSingleThreadScheduledExecutor()
+        this.snapshots = ResourceSnapshots(directory, executor, 60 * 1000, 3)
+    }
+
+    @After
+    fun after() {
+        executor.shutdownNow()
+        directory.toFile().deleteRecursively()
+    }
+
+    @Test
+    fun `#load should return resources that were saved`() {
+        // given
+        val pods = listOf(pod("luke", "1"), pod("leia", "2"))
+        snapshots.save(AllPodsOperator.KIND, "jedis") { pods }
+        snapshots.flush()
+        // when
+        val loaded = snapshots.load(AllPodsOperator.KIND, "jedis")
+        // then
+        assertThat(loaded).hasSize(2)
+        assertThat(loaded.map { it.metadata.name }).containsExactly("luke", "leia")
+        assertThat(loaded.map { it.metadata.resourceVersion }).containsExactly("1", "2")
+        assertThat(loaded).allMatch { it is Pod }
+    }
+
+    @Test
+    fun `#load should return empty list if nothing was saved`() {
+        // given
+        // when
+        val loaded = snapshots.load(AllPodsOperator.KIND, "jedis")
+        // then
+        assertThat(loaded).isEmpty()
+    }
+
+    @Test
+    fun `#load should return empty list for different scope`() {
+        // given
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod("luke", "1")) }
+        snapshots.flush()
+        // when
+        val loaded = snapshots.load(AllPodsOperator.KIND, "siths")
+        // then
+        assertThat(loaded).isEmpty()
+    }
+
+    @Test
+    fun `#save should not write managed fields`() {
+        // given
+        val pod = PodBuilder(pod("luke", "1"))
+            .editMetadata()
+                .withManagedFields(ManagedFieldsEntryBuilder().withManager("yoda").build())
+            .endMetadata()
+            .build()
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod) }
+        snapshots.flush()
+        // when
+        val loaded = snapshots.load(AllPodsOperator.KIND, "jedis")
+        // then
+        assertThat(loaded.first().metadata.managedFields).isEmpty()
+    }
+
+    @Test
+    fun `#save should write latest resources only if saved several times`() {
+        // given
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod("luke", "1")) }
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod("luke", "2"), pod("leia", "1")) }
+        snapshots.flush()
+        // when
+        val loaded = snapshots.load(AllPodsOperator.KIND, "jedis")
+        // then
+        assertThat(loaded.map { it.metadata.name }).containsExactly("luke", "leia")
+        assertThat(loaded.first().metadata.resourceVersion).isEqualTo("2")
+    }
+
+    @Test
+    fun `#save should not write secrets`() {
+        // given
+        val secret = SecretBuilder()
+            .withNewMetadata()
+                .withName("death star plans")
+                .withUid("uid")
+            .endMetadata()
+            .addToStringData("plans", "exhaust port")
+            .build()
+        // when
+        snapshots.save(SecretsOperator.KIND, "empire") { listOf(secret) }
+        snapshots.flush()
+        // then
+        assertThat(Files.list(directory).count()).isEqualTo(0)
+        assertThat(snapshots.load(SecretsOperator.KIND, "empire")).isEmpty()
+    }
+
+    @Test
+    fun `#save should delete existing snapshot if resources exceed max resources`() {
+        // given
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod("luke", "1")) }
+        snapshots.flush()
+        assertThat(snapshots.load(AllPodsOperator.KIND, "jedis")).isNotEmpty()
+        // when
+        snapshots.save(AllPodsOperator.KIND, "jedis") {
+            listOf(pod("luke", "2"), pod("leia", "1"), pod("obiwan", "1"), pod("yoda", "1"))
+        }
+        snapshots.flush()
+        // then
+        assertThat(snapshots.load(AllPodsOperator.KIND, "jedis")).isEmpty()
+    }
+
+    @Test
+    fun `#save should delete oldest snapshots if snapshots exceed max bytes`() {
+        // given
+        val snapshots = ResourceSnapshots(directory, executor, 60 * 1000, 3, 1)
+        snapshots.save(AllPodsOperator.KIND, "jedis") { listOf(pod("luke", "1")) }
+        snapshots.flush()
+        // when
+        snapshots.save(AllPodsOperator.KIND, "siths") { listOf(pod("vader", "1")) }
+        snapshots.flush()
+        // then
+        assertThat(snapshots.load(AllPodsOperator.KIND, "jedis")).isEmpty()
+        assertThat(snapshots.load(AllPodsOperator.KIND, "siths")).isNotEmpty()
+    }
+
+    private fun pod(name: String, resourceVersion: String): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace("jedis")
+                .withUid("$name-uid")
+                .withResourceVersion(resourceVersion)
+            .endMetadata()
+            .build()
+    }
+}
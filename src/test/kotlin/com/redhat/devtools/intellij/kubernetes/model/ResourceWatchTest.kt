@@ -26,7 +26,9 @@ import io.fabric8.kubernetes.api.model.apps.Deployment
 import io.fabric8.kubernetes.client.KubernetesClientException
 import io.fabric8.kubernetes.client.Watch
 import io.fabric8.kubernetes.client.Watcher
+import io.fabric8.kubernetes.client.WatcherException
 import java.util.concurrent.BlockingDeque
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.LinkedBlockingDeque
 import java.util.concurrent.TimeUnit
 import org.assertj.core.api.Assertions.assertThat
@@ -219,13 +221,57 @@ class ResourceWatchTest {
         assertThat(namespaceWatchOp.watch?.isClosed()).isTrue
     }
 
+    @Test
+    fun `should reconnect watch if watcher closes with error`() {
+        // given
+        val reconnectedWatch = WatchFake()
+        podWatchOpProvider.watch = reconnectedWatch
+        // when
+        podWatchOpProvider.watcher?.onClose(WatcherException("connection reset"))
+        // then
+        assertThat(resourceWatch.isReconnecting(podKind)).isTrue
+        resourceWatch.runQueuedOperation()
+        assertThat(resourceWatch.watches[podKind]).isEqualTo(reconnectedWatch)
+        assertThat(resourceWatch.isReconnecting(podKind)).isFalse
+        assertThat(resourceWatch.getMetrics()[podKind]?.reconnects).isEqualTo(1)
+    }
+
+    @Test
+    fun `should not reconnect watch if watcher closes without error`() {
+        // given
+        // when
+        podWatchOpProvider.watcher?.onClose()
+        // then
+        assertThat(resourceWatch.isReconnecting(podKind)).isFalse
+        assertThat(resourceWatch.watches[podKind]).isEqualTo(podWatchOpProvider.watch)
+    }
+
+    @Test
+    fun `#stopWatch() should not reconnect watch that failed`() {
+        // given
+        podWatchOpProvider.watcher?.onClose(WatcherException("connection reset"))
+        val reconnectedWatch = WatchFake()
+        podWatchOpProvider.watch = reconnectedWatch
+        // when
+        resourceWatch.stopWatch(podKind)
+        resourceWatch.runQueuedOperation()
+        // then
+        assertThat(resourceWatch.watches).doesNotContainKey(podKind)
+        assertThat(reconnectedWatch.isClosed()).isTrue
+    }
+
     class TestableResourceWatch(
         watchOperations: BlockingDeque<WatchOperation<*>>,
         watchOperationsRunner: Runnable = mock()
     ) : ResourceWatch<ResourceKind<out HasMetadata>>(
         watchOperations,
         watchOperationsRunner,
-        { runnable: Runnable -> runnable.run() }) {
+        { runnable: Runnable -> runnable.run() },
+        // reconnect right away
+        WatchSupervisor(schedule = { runnable, _ ->
+            runnable.run()
+            CompletableFuture.completedFuture(null)
+        })) {
 
         public override val watches = spy(super.watches)
 
@@ -239,6 +285,10 @@ class ResourceWatchTest {
             // run in sequence, not in separate thread
             queuedOperation?.run()
         }
+
+        fun runQueuedOperation() {
+            watchOperations.pollFirst(10, TimeUnit.SECONDS)?.run()
+        }
     }
 
     private class OperationState {
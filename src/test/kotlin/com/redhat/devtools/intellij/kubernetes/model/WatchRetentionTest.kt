@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Future
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class WatchRetentionTest {
+
+    private val stopped = mutableListOf<String>()
+    private val scheduled = mutableListOf<Pair<Runnable, CompletableFuture<Unit>>>()
+    private var gracePeriod = 1000L
+    private val retention = WatchRetention<String>(
+        { key -> stopped.add(key) },
+        { gracePeriod },
+        { 3 },
+        ::schedule
+    )
+
+    @Test
+    fun `#released should not stop watch before grace period is over`() {
+        // given
+        retention.watched("pods")
+        // when
+        retention.released("pods")
+        // then
+        assertThat(stopped).isEmpty()
+        assertThat(scheduled).hasSize(1)
+    }
+
+    @Test
+    fun `#released should stop watch once grace period is over`() {
+        // given
+        retention.watched("pods")
+        retention.released("pods")
+        // when
+        runScheduled()
+        // then
+        assertThat(stopped).containsExactly("pods")
+    }
+
+    @Test
+    fun `#released should stop watch right away if there is no grace period`() {
+        // given
+        gracePeriod = 0
+        retention.watched("pods")
+        // when
+        retention.released("pods")
+        // then
+        assertThat(stopped).containsExactly("pods")
+    }
+
+    @Test
+    fun `#released should not stop watch that is still used`() {
+        // given
+        gracePeriod = 0
+        retention.watched("pods")
+        retention.watched("pods")
+        // when
+        retention.released("pods")
+        // then
+        assertThat(stopped).isEmpty()
+        assertThat(scheduled).isEmpty()
+    }
+
+    @Test
+    fun `#released should return false if watch is unknown`() {
+        // given
+        // when
+        val released = retention.released("pods")
+        // then
+        assertThat(released).isFalse
+    }
+
+    @Test
+    fun `#watched should cancel pending stop`() {
+        // given
+        retention.watched("pods")
+        retention.released("pods")
+        // when
+        retention.watched("pods")
+        runScheduled()
+        // then
+        assertThat(scheduled.first().second).isCancelled
+        assertThat(stopped).isEmpty()
+    }
+
+    @Test
+    fun `#watched should evict least recently used released watch if there are too many`() {
+        // given
+        retention.watched("pods")
+        retention.watched("services")
+        retention.watched("secrets")
+        retention.released("services")
+        retention.released("pods")
+        // when
+        retention.watched("deployments")
+        // then
+        assertThat(stopped).containsExactly("services")
+        assertThat(retention.getEvictions()).containsEntry("services", 1)
+    }
+
+    @Test
+    fun `#watched should not evict watches that are in use`() {
+        // given
+        retention.watched("pods")
+        retention.watched("services")
+        retention.watched("secrets")
+        // when
+        retention.watched("deployments")
+        // then
+        assertThat(stopped).isEmpty()
+        assertThat(retention.getEvictions()).isEmpty()
+    }
+
+    @Test
+    fun `#removed should cancel pending stop`() {
+        // given
+        retention.watched("pods")
+        retention.released("pods")
+        // when
+        retention.removed("pods")
+        runScheduled()
+        // then
+        assertThat(stopped).isEmpty()
+    }
+
+    private fun schedule(runnable: Runnable, delay: Long): Future<*> {
+        val future = CompletableFuture<Unit>()
+        scheduled.add(Pair(runnable, future))
+        return future
+    }
+
+    private fun runScheduled() {
+        scheduled
+            .filter { (_, future) -> !future.isCancelled }
+            .forEach { (runnable, _) -> runnable.run() }
+    }
+}
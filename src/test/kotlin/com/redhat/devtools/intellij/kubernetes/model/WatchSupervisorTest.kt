@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Future
+import kotlin.random.Random
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class WatchSupervisorTest {
+
+    private var now = 0L
+    private val scheduled = mutableListOf<Pair<Runnable, Long>>()
+    private val futures = mutableListOf<CompletableFuture<Unit>>()
+    private val disconnected = mutableListOf<String>()
+    private val reconnected = mutableListOf<String>()
+    private val supervisor = WatchSupervisor<String>(
+        { key, _ -> disconnected.add(key) },
+        { key -> reconnected.add(key) },
+        ::schedule,
+        1000,
+        8000,
+        Random(42),
+        { now }
+    )
+
+    @Test
+    fun `#onFailed should schedule reconnect with growing delay`() {
+        // given
+        // when
+        repeat(6) { supervisor.onFailed("pods", null) {} }
+        // then
+        val delays = scheduled.map { it.second }
+        assertThat(delays[0]).isBetween(500, 1000)
+        assertThat(delays[1]).isBetween(1000, 2000)
+        assertThat(delays[2]).isBetween(2000, 4000)
+        assertThat(delays[3]).isBetween(4000, 8000)
+        // bounded by max delay
+        assertThat(delays[4]).isBetween(4000, 8000)
+        assertThat(delays[5]).isBetween(4000, 8000)
+    }
+
+    @Test
+    fun `#onFailed should notify disconnect once per outage`() {
+        // given
+        // when
+        supervisor.onFailed("pods", null) {}
+        supervisor.onFailed("pods", null) {}
+        // then
+        assertThat(disconnected).containsExactly("pods")
+        assertThat(supervisor.isReconnecting("pods")).isTrue
+    }
+
+    @Test
+    fun `#onConnected should record reconnect and downtime`() {
+        // given
+        now = 1000
+        supervisor.onFailed("pods", null) {}
+        now = 4000
+        supervisor.onFailed("pods", null) {}
+        now = 6000
+        // when
+        supervisor.onConnected("pods")
+        // then
+        val metrics = supervisor.getMetrics()["pods"]
+        assertThat(metrics?.failures).isEqualTo(1)
+        assertThat(metrics?.reconnects).isEqualTo(1)
+        assertThat(metrics?.downtime).isEqualTo(5000)
+        assertThat(metrics?.lastFailure).isEqualTo(1000)
+        assertThat(reconnected).containsExactly("pods")
+        assertThat(supervisor.isReconnecting("pods")).isFalse
+    }
+
+    @Test
+    fun `#onConnected should reset backoff`() {
+        // given
+        repeat(4) { supervisor.onFailed("pods", null) {} }
+        supervisor.onConnected("pods")
+        // when
+        supervisor.onFailed("pods", null) {}
+        // then
+        assertThat(scheduled.last().second).isBetween(500, 1000)
+    }
+
+    @Test
+    fun `#onConnected should not record reconnect if watch had not failed`() {
+        // given
+        // when
+        supervisor.onConnected("pods")
+        // then
+        assertThat(supervisor.getMetrics()).isEmpty()
+        assertThat(reconnected).isEmpty()
+    }
+
+    @Test
+    fun `#onStopped should cancel pending reconnect`() {
+        // given
+        supervisor.onFailed("pods", null) {}
+        // when
+        supervisor.onStopped("pods")
+        // then
+        assertThat(futures.last()).isCancelled
+        assertThat(supervisor.isReconnecting("pods")).isFalse
+        assertThat(reconnected).isEmpty()
+    }
+
+    @Test
+    fun `#getMetrics should include ongoing downtime`() {
+        // given
+        now = 1000
+        supervisor.onFailed("pods", null) {}
+        // when
+        now = 3000
+        val metrics = supervisor.getMetrics()["pods"]
+        // then
+        assertThat(metrics?.downtime).isEqualTo(2000)
+        assertThat(metrics?.reconnects).isEqualTo(0)
+    }
+
+    private fun schedule(runnable: Runnable, delay: Long): Future<*> {
+        scheduled.add(Pair(runnable, delay))
+        val future = CompletableFuture<Unit>()
+        futures.add(future)
+        return future
+    }
+}
@@ -89,55 +89,88 @@ class ClientConfigTest {
 	}
 
 	@Test
-	fun `#isEqualConfig should return true if context is equal`() {
+	fun `#getChanges should return no changes if config is equal`() {
 		// given
 		// when
-		val isEqualConfig = clientConfig.isEqualConfig(config)
+		val changes = clientConfig.getChanges(config)
 		// then
-		assertThat(isEqualConfig).isTrue()
+		assertThat(changes).isEmpty()
 	}
 
 	@Test
-	fun `#isEqualConfig should return false if context has different current context`() {
+	fun `#getChanges should return current context change if config is null`() {
+		// given
+		// when
+		val changes = clientConfig.getChanges(null)
+		// then
+		assertThat(changes).containsExactly(ClientConfig.Change.CURRENT_CONTEXT)
+	}
+
+	@Test
+	fun `#getChanges should return current context change if config has different current context`() {
 		// given
 		val config = config(namedContext4, allContexts)
 		// when
-		val isEqualConfig = clientConfig.isEqualConfig(config)
+		val changes = clientConfig.getChanges(config)
 		// then
-		assertThat(isEqualConfig).isFalse()
+		assertThat(changes).containsExactly(ClientConfig.Change.CURRENT_CONTEXT)
 	}
 
 	@Test
-	fun `#isEqualConfig should return false if context has different cluster`() {
+	fun `#getChanges should return current context change if config has different cluster`() {
 		// given
 		val config = config(currentContext, allContexts, "https://deathstar.com")
 		// when
-		val isEqualConfig = clientConfig.isEqualConfig(config)
+		val changes = clientConfig.getChanges(config)
+		// then
+		assertThat(changes).containsExactly(ClientConfig.Change.CURRENT_CONTEXT)
+	}
+
+	@Test
+	fun `#getChanges should return current context change if config has different client certificate`() {
+		// given
+		val config = config(currentContext, allContexts)
+		doReturn("/jedi/certificate.pem")
+			.whenever(config).clientCertFile
+		// when
+		val changes = clientConfig.getChanges(config)
 		// then
-		assertThat(isEqualConfig).isFalse()
+		assertThat(changes).containsExactly(ClientConfig.Change.CURRENT_CONTEXT)
 	}
 
 	@Test
-	fun `#isEqualConfig should return false if context has different token`() {
+	fun `#getChanges should return credentials change if config has different token`() {
 		// given
 		val config = config(currentContext, allContexts)
 		doReturn("the force")
 			.whenever(config).autoOAuthToken
 		// when
-		val isEqualConfig = clientConfig.isEqualConfig(config)
+		val changes = clientConfig.getChanges(config)
 		// then
-		assertThat(isEqualConfig).isFalse()
+		assertThat(changes).containsExactly(ClientConfig.Change.CREDENTIALS)
 	}
 
 	@Test
-	fun `#isEqualConfig should return false if context has additional existing context`() {
+	fun `#getChanges should return contexts change if config has additional context`() {
 		// given
 		val allContexts = listOf(namedContext1, namedContext2, namedContext3, namedContext4)
 		val config = config(currentContext, allContexts)
 		// when
-		val isEqualConfig = clientConfig.isEqualConfig(config)
+		val changes = clientConfig.getChanges(config)
+		// then
+		assertThat(changes).containsExactly(ClientConfig.Change.CONTEXTS)
+	}
+
+	@Test
+	fun `#setCredentials should set token of given config`() {
+		// given
+		val updated = config(currentContext, allContexts)
+		doReturn("the force")
+			.whenever(updated).autoOAuthToken
+		// when
+		clientConfig.setCredentials(updated)
 		// then
-		assertThat(isEqualConfig).isFalse()
+		verify(config).autoOAuthToken = "the force"
 	}
 
 	@Test
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.client
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.anyOrNull
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import io.fabric8.kubernetes.client.KubernetesClient
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ClientPoolTest {
+
+    private val clientFactory: (String?, String?) -> ClientAdapter<out KubernetesClient> = mock {
+        on { invoke(anyOrNull(), anyOrNull()) } doAnswer { mock<ClientAdapter<KubernetesClient>>() }
+    }
+
+    private val pool = ClientPool(clientFactory)
+
+    @Test
+    fun `#acquire should create client only once for the same context`() {
+        // given
+        // when
+        val first = pool.acquire("death star")
+        val second = pool.acquire("death star")
+        // then
+        verify(clientFactory, times(1)).invoke(anyOrNull(), any())
+        assertThat(first).isSameAs(second)
+        assertThat(pool.clients).isEqualTo(1)
+        assertThat(pool.references).isEqualTo(2)
+    }
+
+    @Test
+    fun `#acquire should create client for each context`() {
+        // given
+        // when
+        val deathStar = pool.acquire("death star")
+        val rebelBase = pool.acquire("rebel base")
+        // then
+        assertThat(deathStar).isNotSameAs(rebelBase)
+        assertThat(pool.clients).isEqualTo(2)
+    }
+
+    @Test
+    fun `#release should not close client if it is still used`() {
+        // given
+        val client = pool.acquire("death star")
+        pool.acquire("death star")
+        // when
+        pool.release(client)
+        // then
+        verify(client, never()).close()
+        assertThat(pool.clients).isEqualTo(1)
+    }
+
+    @Test
+    fun `#release should close client if it is not used anymore`() {
+        // given
+        val client = pool.acquire("death star")
+        pool.acquire("death star")
+        // when
+        pool.release(client)
+        pool.release(client)
+        // then
+        verify(client).close()
+        assertThat(pool.clients).isEqualTo(0)
+    }
+
+    @Test
+    fun `#acquire should create new client if previous one was closed`() {
+        // given
+        val previous = pool.acquire("death star")
+        pool.release(previous)
+        // when
+        val client = pool.acquire("death star")
+        // then
+        assertThat(client).isNotSameAs(previous)
+        verify(clientFactory, times(2)).invoke(anyOrNull(), any())
+    }
+
+    @Test
+    fun `#release should return false if client is not pooled`() {
+        // given
+        val client: ClientAdapter<KubernetesClient> = mock()
+        // when
+        val released = pool.release(client)
+        // then
+        assertThat(released).isFalse
+        verify(client, never()).close()
+    }
+}
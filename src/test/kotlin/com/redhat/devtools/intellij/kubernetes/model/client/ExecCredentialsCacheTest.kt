@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.client
+
+import com.intellij.openapi.util.SystemInfo
+import com.redhat.devtools.intellij.kubernetes.model.client.ExecCredentialsCache.ExecCredential
+import io.fabric8.kubernetes.api.model.AuthInfo
+import io.fabric8.kubernetes.api.model.AuthInfoBuilder
+import io.fabric8.kubernetes.api.model.ExecConfig
+import io.fabric8.kubernetes.api.model.ExecConfigBuilder
+import io.fabric8.kubernetes.api.model.NamedContextBuilder
+import io.fabric8.kubernetes.client.Config
+import io.fabric8.kubernetes.client.ConfigBuilder
+import io.fabric8.kubernetes.client.KubernetesClientException
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Assume.assumeFalse
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class ExecCredentialsCacheTest {
+
+    private val exec: ExecConfig = ExecConfigBuilder()
+        .withApiVersion("client.authentication.k8s.io/v1beta1")
+        .withCommand("aws")
+        .withArgs("eks", "get-token", "--cluster-name", "death-star")
+        .build()
+
+    private val start = Instant.parse("2025-05-04T12:00:00Z")
+    private var now = start
+    private val runs = AtomicInteger()
+    private val configured = AtomicInteger()
+    private var kubeConfigStamp = "1"
+
+    private lateinit var directory: Path
+    private lateinit var executor: ExecutorService
+
+    @Before
+    fun before() {
+        this.directory = Files.createTempDirectory("exec-plugin")
+        this.executor = Executors.newCachedThreadPool()
+    }
+
+    @After
+    fun after() {
+        executor.shutdownNow()
+        directory.toFile().deleteRecursively()
+    }
+
+    @Test
+    fun `#getToken should run plugin only once if token is not expired`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        // when
+        val first = cache.getToken("luke", exec, null)
+        val second = cache.getToken("luke", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(1)
+        assertThat(first).isEqualTo("token-1")
+        assertThat(second).isEqualTo("token-1")
+    }
+
+    @Test
+    fun `#getToken should run plugin again if token is expired`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        cache.getToken("luke", exec, null)
+        // when
+        now = start.plus(Duration.ofHours(2))
+        val token = cache.getToken("luke", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(2)
+        assertThat(token).isEqualTo("token-2")
+    }
+
+    @Test
+    fun `#getToken should run plugin again if token expires within expiration margin`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        cache.getToken("luke", exec, null)
+        // when
+        now = start.plus(Duration.ofHours(1)).minus(ExecCredentialsCache.EXPIRATION_MARGIN.dividedBy(2))
+        cache.getToken("luke", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#getToken should keep token without expiration for max age`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(null)) { now }
+        cache.getToken("luke", exec, null)
+        // when
+        now = start.plus(ExecCredentialsCache.MAX_AGE_WITHOUT_EXPIRATION).minus(Duration.ofMinutes(1))
+        cache.getToken("luke", exec, null)
+        now = start.plus(ExecCredentialsCache.MAX_AGE_WITHOUT_EXPIRATION).plus(Duration.ofMinutes(1))
+        cache.getToken("luke", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#getToken should run plugin for each user`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        // when
+        cache.getToken("luke", exec, null)
+        cache.getToken("leia", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#getToken should run plugin only once if called concurrently`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        // when
+        val threads = (1..10).map {
+            Thread { cache.getToken("luke", exec, null) }
+        }
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+        // then
+        assertThat(runs.get()).isEqualTo(1)
+    }
+
+    @Test
+    fun `#invalidate should run plugin again`() {
+        // given
+        val cache = ExecCredentialsCache(runPlugin(start.plus(Duration.ofHours(1)))) { now }
+        cache.getToken("luke", exec, null)
+        // when
+        cache.invalidate("luke", exec)
+        cache.getToken("luke", exec, null)
+        // then
+        assertThat(runs.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#autoConfigure should auto configure only once for user with exec plugin`() {
+        // given
+        val cache = cache(runPlugin(null)) { "opaque-token" }
+        // when
+        val first = cache.autoConfigure("death-star")
+        val second = cache.autoConfigure("death-star")
+        // then
+        assertThat(configured.get()).isEqualTo(1)
+        assertThat(first).isNotSameAs(second)
+        assertThat(second.currentContext.context.user).isEqualTo("luke")
+        assertThat(second.autoOAuthToken).isEqualTo("opaque-token")
+    }
+
+    @Test
+    fun `#autoConfigure should return configs whose contexts can be changed independently`() {
+        // given
+        val cache = cache(runPlugin(null)) { "opaque-token" }
+        val first = cache.autoConfigure("death-star")
+        // when
+        first.currentContext.context.namespace = "rebels"
+        val second = cache.autoConfigure("death-star")
+        // then
+        assertThat(second.currentContext.context.namespace).isNotEqualTo("rebels")
+    }
+
+    @Test
+    fun `#autoConfigure should auto configure again if kube config changed`() {
+        // given
+        val cache = cache(runPlugin(null)) { "opaque-token" }
+        cache.autoConfigure("death-star")
+        // when
+        kubeConfigStamp = "2"
+        cache.autoConfigure("death-star")
+        // then
+        assertThat(configured.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#autoConfigure should auto configure each time for user without exec plugin`() {
+        // given
+        val cache = cache(runPlugin(null), authInfo = AuthInfoBuilder().withToken("may-the-force").build()) { null }
+        // when
+        cache.autoConfigure("death-star")
+        cache.autoConfigure("death-star")
+        // then
+        assertThat(configured.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `#setTokenProvider should seed cache with opaque token that config holds`() {
+        // given
+        val cache = cache(runPlugin(null)) { "opaque-token" }
+        val config = cache.autoConfigure("death-star")
+        // when
+        cache.setTokenProvider(config)
+        // then
+        assertThat(config.oauthTokenProvider.token).isEqualTo("opaque-token")
+        assertThat(runs.get()).isZero()
+    }
+
+    @Test
+    fun `#getToken should run plugin script only once for several clients`() {
+        // given
+        assumeFalse(SystemInfo.isWindows)
+        val exec = plugin("""
+            echo run >> "${'$'}(dirname "${'$'}0")/invocations"
+            echo '{"apiVersion":"client.authentication.k8s.io/v1beta1","kind":"ExecCredential","status":{"token":"opaque-token"}}'
+        """)
+        val cache = ExecCredentialsCache({ exec, directory -> ExecCredentialsCache.execute(exec, directory, executor) }) { now }
+        // when
+        val threads = (1..5).map {
+            Thread { cache.getToken("luke", exec, directory.toFile()) }
+        }
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+        val token = cache.getToken("luke", exec, directory.toFile())
+        // then
+        assertThat(token).isEqualTo("opaque-token")
+        assertThat(Files.readAllLines(directory.resolve("invocations"))).hasSize(1)
+    }
+
+    @Test
+    fun `#execute should time out if plugin script hangs`() {
+        // given
+        assumeFalse(SystemInfo.isWindows)
+        val exec = plugin("sleep 30")
+        // when
+        // then
+        assertThatThrownBy { ExecCredentialsCache.execute(exec, directory.toFile(), executor, 1) }
+            .isInstanceOf(KubernetesClientException::class.java)
+            .hasMessageContaining("timed out")
+    }
+
+    @Test
+    fun `#execute should report what plugin script printed to stderr if it fails`() {
+        // given
+        assumeFalse(SystemInfo.isWindows)
+        val exec = plugin("""
+            echo "no credentials for the death star" >&2
+            exit 1
+        """)
+        // when
+        // then
+        assertThatThrownBy { ExecCredentialsCache.execute(exec, directory.toFile(), executor) }
+            .isInstanceOf(KubernetesClientException::class.java)
+            .hasMessageContaining("no credentials for the death star")
+    }
+
+    @Test
+    fun `#parse should return token and expiration`() {
+        // given
+        val json = """
+            {
+              "apiVersion": "client.authentication.k8s.io/v1beta1",
+              "kind": "ExecCredential",
+              "status": {
+                "token": "may-the-force",
+                "expirationTimestamp": "2025-05-04T13:00:00Z"
+              }
+            }
+        """.trimIndent()
+        // when
+        val credential = ExecCredential.parse(json)
+        // then
+        assertThat(credential).isEqualTo(ExecCredential("may-the-force", Instant.parse("2025-05-04T13:00:00Z")))
+    }
+
+    @Test
+    fun `#parse should return null expiration if there is none`() {
+        // given
+        val json = """{ "kind": "ExecCredential", "status": { "token": "may-the-force" } }"""
+        // when
+        val credential = ExecCredential.parse(json)
+        // then
+        assertThat(credential?.token).isEqualTo("may-the-force")
+        assertThat(credential?.expiration).isNull()
+    }
+
+    @Test
+    fun `#parse should return null if there is no token`() {
+        // given
+        val json = """{ "kind": "ExecCredential", "status": { "clientCertificateData": "cert" } }"""
+        // when
+        val credential = ExecCredential.parse(json)
+        // then
+        assertThat(credential).isNull()
+    }
+
+    private fun cache(
+        runPlugin: (ExecConfig, File?) -> ExecCredential?,
+        authInfo: AuthInfo = AuthInfoBuilder().withExec(exec).build(),
+        token: () -> String?
+    ): ExecCredentialsCache {
+        return ExecCredentialsCache(
+            runPlugin,
+            { context ->
+                configured.incrementAndGet()
+                config(context, token.invoke())
+            },
+            { Pair(File("/kube/config"), authInfo) },
+            { kubeConfigStamp }
+        ) { now }
+    }
+
+    private fun config(context: String?, token: String?): Config {
+        val namedContext = NamedContextBuilder()
+            .withName(context)
+            .withNewContext()
+                .withCluster("empire")
+                .withUser("luke")
+                .withNamespace("jedis")
+            .endContext()
+            .build()
+        return ConfigBuilder(Config.empty())
+            .withMasterUrl("https://deathstar.com")
+            .build()
+            .apply {
+                contexts = listOf(namedContext)
+                currentContext = namedContext
+                autoOAuthToken = token
+            }
+    }
+
+    /**
+     * Writes a shell script that acts as exec credential plugin and returns its exec config.
+     */
+    private fun plugin(script: String): ExecConfig {
+        val file = directory.resolve("plugin.sh")
+        Files.writeString(file, "#!/bin/sh\n${script.trimIndent()}\n")
+        file.toFile().setExecutable(true)
+        return ExecConfigBuilder()
+            .withApiVersion("client.authentication.k8s.io/v1beta1")
+            .withCommand(file.toString())
+            .build()
+    }
+
+    private fun runPlugin(expiration: Instant?): (ExecConfig, File?) -> ExecCredential? {
+        return { _, _ ->
+            val run = runs.incrementAndGet()
+            ExecCredential("token-$run", expiration?.plus(Duration.between(start, now)))
+        }
+    }
+}
@@ -13,6 +13,7 @@ package com.redhat.devtools.intellij.kubernetes.model.context
 import com.nhaarman.mockitokotlin2.*
 import com.redhat.devtools.intellij.kubernetes.model.Notification
 import com.redhat.devtools.intellij.kubernetes.model.ResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.ResourceSearchIndex
 import com.redhat.devtools.intellij.kubernetes.model.ResourceWatch
 import com.redhat.devtools.intellij.kubernetes.model.client.ClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
@@ -262,6 +263,25 @@ class KubernetesContextTest {
 		verify(nodesOperator, never()).allResources
 	}
 
+	@Test
+	fun `#getResources should index resources that were listed`() {
+		// given
+		// when
+		context.getAllResources(NodesOperator.KIND, ResourcesIn.NO_NAMESPACE)
+		// then
+		verify(context.searchIndex).replaceAll(eq(NodesOperator.KIND), anyOrNull(), any())
+	}
+
+	@Test
+	fun `#getResources should NOT index resources again if they were not listed again`() {
+		// given
+		context.getAllResources(NodesOperator.KIND, ResourcesIn.NO_NAMESPACE)
+		// when
+		context.getAllResources(NodesOperator.KIND, ResourcesIn.NO_NAMESPACE)
+		// then
+		verify(context.searchIndex, times(1)).replaceAll(eq(NodesOperator.KIND), anyOrNull(), any())
+	}
+
 	@Test
 	fun `#getResources should return empty list if there's no operator for given resource type in given ResourceIn type`() {
 		// given
@@ -675,34 +695,25 @@ class KubernetesContextTest {
 	}
 
 	@Test
-	fun `#added(CustomResourceDefinition) should create namespaced custom resources operator if definition was added`() {
+	fun `#added(CustomResourceDefinition) should NOT create custom resources operator if definition was added`() {
 		// given
-		val currentNamespace = currentNamespace.metadata.name
-		setNamespaceForResource(currentNamespace, namespacedDefinition)
-		whenever(customResourceDefinitionsOperator.added(namespacedDefinition))
+		whenever(customResourceDefinitionsOperator.added(clusterwideDefinition))
 				.doReturn(true)
-		clearInvocations(context)
 		// when
-		context.added(namespacedDefinition)
+		context.added(clusterwideDefinition)
 		// then
-		verify(context)
-				.createCustomResourcesOperator(
-						eq(namespacedDefinition),
-						eq(ResourcesIn.CURRENT_NAMESPACE))
+		verify(context, never()).createCustomResourcesOperator(eq(clusterwideDefinition), any())
 	}
 
 	@Test
-	fun `#added(CustomResourceDefinition) should create clusterwide custom resources operator if definition was added`() {
+	fun `#added(CustomResourceDefinition) should fire added if definition was added`() {
 		// given
 		whenever(customResourceDefinitionsOperator.added(clusterwideDefinition))
 				.doReturn(true)
 		// when
 		context.added(clusterwideDefinition)
 		// then
-		verify(context, times(1))
-				.createCustomResourcesOperator(
-						eq(clusterwideDefinition),
-						eq(ResourcesIn.NO_NAMESPACE))
+		verify(modelChange).fireAdded(clusterwideDefinition)
 	}
 
 	@Test
@@ -986,6 +997,8 @@ class KubernetesContextTest {
 
 		public override val dashboard: IDashboard = mock()
 
+		public override val searchIndex: ResourceSearchIndex = mock()
+
 		public override val namespacedOperators
 				: MutableMap<ResourceKind<out HasMetadata>, INamespacedResourceOperator<out HasMetadata, KubernetesClient>>
 			get() {
@@ -12,11 +12,14 @@ package com.redhat.devtools.intellij.kubernetes.model.context
 
 import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.doThrow
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.never
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.client.ClusterCapabilities
+import com.redhat.devtools.intellij.kubernetes.model.client.ClusterCapabilitiesCache
 import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.client.OSClientAdapter
 import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.client
@@ -30,14 +33,22 @@ import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.NamedContext
 import io.fabric8.kubernetes.api.model.Namespace
 import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientException
+import io.fabric8.kubernetes.client.NamespacedKubernetesClient
+import io.fabric8.kubernetes.client.VersionInfo
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.Before
 import org.junit.Test
+import java.net.URL
 
 class LazyOpenShiftContextTest {
 
     private val context = namedContext("leia")
     private var modelChange: IResourceModelObservable = mock()
+    private val masterUrl = URL("https://jedi.org")
+    private lateinit var capabilities: ClusterCapabilitiesCache
 
+    private lateinit var kubernetesClient: NamespacedKubernetesClient
     private lateinit var kubernetesClientAdapter: KubeClientAdapter
 
     private lateinit var openshiftClientAdapter: OSClientAdapter
@@ -73,13 +84,19 @@ class LazyOpenShiftContextTest {
                 .thenReturn(openshiftContext)
         }
 
+        this.kubernetesClient = client(
+            "skywalker",
+            emptyArray(),
+            masterUrl
+        )
+        doReturn(VersionInfo.Builder().withGitVersion("v1.30.0").build())
+            .whenever(kubernetesClient).kubernetesVersion
         this.kubernetesClientAdapter = clientAdapter<KubeClientAdapter>(
-            null, client(
-                "skywalker",
-                emptyArray()
-            ),
+            null,
+            kubernetesClient,
             openshiftClientAdapter
         )
+        this.capabilities = ClusterCapabilitiesCache(null)
 
         this.kubernetesContext = activeContext(
             resource<Namespace>("jedi"),
@@ -181,14 +198,102 @@ class LazyOpenShiftContextTest {
             .isOpenShift()
     }
 
-    private fun createClusterAwareContext(): LazyOpenShiftContext {
+    @Test
+    fun `#constructor creates an openshift context up front if cached capabilities say OpenShift`() {
+        // given
+        capabilities.put(masterUrl, ClusterCapabilities("v1.30", isOpenShift = true))
+        // when
+        createClusterAwareContext { /* don't revalidate */ }
+        // then
+        verify(openshiftContextFactory)
+            .invoke(openshiftClientAdapter, modelChange)
+        verify(kubernetesContextFactory, never())
+            .invoke(any(), any(), any())
+    }
+
+    @Test
+    fun `#constructor does NOT notify model change if revalidated capabilities match cached ones`() {
+        // given
+        capabilities.put(masterUrl, ClusterCapabilities(null, isOpenShift = true))
+        doReturn(true)
+            .whenever(kubernetesClientAdapter).canAdaptToOpenShift()
+        // when
+        val context = createClusterAwareContext()
+        // then
+        verify(modelChange, never())
+            .fireModified(context)
+    }
+
+    @Test
+    fun `#constructor switches to kubernetes context and notifies if cached capabilities are outdated`() {
+        // given
+        capabilities.put(masterUrl, ClusterCapabilities(null, isOpenShift = true))
+        doReturn(false)
+            .whenever(kubernetesClientAdapter).canAdaptToOpenShift()
+        // when
+        val context = createClusterAwareContext()
+        // then
+        verify(modelChange)
+            .fireModified(context)
+        context.isOpenShift()
+        verify(kubernetesContext)
+            .isOpenShift()
+    }
+
+    @Test
+    fun `#constructor closes replaced context`() {
+        // given
+        doReturn(true)
+            .whenever(kubernetesClientAdapter).canAdaptToOpenShift()
+        // when
+        createClusterAwareContext()
+        // then
+        verify(kubernetesContext)
+            .close()
+        verify(openshiftContext, never())
+            .close()
+    }
+
+    @Test
+    fun `#constructor does NOT switch context nor cache capabilities if cluster cannot be reached`() {
+        // given
+        capabilities.put(masterUrl, ClusterCapabilities("v1.30.0", isOpenShift = true))
+        doThrow(KubernetesClientException("timeout"))
+            .whenever(kubernetesClient).kubernetesVersion
+        doReturn(false)
+            .whenever(kubernetesClientAdapter).canAdaptToOpenShift()
+        // when
+        val context = createClusterAwareContext()
+        // then
+        verify(modelChange, never())
+            .fireModified(context)
+        verify(kubernetesContextFactory, never())
+            .invoke(any(), any(), any())
+        assertThat(capabilities.get(masterUrl)?.isOpenShift).isTrue()
+    }
+
+    @Test
+    fun `#constructor caches revalidated capabilities`() {
+        // given
+        doReturn(true)
+            .whenever(kubernetesClientAdapter).canAdaptToOpenShift()
+        // when
+        createClusterAwareContext()
+        // then
+        assertThat(capabilities.get(masterUrl)?.isOpenShift).isTrue()
+    }
+
+    private fun createClusterAwareContext(
+        runAsync: (runnable: () -> Unit) -> Unit = { runnable -> runnable.invoke() }
+    ): LazyOpenShiftContext {
         return LazyOpenShiftContext(
             context,
             modelChange,
             kubernetesClientAdapter,
             kubernetesContextFactory,
             openshiftContextFactory,
-            { runnable -> runnable.invoke() }
+            runAsync,
+            capabilities
         )
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.deployment
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.pod
+import com.redhat.devtools.intellij.kubernetes.model.resource.ResourceKind
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.apps.Deployment
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class DiagnosticsTest {
+
+    private var now = 1_000_000L /* ms */
+    private var nanos = 0L
+    private val diagnostics = Diagnostics({ now }, { nanos })
+
+    @Test
+    fun `#listed should record latency in bucket`() {
+        // given
+        // when
+        listed(NamespacedPodsOperator.KIND, 30)
+        listed(NamespacedPodsOperator.KIND, 70)
+        listed(NamespacedPodsOperator.KIND, 20_000)
+        // then
+        val latencies = diagnostics.getListLatencies()[NamespacedPodsOperator.KIND]!!
+        assertThat(latencies.count).isEqualTo(3)
+        assertThat(latencies.max).isEqualTo(20_000)
+        assertThat(latencies.buckets[1]).isEqualTo(1) // <= 50ms
+        assertThat(latencies.buckets[2]).isEqualTo(1) // <= 100ms
+        assertThat(latencies.buckets.last()).isEqualTo(1) // > 10s
+    }
+
+    @Test
+    fun `#listed should record latency if listing fails`() {
+        // given
+        // when
+        assertThatThrownBy {
+            diagnostics.listed(NamespacedPodsOperator.KIND) {
+                nanos += TimeUnit.MILLISECONDS.toNanos(300)
+                throw RuntimeException("timeout")
+            }
+        }
+        // then
+        assertThat(diagnostics.getListLatencies()[NamespacedPodsOperator.KIND]!!.count).isEqualTo(1)
+    }
+
+    @Test
+    fun `#percentile should return upper bound of bucket that holds percentile`() {
+        // given
+        repeat(19) { listed(NamespacedPodsOperator.KIND, 5) }
+        listed(NamespacedPodsOperator.KIND, 400)
+        val latencies = diagnostics.getListLatencies()[NamespacedPodsOperator.KIND]!!
+        // when
+        val p50 = latencies.percentile(50)
+        val p99 = latencies.percentile(99)
+        // then
+        assertThat(p50).isEqualTo(10)
+        assertThat(p99).isEqualTo(500)
+    }
+
+    @Test
+    fun `#received should average events per second over the last minute`() {
+        // given
+        repeat(30) { diagnostics.received(pod("smurfette")) }
+        now += 90_000 // older than a minute
+        repeat(120) { diagnostics.received(pod("brainy")) }
+        diagnostics.received(deployment("smurf village", apiVersion = "apps/v1"))
+        // when
+        val events = diagnostics.getEvents()
+        // then
+        val pods = events[ResourceKind.create(Pod::class.java)]!!
+        assertThat(pods.total).isEqualTo(150)
+        assertThat(pods.perSecond).isEqualTo(2.0)
+        assertThat(events[ResourceKind.create(Deployment::class.java)]!!.total).isEqualTo(1)
+    }
+
+    @Test
+    fun `#treeUpdated should record number and duration of updates`() {
+        // given
+        // when
+        diagnostics.treeUpdated { nanos += TimeUnit.MILLISECONDS.toNanos(40) }
+        diagnostics.treeUpdated { nanos += TimeUnit.MILLISECONDS.toNanos(60) }
+        // then
+        assertThat(diagnostics.getTreeUpdates().count).isEqualTo(2)
+        assertThat(diagnostics.getTreeUpdates().total).isEqualTo(100)
+        assertThat(diagnostics.getTreeUpdates().max).isEqualTo(60)
+    }
+
+    @Test
+    fun `#reset should discard everything that was recorded`() {
+        // given
+        listed(NamespacedPodsOperator.KIND, 30)
+        diagnostics.received(pod("smurfette"))
+        diagnostics.editorUpdated()
+        // when
+        diagnostics.reset()
+        // then
+        assertThat(diagnostics.getListLatencies()).isEmpty()
+        assertThat(diagnostics.getEvents()).isEmpty()
+        assertThat(diagnostics.getEditorUpdates()).isZero
+    }
+
+    private fun listed(kind: ResourceKind<Pod>, millis: Long) {
+        diagnostics.listed(kind) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis)
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.deployment
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.pod
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.Secret
+import io.fabric8.kubernetes.api.model.SecretBuilder
+import io.fabric8.kubernetes.api.model.apps.Deployment
+import io.fabric8.kubernetes.client.Watcher
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class WatchRecorderTest {
+
+    private lateinit var directory: Path
+    private lateinit var file: Path
+    private var now = 1_000_000L /* ms */
+    private val recorder = WatchRecorder { now }
+
+    @Before
+    fun before() {
+        this.directory = Files.createTempDirectory("recordings")
+        this.file = directory.resolve("events.jsonl.gz")
+    }
+
+    @After
+    fun after() {
+        recorder.stop()
+        directory.toFile().deleteRecursively()
+    }
+
+    @Test
+    fun `#record should write events that can be read back`() {
+        // given
+        recorder.start(file)
+        now += 100
+        recorder.record(Watcher.Action.ADDED, pod("yoda"))
+        now += 50
+        recorder.record(Watcher.Action.MODIFIED, deployment("jedi-council", apiVersion = "apps/v1"))
+        now += 200
+        recorder.record(Watcher.Action.DELETED, pod("yoda"))
+        // when
+        val count = recorder.stop()
+        // then
+        assertThat(count).isEqualTo(3)
+        val events = read(file)
+        assertThat(events.map { it.time }).containsExactly(100, 150, 350)
+        assertThat(events.map { it.action }).containsExactly(Watcher.Action.ADDED, Watcher.Action.MODIFIED, Watcher.Action.DELETED)
+        assertThat(events[0].resource).isInstanceOf(Pod::class.java)
+        assertThat(events[1].resource).isInstanceOf(Deployment::class.java)
+        assertThat(events[2].resource.metadata.name).isEqualTo("yoda")
+    }
+
+    @Test
+    fun `#record should not record if recording was not started`() {
+        // given
+        // when
+        recorder.record(Watcher.Action.ADDED, pod("yoda"))
+        // then
+        assertThat(recorder.isRecording).isFalse
+        assertThat(file).doesNotExist()
+    }
+
+    @Test
+    fun `#record should not record after recording was stopped`() {
+        // given
+        recorder.start(file)
+        recorder.record(Watcher.Action.ADDED, pod("yoda"))
+        recorder.stop()
+        // when
+        recorder.record(Watcher.Action.ADDED, pod("luke"))
+        // then
+        assertThat(read(file).map { it.resource.metadata.name }).containsExactly("yoda")
+    }
+
+    @Test
+    fun `#record should redact secrets and last applied configuration`() {
+        // given
+        val secret = SecretBuilder()
+            .withApiVersion("v1")
+            .withNewMetadata()
+                .withName("death-star-plans")
+                .withNamespace("empire")
+                .addToAnnotations("kubectl.kubernetes.io/last-applied-configuration", "{\"data\":{\"plans\":\"ZXhoYXVzdCBwb3J0\"}}")
+                .addToAnnotations("owner", "vader")
+            .endMetadata()
+            .addToData("plans", "ZXhoYXVzdCBwb3J0")
+            .addToStringData("password", "1138")
+            .build()
+        recorder.start(file)
+        // when
+        recorder.record(Watcher.Action.ADDED, secret)
+        recorder.stop()
+        // then
+        val recorded = read(file).single().resource as Secret
+        assertThat(recorded.data).containsEntry("plans", WatchRecorder.REDACTED)
+        assertThat(recorded.stringData).containsEntry("password", WatchRecorder.REDACTED)
+        assertThat(recorded.metadata.annotations)
+            .containsEntry("kubectl.kubernetes.io/last-applied-configuration", WatchRecorder.REDACTED)
+            .containsEntry("owner", "vader")
+        val json = GZIPInputStream(Files.newInputStream(file)).bufferedReader().use { it.readText() }
+        assertThat(json)
+            .doesNotContain("1138")
+            .doesNotContain("ZXhoYXVzdCBwb3J0")
+    }
+
+    private fun read(file: Path): List<WatchReplayer.WatchEvent> {
+        val events = mutableListOf<WatchReplayer.WatchEvent>()
+        WatchReplayer().read(file) { event -> events.add(event) }
+        return events
+    }
+}
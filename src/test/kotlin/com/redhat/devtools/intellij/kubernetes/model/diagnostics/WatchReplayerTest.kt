@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.diagnostics
+
+import com.nhaarman.mockitokotlin2.argThat
+import com.nhaarman.mockitokotlin2.inOrder
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.pod
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.client.Watcher
+import io.fabric8.kubernetes.client.WatcherException
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPOutputStream
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class WatchReplayerTest {
+
+    private lateinit var directory: Path
+    private lateinit var file: Path
+    private var now = 1_000_000L /* ms */
+    private val sleeps = mutableListOf<Long>()
+    private val replayer = WatchReplayer({ now }, { millis -> sleeps.add(millis); now += millis })
+    private val received = mutableListOf<Pair<Watcher.Action, String>>()
+    private val watcher = object : Watcher<HasMetadata> {
+        override fun eventReceived(action: Watcher.Action, resource: HasMetadata) {
+            received.add(action to resource.metadata.name)
+        }
+
+        override fun onClose(e: WatcherException?) {}
+    }
+
+    @Before
+    fun before() {
+        this.directory = Files.createTempDirectory("recordings")
+        this.file = directory.resolve("events.jsonl.gz")
+        val recorder = WatchRecorder { now }
+        recorder.start(file)
+        now += 1000
+        recorder.record(Watcher.Action.ADDED, pod("yoda"))
+        now += 1000
+        recorder.record(Watcher.Action.MODIFIED, pod("yoda"))
+        now += 2000
+        recorder.record(Watcher.Action.DELETED, pod("yoda"))
+        recorder.stop()
+    }
+
+    @After
+    fun after() {
+        directory.toFile().deleteRecursively()
+    }
+
+    @Test
+    fun `#replay should replay events in recorded order at recorded pace`() {
+        // given
+        // when
+        val count = replayer.replay(file, watcher)
+        // then
+        assertThat(count).isEqualTo(3)
+        assertThat(received).containsExactly(
+            Watcher.Action.ADDED to "yoda",
+            Watcher.Action.MODIFIED to "yoda",
+            Watcher.Action.DELETED to "yoda"
+        )
+        assertThat(sleeps).containsExactly(1000, 1000, 2000)
+    }
+
+    @Test
+    fun `#replay should accelerate pace by given speed`() {
+        // given
+        // when
+        replayer.replay(file, watcher, 4.0)
+        // then
+        assertThat(sleeps).containsExactly(250, 250, 500)
+    }
+
+    @Test
+    fun `#replay should not wait if speed is max`() {
+        // given
+        // when
+        replayer.replay(file, watcher, WatchReplayer.SPEED_MAX)
+        // then
+        assertThat(received).hasSize(3)
+        assertThat(sleeps).isEmpty()
+    }
+
+    @Test
+    fun `#replay should throw if file is not a recording`() {
+        // given
+        val other = directory.resolve("other.json.gz")
+        GZIPOutputStream(Files.newOutputStream(other)).use { stream ->
+            stream.write("{\"apiVersion\":\"v1\",\"kind\":\"List\"}\n".toByteArray())
+        }
+        // when
+        // then
+        assertThatThrownBy { replayer.replay(other, watcher) }
+            .isInstanceOf(IOException::class.java)
+        assertThat(received).isEmpty()
+    }
+
+    @Test
+    fun `#toContext should dispatch events to context`() {
+        // given
+        val context: IActiveContext<*, *> = mock()
+        // when
+        replayer.replay(file, WatchReplayer.toContext(context), WatchReplayer.SPEED_MAX)
+        // then
+        inOrder(context) {
+            verify(context).added(argThat { metadata.name == "yoda" })
+            verify(context).replaced(argThat { metadata.name == "yoda" })
+            verify(context).removed(argThat { metadata.name == "yoda" })
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.files
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import io.fabric8.kubernetes.api.model.Container
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.dsl.ExecWatch
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.PipedInputStream
+import java.io.PipedOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFileAttributeView
+import java.nio.file.attribute.PosixFilePermissions
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import kotlin.random.Random
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Assume.assumeTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class ContainerFilesTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val pod: Pod = PodBuilder()
+        .withNewMetadata()
+            .withName("death-star")
+            .withNamespace("empire")
+        .endMetadata()
+        .withNewSpec()
+            .addNewContainer()
+                .withName("reactor")
+            .endContainer()
+        .endSpec()
+        .build()
+    private val container: Container = pod.spec.containers[0]
+    private lateinit var executor: ExecutorService
+    private lateinit var local: Path
+    private lateinit var remote: Path
+
+    @Before
+    fun before() {
+        executor = Executors.newCachedThreadPool()
+        local = folder.newFolder("local").toPath()
+        remote = folder.newFolder("remote").toPath()
+    }
+
+    @After
+    fun after() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun `#upload should unpack directory in container`() {
+        // given
+        val plans = createFiles(local.resolve("plans"), 300)
+        val endpoint = UploadEndpoint(remote)
+        val model = model(endpoint.watch)
+        // small chunks and queue so that sending has to keep up with compressing
+        val files = ContainerFiles(model, executor, 1024, 2)
+        // when
+        val transfer = files.upload(plans, container, pod, "/tmp", progress())
+        // then
+        assertSameFiles(plans, remote.resolve("plans"))
+        assertThat(transfer.files).isEqualTo(301)
+        assertThat(transfer.bytes).isEqualTo(totalSize(plans))
+    }
+
+    @Test
+    fun `#upload should execute tar in given directory of container`() {
+        // given
+        val endpoint = UploadEndpoint(remote)
+        val model = model(endpoint.watch)
+        val files = ContainerFiles(model, executor)
+        val file = Files.writeString(local.resolve("vader.txt"), "I am your father")
+        // when
+        files.upload(file, container, pod, "/tmp/sith", progress())
+        // then
+        verify(model).exec(eq(container), eq(pod), eq(listOf(
+            "sh", "-c", "mkdir -p \"\$0\" && exec tar xzf - -C \"\$0\"", "/tmp/sith"
+        )), any())
+        assertThat(Files.readString(remote.resolve("vader.txt"))).isEqualTo("I am your father")
+    }
+
+    @Test
+    fun `#upload should upload file with its posix permissions`() {
+        // given
+        val endpoint = UploadEndpoint(remote)
+        val model = model(endpoint.watch)
+        val files = ContainerFiles(model, executor)
+        val file = Files.writeString(local.resolve("deathstar.sh"), "echo 'fire'")
+        assumeTrue(Files.getFileStore(file).supportsFileAttributeView(PosixFileAttributeView::class.java))
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rwxr-x---"))
+        // when
+        files.upload(file, container, pod, "/tmp", progress())
+        // then
+        assertThat(endpoint.modes["deathstar.sh"]).isEqualTo(488 /* 0750 */)
+    }
+
+    @Test
+    fun `#upload should report progress`() {
+        // given
+        val plans = createFiles(local.resolve("plans"), 10)
+        val endpoint = UploadEndpoint(remote)
+        val model = model(endpoint.watch)
+        val files = ContainerFiles(model, executor)
+        val reported = mutableListOf<Pair<Long, Long>>()
+        // when
+        files.upload(plans, container, pod, "/tmp", progress(reported))
+        // then
+        val total = totalSize(plans)
+        assertThat(reported).isNotEmpty
+        assertThat(reported).allMatch { (_, reportedTotal) -> reportedTotal == total }
+    }
+
+    @Test
+    fun `#upload should stop exec if canceled`() {
+        // given
+        val plans = createFiles(local.resolve("plans"), 10)
+        val endpoint = UploadEndpoint(remote)
+        val model = model(endpoint.watch)
+        val files = ContainerFiles(model, executor)
+        // when
+        // then
+        assertThatThrownBy { files.upload(plans, container, pod, "/tmp", progress(canceled = true)) }
+            .isInstanceOf(CancellationException::class.java)
+        verify(model).stopWatch(endpoint.watch)
+    }
+
+    @Test
+    fun `#upload should throw if tar exits with error`() {
+        // given
+        val watch = watch(
+            input = OutputStream.nullOutputStream(),
+            exitCode = CompletableFuture.completedFuture(2),
+            error = ByteArrayInputStream("tar: /tmp: Permission denied".toByteArray())
+        )
+        val model = model(watch)
+        val files = ContainerFiles(model, executor)
+        val file = Files.writeString(local.resolve("vader.txt"), "I am your father")
+        // when
+        // then
+        assertThatThrownBy { files.upload(file, container, pod, "/tmp", progress()) }
+            .isInstanceOf(ResourceException::class.java)
+        verify(model).stopWatch(watch)
+    }
+
+    @Test
+    fun `#download should unpack remote directory locally`() {
+        // given
+        val plans = createFiles(remote.resolve("plans"), 300)
+        val watch = watch(output = ByteArrayInputStream(pack(remote, plans)))
+        val model = model(watch)
+        val files = ContainerFiles(model, executor)
+        // when
+        val transfer = files.download("/data/plans", container, pod, local, progress())
+        // then
+        verify(model).exec(eq(container), eq(pod), eq(listOf("tar", "czf", "-", "-C", "/data", "plans")), any())
+        assertSameFiles(plans, local.resolve("plans"))
+        assertThat(transfer.files).isEqualTo(301)
+    }
+
+    @Test
+    fun `#download should download from root if remote is root`() {
+        // given
+        val watch = watch(output = ByteArrayInputStream(pack(remote, remote)))
+        val model = model(watch)
+        val files = ContainerFiles(model, executor)
+        // when
+        files.download("/", container, pod, local, progress())
+        // then
+        verify(model).exec(eq(container), eq(pod), eq(listOf("tar", "czf", "-", "-C", "/", ".")), any())
+    }
+
+    @Test
+    fun `#download should throw if entry is outside of local directory`() {
+        // given
+        val out = ByteArrayOutputStream()
+        GZIPOutputStream(out).use { gzip ->
+            Tar.Writer(gzip).use { tar ->
+                tar.write(Tar.Entry("../../evil.sh", Tar.TYPE_FILE, 4), ByteArrayInputStream("evil".toByteArray()))
+            }
+        }
+        val watch = watch(output = ByteArrayInputStream(out.toByteArray()))
+        val model = model(watch)
+        val files = ContainerFiles(model, executor)
+        // when
+        // then
+        assertThatThrownBy { files.download("/tmp/evil.sh", container, pod, local, progress()) }
+            .isInstanceOf(ResourceException::class.java)
+        verify(model).stopWatch(watch)
+    }
+
+    private fun model(watch: ExecWatch): IResourceModel {
+        return mock {
+            on { exec(any(), any(), any(), any()) } doReturn watch
+        }
+    }
+
+    private fun watch(
+        input: OutputStream? = null,
+        output: InputStream? = null,
+        exitCode: CompletableFuture<Int> = CompletableFuture.completedFuture(0),
+        error: InputStream = ByteArrayInputStream(ByteArray(0))
+    ): ExecWatch {
+        return mock {
+            on { this.input } doReturn input
+            on { this.output } doReturn output
+            on { this.error } doReturn error
+            on { exitCode() } doReturn exitCode
+        }
+    }
+
+    private fun progress(
+        reported: MutableList<Pair<Long, Long>> = mutableListOf(),
+        canceled: Boolean = false
+    ): ContainerFiles.Progress {
+        return object : ContainerFiles.Progress {
+            override fun onProgress(transferred: Long, total: Long) {
+                reported.add(Pair(transferred, total))
+            }
+
+            override fun isCanceled(): Boolean {
+                return canceled
+            }
+        }
+    }
+
+    private fun createFiles(directory: Path, count: Int): Path {
+        Files.createDirectories(directory.resolve("nested"))
+        val random = Random(42)
+        for (i in 0 until count) {
+            val parent = if (i % 2 == 0) directory else directory.resolve("nested")
+            Files.write(parent.resolve("file-$i.txt"), random.nextBytes(random.nextInt(0, 2048)))
+        }
+        // bigger than a chunk and with a name that is longer than 100 bytes
+        val longName = "x".repeat(120) + ".bin"
+        Files.write(directory.resolve(longName), random.nextBytes(300 * 1024))
+        return directory
+    }
+
+    private fun totalSize(directory: Path): Long {
+        return Files.walk(directory).use { paths ->
+            paths.filter { Files.isRegularFile(it) }
+                .mapToLong { Files.size(it) }
+                .sum()
+        }
+    }
+
+    private fun assertSameFiles(expected: Path, actual: Path) {
+        Files.walk(expected).use { paths ->
+            paths.filter { Files.isRegularFile(it) }
+                .forEach { file ->
+                    val copy = actual.resolve(expected.relativize(file).toString())
+                    assertThat(copy).exists()
+                    assertThat(Files.readAllBytes(copy)).isEqualTo(Files.readAllBytes(file))
+                }
+        }
+    }
+
+    /**
+     * Packs the given file or directory like `tar czf - -C <base> <name>` would.
+     */
+    private fun pack(base: Path, path: Path): ByteArray {
+        val out = ByteArrayOutputStream()
+        GZIPOutputStream(out).use { gzip ->
+            Tar.Writer(gzip).use { tar ->
+                Files.walk(path).use { paths ->
+                    paths.forEach { file ->
+                        val name = base.relativize(file).joinToString("/").ifEmpty { "." }
+                        if (Files.isDirectory(file)) {
+                            tar.write(Tar.Entry("$name/", Tar.TYPE_DIRECTORY))
+                        } else {
+                            Files.newInputStream(file).use { content ->
+                                tar.write(Tar.Entry(name, Tar.TYPE_FILE, Files.size(file)), content)
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return out.toByteArray()
+    }
+
+    /**
+     * A container that unpacks what is written to the input of its exec, like `tar xzf - -C <directory>` would.
+     */
+    private inner class UploadEndpoint(private val directory: Path) {
+
+        private val received = PipedInputStream(64 * 1024)
+        private val exitCode = CompletableFuture<Int>()
+        val watch = watch(input = PipedOutputStream(received), exitCode = exitCode)
+        /* the modes of the received entries, keyed by name */
+        val modes: MutableMap<String, Int> = ConcurrentHashMap()
+
+        init {
+            executor.execute {
+                try {
+                    val gzip = GZIPInputStream(received)
+                    val tar = Tar.Reader(gzip)
+                    var entry = tar.next()
+                    while (entry != null) {
+                        modes[entry.name] = entry.mode
+                        val target = directory.resolve(entry.name)
+                        if (entry.isDirectory) {
+                            Files.createDirectories(target)
+                        } else {
+                            Files.createDirectories(target.parent)
+                            Files.newOutputStream(target).use { out -> tar.content().copyTo(out) }
+                        }
+                        entry = tar.next()
+                    }
+                    // read up to the end of input like gunzip does
+                    received.copyTo(OutputStream.nullOutputStream())
+                    exitCode.complete(0)
+                } catch (e: Exception) {
+                    exitCode.complete(1)
+                }
+            }
+        }
+    }
+}
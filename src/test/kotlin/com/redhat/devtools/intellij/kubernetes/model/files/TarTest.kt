@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.files
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class TarTest {
+
+    @Test
+    fun `#next should read entries that were written`() {
+        // given
+        val archive = write(
+            Tar.Entry("death-star/", Tar.TYPE_DIRECTORY) to null,
+            Tar.Entry("death-star/plans.txt", Tar.TYPE_FILE, 5) to "vader",
+            Tar.Entry("death-star/empty.txt", Tar.TYPE_FILE, 0) to ""
+        )
+        val reader = Tar.Reader(ByteArrayInputStream(archive))
+        // when
+        val directory = reader.next()
+        val plans = reader.next()
+        val plansContent = String(reader.content().readBytes())
+        val empty = reader.next()
+        val end = reader.next()
+        // then
+        assertThat(directory?.name).isEqualTo("death-star/")
+        assertThat(directory?.isDirectory).isTrue()
+        assertThat(plans?.name).isEqualTo("death-star/plans.txt")
+        assertThat(plans?.isFile).isTrue()
+        assertThat(plansContent).isEqualTo("vader")
+        assertThat(empty?.size).isEqualTo(0)
+        assertThat(end).isNull()
+    }
+
+    @Test
+    fun `#next should skip content that was not read`() {
+        // given
+        val archive = write(
+            Tar.Entry("luke.txt", Tar.TYPE_FILE, 600) to "l".repeat(600),
+            Tar.Entry("leia.txt", Tar.TYPE_FILE, 4) to "leia"
+        )
+        val reader = Tar.Reader(ByteArrayInputStream(archive))
+        reader.next()
+        // when
+        val leia = reader.next()
+        // then
+        assertThat(leia?.name).isEqualTo("leia.txt")
+        assertThat(String(reader.content().readBytes())).isEqualTo("leia")
+    }
+
+    @Test
+    fun `#next should read names that are longer than 100 bytes`() {
+        // given
+        val name = "rebellion/".repeat(20) + "plans.txt"
+        val archive = write(Tar.Entry(name, Tar.TYPE_FILE, 2) to "r2")
+        val reader = Tar.Reader(ByteArrayInputStream(archive))
+        // when
+        val entry = reader.next()
+        // then
+        assertThat(entry?.name).isEqualTo(name)
+        assertThat(String(reader.content().readBytes())).isEqualTo("r2")
+    }
+
+    @Test
+    fun `#next should keep mode and modification time`() {
+        // given
+        val archive = write(Tar.Entry("jabba.sh", Tar.TYPE_FILE, 1, 493, 1234567890) to "x")
+        val reader = Tar.Reader(ByteArrayInputStream(archive))
+        // when
+        val entry = reader.next()
+        // then
+        assertThat(entry?.mode).isEqualTo(493)
+        assertThat(entry?.modified).isEqualTo(1234567890)
+    }
+
+    @Test
+    fun `#next should throw if header checksum is invalid`() {
+        // given
+        val archive = write(Tar.Entry("yoda.txt", Tar.TYPE_FILE, 1) to "y")
+        archive[0] = 'Z'.code.toByte()
+        val reader = Tar.Reader(ByteArrayInputStream(archive))
+        // when
+        // then
+        assertThatThrownBy { reader.next() }
+            .isInstanceOf(IOException::class.java)
+    }
+
+    @Test
+    fun `#write should throw if content is shorter than entry size`() {
+        // given
+        val writer = Tar.Writer(ByteArrayOutputStream())
+        // when
+        // then
+        assertThatThrownBy { writer.write(Tar.Entry("han.txt", Tar.TYPE_FILE, 10), ByteArrayInputStream("solo".toByteArray())) }
+            .isInstanceOf(IOException::class.java)
+    }
+
+    private fun write(vararg entries: Pair<Tar.Entry, String?>): ByteArray {
+        val out = ByteArrayOutputStream()
+        Tar.Writer(out).use { writer ->
+            entries.forEach { (entry, content) ->
+                writer.write(entry, content?.let { ByteArrayInputStream(it.toByteArray()) })
+            }
+        }
+        return out.toByteArray()
+    }
+}
@@ -138,7 +138,7 @@ object Mocks {
         val watchable = mock as IWatchableLog<T>
         val logWatch: LogWatch = mock()
         doReturn(logWatch)
-            .whenever(watchable).watchLog(any(), any(), any())
+            .whenever(watchable).watchLog(any(), any(), any(), any())
     }
 
     inline fun <reified T : HasMetadata, C : Client> mockExecWatcher(mock: INamespacedResourceOperator<T, C>) {
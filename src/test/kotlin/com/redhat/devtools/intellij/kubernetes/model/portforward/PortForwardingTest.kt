@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.portforward
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.timeout
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import com.redhat.devtools.intellij.kubernetes.model.FilterableResources
+import com.redhat.devtools.intellij.kubernetes.model.IListable
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.Namespaceable
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.util.ResourceException
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.IntOrString
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.Service
+import io.fabric8.kubernetes.api.model.ServiceBuilder
+import io.fabric8.kubernetes.client.PortForward
+import java.nio.channels.SocketChannel
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Test
+
+class PortForwardingTest {
+
+    private val vader = pod("vader")
+    private val tarkin = pod("tarkin")
+    private val notReady = pod("krennic", false)
+    private val service: Service = ServiceBuilder()
+        .withNewMetadata()
+            .withName("death-star")
+            .withNamespace("empire")
+        .endMetadata()
+        .withNewSpec()
+            .addToSelector("app", "death-star")
+            .addNewPort()
+                .withPort(80)
+                .withTargetPort(IntOrString("http"))
+            .endPort()
+        .endSpec()
+        .build()
+
+    private val pods: IListable<Pod> = mock {
+        on { list() } doReturn listOf(notReady, vader, tarkin)
+    }
+    private val filterable: FilterableResources<Pod> = mock {
+        on { filtered(any()) } doReturn pods
+    }
+    private val namespaceable: Namespaceable<Pod> = mock {
+        on { inCurrentNamespace() } doReturn filterable
+    }
+    private val forward: PortForward = mock {
+        on { isAlive } doReturn true
+    }
+    private val model: IResourceModel = mock {
+        on { resources(NamespacedPodsOperator.KIND) } doReturn namespaceable
+        on { portForward(any(), any(), any(), any()) } doReturn forward
+    }
+    private val listeners = LocalListeners { runnable -> runnable.run() }
+    private var forwarding: PortForwarding? = null
+
+    @After
+    fun after() {
+        forwarding?.close()
+    }
+
+    @Test
+    fun `#start should listen at a local port`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        // when
+        forwarding.start()
+        // then
+        assertThat(forwarding.localAddress?.port).isGreaterThan(0)
+    }
+
+    @Test
+    fun `#start should throw if there is no ready pod`() {
+        // given
+        whenever(pods.list()).thenReturn(listOf(notReady))
+        val forwarding = createForwarding(service, 80)
+        // when
+        // then
+        assertThatThrownBy { forwarding.start() }
+            .isInstanceOf(ResourceException::class.java)
+    }
+
+    @Test
+    fun `#start should pick a ready pod of a service`() {
+        // given
+        val forwarding = createForwarding(service, 80)
+        // when
+        forwarding.start()
+        // then
+        assertThat(forwarding.stats.target).isEqualTo("vader")
+    }
+
+    @Test
+    fun `connection should be forwarded to pod`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        forwarding.start()
+        // when
+        SocketChannel.open(forwarding.localAddress).use {
+            // then
+            verify(model, timeout(5000)).portForward(eq(vader), eq(8080), any(), any())
+        }
+    }
+
+    @Test
+    fun `connection should be forwarded to named target port of service`() {
+        // given
+        val forwarding = createForwarding(service, 80)
+        forwarding.start()
+        // when
+        SocketChannel.open(forwarding.localAddress).use {
+            // then
+            verify(model, timeout(5000)).portForward(eq(vader), eq(8080), any(), any())
+        }
+    }
+
+    @Test
+    fun `#removed should retarget service to other ready pod`() {
+        // given
+        val forwarding = createForwarding(service, 80)
+        forwarding.start()
+        // when
+        forwarding.removed(vader)
+        // then
+        assertThat(forwarding.stats.target).isEqualTo("tarkin")
+    }
+
+    @Test
+    fun `#modified should retarget service if pod is not ready anymore`() {
+        // given
+        val forwarding = createForwarding(service, 80)
+        forwarding.start()
+        // when
+        forwarding.modified(pod("vader", false))
+        // then
+        assertThat(forwarding.stats.target).isEqualTo("tarkin")
+    }
+
+    @Test
+    fun `#added should target pod if there is no target`() {
+        // given
+        val forwarding = createForwarding(service, 80)
+        forwarding.start()
+        whenever(pods.list()).thenReturn(emptyList())
+        forwarding.removed(vader)
+        assertThat(forwarding.stats.target).isNull()
+        // when
+        forwarding.added(tarkin)
+        // then
+        assertThat(forwarding.stats.target).isEqualTo("tarkin")
+    }
+
+    @Test
+    fun `#stats should count connections`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        forwarding.start()
+        // when
+        SocketChannel.open(forwarding.localAddress).use {
+            waitUntil { forwarding.stats.totalConnections > 0 }
+            // then
+            assertThat(forwarding.stats.totalConnections).isEqualTo(1)
+            assertThat(forwarding.stats.activeConnections).isEqualTo(1)
+        }
+    }
+
+    @Test
+    fun `#close should stop forwarding connections`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        forwarding.start()
+        SocketChannel.open(forwarding.localAddress).use {
+            waitUntil { forwarding.stats.activeConnections > 0 }
+            // when
+            forwarding.close()
+            // then
+            verify(model).removeListener(forwarding)
+            verify(model).stopWatch(forward)
+            assertThat(forwarding.stats.activeConnections).isEqualTo(0)
+        }
+    }
+
+    @Test
+    fun `#close should release watch of pods once`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        forwarding.start()
+        // when
+        forwarding.close()
+        forwarding.close()
+        // then
+        verify(model, times(1)).releaseWatch(NamespacedPodsOperator.KIND)
+    }
+
+    @Test
+    fun `#start should release watch of pods if there is no ready pod`() {
+        // given
+        whenever(pods.list()).thenReturn(listOf(notReady))
+        val forwarding = createForwarding(service, 80)
+        // when
+        assertThatThrownBy { forwarding.start() }
+        // then
+        verify(model, times(1)).releaseWatch(NamespacedPodsOperator.KIND)
+    }
+
+    @Test
+    fun `#close should NOT release watch of pods if it was not started`() {
+        // given
+        val forwarding = createForwarding(vader, 8080)
+        // when
+        forwarding.close()
+        // then
+        verify(model, never()).releaseWatch(any())
+    }
+
+    private fun createForwarding(resource: HasMetadata, port: Int): PortForwarding {
+        val forwarding = PortForwarding(resource, port, 0, model, listeners)
+        this.forwarding = forwarding
+        return forwarding
+    }
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val end = System.currentTimeMillis() + 5000
+        while (!condition.invoke()
+            && System.currentTimeMillis() < end) {
+            Thread.sleep(10)
+        }
+    }
+
+    private fun pod(name: String, ready: Boolean = true): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace("empire")
+                .addToLabels("app", "death-star")
+            .endMetadata()
+            .withNewSpec()
+                .addNewContainer()
+                    .withName("sith")
+                    .addNewPort()
+                        .withName("http")
+                        .withContainerPort(8080)
+                    .endPort()
+                .endContainer()
+            .endSpec()
+            .withNewStatus()
+                .addNewCondition()
+                    .withType("Ready")
+                    .withStatus(if (ready) "True" else "False")
+                .endCondition()
+            .endStatus()
+            .build()
+    }
+}
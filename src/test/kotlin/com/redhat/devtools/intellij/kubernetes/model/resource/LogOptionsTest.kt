@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class LogOptionsTest {
+
+    @Test
+    fun `#earlier should add given lines to tail window`() {
+        // given
+        val options = LogOptions(tailLines = 1000, previous = true)
+        // when
+        val earlier = options.earlier(500)
+        // then
+        assertThat(earlier).isEqualTo(LogOptions(tailLines = 1500, previous = true))
+    }
+
+    @Test
+    fun `#earlier should not exceed given max lines`() {
+        // given
+        val options = LogOptions(tailLines = 1000)
+        // when
+        val earlier = options.earlier(500, 1200)
+        // then
+        assertThat(earlier.tailLines).isEqualTo(1200)
+    }
+
+    @Test
+    fun `#earlier should return same options if there is no tail window`() {
+        // given
+        val options = LogOptions.ALL
+        // when
+        val earlier = options.earlier(500)
+        // then
+        assertThat(earlier).isSameAs(options)
+    }
+}
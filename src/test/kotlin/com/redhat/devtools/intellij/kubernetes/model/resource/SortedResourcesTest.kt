@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource
+
+import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.resource
+import io.fabric8.kubernetes.api.model.Pod
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class SortedResourcesTest {
+
+    private val brainy = resource<Pod>("brainy", "village", "uid-brainy")
+    private val gargamel = resource<Pod>("gargamel", "castle", "uid-gargamel")
+    private val smurfette = resource<Pod>("smurfette", "village", "uid-smurfette")
+    private val resources = SortedResources<Pod>().apply {
+        addAll(listOf(smurfette, brainy, gargamel))
+    }
+
+    @Test
+    fun `#addAll should sort resources by name`() {
+        // given
+        // when
+        // then
+        assertThat(resources).containsExactly(brainy, gargamel, smurfette)
+    }
+
+    @Test
+    fun `#add should insert resource at its position`() {
+        // given
+        val clumsy = resource<Pod>("clumsy", "village", "uid-clumsy")
+        // when
+        val index = resources.add(clumsy)
+        // then
+        assertThat(index).isEqualTo(1)
+        assertThat(resources).containsExactly(brainy, clumsy, gargamel, smurfette)
+    }
+
+    @Test
+    fun `#add should sort resources with same name by namespace`() {
+        // given
+        val gargamelInVillage = resource<Pod>("gargamel", "village", "uid-gargamel-2")
+        val gargamelInForest = resource<Pod>("gargamel", "forest", "uid-gargamel-3")
+        // when
+        resources.add(gargamelInVillage)
+        resources.add(gargamelInForest)
+        // then
+        assertThat(resources).containsExactly(brainy, gargamel, gargamelInForest, gargamelInVillage, smurfette)
+    }
+
+    @Test
+    fun `#find should return same resource in same namespace`() {
+        // given
+        val gargamelInVillage = resource<Pod>("gargamel", "village", "uid-gargamel-2")
+        resources.add(gargamelInVillage)
+        val lookup = resource<Pod>("gargamel", "village", "uid-gargamel-2")
+        // when
+        val found = resources.find(lookup)
+        // then
+        assertThat(found).isSameAs(gargamelInVillage)
+    }
+
+    @Test
+    fun `#replace should replace same resource at its position`() {
+        // given
+        val newGargamel = resource<Pod>("gargamel", "castle", "uid-gargamel")
+        // when
+        val replaced = resources.replace(newGargamel)
+        // then
+        assertThat(replaced).isTrue
+        assertThat(resources).containsExactly(brainy, newGargamel, smurfette)
+    }
+
+    @Test
+    fun `#remove should remove same resource`() {
+        // given
+        val lookup = resource<Pod>("smurfette", "village", "uid-smurfette")
+        // when
+        val removed = resources.remove(lookup)
+        // then
+        assertThat(removed).isTrue
+        assertThat(resources).containsExactly(brainy, gargamel)
+    }
+
+    @Test
+    fun `#remove should return false if resource is not contained`() {
+        // given
+        val azrael = resource<Pod>("azrael", "castle", "uid-azrael")
+        // when
+        val removed = resources.remove(azrael)
+        // then
+        assertThat(removed).isFalse
+        assertThat(resources).hasSize(3)
+    }
+}
@@ -38,6 +38,7 @@ import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.resource
 import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.resourceListOperation
 import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.resourceOperation
 import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.withName
+import com.redhat.devtools.intellij.kubernetes.model.resource.LogOptions
 import io.fabric8.kubernetes.api.model.Pod
 import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.client.KubernetesClient
@@ -648,6 +649,62 @@ class NamespacedPodsOperatorTest {
             .inContainer(container1.name)
     }
 
+    @Test
+    fun `#watchLog() is tailing default number of lines`() {
+        // given
+        clearInvocations(operator)
+        // when
+        operator.watchLog(container1, POD2, mock())
+        // then
+        verify(client.get().pods()
+            .inNamespace(POD2.metadata.namespace)
+            .withName(POD2.metadata.name)
+            .inContainer(container1.name))
+            .tailingLines(LogOptions.DEFAULT_TAIL_LINES)
+    }
+
+    @Test
+    fun `#watchLog() is not tailing if options have no tail lines`() {
+        // given
+        clearInvocations(operator)
+        // when
+        operator.watchLog(container1, POD2, mock(), LogOptions.ALL)
+        // then
+        verify(client.get().pods()
+            .inNamespace(POD2.metadata.namespace)
+            .withName(POD2.metadata.name)
+            .inContainer(container1.name), never())
+            .tailingLines(any())
+    }
+
+    @Test
+    fun `#watchLog() is using terminated container if options request previous container`() {
+        // given
+        clearInvocations(operator)
+        // when
+        operator.watchLog(container1, POD2, mock(), LogOptions(previous = true))
+        // then
+        verify(client.get().pods()
+            .inNamespace(POD2.metadata.namespace)
+            .withName(POD2.metadata.name)
+            .inContainer(container1.name))
+            .terminated()
+    }
+
+    @Test
+    fun `#watchLog() is using timestamps if options request timestamps`() {
+        // given
+        clearInvocations(operator)
+        // when
+        operator.watchLog(container1, POD2, mock(), LogOptions(timestamps = true))
+        // then
+        verify(client.get().pods()
+            .inNamespace(POD2.metadata.namespace)
+            .withName(POD2.metadata.name)
+            .inContainer(container1.name))
+            .usingTimestamps()
+    }
+
     @Test
     fun `#watchExec() is using resource namespace if exists`() {
         // given
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.custom
+
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import io.fabric8.kubernetes.api.model.APIGroupBuilder
+import io.fabric8.kubernetes.api.model.PartialObjectMetadataBuilder
+import io.fabric8.kubernetes.api.model.PartialObjectMetadataList
+import io.fabric8.kubernetes.api.model.PartialObjectMetadataListBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class CustomResourceCatalogTest {
+
+    private val definitions = list(
+        "compositions.apiextensions.crossplane.io",
+        "providers.pkg.crossplane.io",
+        "configurations.pkg.crossplane.io",
+        "buckets.s3.aws.upbound.io"
+    )
+    private val listed = mutableListOf<Pair<String, Long?>>()
+    private val counted = mutableMapOf<String, PartialObjectMetadataList>()
+    private val client: KubernetesClient = mock {
+        on { getApiGroup("pkg.crossplane.io") } doReturn APIGroupBuilder()
+            .withName("pkg.crossplane.io")
+            .withNewPreferredVersion()
+                .withVersion("v1")
+            .endPreferredVersion()
+            .build()
+    }
+    private val catalog = CustomResourceCatalog(client) { path, limit ->
+        listed.add(Pair(path, limit))
+        counted[path] ?: definitions
+    }
+
+    @Test
+    fun `#getGroups should group definitions by api group`() {
+        // given
+        // when
+        val groups = catalog.getGroups()
+        // then
+        assertThat(groups).containsExactlyInAnyOrder(
+            CustomResourceCatalog.Group("apiextensions.crossplane.io", 1),
+            CustomResourceCatalog.Group("pkg.crossplane.io", 2),
+            CustomResourceCatalog.Group("s3.aws.upbound.io", 1)
+        )
+    }
+
+    @Test
+    fun `#getGroups should list definitions once only`() {
+        // given
+        catalog.getGroups()
+        // when
+        catalog.getGroups()
+        // then
+        assertThat(listed).hasSize(1)
+    }
+
+    @Test
+    fun `#getGroups should list definitions again once catalog was invalidated`() {
+        // given
+        catalog.getGroups()
+        catalog.invalidate()
+        // when
+        catalog.getGroups()
+        // then
+        assertThat(listed).hasSize(2)
+    }
+
+    @Test
+    fun `#getDefinitions should return definitions in given group`() {
+        // given
+        // when
+        val entries = catalog.getDefinitions(CustomResourceCatalog.Group("pkg.crossplane.io", 2))
+        // then
+        assertThat(entries).containsExactly(
+            CustomResourceCatalog.Entry("providers.pkg.crossplane.io", "providers", "pkg.crossplane.io"),
+            CustomResourceCatalog.Entry("configurations.pkg.crossplane.io", "configurations", "pkg.crossplane.io")
+        )
+    }
+
+    @Test
+    fun `#loadCounts should count listed item and remaining items`() {
+        // given
+        val group = CustomResourceCatalog.Group("pkg.crossplane.io", 2)
+        counted["apis/pkg.crossplane.io/v1/providers"] = list(41, "provider-aws")
+        counted["apis/pkg.crossplane.io/v1/configurations"] = list(null, "platform")
+        // when
+        catalog.loadCounts(group)
+        // then
+        val (providers, configurations) = catalog.getDefinitions(group)
+        assertThat(catalog.getCount(providers)).isEqualTo(42)
+        assertThat(catalog.getCount(configurations)).isEqualTo(1)
+        assertThat(listed).contains(Pair("apis/pkg.crossplane.io/v1/providers", 1L))
+    }
+
+    @Test
+    fun `#loadCounts should count group once only`() {
+        // given
+        val group = CustomResourceCatalog.Group("pkg.crossplane.io", 2)
+        counted["apis/pkg.crossplane.io/v1/providers"] = list(41, "provider-aws")
+        catalog.loadCounts(group)
+        // when
+        catalog.loadCounts(group)
+        // then
+        assertThat(listed.filter { (path, _) -> path == "apis/pkg.crossplane.io/v1/providers" }).hasSize(1)
+    }
+
+    @Test
+    fun `#loadCounts should count group again once catalog was invalidated`() {
+        // given
+        val group = CustomResourceCatalog.Group("pkg.crossplane.io", 2)
+        counted["apis/pkg.crossplane.io/v1/providers"] = list(41, "provider-aws")
+        catalog.loadCounts(group)
+        catalog.invalidate()
+        // when
+        catalog.loadCounts(group)
+        // then
+        assertThat(listed.filter { (path, _) -> path == "apis/pkg.crossplane.io/v1/providers" }).hasSize(2)
+    }
+
+    @Test
+    fun `#loadCounts should not count if group has no preferred version`() {
+        // given
+        val group = CustomResourceCatalog.Group("s3.aws.upbound.io", 1)
+        // when
+        catalog.loadCounts(group)
+        // then
+        assertThat(catalog.getCount(catalog.getDefinitions(group).first())).isNull()
+    }
+
+    private fun list(vararg names: String): PartialObjectMetadataList {
+        return list(null, *names)
+    }
+
+    private fun list(remaining: Long?, vararg names: String): PartialObjectMetadataList {
+        return PartialObjectMetadataListBuilder()
+            .withNewMetadata()
+                .withRemainingItemCount(remaining)
+            .endMetadata()
+            .withItems(names.map { name ->
+                PartialObjectMetadataBuilder()
+                    .withNewMetadata()
+                        .withName(name)
+                    .endMetadata()
+                    .build()
+            })
+            .build()
+    }
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.scale
+
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.NamespaceBuilder
+import io.fabric8.kubernetes.api.model.NodeBuilder
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinitionBuilder
+import io.fabric8.kubernetes.client.ConfigBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientBuilder
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer
+import io.fabric8.mockwebserver.Context
+import io.fabric8.mockwebserver.http.MockWebServer
+
+/**
+ * A local cluster that is simulated by a fabric8 [KubernetesMockServer] in CRUD mode:
+ * resources that are created are listed and watch events are sent for all changes.
+ * Is seeded with the nodes, namespaces, pods and custom resource definitions of the given [ClusterShape]
+ * and creates storms of watch events as they happen in large clusters.
+ *
+ * @param shape the number of resources that the cluster holds
+ */
+class ScaleCluster(val shape: ClusterShape) : AutoCloseable {
+
+    private val server = KubernetesMockServer(Context(), MockWebServer(), HashMap(), KubernetesCrudDispatcher(), false)
+    private val client: KubernetesClient
+
+    init {
+        server.init()
+        client = server.createClient()
+    }
+
+    /**
+     * Creates all the resources of the [shape] of this cluster.
+     * Resources are created one by one, seeding large shapes takes a while.
+     */
+    fun seed(): ScaleCluster {
+        (0 until shape.nodes).forEach { index ->
+            create(NodeBuilder()
+                .withNewMetadata()
+                    .withName(shape.node(index))
+                .endMetadata()
+                .build())
+        }
+        (0 until shape.namespaces).forEach { index ->
+            create(NamespaceBuilder()
+                .withNewMetadata()
+                    .withName(shape.namespace(index))
+                .endMetadata()
+                .build())
+        }
+        (0 until shape.pods).forEach { index ->
+            create(pod("pod-$index", shape.namespace(index % shape.namespaces), shape.node(index % shape.nodes)))
+        }
+        (0 until shape.crds).forEach { index ->
+            val group = "group${index % CRD_GROUPS}.example.com"
+            create(CustomResourceDefinitionBuilder()
+                .withNewMetadata()
+                    .withName("kind${index}s.$group")
+                .endMetadata()
+                .withNewSpec()
+                    .withGroup(group)
+                    .withScope("Namespaced")
+                    .withNewNames()
+                        .withKind("Kind$index")
+                        .withPlural("kind${index}s")
+                        .withSingular("kind$index")
+                    .endNames()
+                    .addNewVersion()
+                        .withName("v1")
+                        .withServed(true)
+                        .withStorage(true)
+                    .endVersion()
+                .endSpec()
+                .build())
+        }
+        return this
+    }
+
+    /**
+     * Returns a new client for this cluster that uses the given namespace as current namespace.
+     * The caller is responsible for closing it.
+     *
+     * @param namespace the current namespace of the client
+     */
+    fun createClient(namespace: String): KubernetesClient {
+        val config = ConfigBuilder(client.configuration)
+            .withNamespace(namespace)
+            .build()
+        return KubernetesClientBuilder()
+            .withConfig(config)
+            .build()
+    }
+
+    fun getPods(namespace: String): List<Pod> {
+        return client.pods().inNamespace(namespace).list().items
+    }
+
+    fun getAllPods(): List<Pod> {
+        return client.pods().inAnyNamespace().list().items
+    }
+
+    fun create(resource: HasMetadata): HasMetadata {
+        return client.resource(resource).create()
+    }
+
+    fun delete(resource: HasMetadata) {
+        client.resource(resource).delete()
+    }
+
+    /**
+     * Rolls out new versions of the given number of pods in the given namespace, as a deployment does:
+     * a new pod is created, becomes ready and the old pod is deleted.
+     * Causes 3 watch events for each pod that is rolled out: added, modified and deleted.
+     *
+     * @param namespace the namespace of the pods to roll out
+     * @param count the number of pods to roll out
+     * @return the number of watch events that the rollout caused
+     */
+    fun rollout(namespace: String, count: Int): Int {
+        val pods = getPods(namespace).take(count)
+        pods.forEach { pod ->
+            val next = client.resource(
+                pod("${pod.metadata.name}-next", namespace, pod.spec.nodeName))
+                .create()
+            client.resource(PodBuilder(next)
+                .editMetadata()
+                    .addToLabels("ready", "true")
+                .endMetadata()
+                .build())
+                .update()
+            delete(pod)
+        }
+        return pods.size * 3
+    }
+
+    /**
+     * Drains the given node, as `kubectl drain` does: the node is cordoned and its pods are evicted and
+     * recreated on the other nodes.
+     * Causes 2 watch events for each pod that is drained: added and deleted.
+     *
+     * @param node the name of the node to drain
+     * @return the pods that were drained
+     */
+    fun drain(node: String): List<Pod> {
+        client.nodes().withName(node).edit { toCordon ->
+            NodeBuilder(toCordon)
+                .editOrNewSpec()
+                    .withUnschedulable(true)
+                .endSpec()
+                .build()
+        }
+        val drained = getAllPods()
+            .filter { pod -> node == pod.spec?.nodeName }
+        val others = (0 until shape.nodes)
+            .map { index -> shape.node(index) }
+            .filter { other -> other != node }
+            .ifEmpty { listOf(node) }
+        drained.forEachIndexed { index, pod ->
+            create(pod("${pod.metadata.name}-evicted", pod.metadata.namespace, others[index % others.size]))
+            delete(pod)
+        }
+        return drained
+    }
+
+    private fun pod(name: String, namespace: String, node: String): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .addToLabels("app", "app-${name.hashCode().mod(APPS)}")
+            .endMetadata()
+            .withNewSpec()
+                .withNodeName(node)
+                .addNewContainer()
+                    .withName("app")
+                    .withImage("quay.io/example/app:1")
+                .endContainer()
+            .endSpec()
+            .build()
+    }
+
+    override fun close() {
+        client.close()
+        server.destroy()
+    }
+
+    companion object {
+        private const val CRD_GROUPS = 20
+        private const val APPS = 50
+    }
+}
+
+/**
+ * The number of resources in a [ScaleCluster].
+ * Pods are spread evenly over the namespaces and nodes.
+ * The shape can be overridden with system properties, ex. `-Dcom.redhat.devtools.intellij.kubernetes.scale.pods=100000`
+ *
+ * @param nodes the number of nodes
+ * @param namespaces the number of namespaces
+ * @param pods the number of pods in all namespaces
+ * @param crds the number of custom resource definitions
+ */
+data class ClusterShape(
+    val nodes: Int,
+    val namespaces: Int,
+    val pods: Int,
+    val crds: Int
+) {
+    companion object {
+        private const val PROPERTY_PREFIX = "com.redhat.devtools.intellij.kubernetes.scale."
+
+        val SMALL = ClusterShape(nodes = 3, namespaces = 2, pods = 200, crds = 10)
+        val LARGE = ClusterShape(nodes = 300, namespaces = 10, pods = 50_000, crds = 1_000)
+
+        /**
+         * Returns the given shape with the values that are set in system properties.
+         *
+         * @param default the shape to use for the values that are not set
+         */
+        fun fromSystemProperties(default: ClusterShape): ClusterShape {
+            return ClusterShape(
+                Integer.getInteger(PROPERTY_PREFIX + "nodes", default.nodes),
+                Integer.getInteger(PROPERTY_PREFIX + "namespaces", default.namespaces),
+                Integer.getInteger(PROPERTY_PREFIX + "pods", default.pods),
+                Integer.getInteger(PROPERTY_PREFIX + "crds", default.crds)
+            )
+        }
+    }
+
+    val podsPerNamespace: Int
+        get() = pods / namespaces
+
+    fun namespace(index: Int): String {
+        return "namespace-$index"
+    }
+
+    fun node(index: Int): String {
+        return "node-$index"
+    }
+}
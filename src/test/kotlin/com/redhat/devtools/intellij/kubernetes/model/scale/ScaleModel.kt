@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.scale
+
+import com.nhaarman.mockitokotlin2.mock
+import com.redhat.devtools.intellij.kubernetes.model.IAllContexts
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.Notification
+import com.redhat.devtools.intellij.kubernetes.model.ResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.ResourceModelObservable
+import com.redhat.devtools.intellij.kubernetes.model.ResourceSnapshots
+import com.redhat.devtools.intellij.kubernetes.model.client.KubeClientAdapter
+import com.redhat.devtools.intellij.kubernetes.model.context.IContext
+import com.redhat.devtools.intellij.kubernetes.model.context.KubernetesContext
+import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.namedContext
+import com.redhat.devtools.intellij.kubernetes.model.resource.IResourceOperator
+import io.fabric8.kubernetes.api.model.HasMetadata
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+/**
+ * A [ResourceModel] whose contexts are backed by a [ScaleCluster].
+ * Uses the production contexts, operators and watches, only replaces what requires a running IDE.
+ *
+ * @param cluster the cluster that the model is operating on
+ * @param namespace the initial current namespace
+ */
+class ScaleResourceModel(
+    cluster: ScaleCluster,
+    namespace: String,
+    override val modelChange: IResourceModelObservable = ResourceModelObservable()
+) : ResourceModel(), AutoCloseable {
+
+    override val allContexts = ScaleContexts(cluster, namespace, modelChange)
+
+    val context: ScaleContext
+        get() = allContexts.current
+
+    override fun close() {
+        allContexts.close()
+    }
+}
+
+/**
+ * The contexts of a [ScaleCluster]. There's a single context, its namespace can be switched.
+ * Switching the namespace creates a new client and context, as [com.redhat.devtools.intellij.kubernetes.model.AllContexts] does.
+ */
+class ScaleContexts(
+    private val cluster: ScaleCluster,
+    namespace: String,
+    private val modelChange: IResourceModelObservable
+) : IAllContexts, AutoCloseable {
+
+    private val directory: Path = Files.createTempDirectory("kubernetes-scale")
+    private val executor: ExecutorService = Executors.newCachedThreadPool()
+    private val snapshotsExecutor: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor()
+
+    override var current: ScaleContext = create(namespace)
+        private set
+
+    override val all: List<IContext>
+        get() = listOf(current)
+
+    override fun setCurrentContext(context: IContext): ScaleContext {
+        throw UnsupportedOperationException("A scale cluster has a single context.")
+    }
+
+    override fun setCurrentNamespace(namespace: String): ScaleContext {
+        val old = current
+        val new = create(namespace)
+        old.close()
+        current = new
+        new.watchAll(old.getWatched())
+        modelChange.fireCurrentNamespaceChanged(new, old)
+        return new
+    }
+
+    override fun refresh() = Unit
+
+    private fun create(namespace: String): ScaleContext {
+        return ScaleContext(
+            namespace,
+            modelChange,
+            KubeClientAdapter(cluster.createClient(namespace)),
+            ResourceSnapshots(directory, snapshotsExecutor),
+            executor
+        )
+    }
+
+    override fun close() {
+        current.close()
+        executor.shutdownNow()
+        snapshotsExecutor.shutdownNow()
+        directory.toFile().deleteRecursively()
+    }
+}
+
+/**
+ * A [KubernetesContext] for a [ScaleCluster].
+ * Has no extension operators, writes snapshots to a temporary directory and
+ * runs asynchronous operations on the given executor instead of the application pool.
+ */
+class ScaleContext(
+    namespace: String,
+    modelChange: IResourceModelObservable,
+    client: KubeClientAdapter,
+    snapshots: ResourceSnapshots,
+    private val executor: ExecutorService
+) : KubernetesContext(namedContext("scale", namespace, "scale-cluster", "scale-user"), modelChange, client) {
+
+    override val snapshots: ResourceSnapshots = snapshots
+
+    override val notification: Notification = mock()
+
+    override fun getExtensionResourceOperators(): List<IResourceOperator<out HasMetadata>> {
+        return emptyList()
+    }
+
+    override fun executeAsync(runnable: () -> Unit) {
+        executor.execute(runnable)
+    }
+
+    override fun close() {
+        super.close()
+        client.close()
+    }
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.scale
+
+import com.intellij.ide.util.treeView.NodeDescriptor
+import com.intellij.openapi.diagnostic.logger
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModelListener
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext.ResourcesIn
+import com.redhat.devtools.intellij.kubernetes.model.diagnostics.Diagnostics
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.AllPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.CUSTOM_RESOURCES_DEFINITIONS
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.NODES
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.PODS
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import javax.swing.tree.DefaultMutableTreeNode
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.AfterClass
+import org.junit.BeforeClass
+import org.junit.Test
+
+/**
+ * Runs the resource model, its operators and watches and the resource tree against a local [ScaleCluster] while
+ * populating the tree, applying storms of watch events and switching the namespace.
+ * Uses a small cluster and only asserts that the model ends up in sync with the cluster by default.
+ * Uses a large cluster (300 nodes, 50'000 pods, 1'000 crds) and additionally asserts latency and memory budgets
+ * if the benchmark property is set: `./gradlew test -Pbenchmark --tests '*ScaleTest'`.
+ * The shape of the cluster can be changed with ex. `-Pscale.pods=100000`.
+ * Timings are logged.
+ *
+ * @see ClusterShape
+ * @see ScaleBudgets
+ */
+class ScaleTest {
+
+    companion object {
+        private const val ROLLOUT_PODS = 1_000
+        private const val WATCH_TIMEOUT = 30_000L /* ms */
+
+        private val isBenchmark = System.getProperty("com.redhat.devtools.intellij.kubernetes.benchmark") != null
+        private val shape = ClusterShape.fromSystemProperties(if (isBenchmark) ClusterShape.LARGE else ClusterShape.SMALL)
+        private val budgets = if (isBenchmark) ScaleBudgets.LARGE else ScaleBudgets.SMALL
+        private lateinit var cluster: ScaleCluster
+
+        @BeforeClass
+        @JvmStatic
+        fun beforeClass() {
+            val start = System.nanoTime()
+            cluster = ScaleCluster(shape).seed()
+            logger<ScaleTest>().info("Seeded $shape in ${elapsedSince(start)} ms")
+        }
+
+        @AfterClass
+        @JvmStatic
+        fun afterClass() {
+            cluster.close()
+        }
+
+        private fun elapsedSince(start: Long): Long {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        }
+    }
+
+    @Test
+    fun `should populate tree within budget`() {
+        // given
+        val namespace = shape.namespace(0)
+        // when
+        val population = populate(namespace)
+        // then
+        logger<ScaleTest>().info("Populated tree with ${population.allPods} pods "
+                + "(${population.podsInNamespace} in $namespace) in ${population.elapsed} ms")
+        assertThat(population.allPods).isEqualTo(cluster.getAllPods().size)
+        assertThat(population.podsInNamespace).isEqualTo(cluster.getPods(namespace).size)
+        if (isBenchmark) {
+            val bytesPerPod = (population.heap - usedHeap()) / maxOf(1, population.allPods)
+            logger<ScaleTest>().info("~$bytesPerPod bytes per pod")
+            assertThat(population.elapsed).isLessThanOrEqualTo(budgets.treePopulation)
+            assertThat(bytesPerPod).isLessThanOrEqualTo(budgets.heapPerPod)
+        }
+    }
+
+    @Test
+    fun `should apply rollout within budget`() {
+        // given
+        val namespace = shape.namespace(0)
+        ScaleResourceModel(cluster, namespace).use { model ->
+            ScaleTree(model).expand(PODS)
+            val events = watchPods(model, namespace)
+            // when
+            val start = System.nanoTime()
+            val expected = cluster.rollout(namespace, minOf(ROLLOUT_PODS, shape.podsPerNamespace))
+            val generated = elapsedSince(start)
+            events.await(expected, maxOf(budgets.eventStorm, WATCH_TIMEOUT))
+            val elapsed = elapsedSince(start)
+            // then
+            report("Rollout", expected, generated, elapsed)
+            assertThat(events.count).isGreaterThanOrEqualTo(expected)
+            assertWithinBudget(elapsed, budgets.eventStorm)
+            assertCachedPods(model, namespace)
+        }
+    }
+
+    @Test
+    fun `should apply node drain within budget`() {
+        // given
+        val namespace = shape.namespace(0)
+        ScaleResourceModel(cluster, namespace).use { model ->
+            ScaleTree(model).expand(PODS)
+            val events = watchPods(model, namespace)
+            // when
+            val start = System.nanoTime()
+            val drained = cluster.drain(shape.node(0))
+            val generated = elapsedSince(start)
+            val expected = drained.count { pod -> namespace == pod.metadata.namespace } * 2
+            events.await(expected, maxOf(budgets.eventStorm, WATCH_TIMEOUT))
+            val elapsed = elapsedSince(start)
+            // then
+            report("Drain of ${drained.size} pods", expected, generated, elapsed)
+            assertThat(events.count).isGreaterThanOrEqualTo(expected)
+            assertWithinBudget(elapsed, budgets.eventStorm)
+            assertCachedPods(model, namespace)
+        }
+    }
+
+    @Test
+    fun `should switch namespace within budget`() {
+        // given
+        val namespace = shape.namespace(shape.namespaces - 1)
+        ScaleResourceModel(cluster, shape.namespace(0)).use { model ->
+            val tree = ScaleTree(model)
+            tree.expand(PODS)
+            model.watch(NamespacedPodsOperator.KIND)
+            // when
+            val start = System.nanoTime()
+            model.setCurrentNamespace(namespace)
+            val children = tree.structure.getChildElements(PODS)
+            val elapsed = elapsedSince(start)
+            // then
+            logger<ScaleTest>().info("Switched to namespace $namespace with ${shape.podsPerNamespace} pods in $elapsed ms")
+            assertThat(children).isNotEmpty
+            assertThat(model.getCurrentNamespace()).isEqualTo(namespace)
+            assertWithinBudget(elapsed, budgets.namespaceSwitch)
+            assertCachedPods(model, namespace)
+        }
+    }
+
+    /**
+     * Expands nodes, the first node, pods and custom resources in a new model and returns how long it took and
+     * the heap that was used once the tree was populated. The heap is only measured when benchmarking, it needs
+     * garbage to be collected. The model is closed and can be collected afterwards.
+     */
+    private fun populate(namespace: String): Population {
+        ScaleResourceModel(cluster, namespace).use { model ->
+            val tree = ScaleTree(model)
+            val start = System.nanoTime()
+            val nodes = tree.expand(NODES)
+            val firstNode = (nodes.firstChild as DefaultMutableTreeNode).userObject as NodeDescriptor<*>
+            tree.expand(firstNode.element!!, nodes)
+            tree.expand(PODS)
+            tree.expand(CUSTOM_RESOURCES_DEFINITIONS)
+            val elapsed = elapsedSince(start)
+            return Population(
+                elapsed,
+                if (isBenchmark) usedHeap() else 0,
+                model.context.getAllResources(AllPodsOperator.KIND, ResourcesIn.NO_NAMESPACE).size,
+                cachedPods(model).size
+            )
+        }
+    }
+
+    /**
+     * Watches the pods in the given namespace and waits until the watch delivers events.
+     * The watch is established asynchronously: pods are created until the first one is notified,
+     * they are deleted once it is.
+     */
+    private fun watchPods(model: ScaleResourceModel, namespace: String): PodEvents {
+        val events = PodEvents()
+        model.addListener(events)
+        model.watch(NamespacedPodsOperator.KIND)
+        val probes = mutableListOf<HasMetadata>()
+        val start = System.nanoTime()
+        while (events.count == 0) {
+            assertThat(elapsedSince(start)).isLessThan(WATCH_TIMEOUT)
+            probes.add(cluster.create(probe(namespace, probes.size)))
+            Thread.sleep(200)
+        }
+        probes.forEach { probe -> cluster.delete(probe) }
+        await(WATCH_TIMEOUT) {
+            cachedPods(model).none { pod -> pod.metadata.name.startsWith("probe-") }
+        }
+        events.reset()
+        Diagnostics.instance.reset()
+        return events
+    }
+
+    private fun probe(namespace: String, index: Int): Pod {
+        return PodBuilder()
+            .withNewMetadata()
+                .withName("probe-$index")
+                .withNamespace(namespace)
+            .endMetadata()
+            .build()
+    }
+
+    private fun assertCachedPods(model: ScaleResourceModel, namespace: String) {
+        val cached = cachedPods(model).map { pod -> pod.metadata.name }
+        val inCluster = cluster.getPods(namespace).map { pod -> pod.metadata.name }
+        assertThat(cached).containsExactlyInAnyOrderElementsOf(inCluster)
+    }
+
+    private fun cachedPods(model: ScaleResourceModel): Collection<Pod> {
+        return model.context.getAllResources(NamespacedPodsOperator.KIND, ResourcesIn.CURRENT_NAMESPACE)
+    }
+
+    private fun report(storm: String, events: Int, generated: Long, elapsed: Long) {
+        val treeUpdates = Diagnostics.instance.getTreeUpdates()
+        logger<ScaleTest>().info("$storm: $events events generated in $generated ms, applied after $elapsed ms "
+                + "(%.0f events/s), tree updates: ${treeUpdates.count}, mean ${treeUpdates.mean} ms, max ${treeUpdates.max} ms"
+            .format(events * 1000.0 / maxOf(1, elapsed)))
+    }
+
+    /**
+     * Asserts that the given time is within the given budget. Budgets are only asserted when benchmarking,
+     * timings depend on the machine that the tests run on.
+     */
+    private fun assertWithinBudget(elapsed: Long, budget: Long) {
+        if (isBenchmark) {
+            assertThat(elapsed).isLessThanOrEqualTo(budget)
+        }
+    }
+
+    private fun await(timeout: Long, condition: () -> Boolean) {
+        val start = System.nanoTime()
+        while (!condition.invoke()) {
+            assertThat(elapsedSince(start)).isLessThan(timeout)
+            Thread.sleep(50)
+        }
+    }
+
+    /**
+     * Returns the heap that is used after garbage was collected.
+     */
+    private fun usedHeap(): Long {
+        repeat(3) {
+            System.gc()
+            Thread.sleep(100)
+        }
+        val runtime = Runtime.getRuntime()
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    private data class Population(
+        val elapsed: Long,
+        val heap: Long,
+        val allPods: Int,
+        val podsInNamespace: Int
+    )
+
+    /**
+     * Counts the pods that the model notifies as added, removed or modified.
+     */
+    private class PodEvents : IResourceModelListener {
+
+        private val received = AtomicInteger()
+
+        val count: Int
+            get() = received.get()
+
+        override fun added(added: Any) = count(added)
+
+        override fun removed(removed: Any) = count(removed)
+
+        override fun modified(modified: Any) = count(modified)
+
+        private fun count(element: Any) {
+            if (element is Pod) {
+                received.incrementAndGet()
+            }
+        }
+
+        fun reset() {
+            received.set(0)
+        }
+
+        /**
+         * Waits until the given number of events was received or the timeout is reached.
+         */
+        fun await(expected: Int, timeout: Long) {
+            val start = System.nanoTime()
+            while (received.get() < expected
+                && elapsedSince(start) < timeout) {
+                Thread.sleep(10)
+            }
+        }
+    }
+}
+
+/**
+ * The maximum time and memory that the model and the tree may take in a [ScaleCluster].
+ * These are conservative limits that catch regressions, they are to be lowered as scaling improves.
+ *
+ * @param treePopulation the time to expand nodes, a node, pods and custom resources, in ms
+ * @param eventStorm the time to generate and apply a storm of watch events, in ms
+ * @param namespaceSwitch the time to switch the namespace and list the pods in it, in ms
+ * @param heapPerPod the heap that the model and the tree may retain for each pod, in bytes
+ */
+data class ScaleBudgets(
+    val treePopulation: Long,
+    val eventStorm: Long,
+    val namespaceSwitch: Long,
+    val heapPerPod: Long
+) {
+    companion object {
+        val SMALL = ScaleBudgets(treePopulation = 10_000, eventStorm = 10_000, namespaceSwitch = 5_000, heapPerPod = 64 * 1024)
+        val LARGE = ScaleBudgets(treePopulation = 30_000, eventStorm = 60_000, namespaceSwitch = 10_000, heapPerPod = 16 * 1024)
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.model.scale
+
+import com.intellij.ide.util.treeView.AbstractTreeStructure
+import com.intellij.ide.util.treeView.NodeDescriptor
+import com.intellij.openapi.extensions.ExtensionPointName
+import com.intellij.ui.tree.StructureTreeModel
+import com.intellij.util.concurrency.Invoker
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.tree.ITreeStructureContributionFactory
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure
+import com.redhat.devtools.intellij.kubernetes.tree.TreeUpdater
+import javax.swing.tree.DefaultMutableTreeNode
+import javax.swing.tree.TreePath
+import org.jetbrains.concurrency.CancellablePromise
+import org.jetbrains.concurrency.Promise
+
+/**
+ * The resource tree for a [ScaleResourceModel]: the production [TreeStructure] and [TreeUpdater] with
+ * a tree model that runs updates right away on the thread that notifies them.
+ * Nodes exist for the elements that were expanded and their children, as in the tree of the IDE.
+ *
+ * @param model the model that the tree displays
+ */
+class ScaleTree(model: IResourceModel) {
+
+    private val extensionPoint: ExtensionPointName<ITreeStructureContributionFactory> = mock {
+        on { extensionList } doReturn emptyList()
+    }
+    val structure = TreeStructure(mock(), model, extensionPoint)
+    val root = node(model, null)
+
+    private val syncInvoker: Invoker = mock<Invoker>(stubOnly = true).apply {
+        doAnswer { invocation ->
+            invocation.getArgument<Runnable>(0)?.run()
+            mock<CancellablePromise<*>>()
+        }.whenever(this).invokeLater(any())
+    }
+    private val treeModel: StructureTreeModel<AbstractTreeStructure> = mock(stubOnly = true) {
+        on { invoker } doReturn syncInvoker
+        on { root } doReturn root
+        on { invalidate(any(), any()) } doReturn mock<Promise<TreePath>>()
+    }
+
+    init {
+        TreeUpdater(treeModel, structure).listenTo(model)
+    }
+
+    /**
+     * Adds a node for the given element and nodes for its children, as when a node is expanded.
+     *
+     * @param element the element to expand
+     * @param parent the node to add the node for the given element to
+     * @return the node for the given element
+     */
+    fun expand(element: Any, parent: DefaultMutableTreeNode = root): DefaultMutableTreeNode {
+        val node = node(element, parent)
+        parent.add(node)
+        structure.getChildElements(element).forEach { child ->
+            node.add(node(child, node))
+        }
+        return node
+    }
+
+    private fun node(element: Any, parent: DefaultMutableTreeNode?): DefaultMutableTreeNode {
+        return DefaultMutableTreeNode(structure.createDescriptor(element, parent?.userObject as? NodeDescriptor<*>))
+    }
+}
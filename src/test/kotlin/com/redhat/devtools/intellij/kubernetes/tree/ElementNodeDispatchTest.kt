@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.deployment
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.pod
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.DeploymentsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.tree.AbstractTreeStructureContribution.ElementNode
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Folder
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ElementNodeDispatchTest {
+
+    private val root = Any()
+    private val deployments = Folder("Deployments", DeploymentsOperator.KIND)
+    private val pods = Folder("Pods", NamespacedPodsOperator.KIND)
+    private val rootNode = ElementNode<Any>()
+        .applicableIf { it == root }
+    private val deploymentsNode = ElementNode<Folder>()
+        .applicableTo(deployments)
+        .childrenKind { DeploymentsOperator.KIND }
+    private val podsNode = ElementNode<Folder>()
+        .applicableTo(pods)
+        .childrenKind { NamespacedPodsOperator.KIND }
+    private val podNode = ElementNode<Pod>()
+        .applicableToType(Pod::class.java)
+    private val resourceNode = ElementNode<HasMetadata>()
+        .applicableToType(HasMetadata::class.java)
+    private val dispatch = ElementNodeDispatch(listOf(rootNode, deploymentsNode, podsNode, podNode, resourceNode))
+
+    @Test
+    fun `#find should return node that applies to given folder`() {
+        // given
+        // when
+        val found = dispatch.find(pods)
+        // then
+        assertThat(found).isSameAs(podsNode)
+    }
+
+    @Test
+    fun `#find should return first node that applies to type of given element`() {
+        // given
+        // when
+        val found = dispatch.find(pod("smurfette"))
+        // then
+        assertThat(found).isSameAs(podNode)
+    }
+
+    @Test
+    fun `#find should return node that applies to supertype of given element`() {
+        // given
+        // when
+        val found = dispatch.find(deployment("smurf village"))
+        // then
+        assertThat(found).isSameAs(resourceNode)
+    }
+
+    @Test
+    fun `#find should evaluate node with condition`() {
+        // given
+        // when
+        val found = dispatch.find(root)
+        // then
+        assertThat(found).isSameAs(rootNode)
+    }
+
+    @Test
+    fun `#find should return null if no node applies`() {
+        // given
+        // when
+        val found = dispatch.find(Folder("Gargamel's castle", null))
+        // then
+        assertThat(found).isNull()
+    }
+
+    @Test
+    fun `#find should return node with condition if it precedes node for element`() {
+        // given
+        val dispatch = ElementNodeDispatch(listOf(
+            ElementNode<Any>().applicableIf { it is Folder },
+            podsNode
+        ))
+        // when
+        val found = dispatch.find(pods)
+        // then
+        assertThat(found).isNotSameAs(podsNode)
+    }
+
+    @Test
+    fun `#findByChildrenKind should return first node with given children kind`() {
+        // given
+        // when
+        val found = dispatch.findByChildrenKind(NamespacedPodsOperator.KIND)
+        // then
+        assertThat(found).isSameAs(podsNode)
+    }
+}
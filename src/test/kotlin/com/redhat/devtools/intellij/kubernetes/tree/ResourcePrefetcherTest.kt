@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.intellij.openapi.util.Disposer
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.AllPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.DeploymentsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.StatefulSetsOperator
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.DEPLOYMENTS
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.NODES
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.PODS
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.STATEFULSETS
+import com.redhat.devtools.intellij.kubernetes.tree.KubernetesStructure.Folders.WORKLOADS
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class ResourcePrefetcherTest {
+
+    private val pod1 = "pod1"
+    private val pod2 = "pod2"
+    private val node1 = "node1"
+    private val node2 = "node2"
+    private val structure: TreeStructure = mock {
+        on { getChildElements(WORKLOADS) } doReturn arrayOf(DEPLOYMENTS, STATEFULSETS, PODS, pod1, pod2)
+        on { getChildrenKind(DEPLOYMENTS) } doReturn DeploymentsOperator.KIND
+        on { getChildrenKind(STATEFULSETS) } doReturn StatefulSetsOperator.KIND
+        on { getChildrenKind(PODS) } doReturn NamespacedPodsOperator.KIND
+        on { getChildrenKind(pod1) } doReturn null
+        on { getChildrenKind(pod2) } doReturn null
+        on { getChildElements(DEPLOYMENTS) } doReturn emptyArray()
+        on { getChildElements(STATEFULSETS) } doReturn emptyArray()
+        on { getChildElements(PODS) } doReturn emptyArray()
+        on { isPrefetched(any()) } doReturn true
+    }
+    private val model: IResourceModel = mock()
+    private val queue = ArrayDeque<Runnable>()
+    private val prefetcher = ResourcePrefetcher(structure, model, Executor { queue.add(it) })
+
+    @Test
+    fun `#prefetch should load children of children that hold resources`() {
+        // given
+        val parent = Disposer.newDisposable()
+        // when
+        val future = prefetcher.prefetch(WORKLOADS, parent)
+        runQueued()
+        // then
+        assertThat(future.get()).containsExactlyInAnyOrder(
+            DeploymentsOperator.KIND,
+            StatefulSetsOperator.KIND,
+            NamespacedPodsOperator.KIND)
+        verify(structure).getChildElements(DEPLOYMENTS)
+        verify(structure).getChildElements(STATEFULSETS)
+        verify(structure).getChildElements(PODS)
+    }
+
+    @Test
+    fun `#prefetch should watch and release prefetched kinds`() {
+        // given
+        val parent = Disposer.newDisposable()
+        // when
+        prefetcher.prefetch(WORKLOADS, parent)
+        runQueued()
+        // then
+        verify(model).watch(DeploymentsOperator.KIND)
+        verify(model).releaseWatch(DeploymentsOperator.KIND)
+    }
+
+    @Test
+    fun `#prefetch should not prefetch if parent is disposed`() {
+        // given
+        val parent = Disposer.newDisposable()
+        val future = prefetcher.prefetch(WORKLOADS, parent)
+        // when
+        Disposer.dispose(parent)
+        runQueued()
+        // then
+        assertThatThrownBy { future.get() }
+            .isInstanceOf(ExecutionException::class.java)
+            .hasCauseInstanceOf(CancellationException::class.java)
+        verify(structure, never()).getChildElements(DEPLOYMENTS)
+        verify(model, never()).watch(DeploymentsOperator.KIND)
+    }
+
+    @Test
+    fun `#prefetch should not prefetch children that opted out of prefetching`() {
+        // given
+        val parent = Disposer.newDisposable()
+        whenever(structure.getChildElements(NODES)).doReturn(arrayOf(node1, node2))
+        whenever(structure.getChildrenKind(node1)).doReturn(AllPodsOperator.KIND)
+        whenever(structure.getChildrenKind(node2)).doReturn(AllPodsOperator.KIND)
+        whenever(structure.isPrefetched(node1)).doReturn(false)
+        whenever(structure.isPrefetched(node2)).doReturn(false)
+        // when
+        val future = prefetcher.prefetch(NODES, parent)
+        runQueued()
+        // then
+        assertThat(future.get()).isEmpty()
+        verify(structure, never()).getChildElements(node1)
+        verify(model, never()).watch(AllPodsOperator.KIND)
+    }
+
+    private fun runQueued() {
+        var runnable = queue.removeFirstOrNull()
+        while (runnable != null) {
+            runnable.run()
+            runnable = queue.removeFirstOrNull()
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
 import com.redhat.devtools.intellij.kubernetes.model.mocks.Mocks.resourceModel
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Test
@@ -71,6 +72,37 @@ class TreeStructureExtensionTest {
 		verify(contributing3).getChildElements(any())
 	}
 
+	@Test
+	fun `#getChildElements should not evaluate contributions again if context did not change`() {
+		// given
+		val contributing = structureContribution(true)
+		mockExtensionList(contributing)
+		structure.getChildElements(mock())
+		// when
+		structure.getChildElements(mock())
+		// then
+		verify(contributing, times(1)).canContribute()
+	}
+
+	@Test
+	fun `#getChildElements should evaluate contributions again if context turned out to be OpenShift`() {
+		// given
+		val context: IActiveContext<*, *> = mock {
+			on { isOpenShift() } doReturn false
+		}
+		whenever(model.getCurrentContext()).doReturn(context)
+		val openShift = structureContribution(false)
+		mockExtensionList(openShift)
+		structure.getChildElements(mock())
+		// same context instance, delegate was replaced
+		whenever(context.isOpenShift()).doReturn(true)
+		whenever(openShift.canContribute()).doReturn(true)
+		// when
+		structure.getChildElements(mock())
+		// then
+		verify(openShift, times(1)).getChildElements(any())
+	}
+
 	@Test
 	fun `#getParentElement should only return parent from extensions that can contribute`() {
 		// given
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.intellij.openapi.extensions.ExtensionPointName
+import com.intellij.openapi.project.Project
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.mocks.ClientMocks.resource
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Mocks.resourceModel
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.MoreChildren
+import io.fabric8.kubernetes.api.model.apps.Deployment
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class TreeStructurePagingTest {
+
+	private val parent = "smurf village"
+	private val children = (0 until 7).map { "smurf $it" }
+	private val contribution: ITreeStructureContribution = mock {
+		on { canContribute() } doReturn true
+		on { getChildElements(any()) } doReturn children
+	}
+	private val extensionPoint: ExtensionPointName<ITreeStructureContributionFactory> = mock {
+		on { extensionList } doReturn emptyList()
+	}
+	private val structure = PagedTreeStructure(mock(), resourceModel(), extensionPoint, contribution)
+
+	@Test
+	fun `#getChildElements should return first page followed by MoreChildren`() {
+		// given
+		// when
+		val page = structure.getChildElements(parent)
+		// then
+		assertThat(page).containsExactly(
+			"smurf 0", "smurf 1", "smurf 2",
+			MoreChildren(parent, 3, 7))
+	}
+
+	@Test
+	fun `#getChildElements should return all children if they fit into a page`() {
+		// given
+		val structure = PagedTreeStructure(mock(), resourceModel(), extensionPoint, contribution, 10)
+		// when
+		val page = structure.getChildElements(parent)
+		// then
+		assertThat(page).containsExactlyElementsOf(children)
+	}
+
+	@Test
+	fun `#getChildElements should return no children for MoreChildren`() {
+		// given
+		// when
+		val page = structure.getChildElements(MoreChildren(parent, 3, 7))
+		// then
+		assertThat(page).isEmpty()
+	}
+
+	@Test
+	fun `#showMore should show next page`() {
+		// given
+		val more = structure.getChildElements(parent).last() as MoreChildren
+		// when
+		structure.showMore(more)
+		// then
+		assertThat(structure.getChildElements(parent)).containsExactly(
+			"smurf 0", "smurf 1", "smurf 2", "smurf 3", "smurf 4", "smurf 5",
+			MoreChildren(parent, 6, 7))
+	}
+
+	@Test
+	fun `#showMore should keep pages of resource if it is modified`() {
+		// given
+		val deployment = resource<Deployment>("obi-wan", "jedis", "uid-1", "v1", "1")
+		val more = structure.getChildElements(deployment).last() as MoreChildren
+		structure.showMore(more)
+		// when
+		val modified = resource<Deployment>("obi-wan", "jedis", "uid-1", "v1", "2")
+		// then
+		assertThat(structure.getChildElements(modified)).hasSize(7)
+	}
+
+	@Test
+	fun `#resetPages should show first page again`() {
+		// given
+		val more = structure.getChildElements(parent).last() as MoreChildren
+		structure.showMore(more)
+		// when
+		structure.resetPages(parent)
+		// then
+		assertThat(structure.getChildElements(parent)).containsExactly(
+			"smurf 0", "smurf 1", "smurf 2",
+			MoreChildren(parent, 3, 7))
+	}
+
+	@Test
+	fun `#getParentElement should return parent of MoreChildren`() {
+		// given
+		// when
+		val found = structure.getParentElement(MoreChildren(parent, 3, 7))
+		// then
+		assertThat(found).isEqualTo(parent)
+	}
+
+	class PagedTreeStructure(
+		project: Project,
+		model: IResourceModel,
+		extensionPoint: ExtensionPointName<ITreeStructureContributionFactory>,
+		private val contribution: ITreeStructureContribution,
+		pageSize: Int = 3
+	) : TreeStructure(project, model, extensionPoint, pageSize) {
+
+		public override fun getTreeStructureDefaults(model: IResourceModel): List<ITreeStructureContribution> {
+			return listOf(contribution)
+		}
+	}
+}
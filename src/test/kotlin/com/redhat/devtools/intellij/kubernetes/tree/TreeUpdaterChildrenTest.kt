@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.intellij.kubernetes.tree
+
+import com.intellij.ide.util.treeView.AbstractTreeStructure
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.extensions.ExtensionPointName
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import com.intellij.testFramework.ApplicationRule
+import com.intellij.ui.tree.LeafState
+import com.intellij.ui.tree.StructureTreeModel
+import com.intellij.util.concurrency.Invoker
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.clearInvocations
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.redhat.devtools.intellij.kubernetes.actions.getDescriptor
+import com.redhat.devtools.intellij.kubernetes.model.IResourceModel
+import com.redhat.devtools.intellij.kubernetes.model.context.IActiveContext
+import com.redhat.devtools.intellij.kubernetes.model.mocks.Fakes.pod
+import com.redhat.devtools.intellij.kubernetes.model.resource.kubernetes.NamespacedPodsOperator
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Descriptor
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.Folder
+import com.redhat.devtools.intellij.kubernetes.tree.TreeStructure.ResourceDescriptor
+import io.fabric8.kubernetes.api.model.HasMetadata
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.ClassRule
+import org.junit.Test
+
+/**
+ * Counts how often the children of the elements are listed when [TreeUpdater] processes an event.
+ * Drives a real [StructureTreeModel] with a real [TreeStructure].
+ */
+class TreeUpdaterChildrenTest {
+
+    companion object {
+        @JvmField
+        @ClassRule
+        val application = ApplicationRule()
+
+        private const val TIMEOUT = 5000 /* ms */
+    }
+
+    private val brainy = pod("brainy")
+    private val hefty = pod("hefty")
+    private val smurfette = pod("smurfette")
+    private var pods = listOf(brainy, smurfette)
+    private val podsFolder = Folder("Pods", NamespacedPodsOperator.KIND)
+
+    private val context: IActiveContext<HasMetadata, KubernetesClient> = mock {
+        on { name } doReturn "smurf village"
+    }
+    private val resourceModel: IResourceModel = mock {
+        on { getAllContexts() } doReturn listOf(context)
+        on { isCurrentNamespace(any()) } doReturn true
+    }
+    private val project: Project = mock()
+    private val contribution: ITreeStructureContribution = mock {
+        on { canContribute() } doReturn true
+        on { getChildElements(any()) } doAnswer { invocation ->
+            when (invocation.getArgument<Any>(0)) {
+                context -> listOf(podsFolder)
+                podsFolder -> pods
+                else -> emptyList()
+            }
+        }
+        on { getLeafState(any()) } doAnswer { invocation ->
+            if (invocation.getArgument<Any>(0) is Pod) {
+                LeafState.ALWAYS
+            } else {
+                null
+            }
+        }
+        on { createDescriptor(any(), any(), any()) } doAnswer { invocation ->
+            val element = invocation.getArgument<Any>(0)
+            if (element is Pod) {
+                ResourceDescriptor(element, null, invocation.getArgument(1), resourceModel, project)
+            } else {
+                null
+            }
+        }
+        on { isParentDescriptor(any(), any()) } doAnswer { invocation ->
+            invocation.getArgument<Descriptor<*>>(0).element == podsFolder
+                    && invocation.getArgument<Any>(1) is Pod
+        }
+    }
+    private val extensionPoint: ExtensionPointName<ITreeStructureContributionFactory> = mock {
+        on { extensionList } doReturn emptyList()
+    }
+    private val structure = object : TreeStructure(project, resourceModel, extensionPoint) {
+        override fun getTreeStructureDefaults(model: IResourceModel): List<ITreeStructureContribution> {
+            return listOf(contribution)
+        }
+    }
+
+    private lateinit var disposable: Disposable
+    private lateinit var treeModel: StructureTreeModel<AbstractTreeStructure>
+    private lateinit var updater: TreeUpdater
+
+    @Before
+    fun before() {
+        this.disposable = Disposer.newDisposable()
+        this.treeModel = StructureTreeModel(
+            structure,
+            null,
+            Invoker.forBackgroundPoolWithoutReadAction(disposable),
+            disposable
+        )
+        this.updater = TreeUpdater(treeModel, structure)
+        // load all nodes
+        onInvoker { loadChildren(treeModel.root) }
+        clearInvocations(contribution)
+    }
+
+    @After
+    fun after() {
+        Disposer.dispose(disposable)
+    }
+
+    @Test
+    fun `#added should list the children of the parent folder once`() {
+        // given
+        pods = listOf(brainy, hefty, smurfette)
+        // when
+        updater.added(hefty)
+        // then
+        val shown = onInvoker { loadChildren(treeModel.root) }
+        verify(contribution, times(1)).getChildElements(podsFolder)
+        verify(contribution, never()).getChildElements(context)
+        assertThat(shown).contains(hefty)
+    }
+
+    @Test
+    fun `#removed should list the children of the parent folder once`() {
+        // given
+        pods = listOf(smurfette)
+        // when
+        updater.removed(pod("brainy"))
+        // then
+        val shown = onInvoker { loadChildren(treeModel.root) }
+        verify(contribution, times(1)).getChildElements(podsFolder)
+        verify(contribution, never()).getChildElements(context)
+        assertThat(shown).doesNotContain(brainy)
+    }
+
+    @Test
+    fun `#modified should NOT list any children`() {
+        // given
+        val modified = PodBuilder(smurfette)
+            .editMetadata()
+                .withLabels(mapOf("hair" to "blond"))
+            .endMetadata()
+            .build()
+        // when
+        updater.modified(modified)
+        // then
+        val shown = onInvoker { loadChildren(treeModel.root) }
+        verify(contribution, never()).getChildElements(podsFolder)
+        verify(contribution, never()).getChildElements(context)
+        verify(contribution, never()).getChildElements(modified)
+        assertThat(shown).contains(modified)
+    }
+
+    @Test
+    fun `#modified(context) should list the children of the context and of its folders once`() {
+        // given
+        // when
+        updater.modified(context)
+        // then
+        onInvoker { loadChildren(treeModel.root) }
+        verify(contribution, times(1)).getChildElements(context)
+        verify(contribution, times(1)).getChildElements(podsFolder)
+    }
+
+    /**
+     * Loads the children of the given node and of all nodes below it.
+     * Children that were loaded before are only listed again if they were invalidated.
+     * Returns the elements of all the nodes below the given node.
+     */
+    private fun loadChildren(node: Any): List<Any?> {
+        return (0 until treeModel.getChildCount(node))
+            .map { index -> treeModel.getChild(node, index) }
+            .flatMap { child ->
+                listOf(child.getDescriptor()?.element) + loadChildren(child)
+            }
+    }
+
+    /**
+     * Runs the given task on the invoker of the tree model once the pending updates were processed.
+     */
+    private fun <T> onInvoker(task: () -> T): T? {
+        return treeModel.invoker.compute(task).blockingGet(TIMEOUT)
+    }
+}
@@ -173,7 +173,7 @@ class TreeUpdaterTest {
         updater.removed(maDalton)
         // then
         val invalidatedParent = findNode(daltonCity)[0]
-        verify(treeModel).invalidate(invalidatedParent, true)
+        verify(treeModel).invalidate(invalidatedParent, false)
     }
 
     @Test
@@ -184,7 +184,7 @@ class TreeUpdaterTest {
         // then
         /** joe dalton is shown in texas and in pony express **/
         val invalidatedPaths = argumentCaptor<TreePath>()
-        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(true))
+        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(false))
         assertThat(invalidatedPaths.allValues).containsExactlyInAnyOrder(*findNodes(
             texas,
             ponyExpress))
@@ -197,7 +197,7 @@ class TreeUpdaterTest {
         updater.removed(rantanplan)
         // then
         /** rantanplan is not shown, no invalidation should happen **/
-        verify(treeModel, never()).invalidate(any(), eq(true))
+        verify(treeModel, never()).invalidate(any(), any())
     }
 
     @Test
@@ -208,7 +208,7 @@ class TreeUpdaterTest {
         // then
         /** new element rantanplan should be shown in kansas and in dalton city according to [structure] **/
         val invalidatedPaths = argumentCaptor<TreePath>()
-        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(true))
+        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(false))
         assertThat(invalidatedPaths.allValues).containsExactlyInAnyOrder(*findNodes(
             kansas,
             daltonCity))
@@ -221,7 +221,7 @@ class TreeUpdaterTest {
         updater.added(calamityJane)
         // then
         /** new element calamity jane should NOT be shown in any parent according to [structure] **/
-        verify(treeModel, never()).invalidate(any(), eq(true))
+        verify(treeModel, never()).invalidate(any(), any())
     }
 
     @Test
@@ -231,11 +231,31 @@ class TreeUpdaterTest {
         updater.modified(joeDalton)
         // then
         val invalidatedPaths = argumentCaptor<TreePath>() // joeDalton exists 2x in tree
-        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(true))
+        verify(treeModel, times(2)).invalidate(invalidatedPaths.capture(), eq(false))
         assertThat(invalidatedPaths.allValues)
             .containsExactlyInAnyOrder(*findNodes(joeDalton))
     }
 
+    @Test
+    fun `#modified should NOT invalidate parents of displayed elements`() {
+        // given
+        // when
+        updater.modified(joeDalton)
+        // then
+        findNodes(texas, ponyExpress).forEach { parent ->
+            verify(treeModel, never()).invalidate(eq(parent), any())
+        }
+    }
+
+    @Test
+    fun `#modified(context) should invalidate context and all nodes below it`() {
+        // given
+        // when
+        updater.modified(luckyLukeContext)
+        // then
+        verify(treeModel).invalidate(findNode(luckyLukeContext)[0], true)
+    }
+
     @Test
     fun `#modified(resource model) should invalidate tree model (aka root node)`() {
         // given